@@ -10,6 +10,7 @@ plugins {
     id("org.springframework.boot") version "3.5.7" apply false
     id("io.spring.dependency-management") version "1.1.7" apply false
     id("com.google.protobuf") version "0.9.4" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
 
 allprojects {
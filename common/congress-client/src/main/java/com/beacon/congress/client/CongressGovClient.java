@@ -23,6 +23,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -31,6 +32,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -102,6 +104,7 @@ public final class CongressGovClient {
             Map.entry("northern mariana islands", "MP"),
             Map.entry("virgin islands", "VI")
     );
+    private static final Set<String> BILL_TYPES = Set.of("hr", "s", "hjres", "sjres", "hconres", "sconres", "hres", "sres");
 
     private final CongressGovClientConfig config;
     private final HttpClient httpClient;
@@ -214,39 +217,76 @@ public final class CongressGovClient {
         URI next = buildUri("/house-vote/%d/%d".formatted(congressNumber, sessionNumber), Map.of("limit", "250"));
         while (next != null) {
             JsonNode root = fetchJson(next);
-            JsonNode votesNode = root.path("houseRollCallVotes");
-            if (votesNode.isArray()) {
-                for (JsonNode voteNode : votesNode) {
-                    Integer rollCall = optionalInt(voteNode, "rollCallNumber");
-                    if (rollCall == null) {
-                        continue;
-                    }
-                    Instant startDate = parseDateTime(text(voteNode, "startDate"));
-                    Instant updateDate = parseDateTime(text(voteNode, "updateDate"));
-                    String result = text(voteNode, "result");
-                    String voteType = text(voteNode, "voteType");
-                    String legislationType = text(voteNode, "legislationType");
-                    String legislationNumber = text(voteNode, "legislationNumber");
-                    String legislationUrl = text(voteNode, "legislationUrl");
-                    String sourceDataUrl = text(voteNode, "sourceDataURL");
-                    summaries.add(new HouseVoteSummary(
-                            rollCall,
-                            sessionNumber,
-                            startDate,
-                            updateDate,
-                            result,
-                            voteType,
-                            legislationType,
-                            legislationNumber,
-                            legislationUrl,
-                            sourceDataUrl));
-                }
-            }
+            collectHouseVoteSummaries(root, sessionNumber, summaries);
             next = nextPage(root.path("pagination"));
         }
         return summaries;
     }
 
+    /**
+     * Retrieves only the most recent roll call summaries for the specified Congress/session without paging through
+     * the full listing. The first page is read and, when the listing is longer than {@code limit}, so is the last
+     * page, so the newest votes are found whichever order the API lists them in.
+     *
+     * @param congressNumber congress session to query
+     * @param sessionNumber session number (typically 1 or 2)
+     * @param limit maximum number of summaries to return
+     * @return summaries ordered by roll call number, newest first
+     */
+    public List<HouseVoteSummary> fetchLatestHouseVoteSummaries(int congressNumber, int sessionNumber, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 250));
+        String path = "/house-vote/%d/%d".formatted(congressNumber, sessionNumber);
+        List<HouseVoteSummary> summaries = new ArrayList<>();
+        JsonNode firstPage = fetchJson(buildUri(path, Map.of("limit", String.valueOf(pageSize))));
+        collectHouseVoteSummaries(firstPage, sessionNumber, summaries);
+        int count = firstPage.path("pagination").path("count").asInt(0);
+        if (count > pageSize) {
+            JsonNode lastPage = fetchJson(buildUri(path, Map.of(
+                    "limit", String.valueOf(pageSize),
+                    "offset", String.valueOf(count - pageSize))));
+            collectHouseVoteSummaries(lastPage, sessionNumber, summaries);
+        }
+        Map<Integer, HouseVoteSummary> byRollCall = new LinkedHashMap<>();
+        summaries.stream()
+                .sorted(Comparator.comparingInt(HouseVoteSummary::rollCallNumber).reversed())
+                .forEach(summary -> byRollCall.putIfAbsent(summary.rollCallNumber(), summary));
+        return byRollCall.values().stream()
+                .limit(pageSize)
+                .toList();
+    }
+
+    private void collectHouseVoteSummaries(JsonNode root, int sessionNumber, List<HouseVoteSummary> summaries) {
+        JsonNode votesNode = root.path("houseRollCallVotes");
+        if (!votesNode.isArray()) {
+            return;
+        }
+        for (JsonNode voteNode : votesNode) {
+            Integer rollCall = optionalInt(voteNode, "rollCallNumber");
+            if (rollCall == null) {
+                continue;
+            }
+            Instant startDate = parseDateTime(text(voteNode, "startDate"));
+            Instant updateDate = parseDateTime(text(voteNode, "updateDate"));
+            String result = text(voteNode, "result");
+            String voteType = text(voteNode, "voteType");
+            String legislationType = text(voteNode, "legislationType");
+            String legislationNumber = text(voteNode, "legislationNumber");
+            String legislationUrl = text(voteNode, "legislationUrl");
+            String sourceDataUrl = text(voteNode, "sourceDataURL");
+            summaries.add(new HouseVoteSummary(
+                    rollCall,
+                    sessionNumber,
+                    startDate,
+                    updateDate,
+                    result,
+                    voteType,
+                    legislationType,
+                    legislationNumber,
+                    legislationUrl,
+                    sourceDataUrl));
+        }
+    }
+
     /**
      * Lists Congress numbers available for House roll call vote data.
      */
@@ -382,6 +422,65 @@ public final class CongressGovClient {
                 results);
     }
 
+    /**
+     * Retrieves the Congressional Research Service summaries published for a bill, oldest version first.
+     *
+     * @param congressNumber congress the bill was introduced in
+     * @param billType bill type as reported by vote payloads (e.g. {@code HR}, {@code H.J.RES.}, {@code s})
+     * @param billNumber bill number
+     * @return summaries for each bill version, or an empty list when the type is not a bill type
+     */
+    public List<BillSummary> fetchBillSummaries(int congressNumber, String billType, String billNumber) {
+        String normalizedType = normalizeBillType(billType);
+        String normalizedNumber = billNumber == null ? "" : billNumber.trim();
+        if (normalizedType.isEmpty() || normalizedNumber.isEmpty()) {
+            return List.of();
+        }
+        List<BillSummary> summaries = new ArrayList<>();
+        URI next = buildUri(
+                "/bill/%d/%s/%s/summaries".formatted(congressNumber, normalizedType, encode(normalizedNumber)),
+                Map.of("limit", "250"));
+        while (next != null) {
+            JsonNode root = fetchJson(next);
+            summaries.addAll(parseBillSummaries(root));
+            next = nextPage(root.path("pagination"));
+        }
+        return summaries;
+    }
+
+    /**
+     * Maps a legislation type label to the lowercase bill type used in Congress.gov bill paths. Amendments and
+     * other non-bill types yield an empty string.
+     */
+    static String normalizeBillType(String billType) {
+        if (billType == null) {
+            return "";
+        }
+        String normalized = billType.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+        return BILL_TYPES.contains(normalized) ? normalized : "";
+    }
+
+    static List<BillSummary> parseBillSummaries(JsonNode root) {
+        JsonNode summariesNode = root.path("summaries");
+        if (!summariesNode.isArray()) {
+            return List.of();
+        }
+        List<BillSummary> summaries = new ArrayList<>();
+        for (JsonNode summaryNode : summariesNode) {
+            String text = readText(summaryNode, "text");
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            summaries.add(new BillSummary(
+                    readText(summaryNode, "versionCode"),
+                    readText(summaryNode, "actionDesc"),
+                    parseLocalDate(readText(summaryNode, "actionDate")),
+                    parseInstant(readText(summaryNode, "updateDate")),
+                    text));
+        }
+        return summaries;
+    }
+
     private Map<ChamberType, LegislativeBody> getLegislativeBodyMap(int congressNumber) {
         return getLegislativeBodyMap(congressNumber, null, null, null);
     }
@@ -828,6 +927,28 @@ public final class CongressGovClient {
         return value.asText();
     }
 
+    private static LocalDate parseLocalDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant();
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
     private static Instant firstNonNullInstant(Instant current, Instant candidate) {
         if (current != null) {
             return current;
@@ -871,6 +992,16 @@ public final class CongressGovClient {
 
     public record MemberVoteResult(String bioguideId, String voteCast) {}
 
+    /**
+     * CRS summary of one bill version. {@code text} is the HTML published by Congress.gov.
+     */
+    public record BillSummary(
+            String versionCode,
+            String actionDescription,
+            LocalDate actionDate,
+            Instant updateDate,
+            String text) {}
+
     public record MemberListing(
             PublicOfficial publicOfficial,
             LegislativeBody legislativeBody,
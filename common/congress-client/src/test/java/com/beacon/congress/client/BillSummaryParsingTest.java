@@ -0,0 +1,42 @@
+package com.beacon.congress.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BillSummaryParsingTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void parsesSummariesAndSkipsEmptyText() throws Exception {
+        try (InputStream stream = getClass().getResourceAsStream("/fixtures/bill-summaries-sample.json")) {
+            JsonNode root = MAPPER.readTree(stream);
+
+            List<CongressGovClient.BillSummary> summaries = CongressGovClient.parseBillSummaries(root);
+
+            assertThat(summaries).hasSize(2);
+            CongressGovClient.BillSummary latest = summaries.get(1);
+            assertThat(latest.versionCode()).isEqualTo("53");
+            assertThat(latest.actionDescription()).isEqualTo("Passed House amended");
+            assertThat(latest.actionDate()).isEqualTo(LocalDate.of(2023, 6, 14));
+            assertThat(latest.updateDate()).isEqualTo(Instant.parse("2023-06-20T12:00:00Z"));
+            assertThat(latest.text()).contains("competitive grant program");
+        }
+    }
+
+    @Test
+    void normalizesVotePayloadLegislationTypes() {
+        assertThat(CongressGovClient.normalizeBillType("HR")).isEqualTo("hr");
+        assertThat(CongressGovClient.normalizeBillType("H.J.RES.")).isEqualTo("hjres");
+        assertThat(CongressGovClient.normalizeBillType("s")).isEqualTo("s");
+        assertThat(CongressGovClient.normalizeBillType("HAMDT")).isEmpty();
+        assertThat(CongressGovClient.normalizeBillType(null)).isEmpty();
+    }
+}
@@ -14,6 +14,10 @@ java {
 
 dependencies {
     api("com.google.protobuf:protobuf-java:$protobufVersion")
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.3")
+    testImplementation("org.assertj:assertj-core:3.26.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 protobuf {
@@ -21,3 +25,7 @@ protobuf {
         artifact = "com.google.protobuf:protoc:$protobufVersion"
     }
 }
+
+tasks.test {
+    useJUnitPlatform()
+}
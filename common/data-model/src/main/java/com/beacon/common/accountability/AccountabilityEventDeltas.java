@@ -0,0 +1,165 @@
+package com.beacon.common.accountability;
+
+import com.beacon.common.accountability.v1.EventEncoding;
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds and applies {@link EventEncoding#DELTA delta} {@link OfficialAccountabilityEvent}s.
+ *
+ * <p>Only the state fields ({@code legislative_body}, {@code public_official}, {@code voting_records} and
+ * {@code accountability_metrics}) are diffed. Singular message fields present on both sides are compared field by
+ * field, so a changed presence score travels as {@code public_official.attendance_summary.presence_score}. Repeated
+ * fields and {@code google.protobuf} types are replaced whole. The event metadata ({@code uuid}, {@code captured_at}
+ * and so on) always travels in full.
+ */
+public final class AccountabilityEventDeltas {
+
+    private static final List<FieldDescriptor> STATE_FIELDS = List.of(
+            field(OfficialAccountabilityEvent.LEGISLATIVE_BODY_FIELD_NUMBER),
+            field(OfficialAccountabilityEvent.PUBLIC_OFFICIAL_FIELD_NUMBER),
+            field(OfficialAccountabilityEvent.VOTING_RECORDS_FIELD_NUMBER),
+            field(OfficialAccountabilityEvent.ACCOUNTABILITY_METRICS_FIELD_NUMBER));
+
+    private AccountabilityEventDeltas() {
+    }
+
+    /**
+     * Whether the event carries complete state; events from producers that predate deltas do.
+     */
+    public static boolean isSnapshot(OfficialAccountabilityEvent event) {
+        return event.getEncoding() != EventEncoding.DELTA;
+    }
+
+    /**
+     * Marks an event as a snapshot, dropping any delta fields.
+     */
+    public static OfficialAccountabilityEvent snapshot(OfficialAccountabilityEvent event) {
+        return event.toBuilder()
+                .setEncoding(EventEncoding.SNAPSHOT)
+                .clearUpdateMask()
+                .clearBaseEventUuid()
+                .build();
+    }
+
+    /**
+     * Paths of the state fields that differ between two events.
+     */
+    public static FieldMask changedFields(OfficialAccountabilityEvent base, OfficialAccountabilityEvent current) {
+        List<String> paths = new ArrayList<>();
+        for (FieldDescriptor field : STATE_FIELDS) {
+            diff(field, "", base, current, paths);
+        }
+        return FieldMask.newBuilder().addAllPaths(paths).build();
+    }
+
+    /**
+     * Encodes {@code current} as a delta against {@code base}, the last event the consumers were sent.
+     */
+    public static OfficialAccountabilityEvent delta(OfficialAccountabilityEvent base, OfficialAccountabilityEvent current) {
+        FieldMask mask = changedFields(base, current);
+        OfficialAccountabilityEvent.Builder delta = current.toBuilder()
+                .setEncoding(EventEncoding.DELTA)
+                .setUpdateMask(mask)
+                .setBaseEventUuid(base.getUuid());
+        for (FieldDescriptor field : STATE_FIELDS) {
+            delta.clearField(field);
+        }
+        for (String path : mask.getPathsList()) {
+            copy(delta, current, path.split("\\."), 0);
+        }
+        return delta.build();
+    }
+
+    /**
+     * Reconstructs the state an event describes.
+     *
+     * @param state the reconstructed state of the previous event, or {@code null} when none has been seen
+     * @return a snapshot carrying the event's metadata and the resulting state
+     * @throws IllegalStateException when a delta does not apply to {@code state}; the consumer should wait for the
+     *         next snapshot
+     * @throws IllegalArgumentException when the update mask names a field that does not exist
+     */
+    public static OfficialAccountabilityEvent apply(OfficialAccountabilityEvent state, OfficialAccountabilityEvent event) {
+        if (isSnapshot(event)) {
+            return snapshot(event);
+        }
+        if (state == null || !state.getUuid().equals(event.getBaseEventUuid())) {
+            throw new IllegalStateException("Delta %s applies to event %s, not %s".formatted(
+                    event.getUuid(),
+                    event.getBaseEventUuid(),
+                    state == null ? "an empty state" : state.getUuid()));
+        }
+        OfficialAccountabilityEvent.Builder merged = event.toBuilder();
+        for (FieldDescriptor field : STATE_FIELDS) {
+            assign(merged, state, field);
+        }
+        for (String path : event.getUpdateMask().getPathsList()) {
+            copy(merged, event, path.split("\\."), 0);
+        }
+        return snapshot(merged.build());
+    }
+
+    private static void diff(FieldDescriptor field, String prefix, Message base, Message current, List<String> paths) {
+        Object before = base.getField(field);
+        Object after = current.getField(field);
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        String path = prefix + field.getName();
+        if (!isComposite(field) || !base.hasField(field) || !current.hasField(field)) {
+            paths.add(path);
+            return;
+        }
+        for (FieldDescriptor child : field.getMessageType().getFields()) {
+            diff(child, path + ".", (Message) before, (Message) after, paths);
+        }
+    }
+
+    private static boolean isComposite(FieldDescriptor field) {
+        return !field.isRepeated()
+                && field.getJavaType() == FieldDescriptor.JavaType.MESSAGE
+                && !field.getMessageType().getFullName().startsWith("google.protobuf.");
+    }
+
+    /**
+     * Copies the field at {@code path} from {@code source} into {@code target}, clearing it when unset in the source.
+     */
+    private static void copy(Message.Builder target, Message source, String[] path, int depth) {
+        Descriptor type = target.getDescriptorForType();
+        FieldDescriptor field = type.findFieldByName(path[depth]);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field %s in update mask path %s"
+                    .formatted(path[depth], String.join(".", path)));
+        }
+        if (depth == path.length - 1) {
+            assign(target, source, field);
+            return;
+        }
+        if (!isComposite(field)) {
+            throw new IllegalArgumentException("Update mask path %s descends into %s"
+                    .formatted(String.join(".", path), field.getFullName()));
+        }
+        Message.Builder child = ((Message) target.getField(field)).toBuilder();
+        copy(child, (Message) source.getField(field), path, depth + 1);
+        target.setField(field, child.build());
+    }
+
+    private static void assign(Message.Builder target, Message source, FieldDescriptor field) {
+        if (field.isRepeated() || source.hasField(field)) {
+            target.setField(field, source.getField(field));
+        } else {
+            target.clearField(field);
+        }
+    }
+
+    private static FieldDescriptor field(int number) {
+        return OfficialAccountabilityEvent.getDescriptor().findFieldByNumber(number);
+    }
+}
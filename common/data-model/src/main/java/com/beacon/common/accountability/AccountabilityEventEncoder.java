@@ -0,0 +1,89 @@
+package com.beacon.common.accountability;
+
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Producer side of delta encoding: remembers the last event the broker acknowledged per {@code partition_key} and
+ * encodes the next one as a delta against it.
+ *
+ * <p>Every key starts with a snapshot, and a snapshot is sent again after {@code snapshotInterval} consecutive deltas
+ * so consumers that join late or lose their state recover within a bounded number of events. An event becomes a
+ * baseline only once {@link #acknowledge} confirms it was sent; while an earlier event of the key is still in flight
+ * the next one is sent as a snapshot, so a delta never refers to an event consumers may not receive. A delta that
+ * would not be smaller than its snapshot is sent as the snapshot. Events without a partition key are always
+ * snapshots. Instances are thread-safe.
+ */
+public final class AccountabilityEventEncoder {
+
+    private final int snapshotInterval;
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+
+    /**
+     * @param snapshotInterval deltas sent between two snapshots of the same key; {@code 0} disables deltas
+     */
+    public AccountabilityEventEncoder(int snapshotInterval) {
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("snapshotInterval must not be negative");
+        }
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Encodes an event carrying complete state for sending. Pass the result to {@link #acknowledge} once the send
+     * succeeds, or the key to {@link #reset} when it fails.
+     */
+    public OfficialAccountabilityEvent encode(OfficialAccountabilityEvent event) {
+        OfficialAccountabilityEvent snapshot = AccountabilityEventDeltas.snapshot(event);
+        String key = event.getPartitionKey();
+        if (key.isEmpty() || snapshotInterval == 0) {
+            return snapshot;
+        }
+        OfficialAccountabilityEvent[] encoded = new OfficialAccountabilityEvent[1];
+        states.compute(key, (ignored, state) -> {
+            Baseline baseline = state == null ? null : state.acknowledged;
+            if (baseline != null && state.inFlight == null && baseline.deltas < snapshotInterval) {
+                OfficialAccountabilityEvent delta = AccountabilityEventDeltas.delta(baseline.event, snapshot);
+                if (delta.getSerializedSize() < snapshot.getSerializedSize()) {
+                    encoded[0] = delta;
+                    return new KeyState(baseline, new Baseline(snapshot, baseline.deltas + 1));
+                }
+            }
+            encoded[0] = snapshot;
+            return new KeyState(baseline, new Baseline(snapshot, 0));
+        });
+        return encoded[0];
+    }
+
+    /**
+     * Records that an encoded event was sent, making it its key's baseline unless a later event was encoded since.
+     */
+    public void acknowledge(OfficialAccountabilityEvent sent) {
+        String key = sent.getPartitionKey();
+        if (key.isEmpty()) {
+            return;
+        }
+        states.computeIfPresent(key, (ignored, state) -> {
+            if (state.inFlight == null || !state.inFlight.event.getUuid().equals(sent.getUuid())) {
+                return state;
+            }
+            return new KeyState(state.inFlight, null);
+        });
+    }
+
+    /**
+     * Forgets a key's baseline so its next event is a snapshot, for example after a send failed.
+     */
+    public void reset(String partitionKey) {
+        states.remove(partitionKey);
+    }
+
+    private record Baseline(OfficialAccountabilityEvent event, int deltas) {}
+
+    /**
+     * @param acknowledged the last event confirmed sent, or {@code null}
+     * @param inFlight the last event encoded and not yet confirmed, or {@code null}
+     */
+    private record KeyState(Baseline acknowledged, Baseline inFlight) {}
+}
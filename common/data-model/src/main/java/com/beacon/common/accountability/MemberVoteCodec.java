@@ -0,0 +1,214 @@
+package com.beacon.common.accountability;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.PackedMemberVotes;
+import com.beacon.common.accountability.v1.VotePosition;
+import com.beacon.common.accountability.v1.VoteRoster;
+import com.beacon.common.accountability.v1.VotingRecord;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Converts {@link VotingRecord#getMemberVotesList() member_votes} to and from the compact
+ * {@link PackedMemberVotes} encoding.
+ *
+ * <p>Packing keeps each member's position and raw label. {@code MemberVote.uuid} and {@code voting_record_uuid} are
+ * derived again on unpacking, from the seed prefix the packed votes carry, and official UUIDs travel once per
+ * {@link VoteRoster}. {@code group_position} is not carried, since nothing populates it yet. Consumers that accept
+ * either encoding read votes through {@link #memberVotes}.
+ */
+public final class MemberVoteCodec {
+
+    /**
+     * Seed prefix House ingestion derives member vote UUIDs with.
+     */
+    public static final String HOUSE_MEMBER_VOTE_UUID_PREFIX = "house-vote-member-";
+
+    private MemberVoteCodec() {
+    }
+
+    /**
+     * UUID of a member's vote on a roll call, derived from {@code prefix + votingRecordSourceId + "-" + memberSourceId}.
+     */
+    public static String memberVoteUuid(String prefix, String votingRecordSourceId, String memberSourceId) {
+        String seed = prefix + votingRecordSourceId + "-" + memberSourceId;
+        return UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Builds a roster of the given members ordered by source identifier.
+     *
+     * @param officialUuids official UUID by member source identifier; missing members get an empty UUID
+     */
+    public static VoteRoster roster(Iterable<String> memberSourceIds, Map<String, String> officialUuids) {
+        TreeMap<String, String> members = new TreeMap<>();
+        for (String memberSourceId : memberSourceIds) {
+            members.put(memberSourceId, Objects.requireNonNullElse(officialUuids.get(memberSourceId), ""));
+        }
+        MessageDigest digest = sha256();
+        members.forEach((memberSourceId, officialUuid) -> {
+            digest.update(memberSourceId.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(officialUuid.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        });
+        return VoteRoster.newBuilder()
+                .setRosterId(HexFormat.of().formatHex(digest.digest(), 0, 16))
+                .addAllMemberSourceIds(members.keySet())
+                .addAllOfficialUuids(members.values())
+                .build();
+    }
+
+    /**
+     * Builds a roster of every member voting on any of the records.
+     */
+    public static VoteRoster roster(Iterable<VotingRecord> records) {
+        Map<String, String> officialUuids = new HashMap<>();
+        List<String> members = new ArrayList<>();
+        for (VotingRecord record : records) {
+            for (MemberVote memberVote : record.getMemberVotesList()) {
+                members.add(memberVote.getSourceId());
+                officialUuids.putIfAbsent(memberVote.getSourceId(), memberVote.getOfficialUuid());
+            }
+        }
+        return roster(members, officialUuids);
+    }
+
+    /**
+     * Packs a record against a roster built from its own member votes, inlined into the record.
+     *
+     * @param memberVoteUuidPrefix seed prefix the record's member vote UUIDs were derived with
+     */
+    public static VotingRecord pack(VotingRecord record, String memberVoteUuidPrefix) {
+        return pack(record, roster(List.of(record)), true, memberVoteUuidPrefix);
+    }
+
+    /**
+     * Replaces the record's member votes with their packed form.
+     *
+     * @param inlineRoster whether to embed the roster; otherwise only its identifier is referenced
+     * @param memberVoteUuidPrefix seed prefix the record's member vote UUIDs were derived with, or empty when they have
+     *                             none
+     * @throws IllegalArgumentException when a member vote is not on the roster, or its UUID was not derived with the
+     *                                  prefix and would change on unpacking
+     */
+    public static VotingRecord pack(
+            VotingRecord record, VoteRoster roster, boolean inlineRoster, String memberVoteUuidPrefix) {
+        if (record.getMemberVotesCount() == 0) {
+            return record;
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < roster.getMemberSourceIdsCount(); i++) {
+            indexes.put(roster.getMemberSourceIds(i), i);
+        }
+        VotePosition[] positions = new VotePosition[roster.getMemberSourceIdsCount()];
+        int[] labelIndexes = new int[positions.length];
+        Map<String, Integer> labels = new LinkedHashMap<>();
+        for (MemberVote memberVote : record.getMemberVotesList()) {
+            Integer index = indexes.get(memberVote.getSourceId());
+            if (index == null) {
+                throw new IllegalArgumentException("Member %s of %s is not on roster %s"
+                        .formatted(memberVote.getSourceId(), record.getSourceId(), roster.getRosterId()));
+            }
+            if (!memberVote.getUuid().equals(
+                    derivedUuid(memberVoteUuidPrefix, record.getSourceId(), memberVote.getSourceId()))) {
+                throw new IllegalArgumentException("Member vote %s of %s was not derived with prefix '%s'"
+                        .formatted(memberVote.getSourceId(), record.getSourceId(), memberVoteUuidPrefix));
+            }
+            positions[index] = memberVote.getVotePosition();
+            labelIndexes[index] = labels.computeIfAbsent(memberVote.getNotes(), ignored -> labels.size() + 1);
+        }
+        PackedMemberVotes.Builder packed = PackedMemberVotes.newBuilder()
+                .setRosterId(roster.getRosterId())
+                .addAllLabels(labels.keySet())
+                .setMemberVoteUuidPrefix(memberVoteUuidPrefix);
+        for (int i = 0; i < positions.length; i++) {
+            packed.addPositions(positions[i] == null ? VotePosition.VOTE_POSITION_UNSPECIFIED : positions[i]);
+            packed.addLabelIndexes(labelIndexes[i]);
+        }
+        if (inlineRoster) {
+            packed.setRoster(roster);
+        }
+        return record.toBuilder()
+                .clearMemberVotes()
+                .setPackedMemberVotes(packed)
+                .build();
+    }
+
+    /**
+     * Replaces the record's packed votes with expanded member votes; records that are not packed are returned as is.
+     *
+     * @param rosters looks up rosters the record only references; may return {@code null} for unknown identifiers
+     * @throws IllegalStateException when the referenced roster is neither inlined nor known
+     */
+    public static VotingRecord unpack(VotingRecord record, Function<String, VoteRoster> rosters) {
+        if (!record.hasPackedMemberVotes()) {
+            return record;
+        }
+        return record.toBuilder()
+                .clearPackedMemberVotes()
+                .clearMemberVotes()
+                .addAllMemberVotes(memberVotes(record, rosters))
+                .build();
+    }
+
+    /**
+     * Member votes of a record in either encoding.
+     */
+    public static List<MemberVote> memberVotes(VotingRecord record, Function<String, VoteRoster> rosters) {
+        if (!record.hasPackedMemberVotes()) {
+            return record.getMemberVotesList();
+        }
+        PackedMemberVotes packed = record.getPackedMemberVotes();
+        VoteRoster roster = packed.hasRoster() ? packed.getRoster() : rosters.apply(packed.getRosterId());
+        if (roster == null || !roster.getRosterId().equals(packed.getRosterId())) {
+            throw new IllegalStateException("Vote roster %s of %s is not available"
+                    .formatted(packed.getRosterId(), record.getSourceId()));
+        }
+        String prefix = packed.getMemberVoteUuidPrefix();
+        int members = Math.min(roster.getMemberSourceIdsCount(), packed.getLabelIndexesCount());
+        List<MemberVote> memberVotes = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            int labelIndex = packed.getLabelIndexes(i);
+            if (labelIndex == 0) {
+                continue;
+            }
+            String memberSourceId = roster.getMemberSourceIds(i);
+            memberVotes.add(MemberVote.newBuilder()
+                    .setUuid(derivedUuid(prefix, record.getSourceId(), memberSourceId))
+                    .setSourceId(memberSourceId)
+                    .setOfficialUuid(i < roster.getOfficialUuidsCount() ? roster.getOfficialUuids(i) : "")
+                    .setVotingRecordUuid(record.getUuid())
+                    .setVotePosition(i < packed.getPositionsCount()
+                            ? packed.getPositions(i)
+                            : VotePosition.VOTE_POSITION_UNSPECIFIED)
+                    .setGroupPosition("")
+                    .setNotes(packed.getLabels(labelIndex - 1))
+                    .build());
+        }
+        return memberVotes;
+    }
+
+    private static String derivedUuid(String prefix, String votingRecordSourceId, String memberSourceId) {
+        return prefix.isEmpty() ? "" : memberVoteUuid(prefix, votingRecordSourceId, memberSourceId);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.beacon.common.topics;
+
+import java.util.Optional;
+
+/**
+ * What an {@code OfficialAccountabilityEvent} reports, carried in the {@link EventHeaders#EVENT_TYPE} header.
+ */
+public enum AccountabilityEventType {
+    OFFICIAL_INSERTED("official-inserted"),
+    OFFICIAL_UPDATED("official-updated");
+
+    private final String value;
+
+    AccountabilityEventType(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static Optional<AccountabilityEventType> fromValue(String value) {
+        for (AccountabilityEventType type : values()) {
+            if (type.value.equals(value)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.beacon.common.topics;
+
+import com.beacon.common.accountability.v1.EventEncoding;
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import com.google.protobuf.Timestamp;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kafka record headers every accountability event is published with, so consumers can route or skip records without
+ * parsing their payloads. Values are UTF-8 strings; a header whose value would be empty is left out.
+ *
+ * <p>The headers describe the full event even when the payload is a delta that omits the official or the body.
+ */
+public final class EventHeaders {
+
+    /** {@link AccountabilityEventType#value()} of the event. */
+    public static final String EVENT_TYPE = "beacon-event-type";
+    /** {@code PublicOfficial.uuid} of the official the event is about. */
+    public static final String OFFICIAL_UUID = "beacon-official-uuid";
+    /** {@code LegislativeBody.source_id} of the official's body, for example {@code house}. */
+    public static final String BODY_SOURCE_ID = "beacon-body-source-id";
+    /** {@link KafkaTopic#schemaVersion()} of the topic the payload was written for. */
+    public static final String SCHEMA_VERSION = "beacon-schema-version";
+    /** {@code captured_at} as an ISO-8601 instant. */
+    public static final String CAPTURED_AT = "beacon-captured-at";
+    /** {@code EventEncoding} name of the payload, {@code SNAPSHOT} or {@code DELTA}. */
+    public static final String ENCODING = "beacon-encoding";
+
+    private EventHeaders() {
+    }
+
+    /**
+     * Headers of an event published to a topic.
+     *
+     * @param event the event with its complete state, before delta encoding
+     * @param encoding encoding of the payload actually sent
+     */
+    public static Map<String, String> of(
+            KafkaTopic topic,
+            AccountabilityEventType type,
+            OfficialAccountabilityEvent event,
+            EventEncoding encoding) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        put(headers, EVENT_TYPE, type.value());
+        put(headers, OFFICIAL_UUID, event.getPublicOfficial().getUuid());
+        put(headers, BODY_SOURCE_ID, event.getLegislativeBody().getSourceId());
+        put(headers, SCHEMA_VERSION, topic.schemaVersion());
+        if (event.hasCapturedAt()) {
+            Timestamp capturedAt = event.getCapturedAt();
+            put(headers, CAPTURED_AT, Instant.ofEpochSecond(capturedAt.getSeconds(), capturedAt.getNanos()).toString());
+        }
+        // Events that predate delta encoding carry complete state.
+        put(headers, ENCODING, (encoding == EventEncoding.DELTA ? EventEncoding.DELTA : EventEncoding.SNAPSHOT).name());
+        return headers;
+    }
+
+    public static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a header value; {@code null} when the header is absent.
+     */
+    public static String decode(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void put(Map<String, String> headers, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            headers.put(name, value);
+        }
+    }
+}
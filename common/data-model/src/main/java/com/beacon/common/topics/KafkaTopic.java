@@ -2,16 +2,21 @@ package com.beacon.common.topics;
 
 /**
  * Canonical Kafka topic definitions shared across Beacon microservices.
+ *
+ * <p>Every record carries the {@link EventHeaders} envelope; {@link #schemaVersion()} is the value of its
+ * {@link EventHeaders#SCHEMA_VERSION} header, naming the protobuf package the payload was serialized with.
  */
 public enum KafkaTopic {
-    OFFICIAL_ACCOUNTABILITY_EVENTS("official-accountability-events", 6);
+    OFFICIAL_ACCOUNTABILITY_EVENTS("official-accountability-events", 6, "beacon.accountability.v1");
 
     private final String value;
     private final int partitions;
+    private final String schemaVersion;
 
-    KafkaTopic(String value, int partitions) {
+    KafkaTopic(String value, int partitions, String schemaVersion) {
         this.value = value;
         this.partitions = partitions;
+        this.schemaVersion = schemaVersion;
     }
 
     public String value() {
@@ -21,4 +26,8 @@ public enum KafkaTopic {
     public int partitions() {
         return partitions;
     }
+
+    public String schemaVersion() {
+        return schemaVersion;
+    }
 }
@@ -0,0 +1,130 @@
+package com.beacon.common.accountability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beacon.common.accountability.v1.AttendanceSnapshot;
+import com.beacon.common.accountability.v1.AttendanceSummary;
+import com.beacon.common.accountability.v1.ChamberType;
+import com.beacon.common.accountability.v1.EventEncoding;
+import com.beacon.common.accountability.v1.LegislativeBody;
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import com.beacon.common.accountability.v1.PublicOfficial;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Timestamp;
+import org.junit.jupiter.api.Test;
+
+class AccountabilityEventDeltasTest {
+
+    @Test
+    void presenceScoreChangeTravelsAsASingleField() {
+        OfficialAccountabilityEvent base = event("event-1", 90);
+        OfficialAccountabilityEvent current = event("event-2", 91);
+
+        OfficialAccountabilityEvent delta = AccountabilityEventDeltas.delta(base, current);
+
+        assertThat(delta.getEncoding()).isEqualTo(EventEncoding.DELTA);
+        assertThat(delta.getBaseEventUuid()).isEqualTo("event-1");
+        assertThat(delta.getUpdateMask().getPathsList())
+                .containsExactly("public_official.attendance_summary.presence_score");
+        assertThat(delta.getPublicOfficial().getAttendanceHistoryCount()).isZero();
+        assertThat(delta.getSerializedSize() * 5).isLessThan(current.getSerializedSize());
+        assertThat(AccountabilityEventDeltas.apply(AccountabilityEventDeltas.snapshot(base), delta))
+                .isEqualTo(AccountabilityEventDeltas.snapshot(current));
+    }
+
+    @Test
+    void deltasChainFromTheReconstructedState() {
+        OfficialAccountabilityEvent first = event("event-1", 90);
+        OfficialAccountabilityEvent second = event("event-2", 91).toBuilder()
+                .setPublicOfficial(event("event-2", 91).getPublicOfficial().toBuilder().clearPhotoUrl())
+                .build();
+        OfficialAccountabilityEvent third = event("event-3", 92).toBuilder()
+                .setPublicOfficial(second.getPublicOfficial().toBuilder()
+                        .setAttendanceSummary(second.getPublicOfficial().getAttendanceSummary().toBuilder()
+                                .setPresenceScore(92))
+                        .addAttendanceHistory(snapshot("2025-07")))
+                .build();
+
+        OfficialAccountabilityEvent state = AccountabilityEventDeltas.apply(null, first);
+        state = AccountabilityEventDeltas.apply(state, AccountabilityEventDeltas.delta(first, second));
+        state = AccountabilityEventDeltas.apply(state, AccountabilityEventDeltas.delta(second, third));
+
+        assertThat(state).isEqualTo(AccountabilityEventDeltas.snapshot(third));
+        assertThat(state.getPublicOfficial().getPhotoUrl()).isEmpty();
+    }
+
+    @Test
+    void deltasOnlyApplyToTheirBase() {
+        OfficialAccountabilityEvent delta = AccountabilityEventDeltas.delta(event("event-1", 90), event("event-3", 92));
+
+        assertThatThrownBy(() -> AccountabilityEventDeltas.apply(null, delta))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> AccountabilityEventDeltas.apply(event("event-2", 91), delta))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void unknownMaskPathsAreRejected() {
+        OfficialAccountabilityEvent delta = AccountabilityEventDeltas.delta(event("event-1", 90), event("event-2", 91))
+                .toBuilder()
+                .setUpdateMask(FieldMask.newBuilder().addPaths("public_official.shoe_size"))
+                .build();
+
+        assertThatThrownBy(() -> AccountabilityEventDeltas.apply(event("event-1", 90), delta))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void eventsWithoutEncodingAreSnapshots() {
+        OfficialAccountabilityEvent legacy = event("event-1", 90);
+
+        assertThat(AccountabilityEventDeltas.isSnapshot(legacy)).isTrue();
+        assertThat(AccountabilityEventDeltas.apply(event("event-0", 80), legacy).getPublicOfficial())
+                .isEqualTo(legacy.getPublicOfficial());
+    }
+
+    static OfficialAccountabilityEvent event(String uuid, int presenceScore) {
+        PublicOfficial.Builder official = PublicOfficial.newBuilder()
+                .setUuid("official-1")
+                .setSourceId("A000001")
+                .setLegislativeBodyUuid("house")
+                .setFullName("Alex Example")
+                .setPartyAffiliation("D")
+                .setRoleTitle("Representative")
+                .setJurisdictionRegionCode("CA")
+                .setDistrictIdentifier("12")
+                .setBiographyUrl("https://bioguide.congress.gov/A000001")
+                .setPhotoUrl("https://example.org/A000001.jpg")
+                .setAttendanceSummary(AttendanceSummary.newBuilder()
+                        .setVotesParticipated(900)
+                        .setVotesTotal(1000)
+                        .setPresenceScore(presenceScore)
+                        .setParticipationScore(95));
+        for (int month = 1; month <= 24; month++) {
+            official.addAttendanceHistory(snapshot("period-" + month));
+        }
+        return OfficialAccountabilityEvent.newBuilder()
+                .setUuid(uuid)
+                .setSourceId("congress-roster-A000001")
+                .setCapturedAt(Timestamp.newBuilder().setSeconds(1_750_000_000L))
+                .setIngestionSource("congress.gov")
+                .setPartitionKey("official-1::lower")
+                .setLegislativeBody(LegislativeBody.newBuilder()
+                        .setUuid("house")
+                        .setSourceId("house")
+                        .setName("House of Representatives")
+                        .setChamberType(ChamberType.LOWER))
+                .setPublicOfficial(official)
+                .build();
+    }
+
+    private static AttendanceSnapshot snapshot(String label) {
+        return AttendanceSnapshot.newBuilder()
+                .setPeriodLabel(label)
+                .setPeriodStart(Timestamp.newBuilder().setSeconds(1_700_000_000L))
+                .setVotesParticipated(40)
+                .setVotesTotal(42)
+                .build();
+    }
+}
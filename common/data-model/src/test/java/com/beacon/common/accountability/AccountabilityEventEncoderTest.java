@@ -0,0 +1,95 @@
+package com.beacon.common.accountability;
+
+import static com.beacon.common.accountability.AccountabilityEventDeltasTest.event;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.beacon.common.accountability.v1.EventEncoding;
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AccountabilityEventEncoderTest {
+
+    @Test
+    void snapshotsAreRepeatedAfterTheInterval() {
+        AccountabilityEventEncoder encoder = new AccountabilityEventEncoder(2);
+
+        List<EventEncoding> encodings = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            encodings.add(send(encoder, event("event-" + i, 80 + i)).getEncoding());
+        }
+
+        assertThat(encodings).containsExactly(
+                EventEncoding.SNAPSHOT,
+                EventEncoding.DELTA,
+                EventEncoding.DELTA,
+                EventEncoding.SNAPSHOT,
+                EventEncoding.DELTA,
+                EventEncoding.DELTA);
+    }
+
+    @Test
+    void consumersReconstructEveryEvent() {
+        AccountabilityEventEncoder encoder = new AccountabilityEventEncoder(20);
+
+        OfficialAccountabilityEvent state = null;
+        for (int i = 0; i < 5; i++) {
+            OfficialAccountabilityEvent event = event("event-" + i, 80 + i);
+            state = AccountabilityEventDeltas.apply(state, send(encoder, event));
+            assertThat(state).isEqualTo(AccountabilityEventDeltas.snapshot(event));
+        }
+    }
+
+    @Test
+    void unacknowledgedEventsAreNeverUsedAsBaselines() {
+        AccountabilityEventEncoder encoder = new AccountabilityEventEncoder(20);
+        send(encoder, event("event-1", 80));
+
+        OfficialAccountabilityEvent second = encoder.encode(event("event-2", 81));
+        OfficialAccountabilityEvent third = encoder.encode(event("event-3", 82));
+        encoder.acknowledge(second);
+        encoder.acknowledge(third);
+        OfficialAccountabilityEvent fourth = encoder.encode(event("event-4", 83));
+
+        assertThat(second.getEncoding()).isEqualTo(EventEncoding.DELTA);
+        assertThat(second.getBaseEventUuid()).isEqualTo("event-1");
+        // The second event was still in flight, so the third must not depend on it.
+        assertThat(third.getEncoding()).isEqualTo(EventEncoding.SNAPSHOT);
+        assertThat(fourth.getBaseEventUuid()).isEqualTo("event-3");
+    }
+
+    @Test
+    void zeroIntervalSendsOnlySnapshots() {
+        AccountabilityEventEncoder encoder = new AccountabilityEventEncoder(0);
+        send(encoder, event("event-1", 80));
+
+        assertThat(send(encoder, event("event-2", 81)).getEncoding()).isEqualTo(EventEncoding.SNAPSHOT);
+    }
+
+    @Test
+    void resetKeysStartOverWithASnapshot() {
+        AccountabilityEventEncoder encoder = new AccountabilityEventEncoder(20);
+        send(encoder, event("event-1", 80));
+
+        encoder.reset("official-1::lower");
+
+        assertThat(encoder.encode(event("event-2", 81)).getEncoding()).isEqualTo(EventEncoding.SNAPSHOT);
+    }
+
+    @Test
+    void eventsWithoutAPartitionKeyAreAlwaysSnapshots() {
+        AccountabilityEventEncoder encoder = new AccountabilityEventEncoder(20);
+        OfficialAccountabilityEvent event = event("event-1", 80).toBuilder().clearPartitionKey().build();
+        send(encoder, event);
+
+        assertThat(encoder.encode(event).getEncoding()).isEqualTo(EventEncoding.SNAPSHOT);
+    }
+
+    private static OfficialAccountabilityEvent send(
+            AccountabilityEventEncoder encoder, OfficialAccountabilityEvent event) {
+        OfficialAccountabilityEvent encoded = encoder.encode(event);
+        encoder.acknowledge(encoded);
+        return encoded;
+    }
+}
@@ -0,0 +1,143 @@
+package com.beacon.common.accountability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import com.beacon.common.accountability.v1.VoteRoster;
+import com.beacon.common.accountability.v1.VotingRecord;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MemberVoteCodecTest {
+
+    private static final String PREFIX = MemberVoteCodec.HOUSE_MEMBER_VOTE_UUID_PREFIX;
+    private static final String SOURCE_ID = "house-119-1-42";
+    private static final String RECORD_UUID = UUID.nameUUIDFromBytes(SOURCE_ID.getBytes()).toString();
+
+    @Test
+    void packedVotesExpandToTheOriginalMemberVotes() {
+        VotingRecord record = record(List.of(
+                vote("A000001", VotePosition.YEA, "Yea", "official-a"),
+                vote("B000002", VotePosition.NAY, "No", "official-b"),
+                vote("C000003", VotePosition.NOT_VOTING, "Not Voting", "")));
+
+        VotingRecord packed = MemberVoteCodec.pack(record, PREFIX);
+
+        assertThat(packed.getMemberVotesCount()).isZero();
+        assertThat(packed.getPackedMemberVotes().getLabelsList()).containsExactly("Yea", "No", "Not Voting");
+        assertThat(MemberVoteCodec.unpack(packed, rosterId -> null)).isEqualTo(record);
+    }
+
+    @Test
+    void membersMissingFromARollCallAreSkipped() {
+        VoteRoster roster = MemberVoteCodec.roster(
+                List.of("A000001", "B000002", "C000003"),
+                Map.of("A000001", "official-a", "C000003", "official-c"));
+        VotingRecord record = record(List.of(
+                vote("C000003", VotePosition.YEA, "Aye", "official-c"),
+                vote("A000001", VotePosition.YEA, "Aye", "official-a")));
+
+        VotingRecord packed = MemberVoteCodec.pack(record, roster, false, PREFIX);
+
+        assertThat(packed.getPackedMemberVotes().hasRoster()).isFalse();
+        assertThat(packed.getPackedMemberVotes().getLabelIndexesList()).containsExactly(1, 0, 1);
+        List<MemberVote> votes = MemberVoteCodec.memberVotes(packed, Map.of(roster.getRosterId(), roster)::get);
+        assertThat(votes).hasSize(2);
+        assertThat(votes.get(0)).isEqualTo(record.getMemberVotes(1));
+        assertThat(votes.get(1)).isEqualTo(record.getMemberVotes(0));
+    }
+
+    @Test
+    void rosterIdentifiersDependOnlyOnContent() {
+        VoteRoster first = MemberVoteCodec.roster(List.of("B000002", "A000001"), Map.of("A000001", "official-a"));
+        VoteRoster second = MemberVoteCodec.roster(List.of("A000001", "B000002"), Map.of("A000001", "official-a"));
+        VoteRoster other = MemberVoteCodec.roster(List.of("A000001", "B000002"), Map.of("B000002", "official-a"));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.getMemberSourceIdsList()).containsExactly("A000001", "B000002");
+        assertThat(other.getRosterId()).isNotEqualTo(first.getRosterId());
+    }
+
+    @Test
+    void unknownRostersAndMembersAreRejected() {
+        VoteRoster roster = MemberVoteCodec.roster(List.of("A000001"), Map.of());
+        VotingRecord record = record(List.of(vote("A000001", VotePosition.YEA, "Yea", "")));
+        VotingRecord packed = MemberVoteCodec.pack(record, roster, false, PREFIX);
+
+        assertThatThrownBy(() -> MemberVoteCodec.unpack(packed, rosterId -> null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> MemberVoteCodec.pack(
+                        record(List.of(vote("Z999999", VotePosition.NAY, "Nay", ""))), roster, false, PREFIX))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void memberVoteUuidsFollowThePackedPrefix() {
+        MemberVote vote = MemberVote.newBuilder()
+                .setUuid(MemberVoteCodec.memberVoteUuid("senate-vote-member-", SOURCE_ID, "A000001"))
+                .setSourceId("A000001")
+                .setVotingRecordUuid(RECORD_UUID)
+                .setVotePosition(VotePosition.YEA)
+                .setNotes("Yea")
+                .build();
+        VotingRecord record = record(List.of(vote));
+
+        VotingRecord packed = MemberVoteCodec.pack(record, "senate-vote-member-");
+
+        assertThat(packed.getPackedMemberVotes().getMemberVoteUuidPrefix()).isEqualTo("senate-vote-member-");
+        assertThat(MemberVoteCodec.unpack(packed, rosterId -> null)).isEqualTo(record);
+        assertThatThrownBy(() -> MemberVoteCodec.pack(record, PREFIX))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void referencedRosterShrinksAHouseRollCall() {
+        List<String> members = new ArrayList<>();
+        Map<String, String> officials = new HashMap<>();
+        List<MemberVote> votes = new ArrayList<>();
+        for (int i = 0; i < 435; i++) {
+            String member = "M%06d".formatted(i);
+            String official = UUID.nameUUIDFromBytes(member.getBytes()).toString();
+            members.add(member);
+            officials.put(member, official);
+            votes.add(i % 7 == 0
+                    ? vote(member, VotePosition.NOT_VOTING, "Not Voting", official)
+                    : vote(member, i % 2 == 0 ? VotePosition.YEA : VotePosition.NAY, i % 2 == 0 ? "Yea" : "Nay", official));
+        }
+        VotingRecord record = record(votes);
+        VoteRoster roster = MemberVoteCodec.roster(members, officials);
+
+        VotingRecord packed = MemberVoteCodec.pack(record, roster, false, PREFIX);
+
+        assertThat(packed.getSerializedSize() * 10).isLessThan(record.getSerializedSize());
+        assertThat(MemberVoteCodec.unpack(packed, Map.of(roster.getRosterId(), roster)::get)).isEqualTo(record);
+    }
+
+    private static VotingRecord record(List<MemberVote> votes) {
+        return VotingRecord.newBuilder()
+                .setUuid(RECORD_UUID)
+                .setSourceId(SOURCE_ID)
+                .setLegislativeBodyUuid("house")
+                .setRollCallReference("119-1-42")
+                .addAllMemberVotes(votes)
+                .build();
+    }
+
+    private static MemberVote vote(String member, VotePosition position, String label, String officialUuid) {
+        return MemberVote.newBuilder()
+                .setUuid(MemberVoteCodec.memberVoteUuid(PREFIX, SOURCE_ID, member))
+                .setSourceId(member)
+                .setOfficialUuid(officialUuid)
+                .setVotingRecordUuid(RECORD_UUID)
+                .setVotePosition(position)
+                .setGroupPosition("")
+                .setNotes(label)
+                .build();
+    }
+}
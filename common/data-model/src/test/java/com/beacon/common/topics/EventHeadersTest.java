@@ -0,0 +1,59 @@
+package com.beacon.common.topics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.beacon.common.accountability.v1.EventEncoding;
+import com.beacon.common.accountability.v1.LegislativeBody;
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import com.beacon.common.accountability.v1.PublicOfficial;
+import com.google.protobuf.Timestamp;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class EventHeadersTest {
+
+    @Test
+    void headersDescribeTheEventWithoutItsPayload() {
+        OfficialAccountabilityEvent event = OfficialAccountabilityEvent.newBuilder()
+                .setUuid("event-1")
+                .setCapturedAt(Timestamp.newBuilder().setSeconds(1_750_000_000L).setNanos(5_000_000))
+                .setLegislativeBody(LegislativeBody.newBuilder().setUuid("body-1").setSourceId("house"))
+                .setPublicOfficial(PublicOfficial.newBuilder().setUuid("official-1").setSourceId("A000001"))
+                .build();
+
+        Map<String, String> headers = EventHeaders.of(
+                KafkaTopic.OFFICIAL_ACCOUNTABILITY_EVENTS,
+                AccountabilityEventType.OFFICIAL_UPDATED,
+                event,
+                EventEncoding.DELTA);
+
+        assertThat(headers).containsExactly(
+                Map.entry(EventHeaders.EVENT_TYPE, "official-updated"),
+                Map.entry(EventHeaders.OFFICIAL_UUID, "official-1"),
+                Map.entry(EventHeaders.BODY_SOURCE_ID, "house"),
+                Map.entry(EventHeaders.SCHEMA_VERSION, "beacon.accountability.v1"),
+                Map.entry(EventHeaders.CAPTURED_AT, "2025-06-15T15:06:40.005Z"),
+                Map.entry(EventHeaders.ENCODING, "DELTA"));
+        assertThat(AccountabilityEventType.fromValue(headers.get(EventHeaders.EVENT_TYPE)))
+                .contains(AccountabilityEventType.OFFICIAL_UPDATED);
+    }
+
+    @Test
+    void emptyValuesAreLeftOut() {
+        Map<String, String> headers = EventHeaders.of(
+                KafkaTopic.OFFICIAL_ACCOUNTABILITY_EVENTS,
+                AccountabilityEventType.OFFICIAL_INSERTED,
+                OfficialAccountabilityEvent.getDefaultInstance(),
+                EventEncoding.EVENT_ENCODING_UNSPECIFIED);
+
+        assertThat(headers)
+                .containsOnlyKeys(EventHeaders.EVENT_TYPE, EventHeaders.SCHEMA_VERSION, EventHeaders.ENCODING);
+        assertThat(headers.get(EventHeaders.ENCODING)).isEqualTo("SNAPSHOT");
+    }
+
+    @Test
+    void valuesRoundTripAsUtf8() {
+        assertThat(EventHeaders.decode(EventHeaders.encode("Représentant"))).isEqualTo("Représentant");
+        assertThat(EventHeaders.decode(null)).isNull();
+    }
+}
@@ -0,0 +1,71 @@
+package com.beacon.stateful.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+
+/**
+ * Stores one {@link AttendanceRanks} document per legislative body. Each group keeps three 102-entry cumulative count
+ * arrays, so a chamber's whole document stays a few kilobytes regardless of its size.
+ */
+public class AttendanceRankRepository {
+
+    private final MongoCollection<Document> collection;
+
+    public AttendanceRankRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    public void save(AttendanceRanks ranks) {
+        List<Document> groups = new ArrayList<>();
+        for (AttendanceRanks.ScoreGroup group : ranks.groups()) {
+            groups.add(new Document("scope", group.scope().name())
+                    .append("key", group.key())
+                    .append("presence", toList(group.presence()))
+                    .append("participation", toList(group.participation()))
+                    .append("overall", toList(group.overall())));
+        }
+        Document document = new Document("_id", ranks.legislativeBodyUuid())
+                .append("legislative_body_uuid", ranks.legislativeBodyUuid())
+                .append("computed_at", ranks.computedAt() == null ? null : Date.from(ranks.computedAt()))
+                .append("groups", groups);
+        collection.replaceOne(Filters.eq("_id", ranks.legislativeBodyUuid()), document, new ReplaceOptions().upsert(true));
+    }
+
+    public Optional<AttendanceRanks> find(String legislativeBodyUuid) {
+        Document document = collection.find(Filters.eq("_id", legislativeBodyUuid)).first();
+        if (document == null) {
+            return Optional.empty();
+        }
+        List<AttendanceRanks.ScoreGroup> groups = new ArrayList<>();
+        for (Document group : document.getList("groups", Document.class, List.of())) {
+            groups.add(new AttendanceRanks.ScoreGroup(
+                    AttendanceRanks.Scope.valueOf(group.getString("scope")),
+                    group.getString("key"),
+                    toDistribution(group, "presence"),
+                    toDistribution(group, "participation"),
+                    toDistribution(group, "overall")));
+        }
+        Date computedAt = document.getDate("computed_at");
+        return Optional.of(new AttendanceRanks(
+                legislativeBodyUuid,
+                computedAt == null ? null : computedAt.toInstant(),
+                groups));
+    }
+
+    private static List<Integer> toList(ScoreDistribution distribution) {
+        return Arrays.stream(distribution.cumulativeCounts()).boxed().toList();
+    }
+
+    private static ScoreDistribution toDistribution(Document group, String field) {
+        return ScoreDistribution.fromCumulativeCounts(group.getList(field, Integer.class).stream()
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+}
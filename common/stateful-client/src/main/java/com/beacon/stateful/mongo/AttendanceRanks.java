@@ -0,0 +1,138 @@
+package com.beacon.stateful.mongo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Attendance score distributions of one legislative body, split by the whole chamber, by state and by party. Computed
+ * once per attendance run so that an official's standing within each group is a constant-time lookup.
+ */
+public final class AttendanceRanks {
+
+    private final String legislativeBodyUuid;
+    private final Instant computedAt;
+    private final Map<GroupKey, ScoreGroup> groups;
+
+    public AttendanceRanks(String legislativeBodyUuid, Instant computedAt, Collection<ScoreGroup> groups) {
+        this.legislativeBodyUuid = Objects.requireNonNull(legislativeBodyUuid, "legislativeBodyUuid");
+        this.computedAt = computedAt;
+        this.groups = new LinkedHashMap<>();
+        for (ScoreGroup group : groups) {
+            this.groups.put(GroupKey.of(group.scope(), group.key()), group);
+        }
+    }
+
+    public static Builder builder(String legislativeBodyUuid) {
+        return new Builder(legislativeBodyUuid);
+    }
+
+    public String legislativeBodyUuid() {
+        return legislativeBodyUuid;
+    }
+
+    public Instant computedAt() {
+        return computedAt;
+    }
+
+    public Collection<ScoreGroup> groups() {
+        return groups.values();
+    }
+
+    /**
+     * Looks up a group; the key is ignored for {@link Scope#CHAMBER} and matched case-insensitively otherwise.
+     */
+    public Optional<ScoreGroup> group(Scope scope, String key) {
+        return Optional.ofNullable(groups.get(GroupKey.of(scope, key)));
+    }
+
+    private record GroupKey(Scope scope, String key) {
+
+        static GroupKey of(Scope scope, String key) {
+            return new GroupKey(scope, scope == Scope.CHAMBER || key == null ? "" : key.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public enum Scope {
+        CHAMBER,
+        STATE,
+        PARTY
+    }
+
+    /**
+     * Score distributions of one group of officials.
+     *
+     * @param key state code or party for the {@link Scope#STATE} and {@link Scope#PARTY} scopes, empty for the chamber
+     */
+    public record ScoreGroup(
+            Scope scope,
+            String key,
+            ScoreDistribution presence,
+            ScoreDistribution participation,
+            ScoreDistribution overall) {
+
+        public int size() {
+            return presence.size();
+        }
+    }
+
+    /**
+     * Collects officials' scores into chamber, state and party histograms.
+     */
+    public static final class Builder {
+
+        private final String legislativeBodyUuid;
+        private final Map<GroupKey, int[][]> histograms = new LinkedHashMap<>();
+
+        private Builder(String legislativeBodyUuid) {
+            this.legislativeBodyUuid = Objects.requireNonNull(legislativeBodyUuid, "legislativeBodyUuid");
+        }
+
+        /**
+         * Adds one official. Blank states and parties are only counted towards the chamber.
+         *
+         * @param overallScore composite score, as shown on the official's detail page
+         */
+        public Builder add(String state, String party, int presenceScore, int participationScore, int overallScore) {
+            count(Scope.CHAMBER, "", presenceScore, participationScore, overallScore);
+            if (state != null && !state.isBlank()) {
+                count(Scope.STATE, state, presenceScore, participationScore, overallScore);
+            }
+            if (party != null && !party.isBlank()) {
+                count(Scope.PARTY, party, presenceScore, participationScore, overallScore);
+            }
+            return this;
+        }
+
+        private void count(Scope scope, String key, int presence, int participation, int overall) {
+            int[][] histogram = histograms.computeIfAbsent(
+                    GroupKey.of(scope, key),
+                    ignored -> new int[3][ScoreDistribution.MAX_SCORE + 1]);
+            histogram[0][ScoreDistribution.clamp(presence)]++;
+            histogram[1][ScoreDistribution.clamp(participation)]++;
+            histogram[2][ScoreDistribution.clamp(overall)]++;
+        }
+
+        public AttendanceRanks build(Instant computedAt) {
+            return new AttendanceRanks(
+                    legislativeBodyUuid,
+                    computedAt,
+                    histograms.entrySet().stream()
+                            .map(entry -> {
+                                GroupKey key = entry.getKey();
+                                int[][] histogram = entry.getValue();
+                                return new ScoreGroup(
+                                        key.scope(),
+                                        key.key(),
+                                        ScoreDistribution.fromHistogram(histogram[0]),
+                                        ScoreDistribution.fromHistogram(histogram[1]),
+                                        ScoreDistribution.fromHistogram(histogram[2]));
+                            })
+                            .toList());
+        }
+    }
+}
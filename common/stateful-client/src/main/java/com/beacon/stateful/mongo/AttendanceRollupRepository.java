@@ -0,0 +1,224 @@
+package com.beacon.stateful.mongo;
+
+import com.beacon.stateful.mongo.VotingRecordRepository.AttendanceAggregation;
+import com.beacon.stateful.mongo.VotingRecordRepository.MemberPeriodCounters;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+/**
+ * Materialized attendance counters, one document per (official, legislative body, calendar month), plus one state
+ * document per body. Rollups are built once from the stored votes and then kept current by applying the change each
+ * upserted vote makes, so attendance summaries and history of any length are read without scanning raw votes.
+ */
+public class AttendanceRollupRepository {
+
+    private static final String KIND_MEMBER = "member";
+    private static final String KIND_BODY = "body";
+    private static final int WRITE_BATCH_SIZE = 1_000;
+
+    private final MongoCollection<Document> collection;
+
+    public AttendanceRollupRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("legislative_body_uuid", "kind"));
+        collection.createIndex(Indexes.compoundIndex(
+                Indexes.ascending("legislative_body_uuid", "member_id"),
+                Indexes.descending("year", "month")));
+    }
+
+    /**
+     * Returns whether rollups for the body have been built and are being maintained.
+     */
+    public boolean isBuilt(String legislativeBodyUuid) {
+        return collection.find(Filters.and(
+                        Filters.eq("_id", bodyStateId(legislativeBodyUuid)),
+                        Filters.exists("built_at")))
+                .first() != null;
+    }
+
+    /**
+     * Replaces every rollup of a body with the supplied aggregation and marks the body as built.
+     */
+    public void rebuild(String legislativeBodyUuid, AttendanceAggregation aggregation) {
+        Objects.requireNonNull(legislativeBodyUuid, "legislativeBodyUuid");
+        Objects.requireNonNull(aggregation, "aggregation");
+        collection.deleteMany(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_MEMBER)));
+        Date now = new Date();
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        for (MemberPeriodCounters counters : aggregation.counters()) {
+            Document document = new Document("_id", rollupId(legislativeBodyUuid, counters))
+                    .append("kind", KIND_MEMBER)
+                    .append("legislative_body_uuid", legislativeBodyUuid)
+                    .append("member_id", counters.memberId())
+                    .append("year", counters.year())
+                    .append("month", counters.month())
+                    .append("votes_total", counters.votesTotal())
+                    .append("votes_participated", counters.votesParticipated())
+                    .append("votes_present", counters.votesPresent())
+                    .append("first_vote_utc", toDate(counters.firstVote()))
+                    .append("last_vote_utc", toDate(counters.lastVote()))
+                    .append("updated_at", now);
+            batch.add(new InsertOneModel<>(document));
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+        Document state = new Document("_id", bodyStateId(legislativeBodyUuid))
+                .append("kind", KIND_BODY)
+                .append("legislative_body_uuid", legislativeBodyUuid)
+                .append("vote_records", aggregation.voteRecords())
+                .append("latest_update_utc", toDate(aggregation.latestUpdate()))
+                .append("built_at", now)
+                .append("updated_at", now);
+        collection.replaceOne(Filters.eq("_id", state.get("_id")), state, new ReplaceOptions().upsert(true));
+    }
+
+    /**
+     * Clears a body's built marker so its rollups are rebuilt before they are read again. Used when a delta could not
+     * be applied and the stored counters may have drifted from the votes.
+     */
+    public void invalidate(String legislativeBodyUuid) {
+        collection.updateOne(Filters.eq("_id", bodyStateId(legislativeBodyUuid)), Updates.unset("built_at"));
+    }
+
+    /**
+     * Adds counter deltas to a body's rollups in one unordered bulk write. Negative counts retract a vote's previous
+     * contribution; first and last vote times only ever widen.
+     *
+     * @param voteRecordsDelta change in the number of stored votes with member data (+1, 0 or -1 per vote)
+     * @param updateDate upstream update time of the vote that produced the deltas, or {@code null}
+     */
+    public void apply(
+            String legislativeBodyUuid,
+            int voteRecordsDelta,
+            Instant updateDate,
+            List<MemberPeriodCounters> deltas) {
+        Date now = new Date();
+        List<WriteModel<Document>> writes = new ArrayList<>(deltas.size() + 1);
+        UpdateOptions upsert = new UpdateOptions().upsert(true);
+        for (MemberPeriodCounters delta : deltas) {
+            List<Bson> updates = new ArrayList<>();
+            updates.add(Updates.setOnInsert("kind", KIND_MEMBER));
+            updates.add(Updates.setOnInsert("legislative_body_uuid", legislativeBodyUuid));
+            updates.add(Updates.setOnInsert("member_id", delta.memberId()));
+            updates.add(Updates.setOnInsert("year", delta.year()));
+            updates.add(Updates.setOnInsert("month", delta.month()));
+            updates.add(Updates.inc("votes_total", delta.votesTotal()));
+            updates.add(Updates.inc("votes_participated", delta.votesParticipated()));
+            updates.add(Updates.inc("votes_present", delta.votesPresent()));
+            if (delta.firstVote() != null) {
+                updates.add(Updates.min("first_vote_utc", Date.from(delta.firstVote())));
+            }
+            if (delta.lastVote() != null) {
+                updates.add(Updates.max("last_vote_utc", Date.from(delta.lastVote())));
+            }
+            updates.add(Updates.set("updated_at", now));
+            writes.add(new UpdateOneModel<>(
+                    Filters.eq("_id", rollupId(legislativeBodyUuid, delta)), Updates.combine(updates), upsert));
+        }
+        List<Bson> stateUpdates = new ArrayList<>();
+        stateUpdates.add(Updates.setOnInsert("kind", KIND_BODY));
+        stateUpdates.add(Updates.setOnInsert("legislative_body_uuid", legislativeBodyUuid));
+        stateUpdates.add(Updates.inc("vote_records", voteRecordsDelta));
+        if (updateDate != null) {
+            stateUpdates.add(Updates.max("latest_update_utc", Date.from(updateDate)));
+        }
+        stateUpdates.add(Updates.set("updated_at", now));
+        writes.add(new UpdateOneModel<>(
+                Filters.eq("_id", bodyStateId(legislativeBodyUuid)), Updates.combine(stateUpdates), upsert));
+        collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+    }
+
+    /**
+     * Loads every rollup of a body in the shape returned by {@link VotingRecordRepository#aggregateAttendance(String)}.
+     */
+    public AttendanceAggregation load(String legislativeBodyUuid) {
+        Document state = collection.find(Filters.eq("_id", bodyStateId(legislativeBodyUuid))).first();
+        List<MemberPeriodCounters> counters = new ArrayList<>();
+        for (Document document : collection.find(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_MEMBER),
+                Filters.gt("votes_total", 0)))) {
+            counters.add(toCounters(document));
+        }
+        return new AttendanceAggregation(
+                state == null ? 0 : state.getInteger("vote_records", 0),
+                state == null ? null : toInstant(state.getDate("latest_update_utc")),
+                counters);
+    }
+
+    /**
+     * Returns one official's monthly rollups within a body, newest month first.
+     *
+     * @param limit maximum number of months to return; {@code 0} returns the full history
+     */
+    public List<MemberPeriodCounters> findMemberHistory(String legislativeBodyUuid, String memberId, int limit) {
+        List<MemberPeriodCounters> history = new ArrayList<>();
+        for (Document document : collection.find(Filters.and(
+                        Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                        Filters.eq("member_id", memberId),
+                        Filters.gt("votes_total", 0)))
+                .sort(Sorts.descending("year", "month"))
+                .limit(Math.max(0, limit))) {
+            history.add(toCounters(document));
+        }
+        return history;
+    }
+
+    private static MemberPeriodCounters toCounters(Document document) {
+        return new MemberPeriodCounters(
+                document.getString("member_id"),
+                document.getInteger("year"),
+                document.getInteger("month"),
+                document.getInteger("votes_total", 0),
+                document.getInteger("votes_participated", 0),
+                document.getInteger("votes_present", 0),
+                toInstant(document.getDate("first_vote_utc")),
+                toInstant(document.getDate("last_vote_utc")));
+    }
+
+    private static String rollupId(String legislativeBodyUuid, MemberPeriodCounters counters) {
+        String period = counters.year() == null || counters.month() == null
+                ? "undated"
+                : "%04d-%02d".formatted(counters.year(), counters.month());
+        return "%s|%s|%s".formatted(legislativeBodyUuid, counters.memberId(), period);
+    }
+
+    private static String bodyStateId(String legislativeBodyUuid) {
+        return legislativeBodyUuid + "|state";
+    }
+
+    private static Date toDate(Instant instant) {
+        return instant == null ? null : Date.from(instant);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
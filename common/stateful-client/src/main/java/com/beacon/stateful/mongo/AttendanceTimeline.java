@@ -0,0 +1,222 @@
+package com.beacon.stateful.mongo;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * One official's attendance as prefix sums over the days they had votes, packed into fixed-width big-endian records
+ * of {@code (epochDay, votes, participated, presentDays)} with every count cumulative up to and including that day.
+ * The packed form is what gets stored, and range queries binary-search it in place, so the counters for any date
+ * range cost two {@code O(log n)} lookups and no decoding.
+ */
+public final class AttendanceTimeline {
+
+    static final int RECORD_BYTES = 4 * Integer.BYTES;
+
+    private final String memberId;
+    private final ByteBuffer records;
+    private final int size;
+
+    private AttendanceTimeline(String memberId, ByteBuffer records) {
+        this.memberId = Objects.requireNonNull(memberId, "memberId");
+        if (records.remaining() % RECORD_BYTES != 0) {
+            throw new IllegalArgumentException("Timeline for %s is not a whole number of records".formatted(memberId));
+        }
+        this.records = records.slice();
+        this.size = this.records.remaining() / RECORD_BYTES;
+    }
+
+    /**
+     * Wraps a packed timeline as produced by {@link #toBytes()}. The array is not copied.
+     */
+    public static AttendanceTimeline fromBytes(String memberId, byte[] packed) {
+        return new AttendanceTimeline(memberId, ByteBuffer.wrap(packed));
+    }
+
+    public static Builder builder(String memberId) {
+        return new Builder(memberId);
+    }
+
+    public String memberId() {
+        return memberId;
+    }
+
+    /**
+     * Number of days with at least one vote.
+     */
+    public int size() {
+        return size;
+    }
+
+    public byte[] toBytes() {
+        byte[] packed = new byte[size * RECORD_BYTES];
+        records.duplicate().get(packed);
+        return packed;
+    }
+
+    /**
+     * Sums the counters of every vote day within {@code [from, to]}. Either bound may be {@code null} for an open
+     * range.
+     */
+    public RangeCounters range(LocalDate from, LocalDate to) {
+        int first = from == null ? 0 : firstIndexOnOrAfter(from.toEpochDay());
+        int last = to == null ? size - 1 : firstIndexOnOrAfter(to.toEpochDay() + 1) - 1;
+        if (first > last) {
+            return RangeCounters.EMPTY;
+        }
+        return new RangeCounters(
+                last - (first - 1),
+                presentDays(last) - presentDays(first - 1),
+                votes(last) - votes(first - 1),
+                participated(last) - participated(first - 1));
+    }
+
+    /**
+     * Visits the per-day counters in day order.
+     */
+    public void forEachDay(DayVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(
+                    day(i),
+                    votes(i) - votes(i - 1),
+                    participated(i) - participated(i - 1),
+                    presentDays(i) != presentDays(i - 1));
+        }
+    }
+
+    private int firstIndexOnOrAfter(long epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (day(middle) < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int day(int index) {
+        return records.getInt(index * RECORD_BYTES);
+    }
+
+    private int votes(int index) {
+        return index < 0 ? 0 : records.getInt(index * RECORD_BYTES + Integer.BYTES);
+    }
+
+    private int participated(int index) {
+        return index < 0 ? 0 : records.getInt(index * RECORD_BYTES + 2 * Integer.BYTES);
+    }
+
+    private int presentDays(int index) {
+        return index < 0 ? 0 : records.getInt(index * RECORD_BYTES + 3 * Integer.BYTES);
+    }
+
+    @FunctionalInterface
+    public interface DayVisitor {
+        void visit(int epochDay, int votes, int participated, boolean present);
+    }
+
+    /**
+     * Attendance over a date range. Presence is measured in vote days, participation in votes, matching the monthly
+     * snapshots.
+     */
+    public record RangeCounters(int voteDays, int presentDays, int votesTotal, int votesParticipated) {
+
+        public static final RangeCounters EMPTY = new RangeCounters(0, 0, 0, 0);
+
+        public int presenceScore() {
+            return voteDays == 0 ? 0 : Math.round((presentDays * 100f) / voteDays);
+        }
+
+        public int participationScore() {
+            return votesTotal == 0 ? 0 : Math.round((votesParticipated * 100f) / votesTotal);
+        }
+    }
+
+    /**
+     * Collects per-day counters in any order; days added more than once are summed.
+     */
+    public static final class Builder {
+
+        private final String memberId;
+        private int[] days = new int[64];
+        private int[] votes = new int[64];
+        private int[] participated = new int[64];
+        private boolean[] present = new boolean[64];
+        private int count;
+        private boolean sorted = true;
+
+        private Builder(String memberId) {
+            this.memberId = Objects.requireNonNull(memberId, "memberId");
+        }
+
+        public Builder add(int epochDay, int dayVotes, int dayParticipated, boolean dayPresent) {
+            // Votes are usually streamed in date order, so the current day is the common hit.
+            if (count > 0 && days[count - 1] == epochDay) {
+                votes[count - 1] += dayVotes;
+                participated[count - 1] += dayParticipated;
+                present[count - 1] |= dayPresent;
+                return this;
+            }
+            if (count == days.length) {
+                int capacity = days.length * 2;
+                days = Arrays.copyOf(days, capacity);
+                votes = Arrays.copyOf(votes, capacity);
+                participated = Arrays.copyOf(participated, capacity);
+                present = Arrays.copyOf(present, capacity);
+            }
+            if (count > 0 && epochDay < days[count - 1]) {
+                sorted = false;
+            }
+            days[count] = epochDay;
+            votes[count] = dayVotes;
+            participated[count] = dayParticipated;
+            present[count] = dayPresent;
+            count++;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        public AttendanceTimeline build() {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            if (!sorted) {
+                Arrays.sort(order, (left, right) -> Integer.compare(days[left], days[right]));
+            }
+            ByteBuffer packed = ByteBuffer.allocate(count * RECORD_BYTES);
+            int totalVotes = 0;
+            int totalParticipated = 0;
+            int totalPresentDays = 0;
+            for (int i = 0; i < count; i++) {
+                int entry = order[i];
+                int day = days[entry];
+                boolean dayPresent = present[entry];
+                totalVotes += votes[entry];
+                totalParticipated += participated[entry];
+                // Merge entries for a day that was added out of order more than once.
+                while (i + 1 < count && days[order[i + 1]] == day) {
+                    int duplicate = order[++i];
+                    totalVotes += votes[duplicate];
+                    totalParticipated += participated[duplicate];
+                    dayPresent |= present[duplicate];
+                }
+                if (dayPresent) {
+                    totalPresentDays++;
+                }
+                packed.putInt(day).putInt(totalVotes).putInt(totalParticipated).putInt(totalPresentDays);
+            }
+            packed.flip();
+            return new AttendanceTimeline(memberId, packed);
+        }
+    }
+}
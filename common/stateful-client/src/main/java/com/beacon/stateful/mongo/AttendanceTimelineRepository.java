@@ -0,0 +1,119 @@
+package com.beacon.stateful.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.types.Binary;
+
+/**
+ * Stores one packed {@link AttendanceTimeline} per (official, legislative body), plus one state document per body
+ * recording the newest vote write ({@code ingested_at}) folded into the timelines.
+ */
+public class AttendanceTimelineRepository {
+
+    private static final String KIND_MEMBER = "member";
+    private static final String KIND_BODY = "body";
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final MongoCollection<Document> collection;
+
+    public AttendanceTimelineRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("legislative_body_uuid", "kind"));
+    }
+
+    public Optional<AttendanceTimeline> find(String legislativeBodyUuid, String memberId) {
+        Document document = collection.find(Filters.eq("_id", timelineId(legislativeBodyUuid, memberId))).first();
+        return Optional.ofNullable(document).map(AttendanceTimelineRepository::toTimeline);
+    }
+
+    /**
+     * Loads every timeline of a body keyed by member identifier.
+     */
+    public Map<String, AttendanceTimeline> findByLegislativeBody(String legislativeBodyUuid) {
+        Map<String, AttendanceTimeline> timelines = new HashMap<>();
+        for (Document document : collection.find(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_MEMBER)))) {
+            AttendanceTimeline timeline = toTimeline(document);
+            timelines.put(timeline.memberId(), timeline);
+        }
+        return timelines;
+    }
+
+    /**
+     * Returns the newest vote write already reflected in the body's timelines, or empty before the first build.
+     * State written while the watermark tracked upstream update dates has no {@code ingested_through} and is rebuilt.
+     */
+    public Optional<Instant> findBuiltThrough(String legislativeBodyUuid) {
+        Document state = collection.find(Filters.eq("_id", bodyStateId(legislativeBodyUuid))).first();
+        return Optional.ofNullable(state)
+                .map(document -> document.getDate("ingested_through"))
+                .map(Date::toInstant);
+    }
+
+    /**
+     * Writes the supplied timelines and advances the body's watermark. Timelines that are not supplied are kept.
+     */
+    public void saveAll(String legislativeBodyUuid, Collection<AttendanceTimeline> timelines, Instant builtThrough) {
+        Date now = new Date();
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        for (AttendanceTimeline timeline : timelines) {
+            String id = timelineId(legislativeBodyUuid, timeline.memberId());
+            Document document = new Document("_id", id)
+                    .append("kind", KIND_MEMBER)
+                    .append("legislative_body_uuid", legislativeBodyUuid)
+                    .append("member_id", timeline.memberId())
+                    .append("vote_days", timeline.size())
+                    .append("timeline", new Binary(timeline.toBytes()))
+                    .append("updated_at", now);
+            batch.add(new ReplaceOneModel<>(Filters.eq("_id", id), document, upsert));
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+        Document state = new Document("_id", bodyStateId(legislativeBodyUuid))
+                .append("kind", KIND_BODY)
+                .append("legislative_body_uuid", legislativeBodyUuid)
+                .append("ingested_through", builtThrough == null ? null : Date.from(builtThrough))
+                .append("updated_at", now);
+        collection.replaceOne(Filters.eq("_id", state.get("_id")), state, upsert);
+    }
+
+    private static AttendanceTimeline toTimeline(Document document) {
+        Binary packed = document.get("timeline", Binary.class);
+        return AttendanceTimeline.fromBytes(
+                document.getString("member_id"),
+                packed == null ? new byte[0] : packed.getData());
+    }
+
+    private static String timelineId(String legislativeBodyUuid, String memberId) {
+        return "%s|%s".formatted(legislativeBodyUuid, memberId);
+    }
+
+    private static String bodyStateId(String legislativeBodyUuid) {
+        return legislativeBodyUuid + "|state";
+    }
+}
@@ -0,0 +1,110 @@
+package com.beacon.stateful.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOptions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.bson.Document;
+
+/**
+ * Stores generated legislation summaries keyed by legislation URL together with the MinHash signature of the text
+ * they were derived from, so near-duplicate bill versions can reuse an existing summary. Summaries condensed from a
+ * CRS summary carry the CRS version instead of a signature, so a newer CRS version can replace them.
+ */
+public class LegislationSummaryRepository {
+
+    private final MongoCollection<Document> collection;
+
+    public LegislationSummaryRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("updated_at"));
+    }
+
+    public void upsert(LegislationSummaryRecord record) {
+        Document document = new Document()
+                .append("_id", record.legislationUrl())
+                .append("summary", record.summary())
+                .append("signature", toList(record.signature()))
+                .append("reused_from", record.reusedFrom())
+                .append("crs_version", record.crsVersion());
+        Optional.ofNullable(record.updatedAt()).map(Date::from).ifPresent(date -> document.append("updated_at", date));
+        collection.replaceOne(Filters.eq("_id", record.legislationUrl()), document, new ReplaceOptions().upsert(true));
+    }
+
+    public Optional<LegislationSummaryRecord> findByLegislationUrl(String legislationUrl) {
+        Document document = collection.find(Filters.eq("_id", legislationUrl)).first();
+        return Optional.ofNullable(document).map(LegislationSummaryRepository::toRecord);
+    }
+
+    /**
+     * Streams every stored summary to the supplied consumer without materializing the full collection.
+     *
+     * @param consumer callback invoked once per stored summary
+     */
+    public void forEach(Consumer<LegislationSummaryRecord> consumer) {
+        for (Document document : collection.find()) {
+            consumer.accept(toRecord(document));
+        }
+    }
+
+    private static LegislationSummaryRecord toRecord(Document document) {
+        List<Integer> signature = document.getList("signature", Integer.class);
+        Date updatedAt = document.getDate("updated_at");
+        return new LegislationSummaryRecord(
+                document.getString("_id"),
+                document.getString("summary"),
+                toArray(signature),
+                document.getString("reused_from"),
+                document.getString("crs_version"),
+                updatedAt == null ? null : updatedAt.toInstant());
+    }
+
+    private static List<Integer> toList(int[] signature) {
+        List<Integer> values = new ArrayList<>(signature == null ? 0 : signature.length);
+        if (signature != null) {
+            for (int value : signature) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static int[] toArray(List<Integer> signature) {
+        if (signature == null) {
+            return new int[0];
+        }
+        int[] values = new int[signature.size()];
+        for (int i = 0; i < values.length; i++) {
+            Integer value = signature.get(i);
+            values[i] = value == null ? 0 : value;
+        }
+        return values;
+    }
+
+    /**
+     * @param legislationUrl legislation page the summary describes
+     * @param summary generated summary text
+     * @param signature MinHash signature of the scraped legislation text (may be empty)
+     * @param reusedFrom legislation URL whose summary was reused, or {@code null} when generated directly
+     * @param crsVersion version of the CRS summary the text was condensed from, or {@code null} when it was generated
+     *                   from the legislation page
+     * @param updatedAt time the summary was stored
+     */
+    public record LegislationSummaryRecord(
+            String legislationUrl,
+            String summary,
+            int[] signature,
+            String reusedFrom,
+            String crsVersion,
+            Instant updatedAt) {}
+}
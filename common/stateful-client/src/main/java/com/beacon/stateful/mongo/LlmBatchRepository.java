@@ -0,0 +1,69 @@
+package com.beacon.stateful.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOptions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+
+/**
+ * Stores LLM batch jobs that were submitted but whose results have not been collected yet, one document per job, so
+ * a later run or a restarted service collects them instead of paying for the same requests again.
+ */
+public class LlmBatchRepository {
+
+    private final MongoCollection<Document> collection;
+
+    public LlmBatchRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("model"));
+    }
+
+    public void save(SubmittedBatch batch) {
+        Document document = new Document("_id", batch.batchId())
+                .append("model", batch.model())
+                .append("custom_ids", batch.customIds())
+                .append("submitted_at", Date.from(batch.submittedAt()));
+        collection.replaceOne(Filters.eq("_id", batch.batchId()), document, new ReplaceOptions().upsert(true));
+    }
+
+    public List<SubmittedBatch> findByModel(String model) {
+        List<SubmittedBatch> batches = new ArrayList<>();
+        for (Document document : collection.find(Filters.eq("model", model))) {
+            Date submittedAt = document.getDate("submitted_at");
+            batches.add(new SubmittedBatch(
+                    document.getString("_id"),
+                    document.getString("model"),
+                    document.getList("custom_ids", String.class, List.of()),
+                    submittedAt == null ? Instant.EPOCH : submittedAt.toInstant()));
+        }
+        return batches;
+    }
+
+    public void delete(String batchId) {
+        collection.deleteOne(Filters.eq("_id", batchId));
+    }
+
+    /**
+     * A batch job awaiting collection.
+     *
+     * @param batchId provider identifier of the job
+     * @param model model identifier the job was submitted for
+     * @param customIds identifiers of the requests in the job
+     * @param submittedAt when the job was submitted
+     */
+    public record SubmittedBatch(String batchId, String model, List<String> customIds, Instant submittedAt) {
+
+        public SubmittedBatch {
+            customIds = List.copyOf(customIds);
+        }
+    }
+}
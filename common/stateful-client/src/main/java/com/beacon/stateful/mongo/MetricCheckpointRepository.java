@@ -0,0 +1,186 @@
+package com.beacon.stateful.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.types.Binary;
+
+/**
+ * Checkpoints streaming metric state: one document per (legislative body, metric, pane) holding the members' packed
+ * counters and the ledger of votes already applied to the pane, plus one state document per body recording the
+ * newest vote write ({@code ingested_at}) folded in and the metrics the checkpoint covers. State written while the
+ * watermark tracked upstream update dates has no {@code ingested_through}, so those bodies replay every stored vote
+ * once; the pane ledgers skip the votes already applied.
+ *
+ * <p>Panes are written before the watermark, so a crash in between only replays votes the pane ledgers already
+ * contain, and they are skipped.
+ */
+public class MetricCheckpointRepository {
+
+    private static final String KIND_PANE = "pane";
+    private static final String KIND_BODY = "body";
+    private static final int WRITE_BATCH_SIZE = 200;
+
+    private final MongoCollection<Document> collection;
+
+    public MetricCheckpointRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("legislative_body_uuid", "kind"));
+    }
+
+    public Optional<Checkpoint> load(String legislativeBodyUuid) {
+        Document state = collection.find(Filters.eq("_id", bodyStateId(legislativeBodyUuid))).first();
+        if (state == null) {
+            return Optional.empty();
+        }
+        List<PaneState> panes = new ArrayList<>();
+        for (Document document : collection.find(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_PANE)))) {
+            panes.add(toPaneState(document));
+        }
+        Date watermark = state.getDate("ingested_through");
+        return Optional.of(new Checkpoint(
+                watermark == null ? null : watermark.toInstant(),
+                state.getList("metrics", String.class, List.of()),
+                panes));
+    }
+
+    /**
+     * Writes changed panes, deletes removed ones, then advances the body's watermark.
+     */
+    public void save(
+            String legislativeBodyUuid,
+            List<String> metrics,
+            Collection<PaneState> changed,
+            Collection<PaneKey> removed,
+            Instant watermark) {
+        Date now = new Date();
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        for (PaneState pane : changed) {
+            String id = paneId(legislativeBodyUuid, pane.metric(), pane.pane());
+            batch.add(new ReplaceOneModel<>(Filters.eq("_id", id), toDocument(legislativeBodyUuid, id, pane, now), upsert));
+            flushIfFull(batch);
+        }
+        for (PaneKey key : removed) {
+            batch.add(new DeleteOneModel<>(Filters.eq("_id", paneId(legislativeBodyUuid, key.metric(), key.pane()))));
+            flushIfFull(batch);
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+        Document state = new Document("_id", bodyStateId(legislativeBodyUuid))
+                .append("kind", KIND_BODY)
+                .append("legislative_body_uuid", legislativeBodyUuid)
+                .append("metrics", new ArrayList<>(metrics))
+                .append("ingested_through", watermark == null ? null : Date.from(watermark))
+                .append("updated_at", now);
+        collection.replaceOne(Filters.eq("_id", state.get("_id")), state, upsert);
+    }
+
+    /**
+     * Deletes every checkpoint of the body so its metrics are rebuilt from the stored votes.
+     */
+    public void clear(String legislativeBodyUuid) {
+        collection.deleteMany(Filters.eq("legislative_body_uuid", legislativeBodyUuid));
+    }
+
+    private void flushIfFull(List<WriteModel<Document>> batch) {
+        if (batch.size() == WRITE_BATCH_SIZE) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+            batch.clear();
+        }
+    }
+
+    private static Document toDocument(String legislativeBodyUuid, String id, PaneState pane, Date now) {
+        ByteBuffer counters = ByteBuffer.allocate(pane.counters().length * Long.BYTES);
+        for (long counter : pane.counters()) {
+            counters.putLong(counter);
+        }
+        return new Document("_id", id)
+                .append("kind", KIND_PANE)
+                .append("legislative_body_uuid", legislativeBodyUuid)
+                .append("metric", pane.metric())
+                .append("pane", pane.pane())
+                .append("width", pane.width())
+                .append("members", new ArrayList<>(pane.members()))
+                .append("counters", new Binary(counters.array()))
+                .append("applied_votes", new ArrayList<>(pane.applied().keySet()))
+                .append("applied_fingerprints", new ArrayList<>(pane.applied().values()))
+                .append("updated_at", now);
+    }
+
+    private static PaneState toPaneState(Document document) {
+        Binary packed = document.get("counters", Binary.class);
+        ByteBuffer buffer = ByteBuffer.wrap(packed == null ? new byte[0] : packed.getData());
+        long[] counters = new long[buffer.remaining() / Long.BYTES];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = buffer.getLong();
+        }
+        List<String> votes = document.getList("applied_votes", String.class, List.of());
+        List<Long> fingerprints = document.getList("applied_fingerprints", Long.class, List.of());
+        Map<String, Long> applied = new LinkedHashMap<>();
+        for (int i = 0; i < votes.size() && i < fingerprints.size(); i++) {
+            applied.put(votes.get(i), fingerprints.get(i));
+        }
+        return new PaneState(
+                document.getString("metric"),
+                document.get("pane", Number.class).longValue(),
+                document.getInteger("width"),
+                document.getList("members", String.class, List.of()),
+                counters,
+                applied);
+    }
+
+    private static String paneId(String legislativeBodyUuid, String metric, long pane) {
+        return "%s|%s|%d".formatted(legislativeBodyUuid, metric, pane);
+    }
+
+    private static String bodyStateId(String legislativeBodyUuid) {
+        return legislativeBodyUuid + "|state";
+    }
+
+    /**
+     * Everything checkpointed for one body.
+     *
+     * @param watermark ingestion time of the newest vote write folded into the panes
+     * @param metrics names of the metrics the checkpoint was written for
+     */
+    public record Checkpoint(Instant watermark, List<String> metrics, List<PaneState> panes) {}
+
+    /**
+     * One pane of one metric.
+     *
+     * @param counters {@code width} counters per member, in {@code members} order
+     * @param applied fingerprint of every vote applied to the pane, by {@code VotingRecord.source_id}
+     */
+    public record PaneState(
+            String metric,
+            long pane,
+            int width,
+            List<String> members,
+            long[] counters,
+            Map<String, Long> applied) {}
+
+    public record PaneKey(String metric, long pane) {}
+}
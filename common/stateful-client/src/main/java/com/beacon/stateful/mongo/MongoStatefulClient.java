@@ -27,8 +27,11 @@ import org.slf4j.LoggerFactory;
  * </ul>
  *
  * <p>The Spring configuration in {@code services/ingest-usa-fed} wires this client as a singleton so
- * any microservice can inject {@link PublicOfficialRepository}, {@link LegislativeBodyRepository}, or
- * {@link VotingRecordRepository} without worrying about credentials or driver initialization.
+ * any microservice can inject {@link PublicOfficialRepository}, {@link LegislativeBodyRepository},
+ * {@link VotingRecordRepository}, {@link LegislationSummaryRepository}, {@link AttendanceRollupRepository},
+ * {@link AttendanceTimelineRepository}, {@link AttendanceRankRepository}, {@link VoteMatrixRepository},
+ * {@link PartyUnityRepository}, {@link MetricCheckpointRepository}, or {@link LlmBatchRepository} without worrying
+ * about credentials or driver initialization.
  */
 public final class MongoStatefulClient implements Closeable {
 
@@ -40,6 +43,14 @@ public final class MongoStatefulClient implements Closeable {
     private final PublicOfficialRepository publicOfficialRepository;
     private final LegislativeBodyRepository legislativeBodyRepository;
     private final VotingRecordRepository votingRecordRepository;
+    private final LegislationSummaryRepository legislationSummaryRepository;
+    private final AttendanceRollupRepository attendanceRollupRepository;
+    private final AttendanceTimelineRepository attendanceTimelineRepository;
+    private final AttendanceRankRepository attendanceRankRepository;
+    private final VoteMatrixRepository voteMatrixRepository;
+    private final PartyUnityRepository partyUnityRepository;
+    private final MetricCheckpointRepository metricCheckpointRepository;
+    private final LlmBatchRepository llmBatchRepository;
 
     /**
      * Creates a client using the given configuration. Most callers should prefer
@@ -56,6 +67,14 @@ public final class MongoStatefulClient implements Closeable {
         this.publicOfficialRepository = new PublicOfficialRepository(database.getCollection("public_officials"));
         this.legislativeBodyRepository = new LegislativeBodyRepository(database.getCollection("legislative_bodies"));
         this.votingRecordRepository = new VotingRecordRepository(database.getCollection("legislative_body_votes"));
+        this.legislationSummaryRepository = new LegislationSummaryRepository(database.getCollection("legislation_summaries"));
+        this.attendanceRollupRepository = new AttendanceRollupRepository(database.getCollection("attendance_rollups"));
+        this.attendanceTimelineRepository = new AttendanceTimelineRepository(database.getCollection("attendance_timelines"));
+        this.attendanceRankRepository = new AttendanceRankRepository(database.getCollection("attendance_ranks"));
+        this.voteMatrixRepository = new VoteMatrixRepository(database.getCollection("vote_matrix_chunks"));
+        this.partyUnityRepository = new PartyUnityRepository(database.getCollection("party_unity"));
+        this.metricCheckpointRepository = new MetricCheckpointRepository(database.getCollection("metric_checkpoints"));
+        this.llmBatchRepository = new LlmBatchRepository(database.getCollection("llm_batches"));
     }
 
     private static MongoClient createMongoClient(MongoStatefulConfig config) {
@@ -79,6 +98,38 @@ public final class MongoStatefulClient implements Closeable {
         return votingRecordRepository;
     }
 
+    public LegislationSummaryRepository legislationSummaries() {
+        return legislationSummaryRepository;
+    }
+
+    public AttendanceRollupRepository attendanceRollups() {
+        return attendanceRollupRepository;
+    }
+
+    public AttendanceTimelineRepository attendanceTimelines() {
+        return attendanceTimelineRepository;
+    }
+
+    public AttendanceRankRepository attendanceRanks() {
+        return attendanceRankRepository;
+    }
+
+    public VoteMatrixRepository voteMatrices() {
+        return voteMatrixRepository;
+    }
+
+    public PartyUnityRepository partyUnity() {
+        return partyUnityRepository;
+    }
+
+    public MetricCheckpointRepository metricCheckpoints() {
+        return metricCheckpointRepository;
+    }
+
+    public LlmBatchRepository llmBatches() {
+        return llmBatchRepository;
+    }
+
     public MongoDatabase database() {
         return database;
     }
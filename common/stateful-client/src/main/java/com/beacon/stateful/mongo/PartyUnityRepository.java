@@ -0,0 +1,191 @@
+package com.beacon.stateful.mongo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.bson.Document;
+
+/**
+ * Stores party-unity counters, one document per (official, legislative body), plus one state document per body that
+ * marks the counters as built from every stored vote and records the party affiliations they were counted with.
+ * Ingestion rewrites only the members listed on each new roll call.
+ */
+public class PartyUnityRepository {
+
+    private static final String KIND_MEMBER = "member";
+    private static final String KIND_BODY = "body";
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final MongoCollection<Document> collection;
+
+    public PartyUnityRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("legislative_body_uuid", "kind"));
+    }
+
+    /**
+     * Whether the body's counters have been built from its stored votes at least once.
+     */
+    public boolean isBuilt(String legislativeBodyUuid) {
+        Document state = collection.find(Filters.eq("_id", bodyStateId(legislativeBodyUuid))).first();
+        return state != null && state.getDate("built_at") != null;
+    }
+
+    /**
+     * Party affiliation of each member as used for the body's stored counters, empty when none were recorded.
+     */
+    public Map<String, String> findParties(String legislativeBodyUuid) {
+        Document state = collection.find(Filters.eq("_id", bodyStateId(legislativeBodyUuid))).first();
+        Map<String, String> parties = new HashMap<>();
+        if (state != null) {
+            for (Document entry : state.getList("parties", Document.class, List.of())) {
+                parties.put(entry.getString("member_id"), entry.getString("party"));
+            }
+        }
+        return parties;
+    }
+
+    public Optional<MemberUnity> find(String legislativeBodyUuid, String memberId) {
+        Document document = collection.find(Filters.eq("_id", memberDocumentId(legislativeBodyUuid, memberId))).first();
+        return Optional.ofNullable(document).map(PartyUnityRepository::toMemberUnity);
+    }
+
+    public List<MemberUnity> findByLegislativeBody(String legislativeBodyUuid) {
+        List<MemberUnity> members = new ArrayList<>();
+        for (Document document : collection.find(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_MEMBER)))) {
+            members.add(toMemberUnity(document));
+        }
+        return members;
+    }
+
+    /**
+     * Writes the supplied members' counters; members that are not supplied are kept.
+     */
+    public void saveAll(String legislativeBodyUuid, Collection<MemberUnity> members) {
+        Date now = new Date();
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        for (MemberUnity member : members) {
+            String id = memberDocumentId(legislativeBodyUuid, member.memberId());
+            Document document = new Document("_id", id)
+                    .append("kind", KIND_MEMBER)
+                    .append("legislative_body_uuid", legislativeBodyUuid)
+                    .append("member_id", member.memberId())
+                    .append("votes_with_party", member.votesWithParty())
+                    .append("votes_against_party", member.votesAgainstParty())
+                    .append("deviation_streak", member.deviationStreak())
+                    .append("longest_deviation_streak", member.longestDeviationStreak())
+                    .append("last_vote_key", member.lastVoteKey())
+                    .append("prior_deviation_streak", member.priorDeviationStreak())
+                    .append("prior_longest_deviation_streak", member.priorLongestDeviationStreak())
+                    .append("updated_at", now);
+            batch.add(new ReplaceOneModel<>(Filters.eq("_id", id), document, upsert));
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+    }
+
+    /**
+     * Replaces every member of the body with the supplied counters and marks the body built with the given party
+     * affiliations.
+     */
+    public void replaceAll(
+            String legislativeBodyUuid,
+            Map<String, String> partyByMember,
+            Collection<MemberUnity> members) {
+        collection.deleteMany(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_MEMBER)));
+        saveAll(legislativeBodyUuid, members);
+        Document state = new Document("_id", bodyStateId(legislativeBodyUuid))
+                .append("kind", KIND_BODY)
+                .append("legislative_body_uuid", legislativeBodyUuid)
+                .append("parties", partyByMember.entrySet().stream()
+                        .map(entry -> new Document("member_id", entry.getKey()).append("party", entry.getValue()))
+                        .toList())
+                .append("built_at", new Date());
+        collection.replaceOne(Filters.eq("_id", state.get("_id")), state, new ReplaceOptions().upsert(true));
+    }
+
+    /**
+     * Drops the built marker so the next recompute rebuilds the body's counters from the stored votes.
+     */
+    public void invalidate(String legislativeBodyUuid) {
+        collection.updateOne(Filters.eq("_id", bodyStateId(legislativeBodyUuid)), Updates.unset("built_at"));
+    }
+
+    private static MemberUnity toMemberUnity(Document document) {
+        return new MemberUnity(
+                document.getString("member_id"),
+                document.getInteger("votes_with_party", 0),
+                document.getInteger("votes_against_party", 0),
+                document.getInteger("deviation_streak", 0),
+                document.getInteger("longest_deviation_streak", 0),
+                document.get("last_vote_key", Number.class) == null
+                        ? 0L
+                        : document.get("last_vote_key", Number.class).longValue(),
+                document.getInteger("prior_deviation_streak", 0),
+                document.getInteger("prior_longest_deviation_streak", 0));
+    }
+
+    private static String memberDocumentId(String legislativeBodyUuid, String memberId) {
+        return "%s|%s".formatted(legislativeBodyUuid, memberId);
+    }
+
+    private static String bodyStateId(String legislativeBodyUuid) {
+        return legislativeBodyUuid + "|state";
+    }
+
+    /**
+     * Party-unity counters of one member.
+     *
+     * @param votesWithParty roll calls on which the member voted with their party's majority
+     * @param votesAgainstParty roll calls on which the member voted against it
+     * @param deviationStreak consecutive roll calls, up to the latest one, on which the member voted against it
+     * @param longestDeviationStreak longest such run seen
+     * @param lastVoteKey ordering key of the newest roll call counted towards the streaks
+     * @param priorDeviationStreak deviation streak before that roll call, restored when it is re-ingested
+     * @param priorLongestDeviationStreak longest streak before that roll call
+     */
+    public record MemberUnity(
+            String memberId,
+            int votesWithParty,
+            int votesAgainstParty,
+            int deviationStreak,
+            int longestDeviationStreak,
+            long lastVoteKey,
+            int priorDeviationStreak,
+            int priorLongestDeviationStreak) {
+
+        /**
+         * Share of party-line votes cast with the party, in percent with one decimal, or {@code 0} without any.
+         */
+        public double unityRate() {
+            int total = votesWithParty + votesAgainstParty;
+            return total == 0 ? 0 : Math.round(votesWithParty * 1000.0 / total) / 10.0;
+        }
+    }
+}
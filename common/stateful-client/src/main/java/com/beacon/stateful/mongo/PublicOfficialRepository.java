@@ -133,6 +133,14 @@ public class PublicOfficialRepository {
         return result.getDeletedCount() > 0;
     }
 
+    public List<PublicOfficial> findByLegislativeBody(String legislativeBodyUuid) {
+        List<PublicOfficial> results = new ArrayList<>();
+        for (Document document : collection.find(Filters.eq("legislative_body_uuid", legislativeBodyUuid))) {
+            results.add(PublicOfficialDocumentConverter.toProto(document));
+        }
+        return results;
+    }
+
     public long countByLegislativeBody(String legislativeBodyUuid) {
         return collection.countDocuments(Filters.eq("legislative_body_uuid", legislativeBodyUuid));
     }
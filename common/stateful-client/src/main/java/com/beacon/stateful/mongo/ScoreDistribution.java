@@ -0,0 +1,77 @@
+package com.beacon.stateful.mongo;
+
+import java.util.Arrays;
+
+/**
+ * The sorted scores of a group of officials, stored as cumulative counts over the 0-100 score domain. Because scores
+ * are whole percentages, the array is the same 102 entries whatever the group size, and percentile and rank lookups
+ * are a single index rather than a search.
+ */
+public final class ScoreDistribution {
+
+    public static final int MAX_SCORE = 100;
+    static final int LENGTH = MAX_SCORE + 2;
+
+    // below[s] is the number of scores strictly lower than s, so below[MAX_SCORE + 1] is the group size.
+    private final int[] below;
+
+    private ScoreDistribution(int[] below) {
+        this.below = below;
+    }
+
+    /**
+     * Restores a distribution from {@link #cumulativeCounts()}.
+     */
+    public static ScoreDistribution fromCumulativeCounts(int[] cumulativeCounts) {
+        if (cumulativeCounts.length != LENGTH) {
+            throw new IllegalArgumentException("Expected %d cumulative counts but got %d"
+                    .formatted(LENGTH, cumulativeCounts.length));
+        }
+        return new ScoreDistribution(cumulativeCounts.clone());
+    }
+
+    static ScoreDistribution fromHistogram(int[] histogram) {
+        int[] below = new int[LENGTH];
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            below[score + 1] = below[score] + histogram[score];
+        }
+        return new ScoreDistribution(below);
+    }
+
+    public int size() {
+        return below[MAX_SCORE + 1];
+    }
+
+    /**
+     * Share of the group, in whole percent, whose score is strictly lower than {@code score}.
+     */
+    public int percentile(int score) {
+        int size = size();
+        return size == 0 ? 0 : Math.round((below[clamp(score)] * 100f) / size);
+    }
+
+    /**
+     * One-based position of {@code score} when the group is ordered best first; ties share the better rank.
+     */
+    public int rank(int score) {
+        return size() - below[clamp(score) + 1] + 1;
+    }
+
+    public int[] cumulativeCounts() {
+        return below.clone();
+    }
+
+    static int clamp(int score) {
+        return Math.max(0, Math.min(MAX_SCORE, score));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ScoreDistribution distribution && Arrays.equals(below, distribution.below);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(below);
+    }
+}
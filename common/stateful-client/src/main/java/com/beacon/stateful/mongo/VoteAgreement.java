@@ -0,0 +1,236 @@
+package com.beacon.stateful.mongo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Voting agreement computed directly on {@link VoteMatrix} bit planes. Two sides agree on a roll call when both cast
+ * a vote and their yea/nay match; roll calls where either side did not cast a vote are not compared. Every comparison
+ * is a few word-wide {@code AND}s and {@link Long#bitCount} calls, so all pairs of a 435 member chamber over a session
+ * take a few million popcounts.
+ */
+public final class VoteAgreement {
+
+    private VoteAgreement() {
+    }
+
+    /**
+     * Compares two members over roll calls {@code [fromRollCall, toRollCall]} of the matrix.
+     */
+    public static Result compare(VoteMatrix matrix, int member, int other, int fromRollCall, int toRollCall) {
+        return compare(matrix, Side.member(matrix, member), Side.member(matrix, other), fromRollCall, toRollCall);
+    }
+
+    /**
+     * Compares a member with the majority position of a group, for example their party or state delegation. A group
+     * takes a position on a roll call when more of its members voted one way than the other; ties are not compared.
+     *
+     * @param group member indexes forming the group; the compared member is ignored if present
+     */
+    public static Result compareWithGroup(
+            VoteMatrix matrix,
+            int member,
+            int[] group,
+            int fromRollCall,
+            int toRollCall) {
+        return compare(
+                matrix,
+                Side.member(matrix, member),
+                Side.majority(matrix, group, member),
+                fromRollCall,
+                toRollCall);
+    }
+
+    /**
+     * Agreement of every pair of members over the range, as a symmetric table indexed by member column.
+     */
+    public static Table allPairs(VoteMatrix matrix, int fromRollCall, int toRollCall) {
+        int members = matrix.members().size();
+        int words = matrix.wordCount();
+        long[] range = rangeMask(words, fromRollCall, toRollCall);
+        // Copy each member's masked yea and nay words next to each other for a cache-friendly inner loop.
+        long[] yeas = new long[members * words];
+        long[] nays = new long[members * words];
+        for (int member = 0; member < members; member++) {
+            for (int word = 0; word < words; word++) {
+                long cast = matrix.word(member, VoteMatrix.Plane.CAST, word) & range[word];
+                long affirmative = matrix.word(member, VoteMatrix.Plane.AFFIRMATIVE, word);
+                yeas[member * words + word] = cast & affirmative;
+                nays[member * words + word] = cast & ~affirmative;
+            }
+        }
+        int[] compared = new int[members * members];
+        int[] agreed = new int[members * members];
+        for (int a = 0; a < members; a++) {
+            int aOffset = a * words;
+            for (int b = a + 1; b < members; b++) {
+                int bOffset = b * words;
+                int bothCast = 0;
+                int same = 0;
+                for (int word = 0; word < words; word++) {
+                    long yeaA = yeas[aOffset + word];
+                    long nayA = nays[aOffset + word];
+                    long yeaB = yeas[bOffset + word];
+                    long nayB = nays[bOffset + word];
+                    bothCast += Long.bitCount((yeaA | nayA) & (yeaB | nayB));
+                    same += Long.bitCount((yeaA & yeaB) | (nayA & nayB));
+                }
+                compared[a * members + b] = bothCast;
+                compared[b * members + a] = bothCast;
+                agreed[a * members + b] = same;
+                agreed[b * members + a] = same;
+            }
+        }
+        return new Table(members, compared, agreed);
+    }
+
+    private static Result compare(VoteMatrix matrix, Side side, Side other, int fromRollCall, int toRollCall) {
+        long[] range = rangeMask(matrix.wordCount(), fromRollCall, toRollCall);
+        int compared = 0;
+        int agreed = 0;
+        List<Divergence> divergences = new ArrayList<>();
+        for (int word = 0; word < range.length; word++) {
+            long both = (side.yea[word] | side.nay[word]) & (other.yea[word] | other.nay[word]) & range[word];
+            long same = ((side.yea[word] & other.yea[word]) | (side.nay[word] & other.nay[word])) & range[word];
+            compared += Long.bitCount(both);
+            agreed += Long.bitCount(same);
+            long diverged = both & ~same;
+            while (diverged != 0) {
+                int bit = Long.numberOfTrailingZeros(diverged);
+                diverged &= diverged - 1;
+                int rollCall = word * Long.SIZE + bit + 1;
+                divergences.add(new Divergence(rollCall, side.position(word, bit), other.position(word, bit)));
+            }
+        }
+        return new Result(compared, agreed, divergences);
+    }
+
+    /**
+     * Agreement in percent with one decimal, or {@code 0} when nothing was compared.
+     */
+    public static double percentage(int agreed, int compared) {
+        return compared == 0 ? 0 : Math.round(agreed * 1000.0 / compared) / 10.0;
+    }
+
+    private static long[] rangeMask(int words, int fromRollCall, int toRollCall) {
+        long[] mask = new long[words];
+        int first = Math.max(fromRollCall, 1) - 1;
+        int last = Math.min(toRollCall, words * Long.SIZE) - 1;
+        for (int bit = first; bit <= last; ) {
+            int word = bit >>> 6;
+            int offset = bit & 63;
+            int span = Math.min(Long.SIZE - offset, last - bit + 1);
+            mask[word] |= (span == Long.SIZE ? -1L : ((1L << span) - 1)) << offset;
+            bit += span;
+        }
+        return mask;
+    }
+
+    /**
+     * Outcome of a comparison.
+     *
+     * @param compared roll calls on which both sides cast a yea or nay
+     * @param agreed roll calls on which they cast the same vote
+     * @param divergences the compared roll calls on which they differed, in roll call order
+     */
+    public record Result(int compared, int agreed, List<Divergence> divergences) {
+
+        /**
+         * Agreement in percent, see {@link VoteAgreement#percentage(int, int)}.
+         */
+        public double percentage() {
+            return VoteAgreement.percentage(agreed, compared);
+        }
+    }
+
+    public record Divergence(int rollCall, VoteCode position, VoteCode otherPosition) {}
+
+    /**
+     * Pairwise agreement counts, symmetric and indexed by member column.
+     */
+    public static final class Table {
+
+        private final int members;
+        private final int[] compared;
+        private final int[] agreed;
+
+        private Table(int members, int[] compared, int[] agreed) {
+            this.members = members;
+            this.compared = compared;
+            this.agreed = agreed;
+        }
+
+        public int compared(int member, int other) {
+            return compared[member * members + other];
+        }
+
+        public int agreed(int member, int other) {
+            return agreed[member * members + other];
+        }
+
+        public double percentage(int member, int other) {
+            return VoteAgreement.percentage(agreed(member, other), compared(member, other));
+        }
+    }
+
+    /**
+     * One side of a comparison as yea and nay bit words.
+     */
+    private record Side(long[] yea, long[] nay) {
+
+        static Side member(VoteMatrix matrix, int member) {
+            int words = matrix.wordCount();
+            long[] yea = new long[words];
+            long[] nay = new long[words];
+            if (member >= 0) {
+                for (int word = 0; word < words; word++) {
+                    long cast = matrix.word(member, VoteMatrix.Plane.CAST, word);
+                    long affirmative = matrix.word(member, VoteMatrix.Plane.AFFIRMATIVE, word);
+                    yea[word] = cast & affirmative;
+                    nay[word] = cast & ~affirmative;
+                }
+            }
+            return new Side(yea, nay);
+        }
+
+        static Side majority(VoteMatrix matrix, int[] group, int excluded) {
+            int words = matrix.wordCount();
+            long[] yea = new long[words];
+            long[] nay = new long[words];
+            int[] balance = new int[Long.SIZE];
+            for (int word = 0; word < words; word++) {
+                Arrays.fill(balance, 0);
+                for (int member : group) {
+                    if (member == excluded || member < 0) {
+                        continue;
+                    }
+                    long cast = matrix.word(member, VoteMatrix.Plane.CAST, word);
+                    long affirmative = matrix.word(member, VoteMatrix.Plane.AFFIRMATIVE, word);
+                    for (long bits = cast & affirmative; bits != 0; bits &= bits - 1) {
+                        balance[Long.numberOfTrailingZeros(bits)]++;
+                    }
+                    for (long bits = cast & ~affirmative; bits != 0; bits &= bits - 1) {
+                        balance[Long.numberOfTrailingZeros(bits)]--;
+                    }
+                }
+                for (int bit = 0; bit < Long.SIZE; bit++) {
+                    if (balance[bit] > 0) {
+                        yea[word] |= 1L << bit;
+                    } else if (balance[bit] < 0) {
+                        nay[word] |= 1L << bit;
+                    }
+                }
+            }
+            return new Side(yea, nay);
+        }
+
+        VoteCode position(int word, int bit) {
+            long mask = 1L << bit;
+            if ((yea[word] & mask) != 0) {
+                return VoteCode.YEA;
+            }
+            return (nay[word] & mask) != 0 ? VoteCode.NAY : VoteCode.NONE;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.beacon.stateful.mongo;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A member's position on one roll call as three bits, one per {@link VoteMatrix.Plane}: whether the member is listed,
+ * whether they cast a yea or nay, and whether that vote was affirmative (or, when nothing was cast, whether they
+ * answered present). Each position is then a plain AND of planes, which is what the bitset analytics rely on.
+ *
+ * <p>This is the one classification of member votes: attendance, the vote matrix and the metric plugins all read
+ * positions through {@link #of(VotePosition, String)}.
+ */
+public enum VoteCode {
+    NONE(0b000),
+    NOT_VOTING(0b001),
+    NAY(0b011),
+    PRESENT(0b101),
+    YEA(0b111);
+
+    private static final VoteCode[] BY_BITS = new VoteCode[8];
+    // Labels read as a cast ballot when a vote has no recognised position; they match the labels the ingest service
+    // parses into YEA and NAY.
+    private static final Set<String> YEA_LABELS = Set.of("YEA", "AYE", "YES", "YEA AND NAY", "AYE AND NAY");
+    private static final Set<String> NAY_LABELS = Set.of("NAY", "NO");
+    private static final List<String> CAST_LABELS =
+            Stream.concat(YEA_LABELS.stream(), NAY_LABELS.stream()).sorted().toList();
+
+    static {
+        for (VoteCode code : values()) {
+            BY_BITS[code.bits] = code;
+        }
+    }
+
+    private final int bits;
+
+    VoteCode(int bits) {
+        this.bits = bits;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    /**
+     * Decodes three plane bits; combinations no position produces read as {@link #NONE}.
+     */
+    public static VoteCode fromBits(int bits) {
+        VoteCode code = BY_BITS[bits & 0b111];
+        return code == null ? NONE : code;
+    }
+
+    public static VoteCode of(MemberVote memberVote) {
+        return of(memberVote.getVotePosition(), memberVote.getNotes());
+    }
+
+    /**
+     * Classifies a member's position: absences count as not voting, a not-voting entry noted {@code Present} is
+     * present, and entries without a recognised position fall back to their raw label, where any other non-blank
+     * label that is not a yea, nay or "not voting" counts as present.
+     */
+    public static VoteCode of(VotePosition position, String notes) {
+        return switch (position) {
+            case YEA -> YEA;
+            case NAY -> NAY;
+            case ABSENT -> NOT_VOTING;
+            case NOT_VOTING -> notes != null && "PRESENT".equalsIgnoreCase(notes.trim()) ? PRESENT : NOT_VOTING;
+            default -> ofLabel(notes);
+        };
+    }
+
+    /**
+     * Upper-case labels that count as a cast ballot when a vote has no recognised position.
+     */
+    public static List<String> castLabels() {
+        return CAST_LABELS;
+    }
+
+    /**
+     * Whether the member cast a yea or nay.
+     */
+    public boolean participated() {
+        return this == YEA || this == NAY;
+    }
+
+    /**
+     * Whether the member counts towards attendance: a cast ballot or a {@code Present} answer.
+     */
+    public boolean present() {
+        return participated() || this == PRESENT;
+    }
+
+    private static VoteCode ofLabel(String voteCast) {
+        if (voteCast == null || voteCast.isBlank()) {
+            return NOT_VOTING;
+        }
+        String normalized = voteCast.trim().toUpperCase(Locale.ROOT);
+        if (YEA_LABELS.contains(normalized)) {
+            return YEA;
+        }
+        if (NAY_LABELS.contains(normalized)) {
+            return NAY;
+        }
+        return normalized.contains("NOT VOTING") ? NOT_VOTING : PRESENT;
+    }
+}
@@ -0,0 +1,261 @@
+package com.beacon.stateful.mongo;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Every member's position on every roll call of one Congress session, as three bits per member per roll call.
+ *
+ * <p>Members are columns of a roster dictionary in first-seen order; roll call {@code n} is bit {@code n - 1}.
+ * Each member owns three bit planes (see {@link Plane}) laid out word by word, so comparing two members over a whole
+ * session is a handful of {@code AND}s and {@link Long#bitCount} calls over a few dozen longs.
+ *
+ * <p>Storage splits the roll call axis into chunks of {@link #CHUNK_ROLL_CALLS}; {@link #encodeChunk} and
+ * {@link #decodeChunk} move one chunk at a time so ingestion only rewrites the chunk a new roll call falls into.
+ * Instances are not thread-safe.
+ */
+public final class VoteMatrix {
+
+    public static final int CHUNK_ROLL_CALLS = 512;
+    static final int CHUNK_WORDS = CHUNK_ROLL_CALLS / Long.SIZE;
+    private static final int PLANES = Plane.values().length;
+
+    private final String legislativeBodyUuid;
+    private final int congressNumber;
+    private final int sessionNumber;
+    private final List<String> members = new ArrayList<>();
+    private final Map<String, Integer> memberIndex = new HashMap<>();
+    // bits[member] holds PLANES consecutive runs of `words` longs.
+    private long[][] bits = new long[0][];
+    private int words;
+    private int rollCalls;
+
+    public VoteMatrix(String legislativeBodyUuid, int congressNumber, int sessionNumber) {
+        this.legislativeBodyUuid = Objects.requireNonNull(legislativeBodyUuid, "legislativeBodyUuid");
+        this.congressNumber = congressNumber;
+        this.sessionNumber = sessionNumber;
+    }
+
+    public String legislativeBodyUuid() {
+        return legislativeBodyUuid;
+    }
+
+    public int congressNumber() {
+        return congressNumber;
+    }
+
+    public int sessionNumber() {
+        return sessionNumber;
+    }
+
+    public List<String> members() {
+        return Collections.unmodifiableList(members);
+    }
+
+    /**
+     * Returns the member's column, or {@code -1} when they appear on no roll call.
+     */
+    public int memberIndex(String sourceId) {
+        Integer index = memberIndex.get(sourceId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Highest roll call number recorded.
+     */
+    public int rollCalls() {
+        return rollCalls;
+    }
+
+    /**
+     * Number of longs per plane; bits past {@link #rollCalls()} are always clear.
+     */
+    public int wordCount() {
+        return words;
+    }
+
+    public long word(int member, Plane plane, int word) {
+        return bits[member][plane.ordinal() * words + word];
+    }
+
+    public VoteCode get(int member, int rollCall) {
+        if (member < 0 || member >= members.size() || rollCall < 1 || rollCall > rollCalls) {
+            return VoteCode.NONE;
+        }
+        int bit = rollCall - 1;
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        long[] row = bits[member];
+        int code = 0;
+        for (int plane = 0; plane < PLANES; plane++) {
+            if ((row[plane * words + word] & mask) != 0) {
+                code |= 1 << plane;
+            }
+        }
+        return VoteCode.fromBits(code);
+    }
+
+    public void set(String sourceId, int rollCall, VoteCode code) {
+        if (rollCall < 1) {
+            throw new IllegalArgumentException("Roll call numbers start at 1 but got " + rollCall);
+        }
+        int member = addMember(sourceId);
+        ensureRollCalls(rollCall);
+        write(member, rollCall, code);
+    }
+
+    /**
+     * Replaces one roll call's column with the supplied member votes; members not listed are cleared.
+     */
+    public void setRollCall(int rollCall, List<MemberVote> memberVotes) {
+        if (rollCall < 1) {
+            throw new IllegalArgumentException("Roll call numbers start at 1 but got " + rollCall);
+        }
+        ensureRollCalls(rollCall);
+        for (int member = 0; member < members.size(); member++) {
+            write(member, rollCall, VoteCode.NONE);
+        }
+        for (MemberVote memberVote : memberVotes) {
+            String sourceId = memberVote.getSourceId();
+            if (sourceId == null || sourceId.isBlank()) {
+                continue;
+            }
+            write(addMember(sourceId), rollCall, VoteCode.of(memberVote));
+        }
+    }
+
+    /**
+     * Packs one chunk as big-endian longs, member by member and plane by plane, in {@link #members()} order.
+     */
+    public byte[] encodeChunk(int chunk) {
+        ByteBuffer buffer = ByteBuffer.allocate(members.size() * PLANES * CHUNK_WORDS * Long.BYTES);
+        int firstWord = chunk * CHUNK_WORDS;
+        for (int member = 0; member < members.size(); member++) {
+            long[] row = bits[member];
+            for (int plane = 0; plane < PLANES; plane++) {
+                for (int word = firstWord; word < firstWord + CHUNK_WORDS; word++) {
+                    buffer.putLong(word < words ? row[plane * words + word] : 0L);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Loads a chunk produced by {@link #encodeChunk}. Its members are matched to this matrix's roster by source
+     * identifier, so chunks written with different rosters combine.
+     *
+     * @param chunkRollCalls highest roll call number recorded in the chunk
+     */
+    public void decodeChunk(int chunk, List<String> chunkMembers, byte[] packed, int chunkRollCalls) {
+        int expected = chunkMembers.size() * PLANES * CHUNK_WORDS * Long.BYTES;
+        if (packed.length != expected) {
+            throw new IllegalArgumentException("Chunk %d of %d/%d holds %d bytes, expected %d"
+                    .formatted(chunk, congressNumber, sessionNumber, packed.length, expected));
+        }
+        if (chunkRollCalls > 0) {
+            ensureRollCalls(chunkRollCalls);
+        }
+        ensureRollCalls((chunk + 1) * CHUNK_ROLL_CALLS, false);
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        int firstWord = chunk * CHUNK_WORDS;
+        for (String sourceId : chunkMembers) {
+            int member = addMember(sourceId);
+            long[] row = bits[member];
+            for (int plane = 0; plane < PLANES; plane++) {
+                for (int word = firstWord; word < firstWord + CHUNK_WORDS; word++) {
+                    row[plane * words + word] = buffer.getLong();
+                }
+            }
+        }
+    }
+
+    /**
+     * Index of the chunk holding a roll call.
+     */
+    public static int chunkOf(int rollCall) {
+        return (rollCall - 1) / CHUNK_ROLL_CALLS;
+    }
+
+    /**
+     * Number of chunks needed to hold every recorded roll call.
+     */
+    public int chunkCount() {
+        return rollCalls == 0 ? 0 : chunkOf(rollCalls) + 1;
+    }
+
+    private void write(int member, int rollCall, VoteCode code) {
+        int bit = rollCall - 1;
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        long[] row = bits[member];
+        for (int plane = 0; plane < PLANES; plane++) {
+            int index = plane * words + word;
+            if ((code.bits() & (1 << plane)) != 0) {
+                row[index] |= mask;
+            } else {
+                row[index] &= ~mask;
+            }
+        }
+    }
+
+    private int addMember(String sourceId) {
+        Integer existing = memberIndex.get(sourceId);
+        if (existing != null) {
+            return existing;
+        }
+        int index = members.size();
+        members.add(sourceId);
+        memberIndex.put(sourceId, index);
+        if (index == bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(16, bits.length * 2));
+        }
+        bits[index] = new long[PLANES * words];
+        return index;
+    }
+
+    private void ensureRollCalls(int rollCall) {
+        ensureRollCalls(rollCall, true);
+    }
+
+    private void ensureRollCalls(int rollCall, boolean record) {
+        if (record && rollCall > rollCalls) {
+            rollCalls = rollCall;
+        }
+        int required = (rollCall + Long.SIZE - 1) / Long.SIZE;
+        if (required <= words) {
+            return;
+        }
+        // Grow a chunk at a time so repeated single roll call writes do not copy every plane.
+        int grown = Math.max(required, words + CHUNK_WORDS);
+        grown = (grown + CHUNK_WORDS - 1) / CHUNK_WORDS * CHUNK_WORDS;
+        for (int member = 0; member < members.size(); member++) {
+            long[] row = bits[member];
+            long[] resized = new long[PLANES * grown];
+            for (int plane = 0; plane < PLANES; plane++) {
+                System.arraycopy(row, plane * words, resized, plane * grown, words);
+            }
+            bits[member] = resized;
+        }
+        words = grown;
+    }
+
+    /**
+     * The three bit planes. {@link VoteCode#bits()} sets bit {@code i} for plane {@code i}.
+     */
+    public enum Plane {
+        /** The member appears on the roll call. */
+        LISTED,
+        /** The member cast a yea or nay. */
+        CAST,
+        /** A cast vote was yea; with nothing cast, the member answered present. */
+        AFFIRMATIVE
+    }
+}
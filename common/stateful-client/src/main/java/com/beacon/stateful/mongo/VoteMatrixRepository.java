@@ -0,0 +1,231 @@
+package com.beacon.stateful.mongo;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+
+/**
+ * Stores {@link VoteMatrix} chunks, one document per body, Congress, session and {@link VoteMatrix#CHUNK_ROLL_CALLS}
+ * roll calls, each holding its roster dictionary and the packed bit planes. A House session of ~700 roll calls is
+ * two documents of under 100 KB instead of ~700 documents of embedded member votes.
+ *
+ * <p>Single roll call updates read, modify and conditionally replace one chunk, retrying when another writer bumped
+ * its {@code version} first, so concurrent ingestion lanes never lose each other's columns.
+ */
+public class VoteMatrixRepository {
+
+    private static final String KIND_CHUNK = "chunk";
+    private static final String KIND_BODY = "body";
+    private static final int MAX_UPDATE_ATTEMPTS = 8;
+
+    private final MongoCollection<Document> collection;
+
+    public VoteMatrixRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        ensureIndexes();
+    }
+
+    private void ensureIndexes() {
+        collection.createIndex(Indexes.ascending("legislative_body_uuid", "congress_number", "session_number", "chunk"));
+    }
+
+    /**
+     * Whether every stored vote of the body has been written into the matrix at least once.
+     */
+    public boolean isBuilt(String legislativeBodyUuid) {
+        Document state = collection.find(Filters.eq("_id", bodyStateId(legislativeBodyUuid))).first();
+        return state != null && state.getDate("built_at") != null;
+    }
+
+    /**
+     * Replaces every chunk of the body with the supplied matrices and marks the body built.
+     */
+    public void replaceAll(String legislativeBodyUuid, Collection<VoteMatrix> matrices) {
+        collection.deleteMany(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.eq("kind", KIND_CHUNK)));
+        for (VoteMatrix matrix : matrices) {
+            for (int chunk = 0; chunk < matrix.chunkCount(); chunk++) {
+                collection.insertOne(toDocument(matrix, chunk, 0L));
+            }
+        }
+        Document state = new Document("_id", bodyStateId(legislativeBodyUuid))
+                .append("kind", KIND_BODY)
+                .append("legislative_body_uuid", legislativeBodyUuid)
+                .append("built_at", new Date());
+        collection.replaceOne(Filters.eq("_id", state.get("_id")), state, new ReplaceOptions().upsert(true));
+    }
+
+    /**
+     * Drops the built marker so the next reader rebuilds the body's matrix from the stored votes.
+     */
+    public void invalidate(String legislativeBodyUuid) {
+        collection.updateOne(Filters.eq("_id", bodyStateId(legislativeBodyUuid)), Updates.unset("built_at"));
+    }
+
+    /**
+     * Writes one roll call's column into its chunk, creating the chunk when it is the first roll call in it.
+     */
+    public void applyRollCall(
+            String legislativeBodyUuid,
+            int congressNumber,
+            int sessionNumber,
+            int rollCallNumber,
+            List<MemberVote> memberVotes) {
+        int chunk = VoteMatrix.chunkOf(rollCallNumber);
+        String id = chunkId(legislativeBodyUuid, congressNumber, sessionNumber, chunk);
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Document existing = collection.find(Filters.eq("_id", id)).first();
+            VoteMatrix matrix = new VoteMatrix(legislativeBodyUuid, congressNumber, sessionNumber);
+            long version = 0L;
+            if (existing != null) {
+                decodeInto(matrix, existing);
+                version = existing.get("version", Number.class).longValue();
+            }
+            matrix.setRollCall(rollCallNumber, memberVotes);
+            Document replacement = toDocument(matrix, chunk, version + 1);
+            if (existing == null) {
+                if (insertIfAbsent(replacement)) {
+                    return;
+                }
+                continue;
+            }
+            UpdateResult result = collection.replaceOne(
+                    Filters.and(Filters.eq("_id", id), Filters.eq("version", version)),
+                    replacement);
+            if (result.getMatchedCount() == 1) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Gave up updating vote matrix chunk %s after %d concurrent modifications"
+                .formatted(id, MAX_UPDATE_ATTEMPTS));
+    }
+
+    /**
+     * Loads every chunk of one Congress session into a single matrix.
+     */
+    public Optional<VoteMatrix> load(String legislativeBodyUuid, int congressNumber, int sessionNumber) {
+        VoteMatrix matrix = new VoteMatrix(legislativeBodyUuid, congressNumber, sessionNumber);
+        boolean found = false;
+        for (Document document : collection.find(Filters.and(
+                        Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                        Filters.eq("kind", KIND_CHUNK),
+                        Filters.eq("congress_number", congressNumber),
+                        Filters.eq("session_number", sessionNumber)))
+                .sort(Sorts.ascending("chunk"))) {
+            decodeInto(matrix, document);
+            found = true;
+        }
+        return found ? Optional.of(matrix) : Optional.empty();
+    }
+
+    /**
+     * Loads every stored session of a body, oldest first.
+     */
+    public List<VoteMatrix> loadAll(String legislativeBodyUuid) {
+        return loadSessions(legislativeBodyUuid, Filters.empty());
+    }
+
+    /**
+     * Loads every stored session of one Congress, oldest first.
+     */
+    public List<VoteMatrix> loadCongress(String legislativeBodyUuid, int congressNumber) {
+        return loadSessions(legislativeBodyUuid, Filters.eq("congress_number", congressNumber));
+    }
+
+    /**
+     * Returns the newest Congress with a stored chunk, reading one projected document instead of the matrices.
+     */
+    public OptionalInt latestCongress(String legislativeBodyUuid) {
+        Document newest = collection.find(Filters.and(
+                        Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                        Filters.eq("kind", KIND_CHUNK)))
+                .projection(Projections.include("congress_number"))
+                .sort(Sorts.descending("congress_number"))
+                .limit(1)
+                .first();
+        return newest == null ? OptionalInt.empty() : OptionalInt.of(newest.getInteger("congress_number"));
+    }
+
+    private List<VoteMatrix> loadSessions(String legislativeBodyUuid, Bson filter) {
+        Map<String, VoteMatrix> matrices = new LinkedHashMap<>();
+        for (Document document : collection.find(Filters.and(
+                        Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                        Filters.eq("kind", KIND_CHUNK),
+                        filter))
+                .sort(Sorts.ascending("congress_number", "session_number", "chunk"))) {
+            int congressNumber = document.getInteger("congress_number");
+            int sessionNumber = document.getInteger("session_number");
+            VoteMatrix matrix = matrices.computeIfAbsent(
+                    congressNumber + "|" + sessionNumber,
+                    ignored -> new VoteMatrix(legislativeBodyUuid, congressNumber, sessionNumber));
+            decodeInto(matrix, document);
+        }
+        return new ArrayList<>(matrices.values());
+    }
+
+    private boolean insertIfAbsent(Document document) {
+        try {
+            collection.insertOne(document);
+            return true;
+        } catch (MongoWriteException ex) {
+            if (ex.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
+                // Another writer created the chunk first; retry against its copy.
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private static void decodeInto(VoteMatrix matrix, Document document) {
+        Binary planes = document.get("planes", Binary.class);
+        matrix.decodeChunk(
+                document.getInteger("chunk"),
+                document.getList("members", String.class, List.of()),
+                planes == null ? new byte[0] : planes.getData(),
+                document.getInteger("roll_call_count", 0));
+    }
+
+    private static Document toDocument(VoteMatrix matrix, int chunk, long version) {
+        int firstRollCall = chunk * VoteMatrix.CHUNK_ROLL_CALLS + 1;
+        int chunkRollCalls = Math.min(matrix.rollCalls(), firstRollCall + VoteMatrix.CHUNK_ROLL_CALLS - 1);
+        return new Document("_id", chunkId(matrix.legislativeBodyUuid(), matrix.congressNumber(), matrix.sessionNumber(), chunk))
+                .append("kind", KIND_CHUNK)
+                .append("legislative_body_uuid", matrix.legislativeBodyUuid())
+                .append("congress_number", matrix.congressNumber())
+                .append("session_number", matrix.sessionNumber())
+                .append("chunk", chunk)
+                .append("roll_call_count", chunkRollCalls)
+                .append("members", new ArrayList<>(matrix.members()))
+                .append("planes", new Binary(matrix.encodeChunk(chunk)))
+                .append("version", version)
+                .append("updated_at", new Date());
+    }
+
+    private static String chunkId(String legislativeBodyUuid, int congressNumber, int sessionNumber, int chunk) {
+        return "%s|%d|%d|%d".formatted(legislativeBodyUuid, congressNumber, sessionNumber, chunk);
+    }
+
+    private static String bodyStateId(String legislativeBodyUuid) {
+        return legislativeBodyUuid + "|state";
+    }
+}
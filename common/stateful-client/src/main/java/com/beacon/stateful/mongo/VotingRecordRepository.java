@@ -1,27 +1,46 @@
 package com.beacon.stateful.mongo;
 
+import com.beacon.common.accountability.v1.VotePosition;
 import com.beacon.common.accountability.v1.VotingRecord;
 import com.beacon.stateful.mongo.converter.VotingRecordDocumentConverter;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Projections;
-import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 /**
  * Persists ingested roll call voting records so expensive remote lookups can be avoided on subsequent runs.
  */
 public class VotingRecordRepository {
 
+    // Each House vote document embeds ~435 member votes; keep cursor batches to a few megabytes.
+    private static final int STREAM_BATCH_SIZE = 200;
+    // Fields the converter omits or leaves null when upstream no longer reports them.
+    private static final List<String> OPTIONAL_FIELDS = List.of(
+            "vote_date_utc",
+            "update_date_utc",
+            "source_data_url",
+            "vote_result",
+            "vote_type",
+            "legislation_type",
+            "legislation_number",
+            "legislation_url");
+
     private final MongoCollection<Document> collection;
 
     public VotingRecordRepository(MongoCollection<Document> collection) {
@@ -33,11 +52,41 @@ public class VotingRecordRepository {
         collection.createIndex(Indexes.ascending("source_id"), new IndexOptions().unique(true));
         collection.createIndex(Indexes.ascending("legislative_body_uuid", "vote_date_utc"));
         collection.createIndex(Indexes.ascending("update_date_utc"));
+        collection.createIndex(Indexes.ascending("legislative_body_uuid", "ingested_at"));
     }
 
+    /**
+     * Inserts or updates a voting record. A record without a summary (or with a blank one) leaves any stored summary
+     * untouched, so a vote re-ingested by one lane never erases the summary another lane generated for it. Every other
+     * optional field the record no longer carries is removed, so a corrected vote never keeps a stale date or URL.
+     *
+     * <p>Every write stamps {@code ingested_at} with the server's clock. Upstream update dates say nothing about when
+     * a vote reached this store (backfilled votes carry old ones), so incremental readers use
+     * {@link #findByLegislativeBodyIngestedAfter} instead.
+     */
     public void upsert(PersistedVotingRecord record) {
         Document document = VotingRecordDocumentConverter.toDocument(record);
-        collection.replaceOne(Filters.eq("source_id", record.votingRecord().getSourceId()), document, new ReplaceOptions().upsert(true));
+        if (isBlank(record.summary())) {
+            document.remove("summary");
+        }
+        Document unset = new Document();
+        for (String field : OPTIONAL_FIELDS) {
+            if (document.get(field) == null) {
+                document.remove(field);
+                unset.append(field, "");
+            }
+        }
+        Object id = document.remove("_id");
+        Document update = new Document("$set", document)
+                .append("$setOnInsert", new Document("_id", id))
+                .append("$currentDate", new Document("ingested_at", true));
+        if (!unset.isEmpty()) {
+            update.append("$unset", unset);
+        }
+        collection.updateOne(
+                Filters.eq("source_id", record.votingRecord().getSourceId()),
+                update,
+                new UpdateOptions().upsert(true));
     }
 
     public Optional<RecordMetadata> findMetadataBySourceId(String sourceId) {
@@ -77,6 +126,117 @@ public class VotingRecordRepository {
         return results;
     }
 
+    /**
+     * Streams every vote stored for a body in vote date order, converting one document at a time from the cursor, so
+     * callers can process any number of Congresses in constant memory.
+     */
+    public void forEachByLegislativeBody(String legislativeBodyUuid, Consumer<PersistedVotingRecord> consumer) {
+        try (MongoCursor<Document> cursor = collection.find(Filters.eq("legislative_body_uuid", legislativeBodyUuid))
+                .sort(Sorts.ascending("vote_date_utc"))
+                .batchSize(STREAM_BATCH_SIZE)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                consumer.accept(VotingRecordDocumentConverter.toPersistedVotingRecord(cursor.next()));
+            }
+        }
+    }
+
+    /**
+     * Streams a body's votes dated within {@code [from, to)}, oldest first, using the body/date index.
+     */
+    public void forEachByLegislativeBodyBetween(
+            String legislativeBodyUuid,
+            Instant from,
+            Instant to,
+            Consumer<PersistedVotingRecord> consumer) {
+        var filter = Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.gte("vote_date_utc", Date.from(from)),
+                Filters.lt("vote_date_utc", Date.from(to)));
+        try (MongoCursor<Document> cursor = collection.find(filter)
+                .sort(Sorts.ascending("vote_date_utc"))
+                .batchSize(STREAM_BATCH_SIZE)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                consumer.accept(VotingRecordDocumentConverter.toPersistedVotingRecord(cursor.next()));
+            }
+        }
+    }
+
+    /**
+     * Streams the change-detection fields of every vote stored for a body without loading the embedded member votes.
+     * Documents written before {@code member_vote_count} was stored have it computed server-side from the array.
+     */
+    public void forEachFreshness(String legislativeBodyUuid, Consumer<VoteFreshness> consumer) {
+        var projection = Projections.fields(
+                Projections.excludeId(),
+                Projections.include(
+                        "source_id",
+                        "update_date_utc",
+                        "congress_number",
+                        "legislation_type",
+                        "legislation_number",
+                        "legislation_url"),
+                Projections.computed("member_vote_count", new Document("$ifNull", List.of(
+                        "$member_vote_count",
+                        new Document("$size", new Document("$ifNull", List.of("$member_votes", List.of())))))),
+                // Trimmed so blank summaries written before upsert normalised them still count as missing.
+                Projections.computed("has_summary", new Document("$gt", List.of(
+                        new Document("$trim", new Document("input", "$summary")), ""))));
+        try (MongoCursor<Document> cursor = collection.find(Filters.eq("legislative_body_uuid", legislativeBodyUuid))
+                .projection(projection)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                Date update = document.getDate("update_date_utc");
+                consumer.accept(new VoteFreshness(
+                        document.getString("source_id"),
+                        legislativeBodyUuid,
+                        update == null ? null : update.toInstant(),
+                        document.getInteger("member_vote_count", 0),
+                        document.getBoolean("has_summary", false),
+                        document.getInteger("congress_number", 0),
+                        document.getString("legislation_type"),
+                        document.getString("legislation_number"),
+                        document.getString("legislation_url")));
+            }
+        }
+    }
+
+    /**
+     * Returns the newest {@code ingested_at} among a body's votes, or empty when none was written since writes were
+     * stamped. Read it before {@link #findByLegislativeBodyIngestedAfter} and use it as the next watermark: a vote
+     * written in between is then read again next time rather than skipped.
+     */
+    public Optional<Instant> findLatestIngestedAt(String legislativeBodyUuid) {
+        Document document = collection.find(Filters.and(
+                        Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                        Filters.exists("ingested_at")))
+                .sort(Sorts.descending("ingested_at"))
+                .projection(Projections.include("ingested_at"))
+                .first();
+        return Optional.ofNullable(document)
+                .map(found -> found.getDate("ingested_at"))
+                .map(Date::toInstant);
+    }
+
+    /**
+     * Returns a body's votes written after {@code ingestedAfter} in vote date order, whatever their upstream update
+     * dates.
+     */
+    public List<PersistedVotingRecord> findByLegislativeBodyIngestedAfter(
+            String legislativeBodyUuid,
+            Instant ingestedAfter) {
+        List<PersistedVotingRecord> results = new ArrayList<>();
+        var filter = Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.gt("ingested_at", Date.from(ingestedAfter)));
+        for (Document document : collection.find(filter).sort(Sorts.ascending("vote_date_utc"))) {
+            results.add(VotingRecordDocumentConverter.toPersistedVotingRecord(document));
+        }
+        return results;
+    }
+
     public List<PersistedVotingRecord> findByLegislativeBodyUpdatedAfter(String legislativeBodyUuid, Instant updatedAfter) {
         List<PersistedVotingRecord> results = new ArrayList<>();
         var filter = updatedAfter == null
@@ -91,14 +251,153 @@ public class VotingRecordRepository {
         return results;
     }
 
+    /**
+     * Computes per-member, per-month attendance counters inside MongoDB so only the grouped counters, not the
+     * embedded member votes, leave the server. Classification mirrors {@link VoteCode#of(VotePosition, String)}:
+     * yea/nay participate, a not-voting entry noted {@code Present} counts as present, absent and other not-voting
+     * entries do not, and entries without a recognised position fall back to their raw label.
+     */
+    public AttendanceAggregation aggregateAttendance(String legislativeBodyUuid) {
+        Bson matchBody = Aggregates.match(Filters.and(
+                Filters.eq("legislative_body_uuid", legislativeBodyUuid),
+                Filters.exists("member_votes.0")));
+
+        Document totals = collection.aggregate(List.of(
+                        matchBody,
+                        Aggregates.group(null,
+                                Accumulators.sum("vote_records", 1),
+                                Accumulators.max("latest_update", "$update_date_utc"))))
+                .first();
+        if (totals == null) {
+            return new AttendanceAggregation(0, null, List.of());
+        }
+
+        Document notes = new Document("$toUpper", new Document("$trim",
+                new Document("input", new Document("$ifNull", List.of("$member_votes.notes", "")))));
+        Document position = new Document("$ifNull", List.of("$member_votes.vote_position", ""));
+        Document recognised = new Document("$in", List.of(position, List.of("YEA", "NAY", "ABSENT", "NOT_VOTING")));
+        Document participatingLabel = new Document("$in", List.of("$$notes", VoteCode.castLabels()));
+        Document participated = new Document("$or", List.of(
+                new Document("$in", List.of(position, List.of("YEA", "NAY"))),
+                new Document("$and", List.of(new Document("$not", List.of(recognised)), participatingLabel))));
+        Document present = new Document("$or", List.of(
+                participated,
+                new Document("$and", List.of(
+                        new Document("$eq", List.of(position, "NOT_VOTING")),
+                        new Document("$eq", List.of("$$notes", "PRESENT")))),
+                new Document("$and", List.of(
+                        new Document("$not", List.of(recognised)),
+                        new Document("$ne", List.of("$$notes", "")),
+                        new Document("$lt", List.of(new Document("$indexOfCP", List.of("$$notes", "NOT VOTING")), 0))))));
+
+        List<Bson> pipeline = List.of(
+                matchBody,
+                Aggregates.project(Projections.fields(
+                        Projections.excludeId(),
+                        Projections.include(
+                                "vote_date_utc",
+                                "member_votes.source_id",
+                                "member_votes.vote_position",
+                                "member_votes.notes"))),
+                Aggregates.unwind("$member_votes"),
+                Aggregates.match(Filters.and(
+                        Filters.exists("member_votes.source_id"),
+                        Filters.ne("member_votes.source_id", ""))),
+                new Document("$set", new Document("outcome", new Document("$let", new Document()
+                        .append("vars", new Document("notes", notes))
+                        .append("in", new Document()
+                                .append("participated", new Document("$cond", List.of(participated, 1, 0)))
+                                .append("present", new Document("$cond", List.of(present, 1, 0))))))),
+                Aggregates.group(
+                        new Document()
+                                .append("member", "$member_votes.source_id")
+                                .append("year", new Document("$year", "$vote_date_utc"))
+                                .append("month", new Document("$month", "$vote_date_utc")),
+                        Accumulators.sum("votes_total", 1),
+                        Accumulators.sum("votes_participated", "$outcome.participated"),
+                        Accumulators.sum("votes_present", "$outcome.present"),
+                        Accumulators.min("first_vote", "$vote_date_utc"),
+                        Accumulators.max("last_vote", "$vote_date_utc")));
+
+        List<MemberPeriodCounters> counters = new ArrayList<>();
+        for (Document document : collection.aggregate(pipeline).allowDiskUse(true)) {
+            Document key = document.get("_id", Document.class);
+            Date first = document.getDate("first_vote");
+            Date last = document.getDate("last_vote");
+            counters.add(new MemberPeriodCounters(
+                    key.getString("member"),
+                    key.getInteger("year"),
+                    key.getInteger("month"),
+                    document.getInteger("votes_total", 0),
+                    document.getInteger("votes_participated", 0),
+                    document.getInteger("votes_present", 0),
+                    first == null ? null : first.toInstant(),
+                    last == null ? null : last.toInstant()));
+        }
+        Date latestUpdate = totals.getDate("latest_update");
+        return new AttendanceAggregation(
+                totals.getInteger("vote_records", 0),
+                latestUpdate == null ? null : latestUpdate.toInstant(),
+                counters);
+    }
+
+    /**
+     * Stores a vote's summary. A blank summary is stored as no summary, as in {@link #upsert}.
+     */
     public void updateSummary(String sourceId, String summary) {
         collection.updateOne(
                 Filters.eq("source_id", sourceId),
-                Updates.set("summary", summary));
+                isBlank(summary) ? Updates.unset("summary") : Updates.set("summary", summary));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 
     public record RecordMetadata(Instant updateDate, int congressNumber, int sessionNumber, int rollCallNumber) {}
 
+    /**
+     * Result of {@link #aggregateAttendance(String)}.
+     *
+     * @param voteRecords number of votes with member results that were aggregated
+     * @param latestUpdate newest {@code update_date_utc} among them
+     * @param counters one entry per member and calendar month
+     */
+    public record AttendanceAggregation(int voteRecords, Instant latestUpdate, List<MemberPeriodCounters> counters) {}
+
+    /**
+     * Attendance counters for one member in one UTC calendar month. {@code year} and {@code month} are {@code null}
+     * for votes stored without a vote date. Counts may be negative when the record describes a change to apply.
+     */
+    public record MemberPeriodCounters(
+            String memberId,
+            Integer year,
+            Integer month,
+            int votesTotal,
+            int votesParticipated,
+            int votesPresent,
+            Instant firstVote,
+            Instant lastVote) {
+
+        public boolean present() {
+            return votesPresent > 0;
+        }
+    }
+
+    /**
+     * Projection of a stored vote carrying only what change detection and summary backfill need.
+     */
+    public record VoteFreshness(
+            String sourceId,
+            String legislativeBodyUuid,
+            Instant updateDate,
+            int memberVoteCount,
+            boolean hasSummary,
+            int congressNumber,
+            String legislationType,
+            String legislationNumber,
+            String legislationUrl) {}
+
     public record PersistedVotingRecord(
             VotingRecord votingRecord,
             Instant updateDateUtc,
@@ -3,6 +3,7 @@ package com.beacon.stateful.mongo.converter;
 import com.beacon.common.accountability.v1.OfficeStatus;
 import com.beacon.common.accountability.v1.PublicOfficial;
 import com.beacon.common.accountability.v1.AttendanceSummary;
+import com.beacon.common.accountability.v1.AttendanceGranularity;
 import com.beacon.common.accountability.v1.AttendanceSnapshot;
 import com.google.protobuf.Timestamp;
 import java.time.Instant;
@@ -119,7 +120,8 @@ public final class PublicOfficialDocumentConverter {
                 .append("votes_participated", snapshot.getVotesParticipated())
                 .append("votes_total", snapshot.getVotesTotal())
                 .append("presence_score", snapshot.getPresenceScore())
-                .append("participation_score", snapshot.getParticipationScore());
+                .append("participation_score", snapshot.getParticipationScore())
+                .append("granularity", snapshot.getGranularity().name());
         ProtoTimestampConverter.toDate(snapshot.hasPeriodStart() ? snapshot.getPeriodStart() : Timestamp.getDefaultInstance())
                 .ifPresent(date -> document.append("period_start", date));
         ProtoTimestampConverter.toDate(snapshot.hasPeriodEnd() ? snapshot.getPeriodEnd() : Timestamp.getDefaultInstance())
@@ -136,10 +138,27 @@ public final class PublicOfficialDocumentConverter {
                 .setVotesTotal(document.getInteger("votes_total", 0))
                 .setPresenceScore(document.getInteger("presence_score", 0))
                 .setParticipationScore(document.getInteger("participation_score", 0));
+        String granularity = document.getString("granularity");
+        if (granularity != null) {
+            builder.setGranularity(granularityOf(granularity));
+        }
         ProtoTimestampConverter.toTimestamp(document.getDate("period_start"))
                 .ifPresent(builder::setPeriodStart);
         ProtoTimestampConverter.toTimestamp(document.getDate("period_end"))
                 .ifPresent(builder::setPeriodEnd);
         return builder.build();
     }
+
+    /**
+     * Reads a stored granularity name. Names written by a newer schema fall back to months, the granularity of
+     * snapshots stored before the field existed, instead of failing the whole official.
+     */
+    private static AttendanceGranularity granularityOf(String name) {
+        try {
+            AttendanceGranularity granularity = AttendanceGranularity.valueOf(name);
+            return granularity == AttendanceGranularity.UNRECOGNIZED ? AttendanceGranularity.MONTH : granularity;
+        } catch (IllegalArgumentException ex) {
+            return AttendanceGranularity.MONTH;
+        }
+    }
 }
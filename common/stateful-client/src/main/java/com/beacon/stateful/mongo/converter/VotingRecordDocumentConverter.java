@@ -48,6 +48,7 @@ public final class VotingRecordDocumentConverter {
                 .map(VotingRecordDocumentConverter::toDocument)
                 .collect(Collectors.toList());
         document.append("member_votes", memberVotes);
+        document.append("member_vote_count", memberVotes.size());
         return document;
     }
 
@@ -0,0 +1,59 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class AttendanceRanksTest {
+
+    @Test
+    void percentileCountsStrictlyLowerScoresAndTiesShareTheBetterRank() {
+        AttendanceRanks ranks = AttendanceRanks.builder("house")
+                .add("CA", "D", 95, 90, 93)
+                .add("CA", "R", 80, 80, 80)
+                .add("NY", "D", 80, 70, 75)
+                .add("NY", "R", 60, 50, 55)
+                .add("TX", "R", 100, 100, 100)
+                .build(Instant.parse("2025-01-31T00:00:00Z"));
+
+        ScoreDistribution presence = ranks.group(AttendanceRanks.Scope.CHAMBER, null).orElseThrow().presence();
+
+        assertThat(presence.size()).isEqualTo(5);
+        assertThat(presence.percentile(80)).isEqualTo(20);
+        assertThat(presence.rank(80)).isEqualTo(3);
+        assertThat(presence.percentile(100)).isEqualTo(80);
+        assertThat(presence.rank(100)).isEqualTo(1);
+        assertThat(presence.rank(60)).isEqualTo(5);
+    }
+
+    @Test
+    void groupsAreKeyedByStateAndPartyCaseInsensitively() {
+        AttendanceRanks ranks = AttendanceRanks.builder("house")
+                .add("ca", "D", 95, 90, 93)
+                .add("CA", "R", 80, 80, 80)
+                .add(" ", "R", 60, 50, 55)
+                .build(Instant.parse("2025-01-31T00:00:00Z"));
+
+        assertThat(ranks.group(AttendanceRanks.Scope.STATE, "Ca").orElseThrow().size()).isEqualTo(2);
+        assertThat(ranks.group(AttendanceRanks.Scope.PARTY, "r").orElseThrow().size()).isEqualTo(2);
+        assertThat(ranks.group(AttendanceRanks.Scope.CHAMBER, "").orElseThrow().size()).isEqualTo(3);
+        assertThat(ranks.group(AttendanceRanks.Scope.STATE, "TX")).isEmpty();
+    }
+
+    @Test
+    void cumulativeCountsRoundTrip() {
+        ScoreDistribution distribution = AttendanceRanks.builder("house")
+                .add("CA", "D", 95, 90, 93)
+                .add("CA", "R", 80, 80, 80)
+                .build(Instant.parse("2025-01-31T00:00:00Z"))
+                .group(AttendanceRanks.Scope.CHAMBER, "")
+                .orElseThrow()
+                .participation();
+
+        assertThat(ScoreDistribution.fromCumulativeCounts(distribution.cumulativeCounts())).isEqualTo(distribution);
+        assertThatThrownBy(() -> ScoreDistribution.fromCumulativeCounts(new int[10]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
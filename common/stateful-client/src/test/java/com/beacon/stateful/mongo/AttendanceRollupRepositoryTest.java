@@ -0,0 +1,92 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.beacon.stateful.mongo.VotingRecordRepository.MemberPeriodCounters;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import java.time.Instant;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AttendanceRollupRepositoryTest {
+
+    private static final Instant VOTED = Instant.parse("2025-03-04T17:00:00Z");
+    private static final Instant UPDATED = Instant.parse("2025-03-05T18:00:00Z");
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private final AttendanceRollupRepository repository = new AttendanceRollupRepository(collection);
+
+    @Test
+    void applyIncrementsMonthlyCountersAndWidensVoteTimes() {
+        repository.apply("house", 1, UPDATED, List.of(
+                new MemberPeriodCounters("A000001", 2025, 3, 1, 1, 1, VOTED, VOTED)));
+
+        List<WriteModel<Document>> writes = capturedWrites();
+        assertThat(writes).hasSize(2).allSatisfy(write -> {
+            assertThat(write).isInstanceOf(UpdateOneModel.class);
+            assertThat(((UpdateOneModel<Document>) write).getOptions().isUpsert()).isTrue();
+        });
+
+        UpdateOneModel<Document> member = (UpdateOneModel<Document>) writes.get(0);
+        assertThat(member.getFilter().toBsonDocument().getString("_id").getValue())
+                .isEqualTo("house|A000001|2025-03");
+        BsonDocument update = member.getUpdate().toBsonDocument();
+        assertThat(update.getDocument("$inc").getInt32("votes_total").getValue()).isEqualTo(1);
+        assertThat(update.getDocument("$inc").getInt32("votes_participated").getValue()).isEqualTo(1);
+        assertThat(update.getDocument("$inc").getInt32("votes_present").getValue()).isEqualTo(1);
+        assertThat(update.getDocument("$min").getDateTime("first_vote_utc").getValue()).isEqualTo(VOTED.toEpochMilli());
+        assertThat(update.getDocument("$max").getDateTime("last_vote_utc").getValue()).isEqualTo(VOTED.toEpochMilli());
+        assertThat(update.getDocument("$setOnInsert").getString("member_id").getValue()).isEqualTo("A000001");
+        assertThat(update.getDocument("$setOnInsert").getInt32("month").getValue()).isEqualTo(3);
+
+        UpdateOneModel<Document> state = (UpdateOneModel<Document>) writes.get(1);
+        assertThat(state.getFilter().toBsonDocument().getString("_id").getValue()).isEqualTo("house|state");
+        BsonDocument stateUpdate = state.getUpdate().toBsonDocument();
+        assertThat(stateUpdate.getDocument("$inc").getInt32("vote_records").getValue()).isEqualTo(1);
+        assertThat(stateUpdate.getDocument("$max").getDateTime("latest_update_utc").getValue())
+                .isEqualTo(UPDATED.toEpochMilli());
+    }
+
+    @Test
+    void retractionsDecrementWithoutNarrowingVoteTimes() {
+        repository.apply("house", 0, null, List.of(
+                new MemberPeriodCounters("A000001", 2025, 3, 0, -1, -1, null, null),
+                new MemberPeriodCounters("B000001", null, null, -1, -1, -1, null, null)));
+
+        List<WriteModel<Document>> writes = capturedWrites();
+        assertThat(writes).hasSize(3);
+
+        BsonDocument correction = ((UpdateOneModel<Document>) writes.get(0)).getUpdate().toBsonDocument();
+        assertThat(correction.getDocument("$inc").getInt32("votes_total").getValue()).isZero();
+        assertThat(correction.getDocument("$inc").getInt32("votes_participated").getValue()).isEqualTo(-1);
+        assertThat(correction.containsKey("$min")).isFalse();
+        assertThat(correction.containsKey("$max")).isFalse();
+
+        UpdateOneModel<Document> undated = (UpdateOneModel<Document>) writes.get(1);
+        assertThat(undated.getFilter().toBsonDocument().getString("_id").getValue())
+                .isEqualTo("house|B000001|undated");
+
+        BsonDocument state = ((UpdateOneModel<Document>) writes.get(2)).getUpdate().toBsonDocument();
+        assertThat(state.getDocument("$inc").getInt32("vote_records").getValue()).isZero();
+        assertThat(state.containsKey("$max")).isFalse();
+        assertThat(state.getDocument("$set").isDateTime("updated_at")).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WriteModel<Document>> capturedWrites() {
+        ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<BulkWriteOptions> options = ArgumentCaptor.forClass(BulkWriteOptions.class);
+        verify(collection).bulkWrite(writes.capture(), options.capture());
+        assertThat(options.getValue().isOrdered()).isFalse();
+        return writes.getValue();
+    }
+}
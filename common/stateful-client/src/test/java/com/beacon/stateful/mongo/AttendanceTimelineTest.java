@@ -0,0 +1,80 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AttendanceTimelineTest {
+
+    private static final LocalDate JAN_06 = LocalDate.parse("2025-01-06");
+    private static final LocalDate JAN_07 = LocalDate.parse("2025-01-07");
+    private static final LocalDate FEB_03 = LocalDate.parse("2025-02-03");
+
+    @Test
+    void rangeSumsTheDaysWithinInclusiveBounds() {
+        AttendanceTimeline timeline = AttendanceTimeline.builder("A000001")
+                .add(day(JAN_06), 3, 3, true)
+                .add(day(JAN_07), 2, 0, false)
+                .add(day(FEB_03), 4, 3, true)
+                .build();
+
+        AttendanceTimeline.RangeCounters january = timeline.range(JAN_06, JAN_07);
+        assertThat(january).isEqualTo(new AttendanceTimeline.RangeCounters(2, 1, 5, 3));
+        assertThat(january.presenceScore()).isEqualTo(50);
+        assertThat(january.participationScore()).isEqualTo(60);
+
+        assertThat(timeline.range(JAN_07, FEB_03)).isEqualTo(new AttendanceTimeline.RangeCounters(2, 1, 6, 3));
+        assertThat(timeline.range(LocalDate.parse("2025-01-08"), LocalDate.parse("2025-02-02")))
+                .isEqualTo(AttendanceTimeline.RangeCounters.EMPTY);
+    }
+
+    @Test
+    void openBoundsCoverTheWholeTimeline() {
+        AttendanceTimeline timeline = AttendanceTimeline.builder("A000001")
+                .add(day(JAN_06), 3, 3, true)
+                .add(day(FEB_03), 4, 3, true)
+                .build();
+
+        assertThat(timeline.range(null, null)).isEqualTo(new AttendanceTimeline.RangeCounters(2, 2, 7, 6));
+        assertThat(timeline.range(JAN_07, null)).isEqualTo(new AttendanceTimeline.RangeCounters(1, 1, 4, 3));
+        assertThat(timeline.range(null, JAN_07)).isEqualTo(new AttendanceTimeline.RangeCounters(1, 1, 3, 3));
+    }
+
+    @Test
+    void builderSortsAndMergesDaysAddedOutOfOrder() {
+        AttendanceTimeline timeline = AttendanceTimeline.builder("A000001")
+                .add(day(FEB_03), 1, 1, true)
+                .add(day(JAN_06), 1, 0, false)
+                .add(day(FEB_03), 1, 0, false)
+                .add(day(JAN_06), 1, 1, true)
+                .build();
+
+        List<String> days = new ArrayList<>();
+        timeline.forEachDay((epochDay, votes, participated, present) ->
+                days.add("%s:%d/%d/%s".formatted(LocalDate.ofEpochDay(epochDay), votes, participated, present)));
+
+        assertThat(days).containsExactly("2025-01-06:2/1/true", "2025-02-03:2/1/true");
+    }
+
+    @Test
+    void packedBytesRoundTrip() {
+        AttendanceTimeline timeline = AttendanceTimeline.builder("A000001")
+                .add(day(JAN_06), 3, 3, true)
+                .add(day(JAN_07), 2, 0, false)
+                .build();
+
+        byte[] packed = timeline.toBytes();
+        AttendanceTimeline restored = AttendanceTimeline.fromBytes("A000001", packed);
+
+        assertThat(packed).hasSize(2 * AttendanceTimeline.RECORD_BYTES);
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.range(null, null)).isEqualTo(timeline.range(null, null));
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+}
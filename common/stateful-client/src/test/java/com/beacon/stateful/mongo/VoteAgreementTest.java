@@ -0,0 +1,99 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class VoteAgreementTest {
+
+    @Test
+    void comparesOnlyRollCallsWhereBothMembersCastAVote() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        record("A000001", matrix, VoteCode.YEA, VoteCode.NAY, VoteCode.YEA, VoteCode.PRESENT, VoteCode.YEA);
+        record("B000002", matrix, VoteCode.YEA, VoteCode.YEA, VoteCode.NOT_VOTING, VoteCode.YEA, VoteCode.YEA);
+
+        VoteAgreement.Result result = VoteAgreement.compare(
+                matrix, matrix.memberIndex("A000001"), matrix.memberIndex("B000002"), 1, Integer.MAX_VALUE);
+
+        assertThat(result.compared()).isEqualTo(3);
+        assertThat(result.agreed()).isEqualTo(2);
+        assertThat(result.percentage()).isEqualTo(66.7);
+        assertThat(result.divergences())
+                .containsExactly(new VoteAgreement.Divergence(2, VoteCode.NAY, VoteCode.YEA));
+    }
+
+    @Test
+    void rollCallRangeLimitsTheComparison() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        for (int rollCall = 1; rollCall <= 200; rollCall++) {
+            matrix.set("A000001", rollCall, VoteCode.YEA);
+            matrix.set("B000002", rollCall, rollCall % 2 == 0 ? VoteCode.YEA : VoteCode.NAY);
+        }
+
+        VoteAgreement.Result result = VoteAgreement.compare(
+                matrix, matrix.memberIndex("A000001"), matrix.memberIndex("B000002"), 60, 139);
+
+        assertThat(result.compared()).isEqualTo(80);
+        assertThat(result.agreed()).isEqualTo(40);
+        assertThat(result.divergences().get(0).rollCall()).isEqualTo(61);
+        assertThat(result.divergences().get(39).rollCall()).isEqualTo(139);
+    }
+
+    @Test
+    void groupMajorityIgnoresTheComparedMemberAndTies() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        record("A000001", matrix, VoteCode.NAY, VoteCode.NAY, VoteCode.YEA);
+        record("B000002", matrix, VoteCode.YEA, VoteCode.NAY, VoteCode.YEA);
+        record("C000003", matrix, VoteCode.YEA, VoteCode.YEA, VoteCode.NOT_VOTING);
+        record("D000004", matrix, VoteCode.YEA, VoteCode.NOT_VOTING, VoteCode.NAY);
+        int[] group = {
+                matrix.memberIndex("A000001"),
+                matrix.memberIndex("B000002"),
+                matrix.memberIndex("C000003"),
+                matrix.memberIndex("D000004")
+        };
+
+        VoteAgreement.Result result = VoteAgreement.compareWithGroup(
+                matrix, matrix.memberIndex("A000001"), group, 1, Integer.MAX_VALUE);
+
+        // Roll call 1: the rest vote yea; roll calls 2 and 3 are split one to one, so the group takes no position.
+        assertThat(result.compared()).isEqualTo(1);
+        assertThat(result.agreed()).isZero();
+        assertThat(result.divergences())
+                .containsExactly(new VoteAgreement.Divergence(1, VoteCode.NAY, VoteCode.YEA));
+    }
+
+    @Test
+    void allPairsMatchesPairwiseComparisons() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        List<String> members = List.of("A000001", "B000002", "C000003", "D000004");
+        for (int rollCall = 1; rollCall <= 150; rollCall++) {
+            for (int member = 0; member < members.size(); member++) {
+                int draw = (rollCall * 31 + member * 17) % 7;
+                VoteCode code = draw < 3 ? VoteCode.YEA : draw < 6 ? VoteCode.NAY : VoteCode.NOT_VOTING;
+                matrix.set(members.get(member), rollCall, code);
+            }
+        }
+
+        VoteAgreement.Table table = VoteAgreement.allPairs(matrix, 1, Integer.MAX_VALUE);
+
+        for (int a = 0; a < members.size(); a++) {
+            for (int b = 0; b < members.size(); b++) {
+                if (a == b) {
+                    continue;
+                }
+                VoteAgreement.Result pair = VoteAgreement.compare(matrix, a, b, 1, Integer.MAX_VALUE);
+                assertThat(table.compared(a, b)).isEqualTo(pair.compared());
+                assertThat(table.agreed(a, b)).isEqualTo(pair.agreed());
+                assertThat(table.percentage(a, b)).isEqualTo(pair.percentage());
+            }
+        }
+    }
+
+    private static void record(String memberId, VoteMatrix matrix, VoteCode... codes) {
+        for (int i = 0; i < codes.length; i++) {
+            matrix.set(memberId, i + 1, codes[i]);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.beacon.common.accountability.v1.VotePosition;
+import org.junit.jupiter.api.Test;
+
+class VoteCodeTest {
+
+    @Test
+    void unparsedLabelsReadAsTheBallotTheyName() {
+        VotePosition unparsed = VotePosition.VOTE_POSITION_UNSPECIFIED;
+
+        assertThat(VoteCode.of(unparsed, " Aye ")).isEqualTo(VoteCode.YEA);
+        assertThat(VoteCode.of(unparsed, "Yes")).isEqualTo(VoteCode.YEA);
+        assertThat(VoteCode.of(unparsed, "Yea and Nay")).isEqualTo(VoteCode.YEA);
+        assertThat(VoteCode.of(unparsed, "AYE AND NAY")).isEqualTo(VoteCode.YEA);
+        assertThat(VoteCode.of(unparsed, "No")).isEqualTo(VoteCode.NAY);
+        assertThat(VoteCode.of(unparsed, "Present, Not Voting")).isEqualTo(VoteCode.NOT_VOTING);
+        assertThat(VoteCode.of(unparsed, "Paired")).isEqualTo(VoteCode.PRESENT);
+        assertThat(VoteCode.of(unparsed, " ")).isEqualTo(VoteCode.NOT_VOTING);
+    }
+
+    @Test
+    void attendanceFlagsFollowTheCode() {
+        assertThat(VoteCode.YEA.participated()).isTrue();
+        assertThat(VoteCode.NAY.present()).isTrue();
+        assertThat(VoteCode.PRESENT.participated()).isFalse();
+        assertThat(VoteCode.PRESENT.present()).isTrue();
+        assertThat(VoteCode.NOT_VOTING.present()).isFalse();
+        assertThat(VoteCode.NONE.present()).isFalse();
+        assertThat(VoteCode.of(VotePosition.NOT_VOTING, "present")).isEqualTo(VoteCode.PRESENT);
+        assertThat(VoteCode.of(VotePosition.ABSENT, "Yea")).isEqualTo(VoteCode.NOT_VOTING);
+    }
+}
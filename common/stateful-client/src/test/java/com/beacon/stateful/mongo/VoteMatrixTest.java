@@ -0,0 +1,96 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class VoteMatrixTest {
+
+    @Test
+    void rollCallColumnsRoundTripThroughTheirCodes() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+
+        matrix.setRollCall(3, List.of(
+                vote("A000001", VotePosition.YEA, "Yea"),
+                vote("B000002", VotePosition.NAY, "Nay"),
+                vote("C000003", VotePosition.NOT_VOTING, "Present"),
+                vote("D000004", VotePosition.NOT_VOTING, "Not Voting"),
+                vote("E000005", VotePosition.VOTE_POSITION_UNSPECIFIED, "Aye")));
+
+        assertThat(matrix.rollCalls()).isEqualTo(3);
+        assertThat(matrix.get(matrix.memberIndex("A000001"), 3)).isEqualTo(VoteCode.YEA);
+        assertThat(matrix.get(matrix.memberIndex("B000002"), 3)).isEqualTo(VoteCode.NAY);
+        assertThat(matrix.get(matrix.memberIndex("C000003"), 3)).isEqualTo(VoteCode.PRESENT);
+        assertThat(matrix.get(matrix.memberIndex("D000004"), 3)).isEqualTo(VoteCode.NOT_VOTING);
+        assertThat(matrix.get(matrix.memberIndex("E000005"), 3)).isEqualTo(VoteCode.YEA);
+        assertThat(matrix.get(matrix.memberIndex("A000001"), 2)).isEqualTo(VoteCode.NONE);
+        assertThat(matrix.memberIndex("Z999999")).isEqualTo(-1);
+    }
+
+    @Test
+    void rewritingARollCallClearsMembersNoLongerListed() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        matrix.setRollCall(1, List.of(
+                vote("A000001", VotePosition.YEA, "Yea"),
+                vote("B000002", VotePosition.NAY, "Nay")));
+
+        matrix.setRollCall(1, List.of(vote("A000001", VotePosition.NAY, "Nay")));
+
+        assertThat(matrix.get(matrix.memberIndex("A000001"), 1)).isEqualTo(VoteCode.NAY);
+        assertThat(matrix.get(matrix.memberIndex("B000002"), 1)).isEqualTo(VoteCode.NONE);
+    }
+
+    @Test
+    void planesCombineIntoPositionsWithPlainBitOperations() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        matrix.set("A000001", 1, VoteCode.YEA);
+        matrix.set("A000001", 2, VoteCode.NAY);
+        matrix.set("A000001", 3, VoteCode.PRESENT);
+        matrix.set("A000001", 4, VoteCode.NOT_VOTING);
+        int member = matrix.memberIndex("A000001");
+
+        long listed = matrix.word(member, VoteMatrix.Plane.LISTED, 0);
+        long cast = matrix.word(member, VoteMatrix.Plane.CAST, 0);
+        long affirmative = matrix.word(member, VoteMatrix.Plane.AFFIRMATIVE, 0);
+
+        assertThat(cast & affirmative).isEqualTo(0b0001L);
+        assertThat(cast & ~affirmative).isEqualTo(0b0010L);
+        assertThat(listed & ~cast & affirmative).isEqualTo(0b0100L);
+        assertThat(listed & ~cast & ~affirmative).isEqualTo(0b1000L);
+    }
+
+    @Test
+    void chunksCombineAcrossDifferentRosters() {
+        VoteMatrix first = new VoteMatrix("house", 119, 1);
+        first.set("A000001", 1, VoteCode.YEA);
+        first.set("B000002", 1, VoteCode.NAY);
+        VoteMatrix second = new VoteMatrix("house", 119, 1);
+        second.set("C000003", VoteMatrix.CHUNK_ROLL_CALLS + 5, VoteCode.PRESENT);
+        second.set("A000001", VoteMatrix.CHUNK_ROLL_CALLS + 5, VoteCode.NAY);
+
+        VoteMatrix loaded = new VoteMatrix("house", 119, 1);
+        loaded.decodeChunk(0, first.members(), first.encodeChunk(0), first.rollCalls());
+        loaded.decodeChunk(1, second.members(), second.encodeChunk(1), second.rollCalls());
+
+        assertThat(loaded.members()).containsExactly("A000001", "B000002", "C000003");
+        assertThat(loaded.rollCalls()).isEqualTo(VoteMatrix.CHUNK_ROLL_CALLS + 5);
+        assertThat(loaded.chunkCount()).isEqualTo(2);
+        assertThat(loaded.get(loaded.memberIndex("A000001"), 1)).isEqualTo(VoteCode.YEA);
+        assertThat(loaded.get(loaded.memberIndex("A000001"), VoteMatrix.CHUNK_ROLL_CALLS + 5)).isEqualTo(VoteCode.NAY);
+        assertThat(loaded.get(loaded.memberIndex("B000002"), 1)).isEqualTo(VoteCode.NAY);
+        assertThat(loaded.get(loaded.memberIndex("C000003"), VoteMatrix.CHUNK_ROLL_CALLS + 5))
+                .isEqualTo(VoteCode.PRESENT);
+        assertThat(first.encodeChunk(0)).hasSize(2 * 3 * VoteMatrix.CHUNK_WORDS * Long.BYTES);
+    }
+
+    private static MemberVote vote(String sourceId, VotePosition position, String notes) {
+        return MemberVote.newBuilder()
+                .setSourceId(sourceId)
+                .setVotePosition(position)
+                .setNotes(notes)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.beacon.stateful.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.beacon.common.accountability.v1.VotingRecord;
+import com.google.protobuf.Timestamp;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.UpdateOptions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class VotingRecordRepositoryTest {
+
+    private static final Instant UPDATED = Instant.parse("2025-03-05T18:00:00Z");
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private final VotingRecordRepository repository = new VotingRecordRepository(collection);
+
+    @Test
+    void upsertWithoutSummaryKeepsTheStoredSummary() {
+        repository.upsert(record(null));
+        repository.upsert(record("  "));
+
+        ArgumentCaptor<Bson> updates = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(2))
+                .updateOne(any(Bson.class), updates.capture(), any(UpdateOptions.class));
+        for (Bson update : updates.getAllValues()) {
+            Document set = ((Document) update).get("$set", Document.class);
+            assertThat(set).doesNotContainKey("summary").doesNotContainKey("_id");
+            assertThat(set.getString("source_id")).isEqualTo("house-118-1-42");
+            assertThat(((Document) update).get("$setOnInsert", Document.class))
+                    .containsEntry("_id", "vote-42");
+            assertThat(((Document) update).get("$unset", Document.class)).doesNotContainKey("summary");
+        }
+    }
+
+    @Test
+    void upsertUnsetsOptionalFieldsTheRecordNoLongerCarries() {
+        repository.upsert(record(null));
+
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).updateOne(any(Bson.class), update.capture(), any(UpdateOptions.class));
+        Document document = (Document) update.getValue();
+        assertThat(document.get("$unset", Document.class).keySet())
+                .containsExactlyInAnyOrder("vote_date_utc", "source_data_url");
+        assertThat(document.get("$set", Document.class))
+                .doesNotContainKeys("vote_date_utc", "source_data_url")
+                .containsEntry("update_date_utc", Date.from(UPDATED))
+                .containsEntry("legislation_url", "https://example.com/hr1234");
+    }
+
+    @Test
+    void upsertWithEveryOptionalFieldUnsetsNothing() {
+        VotingRecord votingRecord = VotingRecord.newBuilder()
+                .setUuid("vote-42")
+                .setSourceId("house-118-1-42")
+                .setLegislativeBodyUuid("house")
+                .setVoteDateUtc(Timestamp.newBuilder().setSeconds(UPDATED.getEpochSecond()))
+                .build();
+        repository.upsert(new VotingRecordRepository.PersistedVotingRecord(
+                votingRecord, UPDATED, 118, 1, 42, "https://example.com/vote42", "Passed", "Yea-and-Nay", "HR",
+                "1234", "https://example.com/hr1234", null));
+
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).updateOne(any(Bson.class), update.capture(), any(UpdateOptions.class));
+        assertThat((Document) update.getValue()).doesNotContainKey("$unset");
+    }
+
+    @Test
+    void upsertStoresTheSummaryAndStampsTheIngestionTime() {
+        repository.upsert(record("Funds rural bridges."));
+
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).updateOne(any(Bson.class), update.capture(), any(UpdateOptions.class));
+        Document document = (Document) update.getValue();
+        assertThat(document.get("$set", Document.class).getString("summary")).isEqualTo("Funds rural bridges.");
+        assertThat(document.get("$set", Document.class)).doesNotContainKey("ingested_at");
+        assertThat(document.get("$currentDate", Document.class)).containsEntry("ingested_at", true);
+    }
+
+    @Test
+    void blankSummaryUpdatesRemoveTheSummary() {
+        repository.updateSummary("house-118-1-42", " ");
+
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).updateOne(any(Bson.class), update.capture());
+        assertThat(update.getValue().toBsonDocument().containsKey("$unset")).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachFreshnessReadsTheProjectedFields() {
+        FindIterable<Document> find = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.projection(any(Bson.class))).thenReturn(find);
+        when(find.cursor()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(
+                new Document()
+                        .append("source_id", "house-118-1-42")
+                        .append("update_date_utc", Date.from(UPDATED))
+                        .append("member_vote_count", 431)
+                        .append("has_summary", true)
+                        .append("congress_number", 118)
+                        .append("legislation_type", "HR")
+                        .append("legislation_number", "1234")
+                        .append("legislation_url", "https://example.com/hr1234"),
+                new Document("source_id", "house-118-1-43"));
+
+        List<VotingRecordRepository.VoteFreshness> freshness = new ArrayList<>();
+        repository.forEachFreshness("house", freshness::add);
+
+        assertThat(freshness).containsExactly(
+                new VotingRecordRepository.VoteFreshness(
+                        "house-118-1-42", "house", UPDATED, 431, true, 118, "HR", "1234",
+                        "https://example.com/hr1234"),
+                new VotingRecordRepository.VoteFreshness(
+                        "house-118-1-43", "house", null, 0, false, 0, null, null, null));
+        verify(cursor).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachFreshnessTreatsBlankSummariesAsMissing() {
+        FindIterable<Document> find = mock(FindIterable.class);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.projection(any(Bson.class))).thenReturn(find);
+        when(find.cursor()).thenReturn(mock(MongoCursor.class));
+
+        repository.forEachFreshness("house", ignored -> { });
+
+        ArgumentCaptor<Bson> projection = ArgumentCaptor.forClass(Bson.class);
+        verify(find).projection(projection.capture());
+        BsonDocument hasSummary = projection.getValue().toBsonDocument().getDocument("has_summary");
+        assertThat(hasSummary.getArray("$gt").get(0).asDocument().getDocument("$trim").getString("input").getValue())
+                .isEqualTo("$summary");
+    }
+
+    private static VotingRecordRepository.PersistedVotingRecord record(String summary) {
+        VotingRecord votingRecord = VotingRecord.newBuilder()
+                .setUuid("vote-42")
+                .setSourceId("house-118-1-42")
+                .setLegislativeBodyUuid("house")
+                .build();
+        return new VotingRecordRepository.PersistedVotingRecord(
+                votingRecord, UPDATED, 118, 1, 42, null, "Passed", "Yea-and-Nay", "HR", "1234",
+                "https://example.com/hr1234", summary);
+    }
+}
@@ -2,10 +2,12 @@ package com.beacon.stateful.mongo.converter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.beacon.common.accountability.v1.AttendanceGranularity;
 import com.beacon.common.accountability.v1.OfficeStatus;
 import com.beacon.common.accountability.v1.PublicOfficial;
 import com.google.protobuf.Timestamp;
 import java.time.Instant;
+import java.util.List;
 import org.bson.Document;
 import org.junit.jupiter.api.Test;
 
@@ -39,4 +41,21 @@ class PublicOfficialDocumentConverterTest {
         assertThat(hydrated.getBiographyUrl()).isEqualTo("https://example.org/bio");
         assertThat(hydrated.getTermStartDate().getSeconds()).isEqualTo(now.getEpochSecond());
     }
+
+    @Test
+    void unknownSnapshotGranularityFallsBackToMonth() {
+        Document document = PublicOfficialDocumentConverter.toDocument(PublicOfficial.newBuilder()
+                        .setUuid("uuid-123")
+                        .setOfficeStatus(OfficeStatus.ACTIVE)
+                        .build())
+                .append("attendance_history", List.of(
+                        new Document("period_label", "2024-W05").append("granularity", "FORTNIGHT"),
+                        new Document("period_label", "2024").append("granularity", "SESSION")));
+
+        PublicOfficial hydrated = PublicOfficialDocumentConverter.toProto(document);
+
+        assertThat(hydrated.getAttendanceHistoryList())
+                .extracting(snapshot -> snapshot.getGranularity())
+                .containsExactly(AttendanceGranularity.MONTH, AttendanceGranularity.SESSION);
+    }
 }
@@ -3,6 +3,7 @@ import org.gradle.jvm.toolchain.JavaLanguageVersion
 plugins {
     id("org.springframework.boot")
     id("io.spring.dependency-management")
+    id("me.champeau.jmh")
     java
 }
 
@@ -30,3 +31,14 @@ dependencies {
 tasks.test {
     useJUnitPlatform()
 }
+
+// Benchmarks live in src/jmh. Run with ./gradlew :services:ingest-usa-fed:jmh; narrow the matrix with
+// -PjmhIncludes=<regex> because the largest synthetic chambers take minutes per fork.
+jmh {
+    jmhVersion.set("1.37")
+    includes.set(listOf(providers.gradleProperty("jmhIncludes").getOrElse(".*Benchmark.*")))
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("reports/jmh/results.txt"))
+}
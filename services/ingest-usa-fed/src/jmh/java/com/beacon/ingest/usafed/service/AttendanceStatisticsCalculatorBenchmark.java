@@ -0,0 +1,63 @@
+package com.beacon.ingest.usafed.service;
+
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AttendanceStatisticsCalculator#compute} over synthetic chambers from House size to a 10,000 member
+ * assembly and from a few weeks to decades of roll calls. Throughput and sample-time modes give operations per second
+ * and latency percentiles; run with the {@code gc} profiler (the Gradle default) for bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AttendanceStatisticsCalculatorBenchmark {
+
+    private static final int HISTORY_LIMIT = 24;
+    private static final Set<AttendanceGranularity> ALL_GRANULARITIES = EnumSet.of(
+            AttendanceGranularity.WEEK,
+            AttendanceGranularity.MONTH,
+            AttendanceGranularity.SESSION,
+            AttendanceGranularity.CONGRESS,
+            AttendanceGranularity.ALL_TIME);
+
+    @Param({"435", "2000", "10000"})
+    public int members;
+
+    @Param({"100", "5000", "50000"})
+    public int rollCalls;
+
+    private List<AttendanceStatisticsCalculator.VoteRecord> votes;
+
+    @Setup
+    public void generateChamber() {
+        votes = new SyntheticChamber(members, rollCalls, 20_250_103L).rollCalls();
+    }
+
+    @Benchmark
+    public AttendanceStatisticsCalculator.AttendanceComputation compute() {
+        return AttendanceStatisticsCalculator.compute(votes, HISTORY_LIMIT);
+    }
+
+    @Benchmark
+    public AttendanceStatisticsCalculator.AttendanceComputation computeAllGranularities() {
+        return AttendanceStatisticsCalculator.compute(votes, HISTORY_LIMIT, ALL_GRANULARITIES);
+    }
+}
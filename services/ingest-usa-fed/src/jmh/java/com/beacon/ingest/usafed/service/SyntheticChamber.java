@@ -0,0 +1,131 @@
+package com.beacon.ingest.usafed.service;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a reproducible chamber of roll calls for benchmarking attendance math.
+ *
+ * <p>Every member has a personal absence rate drawn from a skewed distribution (most members miss 1-3% of votes, a
+ * few miss a fifth or more), about 0.5% of cast votes are "Present", and the rest split Yea/Nay along party lines
+ * with occasional crossover. Roll calls are spread over session days at a House-like pace of a few votes per day.
+ *
+ * <p>Member votes are computed on access from a seeded hash rather than stored, so a 10,000 member by 50,000 roll
+ * call chamber costs a few megabytes instead of hundreds of millions of objects. The benchmark therefore measures
+ * the calculator plus a small, constant per-vote lookup that does not allocate.
+ */
+final class SyntheticChamber {
+
+    private static final Instant FIRST_SESSION_DAY = Instant.parse("2015-01-06T15:00:00Z");
+    private static final int VOTES_PER_SESSION_DAY = 5;
+    private static final double PRESENT_RATE = 0.005;
+    private static final double CROSSOVER_RATE = 0.08;
+
+    private final List<AttendanceStatisticsCalculator.VoteRecord> rollCalls;
+
+    SyntheticChamber(int members, int rollCallCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] memberIds = new String[members];
+        double[] absenceRates = new double[members];
+        boolean[] majorityParty = new boolean[members];
+        MemberVote[][] ballots = new MemberVote[members][];
+        for (int member = 0; member < members; member++) {
+            memberIds[member] = "M%06d".formatted(member);
+            // Squaring a uniform draw skews rates towards the low end; a tenth of members get a long tail.
+            double draw = random.nextDouble();
+            absenceRates[member] = random.nextInt(10) == 0 ? 0.1 + 0.3 * draw : 0.01 + 0.02 * draw * draw;
+            majorityParty[member] = member % 100 < 52;
+            ballots[member] = new MemberVote[] {
+                    ballot(memberIds[member], VotePosition.YEA, "Yea"),
+                    ballot(memberIds[member], VotePosition.NAY, "Nay"),
+                    ballot(memberIds[member], VotePosition.NOT_VOTING, "Not Voting"),
+                    ballot(memberIds[member], VotePosition.NOT_VOTING, "Present")
+            };
+        }
+
+        rollCalls = new ArrayList<>(rollCallCount);
+        for (int rollCall = 0; rollCall < rollCallCount; rollCall++) {
+            int sessionDay = rollCall / VOTES_PER_SESSION_DAY;
+            // Roughly three session days a week, with the votes of one day a few minutes apart.
+            Instant start = FIRST_SESSION_DAY
+                    .plus(Duration.ofDays(sessionDay / 3 * 7L + sessionDay % 3))
+                    .plus(Duration.ofMinutes(20L * (rollCall % VOTES_PER_SESSION_DAY)));
+            boolean majorityVotesYea = random.nextInt(4) != 0;
+            rollCalls.add(new AttendanceStatisticsCalculator.VoteRecord(
+                    start,
+                    start.plus(Duration.ofHours(2)),
+                    new RollCallVotes(ballots, absenceRates, majorityParty, majorityVotesYea, random.nextLong())));
+        }
+    }
+
+    List<AttendanceStatisticsCalculator.VoteRecord> rollCalls() {
+        return rollCalls;
+    }
+
+    private static MemberVote ballot(String memberId, VotePosition position, String label) {
+        return MemberVote.newBuilder()
+                .setSourceId(memberId)
+                .setVotePosition(position)
+                .setNotes(label)
+                .build();
+    }
+
+    /**
+     * The member votes of one roll call, derived on each access from the roll call's seed and the member index.
+     */
+    private static final class RollCallVotes extends AbstractList<MemberVote> implements RandomAccess {
+
+        private final MemberVote[][] ballots;
+        private final double[] absenceRates;
+        private final boolean[] majorityParty;
+        private final boolean majorityVotesYea;
+        private final long seed;
+
+        RollCallVotes(
+                MemberVote[][] ballots,
+                double[] absenceRates,
+                boolean[] majorityParty,
+                boolean majorityVotesYea,
+                long seed) {
+            this.ballots = ballots;
+            this.absenceRates = absenceRates;
+            this.majorityParty = majorityParty;
+            this.majorityVotesYea = majorityVotesYea;
+            this.seed = seed;
+        }
+
+        @Override
+        public MemberVote get(int member) {
+            long hash = mix(seed + member * 0x9E3779B97F4A7C15L);
+            double draw = (hash >>> 11) * 0x1.0p-53;
+            MemberVote[] options = ballots[member];
+            if (draw < absenceRates[member]) {
+                return options[2];
+            }
+            if (draw < absenceRates[member] + PRESENT_RATE) {
+                return options[3];
+            }
+            boolean crossover = ((hash & 0xFFFF) / 65536.0) < CROSSOVER_RATE;
+            boolean yea = majorityParty[member] == majorityVotesYea;
+            return options[yea != crossover ? 0 : 1];
+        }
+
+        @Override
+        public int size() {
+            return ballots.length;
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.beacon.ingest.usafed;
 
+import com.beacon.ingest.usafed.config.AttendanceProperties;
 import com.beacon.ingest.usafed.config.CongressApiProperties;
+import com.beacon.ingest.usafed.config.EventPublishingProperties;
+import com.beacon.ingest.usafed.config.IngestionSchedulerProperties;
+import com.beacon.ingest.usafed.config.LegislationSummaryProperties;
 import com.beacon.ingest.usafed.config.OpenAiProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -9,7 +13,13 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
-@EnableConfigurationProperties({CongressApiProperties.class, OpenAiProperties.class})
+@EnableConfigurationProperties({
+        CongressApiProperties.class,
+        IngestionSchedulerProperties.class,
+        OpenAiProperties.class,
+        LegislationSummaryProperties.class,
+        AttendanceProperties.class,
+        EventPublishingProperties.class})
 public class IngestUsaFedApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,61 @@
+package com.beacon.ingest.usafed.config;
+
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Selects where attendance counters are aggregated and which periods they are reported for.
+ *
+ * @param engine {@code rollup} (the default) reads the materialized {@code attendance_rollups} collection, building
+ *               it from the stored votes the first time; every vote upsert then keeps it current, so recomputes never
+ *               rescan raw votes. Rollups are monthly, so this engine drops {@code week} from the history.
+ *               {@code jvm} streams vote documents into the in-process calculator and is the engine to pick when
+ *               weekly history matters more than a full scan per recompute; {@code mongo} runs the group-by as a
+ *               MongoDB aggregation and only transfers per-member monthly counters
+ * @param granularities periods every official's attendance history is reported for, all produced by the same pass
+ *                      over the votes. {@code week} needs per-vote dates, so only the {@code jvm} engine reports it.
+ */
+@ConfigurationProperties(prefix = "beacon.congress.attendance")
+public record AttendanceProperties(Engine engine, List<AttendanceGranularity> granularities) {
+
+    private static final List<AttendanceGranularity> DEFAULT_GRANULARITIES = List.of(
+            AttendanceGranularity.WEEK,
+            AttendanceGranularity.MONTH,
+            AttendanceGranularity.SESSION,
+            AttendanceGranularity.CONGRESS,
+            AttendanceGranularity.ALL_TIME);
+
+    public AttendanceProperties {
+        engine = engine == null ? Engine.ROLLUP : engine;
+        if (granularities == null || granularities.isEmpty()) {
+            granularities = DEFAULT_GRANULARITIES;
+        } else {
+            granularities = granularities.stream()
+                    .filter(Objects::nonNull)
+                    .filter(granularity -> granularity != AttendanceGranularity.ATTENDANCE_GRANULARITY_UNSPECIFIED
+                            && granularity != AttendanceGranularity.UNRECOGNIZED)
+                    .distinct()
+                    .toList();
+        }
+    }
+
+    public static AttendanceProperties defaults() {
+        return new AttendanceProperties(null, null);
+    }
+
+    public Set<AttendanceGranularity> granularitySet() {
+        return granularities.isEmpty()
+                ? EnumSet.noneOf(AttendanceGranularity.class)
+                : EnumSet.copyOf(granularities);
+    }
+
+    public enum Engine {
+        JVM,
+        MONGO,
+        ROLLUP
+    }
+}
@@ -8,6 +8,7 @@ import java.time.ZoneOffset;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalInt;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "beacon.congress")
@@ -58,6 +59,22 @@ public record CongressApiProperties(
         return List.copyOf(congresses);
     }
 
+    /**
+     * Returns the session of the configured Congress that sits on the given date. Congress {@code N} opens in January
+     * of year {@code 1789 + 2(N - 1)} with its first session and holds its second session the following year.
+     *
+     * @param date calendar date in UTC
+     * @return 1 or 2, or empty when the configured Congress does not sit in that year
+     */
+    public OptionalInt sessionNumberOn(LocalDate date) {
+        if (congressNumber < FIRST_CONGRESS_NUMBER) {
+            return OptionalInt.empty();
+        }
+        int firstYear = FIRST_CONGRESS_YEAR + 2 * (congressNumber - FIRST_CONGRESS_NUMBER);
+        int session = date.getYear() - firstYear + 1;
+        return session == 1 || session == 2 ? OptionalInt.of(session) : OptionalInt.empty();
+    }
+
     private int estimateCurrentCongress() {
         LocalDate today = LocalDate.now(ZoneOffset.UTC);
         if (today.getYear() <= FIRST_CONGRESS_YEAR) {
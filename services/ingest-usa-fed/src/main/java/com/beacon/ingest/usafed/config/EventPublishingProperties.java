@@ -0,0 +1,24 @@
+package com.beacon.ingest.usafed.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Encoding of the accountability events published to Kafka.
+ *
+ * @param snapshotInterval delta events sent per official between two full snapshots; {@code 0}, the default,
+ *                         publishes only snapshots until consumers apply deltas
+ * @param packMemberVotes whether voting records travel as packed member votes referencing a shared roster instead of
+ *                        expanded member votes; off by default until consumers read the packed form
+ */
+@ConfigurationProperties(prefix = "beacon.events")
+public record EventPublishingProperties(Integer snapshotInterval, Boolean packMemberVotes) {
+
+    public EventPublishingProperties {
+        snapshotInterval = snapshotInterval == null || snapshotInterval < 0 ? 0 : snapshotInterval;
+        packMemberVotes = packMemberVotes != null && packMemberVotes;
+    }
+
+    public static EventPublishingProperties defaults() {
+        return new EventPublishingProperties(null, null);
+    }
+}
@@ -0,0 +1,146 @@
+package com.beacon.ingest.usafed.config;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cadence of each independently scheduled ingestion lane. A lane left unconfigured uses its default interval; the
+ * roster lane falls back to {@code beacon.congress.poll-interval}. Lanes with both a minimum and maximum interval
+ * adapt their cadence to observed vote activity within those bounds; the latest-votes lane always keeps its fixed
+ * interval so it notices the House coming into session within one interval.
+ */
+@ConfigurationProperties(prefix = "beacon.congress.scheduler")
+public record IngestionSchedulerProperties(
+        Boolean enabled,
+        Lanes lanes,
+        HouseSession houseSession,
+        Adaptive adaptive)
+{
+
+    public IngestionSchedulerProperties {
+        enabled = enabled == null || enabled;
+        lanes = lanes == null ? new Lanes(null, null, null, null, null, null) : lanes;
+        houseSession = houseSession == null ? new HouseSession(null, null, null, null, null) : houseSession;
+        adaptive = adaptive == null ? new Adaptive(null, null, null) : adaptive;
+    }
+
+    public record Lanes(
+            LaneSettings roster,
+            LaneSettings latestVotes,
+            LaneSettings voteDiscovery,
+            LaneSettings voteDetail,
+            LaneSettings attendance,
+            LaneSettings summaries) {
+
+        public Lanes {
+            roster = LaneSettings.orDefault(roster, null);
+            latestVotes = LaneSettings.orDefault(latestVotes, Duration.ofMinutes(1));
+            voteDiscovery = LaneSettings.orDefault(
+                    voteDiscovery, Duration.ofMinutes(10), Duration.ofMinutes(2), Duration.ofHours(2));
+            voteDetail = LaneSettings.orDefault(voteDetail, Duration.ofMinutes(1));
+            attendance = LaneSettings.orDefault(attendance, Duration.ofMinutes(2));
+            summaries = LaneSettings.orDefault(summaries, Duration.ofMinutes(15));
+        }
+    }
+
+    /**
+     * Decides when the latest-votes lane polls. Outside the window it stays idle and the discovery lane alone keeps
+     * the vote cache reconciled.
+     *
+     * @param zone time zone the House schedule is expressed in
+     * @param dayStart local time from which weekday polling starts
+     * @param dayEnd local time after which weekday polling stops
+     * @param recentVoteWindow polling also continues (including weekends and late nights) while the newest roll call
+     *                         started within this window
+     * @param pageSize number of most recent roll calls inspected per poll
+     */
+    public record HouseSession(
+            ZoneId zone,
+            LocalTime dayStart,
+            LocalTime dayEnd,
+            Duration recentVoteWindow,
+            Integer pageSize) {
+
+        public HouseSession {
+            zone = zone == null ? ZoneId.of("America/New_York") : zone;
+            dayStart = dayStart == null ? LocalTime.of(9, 0) : dayStart;
+            dayEnd = dayEnd == null ? LocalTime.of(23, 59) : dayEnd;
+            recentVoteWindow = recentVoteWindow == null ? Duration.ofHours(6) : recentVoteWindow;
+            pageSize = pageSize == null || pageSize <= 0 ? 20 : pageSize;
+        }
+
+        /**
+         * Returns whether the House is plausibly in session at {@code now}.
+         */
+        public boolean isActive(Instant now, Instant latestVoteStart) {
+            if (latestVoteStart != null && !latestVoteStart.isBefore(now.minus(recentVoteWindow))) {
+                return true;
+            }
+            ZonedDateTime local = now.atZone(zone);
+            DayOfWeek day = local.getDayOfWeek();
+            if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+                return false;
+            }
+            LocalTime time = local.toLocalTime();
+            return !time.isBefore(dayStart) && !time.isAfter(dayEnd);
+        }
+    }
+
+    /**
+     * Tuning shared by every adaptive lane.
+     *
+     * @param backoffMultiplier factor applied to the delay after a run that saw no changes and no recent updates
+     * @param smoothing weight of the latest run in the exponentially weighted vote arrival rate, in {@code (0, 1]}
+     * @param activityWindow an upstream {@code updateDate} newer than this keeps the lane at or below its base interval
+     */
+    public record Adaptive(Double backoffMultiplier, Double smoothing, Duration activityWindow) {
+
+        public Adaptive {
+            backoffMultiplier = backoffMultiplier == null || backoffMultiplier < 1.0 ? 2.0 : backoffMultiplier;
+            smoothing = smoothing == null || smoothing <= 0.0 || smoothing > 1.0 ? 0.3 : smoothing;
+            activityWindow = activityWindow == null ? Duration.ofMinutes(30) : activityWindow;
+        }
+    }
+
+    /**
+     * @param interval delay between the end of one run and the start of the next; the starting point for adaptive
+     *                 lanes
+     * @param enabled whether the lane is scheduled at all
+     * @param minInterval shortest delay an adaptive lane may tighten to
+     * @param maxInterval longest delay an adaptive lane may back off to
+     */
+    public record LaneSettings(Duration interval, Boolean enabled, Duration minInterval, Duration maxInterval) {
+
+        public LaneSettings {
+            enabled = enabled == null || enabled;
+        }
+
+        /**
+         * Returns whether both bounds are set, which makes the lane adapt its cadence.
+         */
+        public boolean adaptive() {
+            return minInterval != null && maxInterval != null;
+        }
+
+        private static LaneSettings orDefault(LaneSettings settings, Duration defaultInterval) {
+            return orDefault(settings, defaultInterval, null, null);
+        }
+
+        private static LaneSettings orDefault(
+                LaneSettings settings, Duration defaultInterval, Duration defaultMin, Duration defaultMax) {
+            if (settings == null) {
+                return new LaneSettings(defaultInterval, true, defaultMin, defaultMax);
+            }
+            return new LaneSettings(
+                    settings.interval() == null ? defaultInterval : settings.interval(),
+                    settings.enabled(),
+                    settings.minInterval() == null ? defaultMin : settings.minInterval(),
+                    settings.maxInterval() == null ? defaultMax : settings.maxInterval());
+        }
+    }
+}
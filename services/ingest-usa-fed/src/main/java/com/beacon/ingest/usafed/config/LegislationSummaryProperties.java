@@ -0,0 +1,30 @@
+package com.beacon.ingest.usafed.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning knobs for legislation summary generation.
+ *
+ * @param reuseSimilarity estimated Jaccard similarity at or above which an existing summary is reused verbatim
+ * @param patchSimilarity similarity at or above which the LLM only revises an existing summary instead of writing
+ *                        a new one
+ * @param batchThreshold number of missing summaries at or above which a sweep submits them through the LLM batch
+ *                       interface instead of one request at a time
+ */
+@ConfigurationProperties(prefix = "beacon.llm.summary")
+public record LegislationSummaryProperties(
+        Double reuseSimilarity,
+        Double patchSimilarity,
+        Integer batchThreshold)
+{
+
+    public LegislationSummaryProperties {
+        reuseSimilarity = reuseSimilarity == null ? 0.9d : reuseSimilarity;
+        patchSimilarity = patchSimilarity == null ? 0.7d : Math.min(patchSimilarity, reuseSimilarity);
+        batchThreshold = batchThreshold == null || batchThreshold <= 0 ? 25 : batchThreshold;
+    }
+
+    public static LegislationSummaryProperties defaults() {
+        return new LegislationSummaryProperties(null, null, null);
+    }
+}
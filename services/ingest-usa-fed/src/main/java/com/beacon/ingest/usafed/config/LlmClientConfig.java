@@ -1,9 +1,12 @@
 package com.beacon.ingest.usafed.config;
 
+import com.beacon.ingest.usafed.llm.LlmBatchStore;
 import com.beacon.ingest.usafed.llm.LlmClient;
 import com.beacon.ingest.usafed.llm.OpenAiLlmClient;
+import com.beacon.stateful.mongo.LlmBatchRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.http.HttpClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,10 +14,15 @@ import org.springframework.context.annotation.Configuration;
 public class LlmClientConfig {
 
     @Bean
-    public LlmClient openAiLlmClient(OpenAiProperties properties, ObjectMapper objectMapper) {
+    public LlmClient openAiLlmClient(
+            OpenAiProperties properties,
+            ObjectMapper objectMapper,
+            ObjectProvider<LlmBatchRepository> llmBatchRepository) {
         HttpClient httpClient = HttpClient.newBuilder()
                 .connectTimeout(properties.requestTimeout())
                 .build();
-        return new OpenAiLlmClient(httpClient, objectMapper, properties);
+        LlmBatchRepository repository = llmBatchRepository.getIfAvailable();
+        LlmBatchStore batchStore = repository == null ? LlmBatchStore.inMemory() : LlmBatchStore.of(repository);
+        return new OpenAiLlmClient(httpClient, objectMapper, properties, batchStore);
     }
 }
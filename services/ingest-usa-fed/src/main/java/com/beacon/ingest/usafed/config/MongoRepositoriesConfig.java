@@ -1,9 +1,17 @@
 package com.beacon.ingest.usafed.config;
 
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceRollupRepository;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
+import com.beacon.stateful.mongo.LegislationSummaryRepository;
 import com.beacon.stateful.mongo.LegislativeBodyRepository;
+import com.beacon.stateful.mongo.LlmBatchRepository;
+import com.beacon.stateful.mongo.MetricCheckpointRepository;
 import com.beacon.stateful.mongo.MongoStatefulClient;
 import com.beacon.stateful.mongo.MongoStatefulConfig;
+import com.beacon.stateful.mongo.PartyUnityRepository;
 import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
 import com.beacon.stateful.mongo.VotingRecordRepository;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -35,4 +43,52 @@ public class MongoRepositoriesConfig {
     public VotingRecordRepository votingRecordRepository(MongoStatefulClient client) {
         return client.votingRecords();
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public LegislationSummaryRepository legislationSummaryRepository(MongoStatefulClient client) {
+        return client.legislationSummaries();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public AttendanceRollupRepository attendanceRollupRepository(MongoStatefulClient client) {
+        return client.attendanceRollups();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public AttendanceTimelineRepository attendanceTimelineRepository(MongoStatefulClient client) {
+        return client.attendanceTimelines();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public AttendanceRankRepository attendanceRankRepository(MongoStatefulClient client) {
+        return client.attendanceRanks();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public VoteMatrixRepository voteMatrixRepository(MongoStatefulClient client) {
+        return client.voteMatrices();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public PartyUnityRepository partyUnityRepository(MongoStatefulClient client) {
+        return client.partyUnity();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public MetricCheckpointRepository metricCheckpointRepository(MongoStatefulClient client) {
+        return client.metricCheckpoints();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public LlmBatchRepository llmBatchRepository(MongoStatefulClient client) {
+        return client.llmBatches();
+    }
 }
@@ -4,12 +4,24 @@ import java.net.URI;
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * OpenAI connection settings. The {@code batch*} values control the Batch API used for bulk summarization:
+ * how often submitted jobs are polled, how long one batch call waits for its jobs before leaving the unfinished ones
+ * to a later call, how old a job may grow before it is cancelled and its partial output collected, how many requests
+ * go into a single job, and how many times failed requests are resubmitted. The wait is kept short so a slow job never
+ * holds up the calling lane; the age defaults to the 24 hour completion window jobs are submitted with.
+ */
 @ConfigurationProperties(prefix = "beacon.llm.openai")
 public record OpenAiProperties(
         URI baseUrl,
         String apiKey,
         String organization,
-        Duration requestTimeout)
+        Duration requestTimeout,
+        Duration batchPollInterval,
+        Duration batchMaxWait,
+        Duration batchMaxAge,
+        Integer batchMaxRequests,
+        Integer batchMaxAttempts)
 {
 
     public OpenAiProperties {
@@ -17,5 +29,10 @@ public record OpenAiProperties(
         apiKey = apiKey == null ? "" : apiKey.trim();
         organization = organization == null ? "" : organization.trim();
         requestTimeout = requestTimeout == null ? Duration.ofSeconds(30) : requestTimeout;
+        batchPollInterval = batchPollInterval == null ? Duration.ofSeconds(30) : batchPollInterval;
+        batchMaxWait = batchMaxWait == null ? Duration.ofMinutes(5) : batchMaxWait;
+        batchMaxAge = batchMaxAge == null ? Duration.ofHours(24) : batchMaxAge;
+        batchMaxRequests = batchMaxRequests == null || batchMaxRequests <= 0 ? 5_000 : batchMaxRequests;
+        batchMaxAttempts = batchMaxAttempts == null || batchMaxAttempts <= 0 ? 2 : batchMaxAttempts;
     }
 }
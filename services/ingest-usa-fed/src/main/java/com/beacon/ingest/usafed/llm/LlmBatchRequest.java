@@ -0,0 +1,19 @@
+package com.beacon.ingest.usafed.llm;
+
+import java.util.Objects;
+
+/**
+ * Single prompt submitted as part of an {@link LlmClient} batch.
+ *
+ * @param customId caller-supplied identifier, unique within the batch, used to correlate results
+ * @param prompt natural language prompt to evaluate
+ */
+public record LlmBatchRequest(String customId, String prompt) {
+
+    public LlmBatchRequest {
+        Objects.requireNonNull(customId, "customId");
+        if (customId.isBlank()) {
+            throw new IllegalArgumentException("customId must not be blank");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.beacon.ingest.usafed.llm;
+
+/**
+ * Outcome of a single {@link LlmBatchRequest}.
+ *
+ * @param customId identifier of the originating request
+ * @param content response content when the request succeeded, otherwise {@code null}
+ * @param error failure description when the request did not produce a response, otherwise {@code null}
+ */
+public record LlmBatchResult(String customId, String content, String error) {
+
+    public static LlmBatchResult success(String customId, String content) {
+        return new LlmBatchResult(customId, content == null ? "" : content.trim(), null);
+    }
+
+    public static LlmBatchResult failure(String customId, String error) {
+        return new LlmBatchResult(customId, null, error == null || error.isBlank() ? "unknown error" : error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
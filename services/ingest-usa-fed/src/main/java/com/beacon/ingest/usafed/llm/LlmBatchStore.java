@@ -0,0 +1,67 @@
+package com.beacon.ingest.usafed.llm;
+
+import com.beacon.stateful.mongo.LlmBatchRepository;
+import com.beacon.stateful.mongo.LlmBatchRepository.SubmittedBatch;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers submitted batch jobs until their results are collected, so a batch call returns without waiting for
+ * slow jobs and a later call picks them up instead of resubmitting their requests.
+ */
+public interface LlmBatchStore {
+
+    List<SubmittedBatch> findByModel(String model);
+
+    void save(SubmittedBatch batch);
+
+    void delete(String batchId);
+
+    /**
+     * Keeps jobs for the lifetime of the process; jobs submitted before a restart are not collected.
+     */
+    static LlmBatchStore inMemory() {
+        Map<String, SubmittedBatch> batches = new ConcurrentHashMap<>();
+        return new LlmBatchStore() {
+            @Override
+            public List<SubmittedBatch> findByModel(String model) {
+                return batches.values().stream().filter(batch -> batch.model().equals(model)).toList();
+            }
+
+            @Override
+            public void save(SubmittedBatch batch) {
+                batches.put(batch.batchId(), batch);
+            }
+
+            @Override
+            public void delete(String batchId) {
+                batches.remove(batchId);
+            }
+        };
+    }
+
+    /**
+     * Keeps jobs in MongoDB so they are collected across restarts.
+     */
+    static LlmBatchStore of(LlmBatchRepository repository) {
+        Objects.requireNonNull(repository, "repository");
+        return new LlmBatchStore() {
+            @Override
+            public List<SubmittedBatch> findByModel(String model) {
+                return repository.findByModel(model);
+            }
+
+            @Override
+            public void save(SubmittedBatch batch) {
+                repository.save(batch);
+            }
+
+            @Override
+            public void delete(String batchId) {
+                repository.delete(batchId);
+            }
+        };
+    }
+}
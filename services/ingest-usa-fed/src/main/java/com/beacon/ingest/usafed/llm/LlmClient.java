@@ -1,5 +1,8 @@
 package com.beacon.ingest.usafed.llm;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Contract for services capable of issuing prompts to large language models.
  */
@@ -13,4 +16,25 @@ public interface LlmClient {
      * @return textual response generated by the LLM (never {@code null})
      */
     String promptModel(Model model, String prompt);
+
+    /**
+     * Evaluates many prompts against the same {@link Model}. Providers with a native batch API override this to
+     * trade latency for throughput and cost; the default implementation issues one {@link #promptModel} call per
+     * request. Individual failures are reported in the returned results rather than thrown.
+     *
+     * @param model model selection used for every request
+     * @param requests prompts to evaluate; custom identifiers must be unique
+     * @return one result per request, in request order
+     */
+    default List<LlmBatchResult> promptModelBatch(Model model, List<LlmBatchRequest> requests) {
+        List<LlmBatchResult> results = new ArrayList<>(requests.size());
+        for (LlmBatchRequest request : requests) {
+            try {
+                results.add(LlmBatchResult.success(request.customId(), promptModel(model, request.prompt())));
+            } catch (IllegalStateException ex) {
+                results.add(LlmBatchResult.failure(request.customId(), ex.getMessage()));
+            }
+        }
+        return results;
+    }
 }
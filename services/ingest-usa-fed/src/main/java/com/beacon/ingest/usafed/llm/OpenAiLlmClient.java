@@ -1,6 +1,7 @@
 package com.beacon.ingest.usafed.llm;
 
 import com.beacon.ingest.usafed.config.OpenAiProperties;
+import com.beacon.stateful.mongo.LlmBatchRepository.SubmittedBatch;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -11,28 +12,56 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * OpenAI-backed implementation of {@link LlmClient} that leverages the Chat Completions API.
+ * OpenAI-backed implementation of {@link LlmClient} that leverages the Chat Completions API, and the Batch API for
+ * {@link #promptModelBatch(Model, List)}.
  */
 public class OpenAiLlmClient implements LlmClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenAiLlmClient.class);
     private static final String CHAT_COMPLETIONS_PATH = "/chat/completions";
+    private static final String FILES_PATH = "/files";
+    private static final String BATCHES_PATH = "/batches";
+    private static final String BATCH_ENDPOINT = "/v1/chat/completions";
+    private static final String BATCH_COMPLETION_WINDOW = "24h";
+    private static final Set<String> TERMINAL_BATCH_STATUSES = Set.of("completed", "failed", "expired", "cancelled");
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final OpenAiProperties properties;
+    private final LlmBatchStore batchStore;
+    private final String baseUrl;
     private final URI chatCompletionsUri;
 
     public OpenAiLlmClient(HttpClient httpClient, ObjectMapper objectMapper, OpenAiProperties properties) {
+        this(httpClient, objectMapper, properties, LlmBatchStore.inMemory());
+    }
+
+    public OpenAiLlmClient(
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            OpenAiProperties properties,
+            LlmBatchStore batchStore) {
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
         this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
         this.properties = Objects.requireNonNull(properties, "properties");
-        this.chatCompletionsUri = resolveChatCompletionsUri(properties.baseUrl());
+        this.batchStore = Objects.requireNonNull(batchStore, "batchStore");
+        this.baseUrl = resolveBaseUrl(properties.baseUrl());
+        this.chatCompletionsUri = URI.create(baseUrl + CHAT_COMPLETIONS_PATH);
     }
 
     @Override
@@ -49,16 +78,10 @@ public class OpenAiLlmClient implements LlmClient {
             throw new IllegalStateException("OpenAI API key is not configured");
         }
 
-        ObjectNode payload = objectMapper.createObjectNode();
-        payload.put("model", model.identifier());
-
-        // Construct the minimal chat payload (single user message) so default parameters apply automatically.
-        ArrayNode messages = payload.putArray("messages");
-        ObjectNode messageNode = messages.addObject();
-        messageNode.put("role", "user");
-        messageNode.put("content", sanitizedPrompt);
-
-        HttpRequest request = buildRequest(payload);
+        HttpRequest request = authorizedRequest(chatCompletionsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(buildChatPayload(model, sanitizedPrompt).toString()))
+                .build();
 
         try {
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
@@ -70,7 +93,7 @@ public class OpenAiLlmClient implements LlmClient {
                         chatCompletionsUri);
                 throw new IllegalStateException("OpenAI request failed with status " + response.statusCode());
             }
-            return extractContent(response.body(), model);
+            return extractContent(objectMapper.readTree(response.body()), model);
         } catch (IOException ex) {
             LOGGER.error("I/O failure while invoking OpenAI for model {}", model.identifier(), ex);
             throw new IllegalStateException("OpenAI request failed due to I/O error", ex);
@@ -81,20 +104,280 @@ public class OpenAiLlmClient implements LlmClient {
         }
     }
 
-    private HttpRequest buildRequest(ObjectNode payload) {
-        HttpRequest.Builder builder = HttpRequest.newBuilder(chatCompletionsUri)
-                .timeout(properties.requestTimeout())
+    /**
+     * Submits the requests through the OpenAI Batch API: prompts are written to a JSONL file, uploaded, split into
+     * jobs of at most {@code batchMaxRequests} lines, and the output files are fanned back in by {@code custom_id}.
+     * Requests that fail inside a job are resubmitted in a new job up to {@code batchMaxAttempts} times.
+     *
+     * <p>Submitted jobs are kept in the {@link LlmBatchStore} until collected. A call waits at most
+     * {@code batchMaxWait} for its jobs; requests whose job is still running are reported as failures and the job is
+     * collected by a later call with the same requests instead of being submitted again. Jobs older than
+     * {@code batchMaxAge} are cancelled and their partial output collected once OpenAI reports them cancelled.
+     */
+    @Override
+    public List<LlmBatchResult> promptModelBatch(Model model, List<LlmBatchRequest> requests) {
+        if (model == null) {
+            throw new IllegalArgumentException("model must not be null");
+        }
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (properties.apiKey().isBlank()) {
+            throw new IllegalStateException("OpenAI API key is not configured");
+        }
+
+        Map<String, LlmBatchResult> results = new HashMap<>();
+        List<LlmBatchRequest> pending = new ArrayList<>();
+        Set<String> customIds = new HashSet<>();
+        for (LlmBatchRequest request : requests) {
+            if (!customIds.add(request.customId())) {
+                throw new IllegalArgumentException("Duplicate batch customId " + request.customId());
+            }
+            String prompt = request.prompt() == null ? "" : request.prompt().trim();
+            if (prompt.isEmpty()) {
+                results.put(request.customId(), LlmBatchResult.success(request.customId(), ""));
+            } else {
+                pending.add(new LlmBatchRequest(request.customId(), prompt));
+            }
+        }
+
+        Instant deadline = Instant.now().plus(properties.batchMaxWait());
+        Map<String, SubmittedBatch> inFlight = new LinkedHashMap<>();
+        for (SubmittedBatch batch : batchStore.findByModel(model.identifier())) {
+            inFlight.put(batch.batchId(), batch);
+        }
+        try {
+            List<LlmBatchRequest> unsubmitted = notInFlight(pending, inFlight);
+            for (int attempt = 1; attempt <= properties.batchMaxAttempts() && !pending.isEmpty(); attempt++) {
+                int submitted = 0;
+                for (int start = 0; start < unsubmitted.size(); start += properties.batchMaxRequests()) {
+                    List<LlmBatchRequest> chunk = unsubmitted.subList(
+                            start, Math.min(unsubmitted.size(), start + properties.batchMaxRequests()));
+                    SubmittedBatch batch = submitBatch(model, chunk);
+                    batchStore.save(batch);
+                    inFlight.put(batch.batchId(), batch);
+                    submitted++;
+                }
+                Map<String, LlmBatchResult> attemptResults = awaitBatches(inFlight, model, deadline);
+
+                List<LlmBatchRequest> failed = new ArrayList<>();
+                List<LlmBatchRequest> unanswered = new ArrayList<>();
+                for (LlmBatchRequest request : pending) {
+                    LlmBatchResult result = attemptResults.get(request.customId());
+                    if (result == null) {
+                        unanswered.add(request);
+                        continue;
+                    }
+                    results.put(request.customId(), result);
+                    if (!result.succeeded()) {
+                        failed.add(request);
+                    }
+                }
+                LOGGER.info(
+                        "OpenAI batch attempt {} for model {}: {} requests, {} new jobs, {} failed, {} jobs still running",
+                        attempt,
+                        model.identifier(),
+                        pending.size(),
+                        submitted,
+                        failed.size(),
+                        inFlight.size());
+                // Requests whose job is still running are collected by a later call rather than submitted again.
+                unsubmitted = notInFlight(failed, inFlight);
+                for (LlmBatchRequest request : notInFlight(unanswered, inFlight)) {
+                    results.put(request.customId(), LlmBatchResult.failure(request.customId(), "No result returned by batch"));
+                }
+                pending = new ArrayList<>(unsubmitted);
+                if (pending.isEmpty() || !Instant.now().isBefore(deadline)) {
+                    break;
+                }
+            }
+        } catch (IOException ex) {
+            LOGGER.error("I/O failure while running OpenAI batch for model {}", model.identifier(), ex);
+            throw new IllegalStateException("OpenAI batch failed due to I/O error", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("OpenAI batch interrupted for model {}", model.identifier(), ex);
+            throw new IllegalStateException("OpenAI batch interrupted", ex);
+        }
+
+        Map<String, String> runningJobs = new HashMap<>();
+        inFlight.values().forEach(batch -> batch.customIds().forEach(id -> runningJobs.put(id, batch.batchId())));
+        return requests.stream()
+                .map(request -> {
+                    String runningJob = runningJobs.get(request.customId());
+                    if (runningJob != null && !results.containsKey(request.customId())) {
+                        return LlmBatchResult.failure(
+                                request.customId(), "OpenAI batch " + runningJob + " is still running");
+                    }
+                    return results.getOrDefault(
+                            request.customId(),
+                            LlmBatchResult.failure(request.customId(), "No result returned by batch"));
+                })
+                .toList();
+    }
+
+    private static List<LlmBatchRequest> notInFlight(List<LlmBatchRequest> requests, Map<String, SubmittedBatch> inFlight) {
+        Set<String> covered = new HashSet<>();
+        inFlight.values().forEach(batch -> covered.addAll(batch.customIds()));
+        return requests.stream().filter(request -> !covered.contains(request.customId())).toList();
+    }
+
+    private SubmittedBatch submitBatch(Model model, List<LlmBatchRequest> chunk) throws IOException, InterruptedException {
+        StringBuilder jsonl = new StringBuilder();
+        for (LlmBatchRequest request : chunk) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("custom_id", request.customId());
+            line.put("method", "POST");
+            line.put("url", BATCH_ENDPOINT);
+            line.set("body", buildChatPayload(model, request.prompt()));
+            jsonl.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+
+        String boundary = "beacon-" + UUID.randomUUID();
+        String multipartBody = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"purpose\"\r\n\r\n"
+                + "batch\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"batch.jsonl\"\r\n"
+                + "Content-Type: application/jsonl\r\n\r\n"
+                + jsonl
+                + "\r\n--" + boundary + "--\r\n";
+        HttpRequest upload = authorizedRequest(URI.create(baseUrl + FILES_PATH))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(multipartBody))
+                .build();
+        String inputFileId = sendForJson(upload).path("id").asText("");
+        if (inputFileId.isBlank()) {
+            throw new IllegalStateException("OpenAI batch file upload did not return a file id");
+        }
+
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("input_file_id", inputFileId);
+        payload.put("endpoint", BATCH_ENDPOINT);
+        payload.put("completion_window", BATCH_COMPLETION_WINDOW);
+        HttpRequest create = authorizedRequest(URI.create(baseUrl + BATCHES_PATH))
                 .header("Content-Type", "application/json")
-                .header("Authorization", "Bearer " + properties.apiKey())
-                .POST(HttpRequest.BodyPublishers.ofString(payload.toString()));
+                .POST(HttpRequest.BodyPublishers.ofString(payload.toString()))
+                .build();
+        String batchId = sendForJson(create).path("id").asText("");
+        if (batchId.isBlank()) {
+            throw new IllegalStateException("OpenAI batch creation did not return a batch id");
+        }
+        LOGGER.debug("Submitted OpenAI batch {} with {} requests for model {}", batchId, chunk.size(), model.identifier());
+        return new SubmittedBatch(
+                batchId,
+                model.identifier(),
+                chunk.stream().map(LlmBatchRequest::customId).toList(),
+                Instant.now());
+    }
+
+    /**
+     * Polls the in-flight jobs together until all reach a terminal state or the deadline passes, collecting and
+     * forgetting each finished job. Jobs older than {@code batchMaxAge} are cancelled but stay in flight until OpenAI
+     * reports them cancelled, since only then does the job expose the output of the lines it completed.
+     */
+    private Map<String, LlmBatchResult> awaitBatches(Map<String, SubmittedBatch> inFlight, Model model, Instant deadline)
+            throws IOException, InterruptedException {
+        Map<String, LlmBatchResult> results = new LinkedHashMap<>();
+        while (true) {
+            for (Iterator<SubmittedBatch> iterator = inFlight.values().iterator(); iterator.hasNext(); ) {
+                SubmittedBatch submitted = iterator.next();
+                JsonNode batch = sendForJson(authorizedRequest(batchUri(submitted.batchId())).GET().build());
+                String status = batch.path("status").asText("");
+                if (TERMINAL_BATCH_STATUSES.contains(status)) {
+                    readBatchFile(batch.path("error_file_id").asText(""), model, results);
+                    readBatchFile(batch.path("output_file_id").asText(""), model, results);
+                    batchStore.delete(submitted.batchId());
+                    iterator.remove();
+                } else if (!"cancelling".equals(status)
+                        && submitted.submittedAt().plus(properties.batchMaxAge()).isBefore(Instant.now())) {
+                    LOGGER.warn(
+                            "OpenAI batch {} did not finish within {}; cancelling",
+                            submitted.batchId(),
+                            properties.batchMaxAge());
+                    send(authorizedRequest(URI.create(batchUri(submitted.batchId()) + "/cancel"))
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build());
+                }
+            }
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (inFlight.isEmpty() || remaining.isNegative() || remaining.isZero()) {
+                return results;
+            }
+            Thread.sleep(Math.min(properties.batchPollInterval().toMillis(), remaining.toMillis()));
+        }
+    }
+
+    private URI batchUri(String batchId) {
+        return URI.create(baseUrl + BATCHES_PATH + "/" + batchId);
+    }
+
+    private void readBatchFile(String fileId, Model model, Map<String, LlmBatchResult> results) throws IOException, InterruptedException {
+        if (fileId == null || fileId.isBlank() || "null".equals(fileId)) {
+            return;
+        }
+        HttpRequest request = authorizedRequest(URI.create(baseUrl + FILES_PATH + "/" + fileId + "/content"))
+                .GET()
+                .build();
+        String content = send(request);
+        for (String line : content.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode entry = objectMapper.readTree(line);
+            String customId = entry.path("custom_id").asText("");
+            if (customId.isBlank()) {
+                continue;
+            }
+            JsonNode response = entry.path("response");
+            int statusCode = response.path("status_code").asInt(0);
+            JsonNode error = entry.path("error");
+            if (statusCode >= 200 && statusCode < 300 && (error.isMissingNode() || error.isNull())) {
+                results.put(customId, LlmBatchResult.success(customId, extractContent(response.path("body"), model)));
+            } else {
+                String message = error.path("message").asText(
+                        response.path("body").path("error").path("message").asText("status " + statusCode));
+                results.put(customId, LlmBatchResult.failure(customId, message));
+            }
+        }
+    }
+
+    private ObjectNode buildChatPayload(Model model, String prompt) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("model", model.identifier());
+
+        // Construct the minimal chat payload (single user message) so default parameters apply automatically.
+        ArrayNode messages = payload.putArray("messages");
+        ObjectNode messageNode = messages.addObject();
+        messageNode.put("role", "user");
+        messageNode.put("content", prompt);
+        return payload;
+    }
+
+    private HttpRequest.Builder authorizedRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(properties.requestTimeout())
+                .header("Authorization", "Bearer " + properties.apiKey());
         if (!properties.organization().isBlank()) {
             builder.header("OpenAI-Organization", properties.organization());
         }
-        return builder.build();
+        return builder;
+    }
+
+    private JsonNode sendForJson(HttpRequest request) throws IOException, InterruptedException {
+        return objectMapper.readTree(send(request));
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            LOGGER.warn("OpenAI responded with status {} for {} {}", response.statusCode(), request.method(), request.uri());
+            throw new IllegalStateException("OpenAI request failed with status " + response.statusCode());
+        }
+        return response.body();
     }
 
-    private String extractContent(String responseBody, Model model) throws IOException {
-        JsonNode root = objectMapper.readTree(responseBody);
+    private String extractContent(JsonNode root, Model model) {
         JsonNode choices = root.path("choices");
         if (!choices.isArray() || choices.isEmpty()) {
             LOGGER.warn("OpenAI response for model {} did not contain choices", model.identifier());
@@ -110,11 +393,11 @@ public class OpenAiLlmClient implements LlmClient {
         return content == null ? "" : content.trim();
     }
 
-    private URI resolveChatCompletionsUri(URI baseUri) {
+    private String resolveBaseUrl(URI baseUri) {
         String base = Objects.requireNonNullElse(baseUri, URI.create("https://api.openai.com/v1")).toString();
         if (base.endsWith("/")) {
             base = base.substring(0, base.length() - 1);
         }
-        return URI.create(base + CHAT_COMPLETIONS_PATH);
+        return base;
     }
 }
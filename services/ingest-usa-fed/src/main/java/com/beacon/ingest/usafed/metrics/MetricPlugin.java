@@ -0,0 +1,64 @@
+package com.beacon.ingest.usafed.metrics;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A per-official metric computed from the shared vote stream. A plugin only describes how one roll call changes a
+ * fixed-width vector of per-member counters; the {@link MetricStream} owns windowing, exactly-once application and
+ * checkpointing. Counters are summed across panes, so every counter must be additive.
+ */
+public interface MetricPlugin {
+
+    /**
+     * Stable identifier, also used as the checkpoint key; renaming a plugin rebuilds its state.
+     */
+    String name();
+
+    Window window();
+
+    /**
+     * Number of counters kept per member.
+     */
+    int width();
+
+    /**
+     * Adds one roll call's contribution. Called once per {@code VotingRecord.source_id} and pane.
+     */
+    void accumulate(VoteEvent event, Counters counters);
+
+    /**
+     * Turns a member's counters, summed over the current window, into published metrics.
+     *
+     * @param from first day of the window
+     * @param to last day of the window
+     */
+    List<AccountabilityMetric> metrics(String memberId, long[] totals, LocalDate from, LocalDate to);
+
+    /**
+     * Receives counter increments for members.
+     */
+    interface Counters {
+        void add(String memberId, int counter, long delta);
+    }
+
+    static AccountabilityMetric metric(
+            String memberId,
+            String name,
+            double score,
+            String methodologyVersion,
+            String details) {
+        String seed = "metric-" + name + "-" + memberId;
+        return AccountabilityMetric.newBuilder()
+                .setUuid(UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).toString())
+                .setSourceId(memberId)
+                .setName(name)
+                .setScore(score)
+                .setMethodologyVersion(methodologyVersion)
+                .setDetails(details)
+                .build();
+    }
+}
@@ -0,0 +1,285 @@
+package com.beacon.ingest.usafed.metrics;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.stateful.mongo.MetricCheckpointRepository.PaneKey;
+import com.beacon.stateful.mongo.MetricCheckpointRepository.PaneState;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Feeds one legislative body's roll calls to every registered {@link MetricPlugin} in a single pass.
+ *
+ * <p>Each plugin keeps panes of {@link Window#stepDays()} days; a pane holds the members' counters and a ledger of the
+ * votes applied to it, keyed by {@code VotingRecord.source_id}. An event already in the ledger with the same
+ * fingerprint is skipped, so replays are harmless. A known vote whose positions changed cannot be subtracted from
+ * additive counters, so {@link #apply} asks for that pane to be {@linkplain #recount recounted} from its stored votes
+ * instead. Panes that fall out of a plugin's window are dropped.
+ *
+ * <p>Changed and dropped panes accumulate until {@link #drainChanges()}, which the caller checkpoints together with
+ * the {@link #watermark()}. Instances are not thread-safe.
+ */
+public final class MetricStream {
+
+    private final String legislativeBodyUuid;
+    private final List<PluginState> plugins = new ArrayList<>();
+    private Map<String, String> parties;
+    private Instant watermark;
+
+    public MetricStream(String legislativeBodyUuid, List<? extends MetricPlugin> plugins, Map<String, String> parties) {
+        this.legislativeBodyUuid = Objects.requireNonNull(legislativeBodyUuid, "legislativeBodyUuid");
+        Set<String> names = new LinkedHashSet<>();
+        for (MetricPlugin plugin : plugins) {
+            if (!names.add(plugin.name())) {
+                throw new IllegalArgumentException("Metric plugin name %s is registered twice".formatted(plugin.name()));
+            }
+            this.plugins.add(new PluginState(plugin));
+        }
+        updateParties(parties);
+    }
+
+    public String legislativeBodyUuid() {
+        return legislativeBodyUuid;
+    }
+
+    public List<String> metricNames() {
+        return plugins.stream().map(state -> state.plugin.name()).toList();
+    }
+
+    public void updateParties(Map<String, String> partyByMember) {
+        this.parties = VoteEvent.normalizeParties(partyByMember);
+    }
+
+    /**
+     * Ingestion time ({@code ingested_at}) of the newest vote write applied, or {@code null} before the first vote.
+     */
+    public Instant watermark() {
+        return watermark;
+    }
+
+    public void advanceWatermark(Instant ingestedAt) {
+        if (ingestedAt != null && (watermark == null || ingestedAt.isAfter(watermark))) {
+            watermark = ingestedAt;
+        }
+    }
+
+    public VoteEvent event(String sourceId, long epochDay, List<MemberVote> memberVotes) {
+        return new VoteEvent(sourceId, epochDay, VoteEvent.positions(memberVotes), parties);
+    }
+
+    /**
+     * Applies an event to every plugin at most once.
+     *
+     * @return panes whose ledger holds a different version of the event and must be recounted
+     */
+    public List<Recount> apply(VoteEvent event) {
+        List<Recount> recounts = new ArrayList<>();
+        for (PluginState state : plugins) {
+            Window window = state.plugin.window();
+            long pane = window.paneOf(event.epochDay());
+            if (state.isExpired(pane)) {
+                continue;
+            }
+            Pane target = state.pane(pane);
+            Long applied = target.applied.get(event.sourceId());
+            if (applied == null) {
+                target.add(state.plugin, event);
+                state.changed.add(pane);
+                state.advance(pane);
+            } else if (applied != event.fingerprint()) {
+                LocalDate from = window.paneStart(pane);
+                recounts.add(new Recount(state.plugin.name(), pane, from, from.plusDays(window.stepDays())));
+            }
+        }
+        return recounts;
+    }
+
+    /**
+     * Rebuilds a pane from every vote that falls into it.
+     */
+    public void recount(Recount recount, List<VoteEvent> events) {
+        PluginState state = plugin(recount.metric());
+        Pane pane = new Pane(state.plugin.width());
+        for (VoteEvent event : events) {
+            if (state.plugin.window().paneOf(event.epochDay()) == recount.pane()
+                    && !pane.applied.containsKey(event.sourceId())) {
+                pane.add(state.plugin, event);
+            }
+        }
+        state.panes.put(recount.pane(), pane);
+        state.changed.add(recount.pane());
+    }
+
+    /**
+     * Metrics of every plugin for a member over each plugin's window ending with its newest pane.
+     */
+    public List<AccountabilityMetric> metrics(String memberId) {
+        List<AccountabilityMetric> metrics = new ArrayList<>();
+        for (PluginState state : plugins) {
+            if (state.latestPane == null) {
+                continue;
+            }
+            Window window = state.plugin.window();
+            long[] totals = new long[state.plugin.width()];
+            boolean listed = false;
+            for (Pane pane : state.panes.tailMap(state.latestPane - window.panes(), false).values()) {
+                long[] counters = pane.counters.get(memberId);
+                if (counters != null) {
+                    listed = true;
+                    for (int i = 0; i < totals.length; i++) {
+                        totals[i] += counters[i];
+                    }
+                }
+            }
+            if (listed) {
+                metrics.addAll(state.plugin.metrics(
+                        memberId,
+                        totals,
+                        window.windowStart(state.latestPane),
+                        window.windowEnd(state.latestPane)));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Restores panes from a checkpoint. Panes of metrics that are no longer registered are ignored.
+     */
+    public void restore(Instant checkpointWatermark, List<PaneState> panes) {
+        for (PaneState stored : panes) {
+            PluginState state = pluginOrNull(stored.metric());
+            if (state == null || stored.width() != state.plugin.width()) {
+                continue;
+            }
+            Pane pane = new Pane(stored.width());
+            List<String> members = stored.members();
+            for (int member = 0; member < members.size(); member++) {
+                long[] counters = new long[stored.width()];
+                System.arraycopy(stored.counters(), member * stored.width(), counters, 0, stored.width());
+                pane.counters.put(members.get(member), counters);
+            }
+            pane.applied.putAll(stored.applied());
+            state.panes.put(stored.pane(), pane);
+            state.advance(stored.pane());
+        }
+        this.watermark = checkpointWatermark;
+    }
+
+    /**
+     * Returns and forgets the panes changed or dropped since the last call.
+     */
+    public Changes drainChanges() {
+        List<PaneState> changed = new ArrayList<>();
+        List<PaneKey> removed = new ArrayList<>();
+        for (PluginState state : plugins) {
+            for (long index : state.changed) {
+                Pane pane = state.panes.get(index);
+                if (pane != null) {
+                    changed.add(pane.toState(state.plugin.name(), index));
+                }
+            }
+            for (long index : state.removed) {
+                removed.add(new PaneKey(state.plugin.name(), index));
+            }
+            state.changed.clear();
+            state.removed.clear();
+        }
+        return new Changes(changed, removed);
+    }
+
+    private PluginState plugin(String metric) {
+        PluginState state = pluginOrNull(metric);
+        if (state == null) {
+            throw new IllegalArgumentException("No metric plugin named " + metric);
+        }
+        return state;
+    }
+
+    private PluginState pluginOrNull(String metric) {
+        for (PluginState state : plugins) {
+            if (state.plugin.name().equals(metric)) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A pane to rebuild from the stored votes dated within {@code [from, to)}.
+     */
+    public record Recount(String metric, long pane, LocalDate from, LocalDate to) {}
+
+    public record Changes(List<PaneState> changed, List<PaneKey> removed) {
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private static final class PluginState {
+        private final MetricPlugin plugin;
+        private final TreeMap<Long, Pane> panes = new TreeMap<>();
+        private final Set<Long> changed = new LinkedHashSet<>();
+        private final Set<Long> removed = new LinkedHashSet<>();
+        private Long latestPane;
+
+        PluginState(MetricPlugin plugin) {
+            this.plugin = plugin;
+        }
+
+        boolean isExpired(long pane) {
+            return latestPane != null && pane <= latestPane - plugin.window().panes();
+        }
+
+        Pane pane(long index) {
+            return panes.computeIfAbsent(index, ignored -> new Pane(plugin.width()));
+        }
+
+        void advance(long pane) {
+            if (latestPane != null && pane <= latestPane) {
+                return;
+            }
+            latestPane = pane;
+            Map<Long, Pane> expired = panes.headMap(pane - plugin.window().panes(), true);
+            for (long index : expired.keySet()) {
+                changed.remove(index);
+                removed.add(index);
+            }
+            expired.clear();
+        }
+    }
+
+    private static final class Pane {
+        private final int width;
+        private final Map<String, long[]> counters = new LinkedHashMap<>();
+        private final Map<String, Long> applied = new HashMap<>();
+
+        Pane(int width) {
+            this.width = width;
+        }
+
+        void add(MetricPlugin plugin, VoteEvent event) {
+            plugin.accumulate(event, (memberId, counter, delta) ->
+                    counters.computeIfAbsent(memberId, ignored -> new long[width])[counter] += delta);
+            applied.put(event.sourceId(), event.fingerprint());
+        }
+
+        PaneState toState(String metric, long index) {
+            List<String> members = new ArrayList<>(counters.keySet());
+            long[] packed = new long[members.size() * width];
+            for (int member = 0; member < members.size(); member++) {
+                System.arraycopy(counters.get(members.get(member)), 0, packed, member * width, width);
+            }
+            return new PaneState(metric, index, width, members, packed, new LinkedHashMap<>(applied));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.beacon.ingest.usafed.metrics;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.stateful.mongo.VoteCode;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Party-unity rate over the trailing twelve weeks, advancing weekly, so a recent break with the party shows up
+ * without being diluted by the whole term.
+ */
+@Component
+public class RecentPartyUnityPlugin implements MetricPlugin {
+
+    static final String NAME = "party_unity_rate_12w";
+    private static final String METHODOLOGY_VERSION = "party-unity-window-v1";
+    private static final int WITH_PARTY = 0;
+    private static final int AGAINST_PARTY = 1;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Window window() {
+        return Window.sliding(84, 7);
+    }
+
+    @Override
+    public int width() {
+        return 2;
+    }
+
+    @Override
+    public void accumulate(VoteEvent event, Counters counters) {
+        event.positions().forEach((memberId, code) -> {
+            if (code != VoteCode.YEA && code != VoteCode.NAY) {
+                return;
+            }
+            VoteCode majority = event.partyMajority(event.party(memberId));
+            if (majority != null) {
+                counters.add(memberId, majority == code ? WITH_PARTY : AGAINST_PARTY, 1);
+            }
+        });
+    }
+
+    @Override
+    public List<AccountabilityMetric> metrics(String memberId, long[] totals, LocalDate from, LocalDate to) {
+        long total = totals[WITH_PARTY] + totals[AGAINST_PARTY];
+        if (total == 0) {
+            return List.of();
+        }
+        double rate = Math.round(totals[WITH_PARTY] * 1000.0 / total) / 10.0;
+        return List.of(MetricPlugin.metric(
+                memberId,
+                NAME,
+                rate,
+                METHODOLOGY_VERSION,
+                "%d of %d party-line votes cast with the party majority between %s and %s"
+                        .formatted(totals[WITH_PARTY], total, from, to)));
+    }
+}
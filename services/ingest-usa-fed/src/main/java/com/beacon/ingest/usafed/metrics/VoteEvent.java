@@ -0,0 +1,135 @@
+package com.beacon.ingest.usafed.metrics;
+
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.stateful.mongo.VoteCode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One roll call as seen by every {@link MetricPlugin}. Values that several plugins need, such as each party's majority
+ * position, are derived once per event on first use and shared, so another plugin only adds its own accumulation.
+ */
+public final class VoteEvent {
+
+    private final String sourceId;
+    private final long epochDay;
+    private final Map<String, VoteCode> positions;
+    private final Map<String, String> parties;
+    private final long fingerprint;
+    private Map<String, VoteCode> partyMajorities;
+
+    /**
+     * @param sourceId the {@code VotingRecord.source_id} the event is applied under
+     * @param epochDay UTC day of the vote
+     * @param positions every listed member's position
+     * @param parties normalized party of each member, see {@link #normalizeParties}
+     */
+    public VoteEvent(String sourceId, long epochDay, Map<String, VoteCode> positions, Map<String, String> parties) {
+        this.sourceId = Objects.requireNonNull(sourceId, "sourceId");
+        this.epochDay = epochDay;
+        this.positions = Collections.unmodifiableMap(positions);
+        this.parties = Objects.requireNonNull(parties, "parties");
+        this.fingerprint = fingerprint(positions);
+    }
+
+    public String sourceId() {
+        return sourceId;
+    }
+
+    public long epochDay() {
+        return epochDay;
+    }
+
+    public Map<String, VoteCode> positions() {
+        return positions;
+    }
+
+    /**
+     * Order-independent hash of the positions; a re-ingested roll call with the same fingerprint is a duplicate.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the member's party, or {@code null} when it is unknown.
+     */
+    public String party(String memberId) {
+        return parties.get(memberId);
+    }
+
+    /**
+     * Position taken by the majority of the party's members who voted yea or nay, or {@code null} on a tie.
+     */
+    public VoteCode partyMajority(String party) {
+        if (partyMajorities == null) {
+            partyMajorities = partyMajorities(positions, parties);
+        }
+        return party == null ? null : partyMajorities.get(party);
+    }
+
+    public static Map<String, VoteCode> positions(List<MemberVote> memberVotes) {
+        Map<String, VoteCode> positions = new HashMap<>();
+        for (MemberVote memberVote : memberVotes) {
+            String memberId = memberVote.getSourceId();
+            if (memberId != null && !memberId.isBlank()) {
+                positions.put(memberId, VoteCode.of(memberVote));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Upper-cases party codes and drops members without one, so parties compare case-insensitively.
+     */
+    public static Map<String, String> normalizeParties(Map<String, String> partyByMember) {
+        Map<String, String> normalized = new HashMap<>();
+        partyByMember.forEach((memberId, party) -> {
+            if (party != null && !party.isBlank()) {
+                normalized.put(memberId, party.trim().toUpperCase(Locale.ROOT));
+            }
+        });
+        return normalized;
+    }
+
+    /**
+     * Derives every party's majority position from the members' yea and nay votes; tied parties are left out.
+     */
+    public static Map<String, VoteCode> partyMajorities(Map<String, VoteCode> positions, Map<String, String> parties) {
+        Map<String, int[]> balances = new HashMap<>();
+        positions.forEach((memberId, code) -> {
+            String party = parties.get(memberId);
+            if (party == null || (code != VoteCode.YEA && code != VoteCode.NAY)) {
+                return;
+            }
+            balances.computeIfAbsent(party, ignored -> new int[1])[0] += code == VoteCode.YEA ? 1 : -1;
+        });
+        Map<String, VoteCode> majorities = new HashMap<>();
+        balances.forEach((party, balance) -> {
+            if (balance[0] != 0) {
+                majorities.put(party, balance[0] > 0 ? VoteCode.YEA : VoteCode.NAY);
+            }
+        });
+        return majorities;
+    }
+
+    private static long fingerprint(Map<String, VoteCode> positions) {
+        long fingerprint = positions.size();
+        for (Map.Entry<String, VoteCode> entry : positions.entrySet()) {
+            fingerprint += mix(((long) entry.getKey().hashCode() << 3) | entry.getValue().bits());
+        }
+        return fingerprint;
+    }
+
+    // SplitMix64 finalizer, so summing entries does not let similar members cancel out.
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
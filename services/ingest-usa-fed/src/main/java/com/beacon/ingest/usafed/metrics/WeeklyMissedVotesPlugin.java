@@ -0,0 +1,60 @@
+package com.beacon.ingest.usafed.metrics;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.stateful.mongo.VoteCode;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roll calls a member was listed on but did not vote on, per calendar week.
+ */
+@Component
+public class WeeklyMissedVotesPlugin implements MetricPlugin {
+
+    static final String NAME = "missed_votes_week";
+    private static final String METHODOLOGY_VERSION = "missed-votes-v1";
+    private static final int LISTED = 0;
+    private static final int MISSED = 1;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Window window() {
+        return Window.tumbling(7);
+    }
+
+    @Override
+    public int width() {
+        return 2;
+    }
+
+    @Override
+    public void accumulate(VoteEvent event, Counters counters) {
+        event.positions().forEach((memberId, code) -> {
+            if (code == VoteCode.NONE) {
+                return;
+            }
+            counters.add(memberId, LISTED, 1);
+            if (code == VoteCode.NOT_VOTING) {
+                counters.add(memberId, MISSED, 1);
+            }
+        });
+    }
+
+    @Override
+    public List<AccountabilityMetric> metrics(String memberId, long[] totals, LocalDate from, LocalDate to) {
+        if (totals[LISTED] == 0) {
+            return List.of();
+        }
+        return List.of(MetricPlugin.metric(
+                memberId,
+                NAME,
+                totals[MISSED],
+                METHODOLOGY_VERSION,
+                "missed %d of %d roll calls in the week of %s".formatted(totals[MISSED], totals[LISTED], from)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.beacon.ingest.usafed.metrics;
+
+import java.time.LocalDate;
+
+/**
+ * Event-time window of a metric, in whole days of the vote date. Every window is assembled from panes of
+ * {@link #stepDays()} days: a tumbling window is a single pane, a sliding window sums the latest
+ * {@link #panes()} panes. Panes are aligned to Mondays, so seven-day windows are calendar weeks.
+ *
+ * @param sizeDays length of the window
+ * @param stepDays how far the window advances; equal to the size for tumbling windows
+ */
+public record Window(int sizeDays, int stepDays) {
+
+    // 1970-01-05, epoch day 4, was a Monday.
+    private static final int MONDAY_OFFSET = 3;
+
+    public Window {
+        if (stepDays < 1 || sizeDays < stepDays || sizeDays % stepDays != 0) {
+            throw new IllegalArgumentException(
+                    "Window of %d days must be a whole multiple of its %d day step".formatted(sizeDays, stepDays));
+        }
+    }
+
+    public static Window tumbling(int days) {
+        return new Window(days, days);
+    }
+
+    public static Window sliding(int sizeDays, int stepDays) {
+        return new Window(sizeDays, stepDays);
+    }
+
+    /**
+     * Number of panes summed into one window.
+     */
+    public int panes() {
+        return sizeDays / stepDays;
+    }
+
+    public long paneOf(long epochDay) {
+        return Math.floorDiv(epochDay + MONDAY_OFFSET, stepDays);
+    }
+
+    public LocalDate paneStart(long pane) {
+        return LocalDate.ofEpochDay(pane * stepDays - MONDAY_OFFSET);
+    }
+
+    /**
+     * Last day, inclusive, of the window ending with the given pane.
+     */
+    public LocalDate windowEnd(long latestPane) {
+        return paneStart(latestPane + 1).minusDays(1);
+    }
+
+    public LocalDate windowStart(long latestPane) {
+        return paneStart(latestPane - panes() + 1);
+    }
+}
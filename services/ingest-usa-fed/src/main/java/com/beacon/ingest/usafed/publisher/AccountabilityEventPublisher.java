@@ -1,8 +1,20 @@
 package com.beacon.ingest.usafed.publisher;
 
+import com.beacon.common.accountability.AccountabilityEventDeltas;
+import com.beacon.common.accountability.AccountabilityEventEncoder;
+import com.beacon.common.accountability.MemberVoteCodec;
 import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import com.beacon.common.accountability.v1.VoteRoster;
+import com.beacon.common.accountability.v1.VotingRecord;
+import com.beacon.common.topics.AccountabilityEventType;
+import com.beacon.common.topics.EventHeaders;
 import com.beacon.common.topics.KafkaTopic;
+import com.beacon.ingest.usafed.config.EventPublishingProperties;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,36 +22,105 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publishes accountability events. With a positive {@link EventPublishingProperties#snapshotInterval()} each
+ * official's changes are sent as deltas against the previous acknowledged event, with a full snapshot every that many
+ * events; by default every event is a snapshot. With {@link EventPublishingProperties#packMemberVotes()} voting
+ * records travel in the packed member-vote form. Records carry the {@link EventHeaders} envelope so consumers can route
+ * them without parsing the payload.
+ */
 @Component
 public class AccountabilityEventPublisher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AccountabilityEventPublisher.class);
 
     private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final AccountabilityEventEncoder encoder;
+    private final boolean packMemberVotes;
+    // Rosters inlined for each partition key since its last snapshot; later events of the key only reference them.
+    private final Map<String, Set<String>> sentRosters = new ConcurrentHashMap<>();
 
-    public AccountabilityEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate) {
+    public AccountabilityEventPublisher(
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            EventPublishingProperties properties) {
         this.kafkaTemplate = kafkaTemplate;
+        this.encoder = new AccountabilityEventEncoder(properties.snapshotInterval());
+        this.packMemberVotes = properties.packMemberVotes();
     }
 
-    public void publish(OfficialAccountabilityEvent event) {
-        byte[] payload = event.toByteArray();
+    /**
+     * Publishes an event carrying the official's complete state.
+     */
+    public void publish(AccountabilityEventType type, OfficialAccountabilityEvent event) {
+        KafkaTopic topic = KafkaTopic.OFFICIAL_ACCOUNTABILITY_EVENTS;
+        OfficialAccountabilityEvent encoded = encoder.encode(event);
+        byte[] payload = (packMemberVotes ? packMemberVotes(encoded) : encoded).toByteArray();
         String partitionKey = event.getPartitionKey();
-        CompletableFuture<SendResult<String, byte[]>> future = kafkaTemplate.send(
-                KafkaTopic.OFFICIAL_ACCOUNTABILITY_EVENTS.value(), partitionKey, payload);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic.value(), partitionKey, payload);
+        EventHeaders.of(topic, type, event, encoded.getEncoding())
+                .forEach((name, value) -> record.headers().add(name, EventHeaders.encode(value)));
+        CompletableFuture<SendResult<String, byte[]>> future = kafkaTemplate.send(record);
 
         future.whenComplete((result, throwable) -> {
             if (throwable != null) {
+                // Consumers may have missed the baseline of the next delta, so start over from a snapshot.
+                encoder.reset(partitionKey);
+                sentRosters.remove(partitionKey);
                 LOGGER.error("Failed to publish accountability event {}", event.getUuid(), throwable);
                 return;
             }
 
+            encoder.acknowledge(encoded);
             RecordMetadata metadata = result.getRecordMetadata();
             LOGGER.info(
-                    "Published accountability event {} to topic {} partition {} offset {}",
+                    "Published accountability event {} as {} ({} bytes) to topic {} partition {} offset {}",
                     event.getUuid(),
+                    encoded.getEncoding(),
+                    payload.length,
                     metadata.topic(),
                     metadata.partition(),
                     metadata.offset());
         });
     }
+
+    /**
+     * Packs an event's voting records against one roster of all their members. The first record inlines the roster
+     * unless the partition key was sent it since its last snapshot, so a consumer starting from any snapshot resolves
+     * every reference. Records whose member vote UUIDs would not survive packing stay expanded.
+     */
+    OfficialAccountabilityEvent packMemberVotes(OfficialAccountabilityEvent event) {
+        if (event.getVotingRecordsCount() == 0) {
+            return event;
+        }
+        String key = event.getPartitionKey();
+        Set<String> sent = key.isEmpty() || AccountabilityEventDeltas.isSnapshot(event)
+                ? ConcurrentHashMap.newKeySet()
+                : sentRosters.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet());
+        VoteRoster roster = MemberVoteCodec.roster(event.getVotingRecordsList());
+        OfficialAccountabilityEvent.Builder packed = event.toBuilder().clearVotingRecords();
+        for (VotingRecord record : event.getVotingRecordsList()) {
+            packed.addVotingRecords(pack(record, roster, sent));
+        }
+        if (!key.isEmpty()) {
+            sentRosters.put(key, sent);
+        }
+        return packed.build();
+    }
+
+    private static VotingRecord pack(VotingRecord record, VoteRoster roster, Set<String> sent) {
+        try {
+            VotingRecord packed = MemberVoteCodec.pack(
+                    record,
+                    roster,
+                    !sent.contains(roster.getRosterId()),
+                    MemberVoteCodec.HOUSE_MEMBER_VOTE_UUID_PREFIX);
+            if (packed.hasPackedMemberVotes()) {
+                sent.add(roster.getRosterId());
+            }
+            return packed;
+        } catch (IllegalArgumentException ex) {
+            LOGGER.debug("Sending member votes of {} expanded: {}", record.getSourceId(), ex.getMessage());
+            return record;
+        }
+    }
 }
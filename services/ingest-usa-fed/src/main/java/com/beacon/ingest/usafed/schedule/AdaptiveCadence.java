@@ -0,0 +1,141 @@
+package com.beacon.ingest.usafed.schedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Derives the delay before a lane's next run from what its recent runs observed. An exponentially weighted vote
+ * arrival rate tightens the cadence during floor activity, an upstream {@code updateDate} inside the activity window
+ * holds it at or below the base interval, and runs that change nothing back off exponentially. The delay always stays
+ * within {@code [minInterval, maxInterval]}, and every decision is published to the meter registry.
+ */
+final class AdaptiveCadence {
+
+    enum Decision {
+        TIGHTEN,
+        HOLD,
+        BACKOFF
+    }
+
+    /**
+     * What one run of an adaptive lane saw.
+     *
+     * @param changes number of new or updated votes detected
+     * @param latestUpdate newest upstream {@code updateDate} seen so far, or {@code null} when unknown
+     */
+    record Observation(int changes, Instant latestUpdate) {
+    }
+
+    private final Duration baseInterval;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double backoffMultiplier;
+    private final double smoothing;
+    private final Duration activityWindow;
+    private final Map<Decision, Counter> decisionCounters = new EnumMap<>(Decision.class);
+    private Duration currentDelay;
+    private double arrivalRatePerSecond;
+    private Instant lastObservedAt;
+
+    AdaptiveCadence(
+            String laneName,
+            Duration baseInterval,
+            Duration minInterval,
+            Duration maxInterval,
+            double backoffMultiplier,
+            double smoothing,
+            Duration activityWindow,
+            MeterRegistry meterRegistry) {
+        Objects.requireNonNull(laneName, "laneName");
+        this.minInterval = Objects.requireNonNull(minInterval, "minInterval");
+        this.maxInterval = Objects.requireNonNull(maxInterval, "maxInterval");
+        this.activityWindow = Objects.requireNonNull(activityWindow, "activityWindow");
+        if (minInterval.isNegative() || minInterval.isZero() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException(
+                    "Lane %s requires 0 < minInterval <= maxInterval".formatted(laneName));
+        }
+        this.baseInterval = clamp(Objects.requireNonNull(baseInterval, "baseInterval"));
+        this.backoffMultiplier = backoffMultiplier;
+        this.smoothing = smoothing;
+        this.currentDelay = this.baseInterval;
+
+        Gauge.builder("beacon.ingest.lane.delay", this, cadence -> cadence.currentDelay().toMillis() / 1000.0)
+                .description("Delay before the next scheduled run of an adaptive ingestion lane")
+                .baseUnit("seconds")
+                .tag("lane", laneName)
+                .register(meterRegistry);
+        Gauge.builder("beacon.ingest.lane.arrival.rate", this, cadence -> cadence.arrivalRatePerMinute())
+                .description("Smoothed rate of new or updated votes observed by an adaptive ingestion lane")
+                .baseUnit("votes.per.minute")
+                .tag("lane", laneName)
+                .register(meterRegistry);
+        for (Decision decision : Decision.values()) {
+            decisionCounters.put(decision, Counter.builder("beacon.ingest.lane.cadence.decisions")
+                    .description("Cadence decisions taken by an adaptive ingestion lane")
+                    .tag("lane", laneName)
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Folds one run's observation into the arrival rate and returns the delay until the next run.
+     */
+    synchronized Duration next(Observation observation, Instant now) {
+        double elapsedSeconds = lastObservedAt == null
+                ? currentDelay.toMillis() / 1000.0
+                : Math.max(1.0, Duration.between(lastObservedAt, now).toMillis() / 1000.0);
+        double observedRate = Math.max(0, observation.changes()) / elapsedSeconds;
+        arrivalRatePerSecond = lastObservedAt == null
+                ? observedRate
+                : smoothing * observedRate + (1 - smoothing) * arrivalRatePerSecond;
+        lastObservedAt = now;
+
+        Decision decision;
+        Duration next;
+        if (observation.changes() > 0) {
+            // Aim for roughly one new vote per poll, never slower than the configured base interval.
+            Duration expectedGap = arrivalRatePerSecond > 0
+                    ? Duration.ofMillis((long) (1000 / arrivalRatePerSecond))
+                    : baseInterval;
+            decision = Decision.TIGHTEN;
+            next = min(expectedGap, baseInterval);
+        } else if (observation.latestUpdate() != null
+                && observation.latestUpdate().isAfter(now.minus(activityWindow))) {
+            decision = Decision.HOLD;
+            next = min(currentDelay, baseInterval);
+        } else {
+            decision = Decision.BACKOFF;
+            next = Duration.ofMillis((long) (currentDelay.toMillis() * backoffMultiplier));
+        }
+        currentDelay = clamp(next);
+        decisionCounters.get(decision).increment();
+        return currentDelay;
+    }
+
+    synchronized Duration currentDelay() {
+        return currentDelay;
+    }
+
+    synchronized double arrivalRatePerMinute() {
+        return arrivalRatePerSecond * 60;
+    }
+
+    private Duration clamp(Duration delay) {
+        if (delay.compareTo(minInterval) < 0) {
+            return minInterval;
+        }
+        return delay.compareTo(maxInterval) > 0 ? maxInterval : delay;
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
@@ -1,19 +1,34 @@
 package com.beacon.ingest.usafed.schedule;
 
 import com.beacon.ingest.usafed.config.CongressApiProperties;
+import com.beacon.ingest.usafed.config.IngestionSchedulerProperties;
+import com.beacon.ingest.usafed.config.IngestionSchedulerProperties.LaneSettings;
 import com.beacon.ingest.usafed.service.FederalIngestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
+/**
+ * Drives ingestion as independent lanes (roster, latest votes, vote discovery, vote detail, attendance, summaries),
+ * each on its own cadence and thread so fresh votes are never queued behind a roster scan or a slow LLM call. Lanes
+ * hand work to each other through the ingestion service and trigger the downstream lane as soon as they produce some.
+ * The latest-votes lane checks every interval but only polls while the House appears to be in session; it never
+ * backs off, so the first votes of a session are picked up within one interval. The vote discovery lane adapts its
+ * cadence to observed vote activity when bounds are configured for it.
+ */
 @Component
 @ConditionalOnProperty(value = "beacon.congress.scheduler.enabled", havingValue = "true", matchIfMissing = true)
 public class FederalIngestionScheduler {
@@ -22,52 +37,146 @@ public class FederalIngestionScheduler {
 
     private final FederalIngestionService ingestionService;
     private final CongressApiProperties properties;
-    private final TaskScheduler taskScheduler;
-    private final AtomicReference<ScheduledFuture<?>> scheduledFuture = new AtomicReference<>();
+    private final IngestionSchedulerProperties schedulerProperties;
+    private final MeterRegistry meterRegistry;
+    private final List<IngestionLane> lanes = new ArrayList<>();
+    private final AtomicBoolean dependentLanesStarted = new AtomicBoolean();
+    private IngestionLane latestVotesLane;
+    private IngestionLane voteDiscoveryLane;
+    private IngestionLane voteDetailLane;
+    private IngestionLane attendanceLane;
+    private IngestionLane summaryLane;
 
     public FederalIngestionScheduler(
             FederalIngestionService ingestionService,
             CongressApiProperties properties,
-            TaskScheduler taskScheduler) {
+            IngestionSchedulerProperties schedulerProperties,
+            MeterRegistry meterRegistry) {
         this.ingestionService = ingestionService;
         this.properties = properties;
-        this.taskScheduler = taskScheduler;
+        this.schedulerProperties = schedulerProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Kickstarts the refresh loop once the Spring application is ready. Runs a refresh immediately and
-     * schedules the follow-up run so we don't rely solely on fixed delays from the framework.
+     * Starts the roster lane once the Spring application is ready. The vote lanes start after the first roster run
+     * so vote ingestion can resolve officials from a populated roster.
      */
     @EventListener(ApplicationReadyEvent.class)
-    public void triggerOnStartup() {
-        LOGGER.info("Starting initial congressional roster refresh");
-        refreshAndScheduleNext();
+    public synchronized void triggerOnStartup() {
+        IngestionSchedulerProperties.Lanes settings = schedulerProperties.lanes();
+        summaryLane = createLane("summaries", settings.summaries(), ingestionService::generatePendingSummaries);
+        attendanceLane = createLane("attendance", settings.attendance(), ingestionService::refreshDirtyAttendance);
+        voteDetailLane = createLane("vote-detail", settings.voteDetail(), () -> {
+            if (ingestionService.ingestPendingHouseVotes() > 0) {
+                triggerLane(attendanceLane);
+                triggerLane(summaryLane);
+            }
+        });
+        IngestionSchedulerProperties.HouseSession houseSession = schedulerProperties.houseSession();
+        // Out of session the lane observes nothing; adapting on that would back it off just before the House returns.
+        latestVotesLane = createLane("latest-votes", settings.latestVotes(), () -> {
+            Instant latestVoteStart = ingestionService.latestHouseVoteStart().orElse(null);
+            if (!houseSession.isActive(Instant.now(), latestVoteStart)) {
+                return;
+            }
+            if (ingestionService.ingestLatestHouseVotes(houseSession.pageSize()) > 0) {
+                triggerLane(attendanceLane);
+                triggerLane(summaryLane);
+            }
+        });
+        voteDiscoveryLane = createAdaptiveLane("vote-discovery", settings.voteDiscovery(), () -> {
+            int queued = ingestionService.discoverHouseVotes();
+            if (queued > 0) {
+                triggerLane(voteDetailLane);
+            }
+            return new AdaptiveCadence.Observation(queued, ingestionService.latestHouseVoteUpdate().orElse(null));
+        });
+
+        LaneSettings roster = settings.roster();
+        Duration rosterInterval = roster.interval() != null ? roster.interval() : properties.pollInterval();
+        IngestionLane rosterLane = createLane("roster", new LaneSettings(rosterInterval, roster.enabled(), null, null), () -> {
+            try {
+                ingestionService.refreshRoster();
+            } finally {
+                startDependentLanes();
+            }
+        });
+        if (rosterLane == null) {
+            startDependentLanes();
+        } else {
+            LOGGER.info("Starting initial congressional roster refresh");
+            rosterLane.start(Duration.ZERO);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        lanes.forEach(IngestionLane::close);
+        lanes.clear();
+    }
+
+    private void startDependentLanes() {
+        if (!dependentLanesStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Stream.of(latestVotesLane, voteDiscoveryLane, voteDetailLane, attendanceLane, summaryLane)
+                .filter(Objects::nonNull)
+                .forEach(lane -> lane.start(Duration.ZERO));
     }
 
-    private void refreshAndScheduleNext() {
-        // Run the refresh and always schedule the next execution, even if the current run fails.
-        try {
-            ingestionService.refreshCongressRoster();
-        } finally {
-            scheduleNextRun();
+    private IngestionLane createLane(String name, LaneSettings settings, Runnable task) {
+        if (!isSchedulable(name, settings)) {
+            return null;
         }
+        IngestionLane lane = new IngestionLane(name, settings.interval(), task);
+        lanes.add(lane);
+        return lane;
     }
 
     /**
-     * Computes the next execution time relative to the moment this invocation finishes and replaces any
-     * previously scheduled task so the cadence never drifts or overlaps.
+     * Creates a lane whose cadence follows the observations its task returns, or a fixed-interval lane when no
+     * bounds are configured for it.
      */
-    private void scheduleNextRun() {
-        Duration interval = properties.pollInterval();
+    private IngestionLane createAdaptiveLane(
+            String name, LaneSettings settings, Supplier<AdaptiveCadence.Observation> task) {
+        if (!settings.adaptive()) {
+            return createLane(name, settings, task::get);
+        }
+        if (!isSchedulable(name, settings)) {
+            return null;
+        }
+        IngestionSchedulerProperties.Adaptive adaptive = schedulerProperties.adaptive();
+        AdaptiveCadence cadence = new AdaptiveCadence(
+                name,
+                settings.interval(),
+                settings.minInterval(),
+                settings.maxInterval(),
+                adaptive.backoffMultiplier(),
+                adaptive.smoothing(),
+                adaptive.activityWindow(),
+                meterRegistry);
+        IngestionLane lane = new IngestionLane(name, cadence, task);
+        lanes.add(lane);
+        return lane;
+    }
+
+    private static boolean isSchedulable(String name, LaneSettings settings) {
+        Duration interval = settings.interval();
+        if (!settings.enabled()) {
+            LOGGER.info("Ingestion lane {} disabled by configuration", name);
+            return false;
+        }
         if (interval == null || interval.isNegative() || interval.isZero()) {
-            LOGGER.warn("Skipping scheduler setup because poll interval is not configured.");
-            return;
+            LOGGER.warn("Skipping ingestion lane {} because its interval is not configured.", name);
+            return false;
         }
-        Instant nextRunAt = Instant.now().plus(interval);
-        ScheduledFuture<?> nextFuture = taskScheduler.schedule(this::refreshAndScheduleNext, nextRunAt);
-        ScheduledFuture<?> previous = scheduledFuture.getAndSet(nextFuture);
-        if (previous != null) {
-            previous.cancel(false);
+        return true;
+    }
+
+    private static void triggerLane(IngestionLane lane) {
+        if (lane != null) {
+            lane.trigger();
         }
     }
 }
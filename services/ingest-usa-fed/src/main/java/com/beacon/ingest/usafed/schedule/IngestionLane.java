@@ -0,0 +1,138 @@
+package com.beacon.ingest.usafed.schedule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One independently scheduled stage of the ingestion pipeline. Every lane owns a single-threaded executor, so a slow
+ * lane (LLM summaries, full roster scans) can never occupy the thread another lane needs. A lane never overlaps
+ * itself, and any number of {@link #trigger()} calls made while a run is queued collapse into that single run. A lane
+ * built with an {@link AdaptiveCadence} derives each delay from what its previous scheduled run observed instead of
+ * waiting a fixed interval.
+ */
+final class IngestionLane implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestionLane.class);
+
+    private final String name;
+    private final Duration interval;
+    private final Supplier<AdaptiveCadence.Observation> task;
+    private final AdaptiveCadence cadence;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean triggerPending = new AtomicBoolean();
+
+    IngestionLane(String name, Duration interval, Runnable task) {
+        this(name, interval, null, () -> {
+            task.run();
+            return null;
+        });
+        Objects.requireNonNull(task, "task");
+    }
+
+    IngestionLane(String name, AdaptiveCadence cadence, Supplier<AdaptiveCadence.Observation> task) {
+        this(name, Objects.requireNonNull(cadence, "cadence").currentDelay(), cadence, task);
+    }
+
+    private IngestionLane(
+            String name, Duration interval, AdaptiveCadence cadence, Supplier<AdaptiveCadence.Observation> task) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.interval = Objects.requireNonNull(interval, "interval");
+        this.task = Objects.requireNonNull(task, "task");
+        this.cadence = cadence;
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Lane %s requires a positive interval".formatted(name));
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-lane-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Starts the periodic cadence; the first run happens after {@code initialDelay}.
+     */
+    void start(Duration initialDelay) {
+        scheduleNext(initialDelay);
+        if (cadence == null) {
+            LOGGER.info("Ingestion lane {} scheduled every {}", name, interval);
+        } else {
+            LOGGER.info("Ingestion lane {} scheduled adaptively starting at {}", name, interval);
+        }
+    }
+
+    /**
+     * Requests an out-of-cycle run, typically because an upstream lane produced new work.
+     */
+    void trigger() {
+        if (executor.isShutdown() || !triggerPending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            triggerPending.set(false);
+            runGuarded();
+        });
+    }
+
+    private void runScheduled() {
+        AdaptiveCadence.Observation observation = runGuarded();
+        Duration delay = interval;
+        if (cadence != null) {
+            // Overlapped or failed runs observed nothing, so they keep the current delay rather than backing off.
+            delay = observation == null ? cadence.currentDelay() : cadence.next(observation, Instant.now());
+            LOGGER.debug("Ingestion lane {} next run in {}", name, delay);
+        }
+        scheduleNext(delay);
+    }
+
+    private void scheduleNext(Duration delay) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        try {
+            executor.schedule(this::runScheduled, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            LOGGER.debug("Ingestion lane {} closed; not rescheduling", name);
+        }
+    }
+
+    private AdaptiveCadence.Observation runGuarded() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.debug("Ingestion lane {} still running; skipping overlapping run", name);
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } catch (Exception ex) {
+            // Never let an exception cancel the periodic schedule.
+            LOGGER.error("Ingestion lane {} failed", name, ex);
+            return null;
+        } finally {
+            running.set(false);
+            LOGGER.debug(
+                    "Ingestion lane {} finished in {} ms",
+                    name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,101 +1,268 @@
 package com.beacon.ingest.usafed.service;
 
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import com.beacon.stateful.mongo.VoteCode;
+import com.beacon.stateful.mongo.VotingRecordRepository.AttendanceAggregation;
+import com.beacon.stateful.mongo.VotingRecordRepository.MemberPeriodCounters;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
+import java.time.temporal.IsoFields;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 
 /**
  * Utility that aggregates member vote participation into cumulative and per-period counters.
+ *
+ * <p>Members (BioGuide IDs) and periods (calendar months) are dictionary-encoded to dense ints, and counters live in
+ * flat primitive arrays indexed by those codes, so accumulating a full Congress of roll calls allocates nothing per
+ * member vote. Objects are only created once per member when the final statistics are built.
+ *
+ * <p>Large inputs can be computed in parallel: vote records are partitioned across a {@link ForkJoinPool}, each
+ * partition fills its own accumulator, and partial accumulators are merged. Merging only sums counters, ORs presence
+ * and takes minima/maxima, so it is associative and the parallel result is identical to the sequential one.
+ *
+ * <p>Callers that read votes from a cursor use a {@link StreamingAccumulator}: records are accepted one at a time and
+ * only a bounded number of partitions is ever held in memory. When the cursor is ordered by vote date, periods that
+ * have ended are evicted as the read moves past them: their monthly counters are folded into per-member running
+ * totals and only the newest snapshots each member can still report are kept, so the period slots held no longer
+ * grow with the stored history.
+ *
+ * <p>A single pass counts every vote into one period per requested {@link AttendanceGranularity} (ISO week, calendar
+ * month, session, Congress, all-time). Period keys pack the granularity into the high bits, so all granularities share
+ * the same slot arrays and merge logic. The summary is always derived from monthly periods.
  */
 final class AttendanceStatisticsCalculator {
 
+    private static final byte NOT_PRESENT = 0;
+    private static final byte PRESENT = 1;
+    private static final byte PARTICIPATED = 2;
+    private static final long NO_OCCURRENCE_MIN = Long.MAX_VALUE;
+    private static final long NO_OCCURRENCE_MAX = Long.MIN_VALUE;
+    // Roughly one month of House roll calls; smaller partitions cost more in merging than they save.
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1_024;
+    static final Set<AttendanceGranularity> MONTHLY = EnumSet.of(AttendanceGranularity.MONTH);
+    private static final int FIRST_CONGRESS_YEAR = 1789;
+    private static final int CONGRESS_START_DAY = 3;
+
     private AttendanceStatisticsCalculator() {
     }
 
     static AttendanceComputation compute(List<VoteRecord> votes, int periodHistoryLimit) {
-        Map<String, Map<YearMonth, PeriodCounter>> perPeriod = new HashMap<>();
-        Instant latestUpdate = null;
-        int voteRecordCount = 0;
+        return compute(votes, periodHistoryLimit, MONTHLY);
+    }
 
+    /**
+     * Computes statistics with history reported for each of the supplied granularities, in one pass over the votes.
+     * The history limit applies to each granularity separately.
+     */
+    static AttendanceComputation compute(
+            List<VoteRecord> votes,
+            int periodHistoryLimit,
+            Set<AttendanceGranularity> granularities) {
+        Accumulator accumulator = new Accumulator(PeriodScheme.of(granularities));
         for (VoteRecord vote : votes) {
-            if (vote == null || vote.memberVotes().isEmpty()) {
-                continue;
-            }
-            voteRecordCount++;
-            if (vote.updateDate() != null && (latestUpdate == null || vote.updateDate().isAfter(latestUpdate))) {
-                latestUpdate = vote.updateDate();
-            }
-            YearMonth period = vote.startDate() == null
-                    ? YearMonth.now(ZoneOffset.UTC)
-                    : YearMonth.from(vote.startDate().atZone(ZoneOffset.UTC));
-            for (Map.Entry<String, String> entry : vote.memberVotes().entrySet()) {
-                String memberId = entry.getKey();
-                if (memberId == null || memberId.isBlank()) {
-                    continue;
-                }
-                String voteCast = entry.getValue();
-                Map<YearMonth, PeriodCounter> memberPeriods = perPeriod.computeIfAbsent(memberId, key -> new LinkedHashMap<>());
-                PeriodCounter periodCounter = memberPeriods.computeIfAbsent(period, key -> new PeriodCounter(key));
-                periodCounter.record(voteCast, vote.startDate());
-            }
+            accumulator.add(vote);
         }
+        return accumulator.finish(periodHistoryLimit);
+    }
 
-        Map<String, AttendanceStatistics> results = new HashMap<>();
-        for (Map.Entry<String, Map<YearMonth, PeriodCounter>> entry : perPeriod.entrySet()) {
-            String memberId = entry.getKey();
-            Map<YearMonth, PeriodCounter> periodCounters = entry.getValue();
-            List<YearMonth> periods = periodCounters.keySet().stream()
-                    .sorted()
-                    .collect(Collectors.toList());
+    /**
+     * Parallel variant of {@link #compute(List, int)} on the common pool. Inputs at or below
+     * {@link #DEFAULT_PARALLEL_THRESHOLD} records are computed sequentially.
+     */
+    static AttendanceComputation computeParallel(List<VoteRecord> votes, int periodHistoryLimit) {
+        return computeParallel(votes, periodHistoryLimit, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
 
-            int sessionsTotal = periods.size();
-            int sessionsAttended = 0;
-            int votesParticipated = 0;
-            int votesTotal = 0;
+    static AttendanceComputation computeParallel(
+            List<VoteRecord> votes,
+            int periodHistoryLimit,
+            ForkJoinPool pool,
+            int partitionSize) {
+        return computeParallel(votes, periodHistoryLimit, MONTHLY, pool, partitionSize);
+    }
 
-            List<AttendanceSnapshotData> history = new ArrayList<>();
-            for (YearMonth period : periods) {
-                PeriodCounter counter = periodCounters.get(period);
-                AttendanceSnapshotData snapshot = counter.snapshot();
-                AttendanceCounters counters = snapshot.counters();
-                if (counters.sessionsAttended() > 0) {
-                    sessionsAttended++;
-                }
-                votesParticipated += counters.votesParticipated();
-                votesTotal += counters.votesTotal();
-                history.add(snapshot);
+    static AttendanceComputation computeParallel(
+            List<VoteRecord> votes,
+            int periodHistoryLimit,
+            Set<AttendanceGranularity> granularities,
+            ForkJoinPool pool,
+            int partitionSize) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("partitionSize must be positive");
+        }
+        if (votes.size() <= partitionSize) {
+            return compute(votes, periodHistoryLimit, granularities);
+        }
+        List<VoteRecord> indexed = votes instanceof RandomAccess ? votes : new ArrayList<>(votes);
+        PeriodScheme scheme = PeriodScheme.of(granularities);
+        Accumulator accumulator = pool.invoke(
+                new AccumulateTask(indexed, 0, indexed.size(), partitionSize, scheme));
+        return accumulator.finish(periodHistoryLimit);
+    }
+
+    static AttendanceComputation fromAggregation(AttendanceAggregation aggregation, int periodHistoryLimit) {
+        return fromAggregation(aggregation, periodHistoryLimit, MONTHLY);
+    }
+
+    /**
+     * Builds statistics from counters already grouped by member and month, as returned by the MongoDB aggregation.
+     * The result is the same as computing over the underlying vote records, except that monthly counters cannot be
+     * split into weeks: {@link AttendanceGranularity#WEEK} is not reported, and a vote on January 1 or 2 counts
+     * towards the session starting that January.
+     */
+    static AttendanceComputation fromAggregation(
+            AttendanceAggregation aggregation,
+            int periodHistoryLimit,
+            Set<AttendanceGranularity> granularities) {
+        Accumulator accumulator = new Accumulator(PeriodScheme.of(granularities));
+        for (MemberPeriodCounters counters : aggregation.counters()) {
+            accumulator.addPeriodCounters(counters);
+        }
+        accumulator.recordVotes(aggregation.voteRecords(), aggregation.latestUpdate());
+        return accumulator.finish(periodHistoryLimit);
+    }
+
+    /**
+     * Returns the per-member monthly counters that turn the rollups of {@code previous} into those of {@code current}.
+     * Either record may be {@code null} (a new or a removed vote). Members whose counters are unchanged are omitted,
+     * so re-ingesting an unchanged vote yields no deltas. Undated votes are keyed by a {@code null} year and month.
+     */
+    static List<MemberPeriodCounters> rollupDelta(VoteRecord previous, VoteRecord current) {
+        Map<String, MemberPeriodCounters> deltas = new LinkedHashMap<>();
+        addContributions(deltas, previous, -1);
+        addContributions(deltas, current, 1);
+        List<MemberPeriodCounters> changed = new ArrayList<>(deltas.size());
+        for (MemberPeriodCounters delta : deltas.values()) {
+            if (delta.votesTotal() != 0 || delta.votesParticipated() != 0 || delta.votesPresent() != 0) {
+                changed.add(delta);
             }
+        }
+        return changed;
+    }
 
-            if (periodHistoryLimit > 0 && history.size() > periodHistoryLimit) {
-                history = history.subList(history.size() - periodHistoryLimit, history.size());
+    private static void addContributions(Map<String, MemberPeriodCounters> deltas, VoteRecord vote, int sign) {
+        if (vote == null) {
+            return;
+        }
+        Instant startDate = vote.startDate();
+        YearMonth month = startDate == null ? null : YearMonth.from(startDate.atZone(ZoneOffset.UTC));
+        // Retractions never narrow first/last vote times; only the current vote widens them.
+        Instant occurrence = sign > 0 ? startDate : null;
+        for (MemberVote memberVote : vote.memberVotes()) {
+            String memberId = memberVote.getSourceId();
+            if (memberId == null || memberId.isBlank()) {
+                continue;
             }
+            byte outcome = classify(memberVote.getVotePosition(), memberVote.getNotes());
+            MemberPeriodCounters contribution = new MemberPeriodCounters(
+                    memberId,
+                    month == null ? null : month.getYear(),
+                    month == null ? null : month.getMonthValue(),
+                    sign,
+                    outcome == PARTICIPATED ? sign : 0,
+                    outcome != NOT_PRESENT ? sign : 0,
+                    occurrence,
+                    occurrence);
+            deltas.merge(memberId + '|' + month, contribution, AttendanceStatisticsCalculator::sumCounters);
+        }
+    }
+
+    private static MemberPeriodCounters sumCounters(MemberPeriodCounters first, MemberPeriodCounters second) {
+        return new MemberPeriodCounters(
+                first.memberId(),
+                first.year(),
+                first.month(),
+                first.votesTotal() + second.votesTotal(),
+                first.votesParticipated() + second.votesParticipated(),
+                first.votesPresent() + second.votesPresent(),
+                earliest(first.firstVote(), second.firstVote()),
+                latest(first.lastVote(), second.lastVote()));
+    }
 
-            int presenceScore = sessionsTotal == 0 ? 0 : Math.round((sessionsAttended * 100f) / sessionsTotal);
-            int participationScore = votesTotal == 0 ? 0 : Math.round((votesParticipated * 100f) / votesTotal);
-            AttendanceCounters summary = new AttendanceCounters(sessionsAttended, sessionsTotal, votesParticipated, votesTotal, presenceScore, participationScore);
-            results.put(memberId, new AttendanceStatistics(summary, history));
+    private static Instant earliest(Instant first, Instant second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
         }
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return first.isAfter(second) ? first : second;
+    }
+
+    /**
+     * Starts a streaming computation on the common pool. Feed every vote record to the returned accumulator in start
+     * date order and call {@link StreamingAccumulator#finish(int)} with the same history limit once the source is
+     * exhausted; periods that have ended are evicted along the way.
+     */
+    static StreamingAccumulator streaming(Set<AttendanceGranularity> granularities, int periodHistoryLimit) {
+        return new StreamingAccumulator(
+                ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD, granularities, periodHistoryLimit);
+    }
 
-        return new AttendanceComputation(results, latestUpdate, voteRecordCount);
+    /**
+     * Parses a raw vote cast label (e.g. {@code "Aye"}, {@code "Not Voting"}) into a {@link VotePosition}.
+     */
+    static VotePosition parseVotePosition(String voteCast) {
+        if (voteCast == null) {
+            return VotePosition.VOTE_POSITION_UNSPECIFIED;
+        }
+        String normalized = voteCast.trim().toUpperCase(Locale.ROOT)
+                .replace('-', ' ')
+                .replace('_', ' ')
+                .replace('/', ' ')
+                .replaceAll("\\s+", " ");
+        return switch (normalized) {
+            case "YEA", "AYE", "YES", "YEA AND NAY", "AYE AND NAY" -> VotePosition.YEA;
+            case "NAY", "NO" -> VotePosition.NAY;
+            case "ABSENT" -> VotePosition.ABSENT;
+            case "PRESENT", "NOT VOTING", "PRESENT NOT VOTING" -> VotePosition.NOT_VOTING;
+            default -> VotePosition.VOTE_POSITION_UNSPECIFIED;
+        };
     }
 
+    /**
+     * A roll call reduced to what attendance needs. Member votes are read straight from the protobuf list without
+     * copying.
+     */
     static final class VoteRecord {
         private final Instant startDate;
         private final Instant updateDate;
-        private final Map<String, String> memberVotes;
+        private final List<MemberVote> memberVotes;
 
-        VoteRecord(Instant startDate, Instant updateDate, Map<String, String> memberVotes) {
+        VoteRecord(Instant startDate, Instant updateDate, List<MemberVote> memberVotes) {
             this.startDate = startDate;
             this.updateDate = updateDate;
-            this.memberVotes = memberVotes == null ? Map.of() : Map.copyOf(memberVotes);
+            this.memberVotes = memberVotes == null ? List.of() : memberVotes;
+        }
+
+        /**
+         * Builds a record from BioGuide ID to raw vote cast label, mainly for tests and ad-hoc callers.
+         */
+        VoteRecord(Instant startDate, Instant updateDate, Map<String, String> memberVotes) {
+            this(startDate, updateDate, toMemberVotes(memberVotes));
         }
 
         Instant startDate() {
@@ -106,16 +273,30 @@ final class AttendanceStatisticsCalculator {
             return updateDate;
         }
 
-        Map<String, String> memberVotes() {
+        List<MemberVote> memberVotes() {
             return memberVotes;
         }
+
+        private static List<MemberVote> toMemberVotes(Map<String, String> labels) {
+            if (labels == null) {
+                return List.of();
+            }
+            List<MemberVote> votes = new ArrayList<>(labels.size());
+            labels.forEach((memberId, label) -> votes.add(MemberVote.newBuilder()
+                    .setSourceId(memberId == null ? "" : memberId)
+                    .setVotePosition(parseVotePosition(label))
+                    .setNotes(label == null ? "" : label)
+                    .build()));
+            return votes;
+        }
     }
 
     record AttendanceComputation(Map<String, AttendanceStatistics> statisticsByMember, Instant latestUpdate, int voteRecordsProcessed) {}
 
     record AttendanceStatistics(AttendanceCounters summary, List<AttendanceSnapshotData> history) {}
 
-    record AttendanceSnapshotData(String periodLabel,
+    record AttendanceSnapshotData(AttendanceGranularity granularity,
+                                  String periodLabel,
                                   Instant periodStart,
                                   Instant periodEnd,
                                   AttendanceCounters counters) {}
@@ -127,82 +308,794 @@ final class AttendanceStatisticsCalculator {
                               int presenceScore,
                               int participationScore) {}
 
-    private static final class PeriodCounter {
-        private final YearMonth period;
-        private Instant minInstant;
-        private Instant maxInstant;
-        private int votesParticipated;
-        private int votesTotal;
-        private boolean present;
+    /**
+     * Mutable accumulation state. Counters are stored per period slot as arrays indexed by member code; all arrays
+     * grow geometrically as new members and periods are encountered. Evicted periods leave only per-member running
+     * totals for the summary and the newest snapshots of each member, see {@link #evictEndedBefore}.
+     */
+    static final class Accumulator {
+
+        private final PeriodScheme scheme;
+        private final Map<String, Integer> memberCodes = new HashMap<>();
+        private String[] memberIds = new String[64];
+        private int memberCount;
+        private final Map<Long, Integer> periodSlotsByKey = new HashMap<>();
+        private long[] periodKeys = new long[8];
+        private long[] periodEnds = new long[8];
+        private int periodCount;
+        private long earliestPeriodEnd = Long.MAX_VALUE;
+        private int[][] votesTotal = new int[8][];
+        private int[][] votesParticipated = new int[8][];
+        private long[][] presentBits = new long[8][];
+        private long[][] firstOccurrence = new long[8][];
+        private long[][] lastOccurrence = new long[8][];
+        private Instant latestUpdate;
+        private int voteRecordCount;
+        // Running monthly totals of evicted periods, indexed by member code.
+        private int[] evictedSessionsTotal = new int[64];
+        private int[] evictedSessionsAttended = new int[64];
+        private int[] evictedVotesParticipated = new int[64];
+        private int[] evictedVotesTotal = new int[64];
+        // Newest snapshots of evicted periods, keyed by member code and granularity, oldest first.
+        private final Map<Long, ArrayDeque<AttendanceSnapshotData>> evictedHistory = new HashMap<>();
 
-        PeriodCounter(YearMonth period) {
-            this.period = Objects.requireNonNull(period, "period");
+        Accumulator() {
+            this(PeriodScheme.of(MONTHLY));
         }
 
-        void record(String voteCast, Instant occurrence) {
-            votesTotal++;
-            if (isParticipatory(voteCast)) {
-                votesParticipated++;
+        /**
+         * @param scheme periods to count into; partitions of one computation share it
+         */
+        Accumulator(PeriodScheme scheme) {
+            this.scheme = scheme;
+        }
+
+        void add(VoteRecord vote) {
+            if (vote == null || vote.memberVotes().isEmpty()) {
+                return;
+            }
+            voteRecordCount++;
+            if (vote.updateDate() != null && (latestUpdate == null || vote.updateDate().isAfter(latestUpdate))) {
+                latestUpdate = vote.updateDate();
+            }
+            Instant startDate = vote.startDate();
+            int[] periods = periodSlots(scheme.periodKeys(startDate == null ? scheme.undatedAt : startDate, true));
+            long occurrence = startDate == null ? 0 : startDate.toEpochMilli();
+            List<MemberVote> memberVotes = vote.memberVotes();
+            for (int i = 0, size = memberVotes.size(); i < size; i++) {
+                MemberVote memberVote = memberVotes.get(i);
+                String memberId = memberVote.getSourceId();
+                if (memberId == null || memberId.isBlank()) {
+                    continue;
+                }
+                int member = memberSlot(memberId);
+                byte outcome = classify(memberVote.getVotePosition(), memberVote.getNotes());
+                for (int period : periods) {
+                    votesTotal[period][member]++;
+                    if (outcome == PARTICIPATED) {
+                        votesParticipated[period][member]++;
+                    }
+                    if (outcome != NOT_PRESENT) {
+                        presentBits[period][member >>> 6] |= 1L << member;
+                    }
+                    if (startDate != null) {
+                        if (occurrence < firstOccurrence[period][member]) {
+                            firstOccurrence[period][member] = occurrence;
+                        }
+                        if (occurrence > lastOccurrence[period][member]) {
+                            lastOccurrence[period][member] = occurrence;
+                        }
+                    }
+                }
+            }
+        }
+
+        void addPeriodCounters(MemberPeriodCounters counters) {
+            String memberId = counters.memberId();
+            if (memberId == null || memberId.isBlank() || counters.votesTotal() <= 0) {
+                return;
+            }
+            int member = memberSlot(memberId);
+            // Mid-month stands in for the month's votes when mapping it onto sessions and Congresses.
+            Instant representative = counters.year() == null || counters.month() == null
+                    ? scheme.undatedAt
+                    : LocalDate.of(counters.year(), counters.month(), 15).atStartOfDay().toInstant(ZoneOffset.UTC);
+            for (int period : periodSlots(scheme.periodKeys(representative, false))) {
+                votesTotal[period][member] += counters.votesTotal();
+                votesParticipated[period][member] += counters.votesParticipated();
+                if (counters.present()) {
+                    presentBits[period][member >>> 6] |= 1L << member;
+                }
+                if (counters.firstVote() != null) {
+                    firstOccurrence[period][member] =
+                            Math.min(firstOccurrence[period][member], counters.firstVote().toEpochMilli());
+                }
+                if (counters.lastVote() != null) {
+                    lastOccurrence[period][member] =
+                            Math.max(lastOccurrence[period][member], counters.lastVote().toEpochMilli());
+                }
+            }
+        }
+
+        void recordVotes(int voteRecords, Instant update) {
+            voteRecordCount += voteRecords;
+            if (update != null && (latestUpdate == null || update.isAfter(latestUpdate))) {
+                latestUpdate = update;
+            }
+        }
+
+        /**
+         * Folds another accumulator's counters into this one. The other accumulator must not be used afterwards, and
+         * must not have evicted any period.
+         */
+        void merge(Accumulator other) {
+            if (!other.evictedHistory.isEmpty()) {
+                throw new IllegalStateException("Cannot merge an accumulator that evicted periods");
+            }
+            recordVotes(other.voteRecordCount, other.latestUpdate);
+            // Members first: allocating a new period slot sizes its arrays from the member capacity.
+            int[] memberMapping = new int[other.memberCount];
+            for (int member = 0; member < other.memberCount; member++) {
+                memberMapping[member] = memberSlot(other.memberIds[member]);
+            }
+            for (int otherSlot = 0; otherSlot < other.periodCount; otherSlot++) {
+                int slot = periodSlot(other.periodKeys[otherSlot]);
+                int[] otherTotals = other.votesTotal[otherSlot];
+                for (int member = 0; member < other.memberCount; member++) {
+                    if (otherTotals[member] == 0) {
+                        continue;
+                    }
+                    int target = memberMapping[member];
+                    votesTotal[slot][target] += otherTotals[member];
+                    votesParticipated[slot][target] += other.votesParticipated[otherSlot][member];
+                    if ((other.presentBits[otherSlot][member >>> 6] & (1L << member)) != 0) {
+                        presentBits[slot][target >>> 6] |= 1L << target;
+                    }
+                    firstOccurrence[slot][target] =
+                            Math.min(firstOccurrence[slot][target], other.firstOccurrence[otherSlot][member]);
+                    lastOccurrence[slot][target] =
+                            Math.max(lastOccurrence[slot][target], other.lastOccurrence[otherSlot][member]);
+                }
+            }
+        }
+
+        AttendanceComputation finish(int periodHistoryLimit) {
+            Integer[] boxedOrder = new Integer[periodCount];
+            for (int i = 0; i < periodCount; i++) {
+                boxedOrder[i] = i;
+            }
+            // Sorting by key groups periods by granularity, oldest first within each granularity.
+            Arrays.sort(boxedOrder, (left, right) -> Long.compare(periodKeys[left], periodKeys[right]));
+            int[] order = new int[periodCount];
+            AttendanceGranularity[] granularities = new AttendanceGranularity[periodCount];
+            String[] labels = new String[periodCount];
+            Instant[] defaultStarts = new Instant[periodCount];
+            Instant[] defaultEnds = new Instant[periodCount];
+            for (int i = 0; i < periodCount; i++) {
+                int slot = boxedOrder[i];
+                order[i] = slot;
+                AttendanceGranularity granularity = granularityOf(periodKeys[slot]);
+                int value = (int) periodKeys[slot];
+                granularities[slot] = granularity;
+                labels[slot] = periodLabel(granularity, value);
+                defaultStarts[slot] = periodStart(granularity, value);
+                defaultEnds[slot] = periodEnd(granularity, value);
+            }
+
+            Map<String, AttendanceStatistics> results = new HashMap<>(Math.max(16, memberCount * 2));
+            for (int member = 0; member < memberCount; member++) {
+                int sessionsTotal = evictedSessionsTotal[member];
+                int sessionsAttended = evictedSessionsAttended[member];
+                int votesParticipatedTotal = evictedVotesParticipated[member];
+                int votesCastTotal = evictedVotesTotal[member];
+                List<AttendanceSnapshotData> history = new ArrayList<>();
+                int i = 0;
+                // Slots are ordered by granularity; evicted snapshots precede the live slots of their granularity.
+                for (AttendanceGranularity granularity : scheme.counted) {
+                    int granularityStart = history.size();
+                    boolean reported = scheme.reported.contains(granularity);
+                    if (reported) {
+                        ArrayDeque<AttendanceSnapshotData> evicted = evictedHistory.get(historyKey(member, granularity));
+                        if (evicted != null) {
+                            history.addAll(evicted);
+                        }
+                    }
+                    for (; i < order.length && granularities[order[i]] == granularity; i++) {
+                        int slot = order[i];
+                        int total = votesTotal[slot][member];
+                        if (total == 0) {
+                            continue;
+                        }
+                        boolean present = isPresent(slot, member);
+                        if (granularity == AttendanceGranularity.MONTH) {
+                            sessionsTotal++;
+                            if (present) {
+                                sessionsAttended++;
+                            }
+                            votesParticipatedTotal += votesParticipated[slot][member];
+                            votesCastTotal += total;
+                        }
+                        if (reported) {
+                            history.add(snapshot(slot, member, granularity, labels[slot], defaultStarts[slot], defaultEnds[slot]));
+                        }
+                    }
+                    trimHistory(history, granularityStart, periodHistoryLimit);
+                }
+                if (sessionsTotal == 0) {
+                    continue;
+                }
+
+                int presenceScore = Math.round((sessionsAttended * 100f) / sessionsTotal);
+                int participationScore = votesCastTotal == 0 ? 0 : Math.round((votesParticipatedTotal * 100f) / votesCastTotal);
+                AttendanceCounters summary = new AttendanceCounters(
+                        sessionsAttended, sessionsTotal, votesParticipatedTotal, votesCastTotal, presenceScore, participationScore);
+                results.put(memberIds[member], new AttendanceStatistics(summary, history));
+            }
+            return new AttendanceComputation(results, latestUpdate, voteRecordCount);
+        }
+
+        /**
+         * Evicts every period that ended before {@code boundary}, oldest first. Each member's monthly counters are
+         * folded into their running totals, and at most {@code retained} of their newest snapshots per granularity
+         * are kept for the history. Callers must not add votes before {@code boundary} afterwards.
+         *
+         * @param boundary epoch milliseconds no vote still to be added precedes
+         * @param retained snapshots to keep per member and granularity, at least the history limit used to finish
+         */
+        void evictEndedBefore(long boundary, int retained) {
+            if (boundary <= earliestPeriodEnd) {
+                return;
             }
-            if (isPresent(voteCast)) {
-                present = true;
+            List<Integer> evicted = new ArrayList<>();
+            for (int slot = 0; slot < periodCount; slot++) {
+                if (periodEnds[slot] < boundary) {
+                    evicted.add(slot);
+                }
             }
-            if (occurrence != null) {
-                if (minInstant == null || occurrence.isBefore(minInstant)) {
-                    minInstant = occurrence;
+            // Oldest first, so each member's snapshots stay in period order.
+            evicted.sort((left, right) -> Long.compare(periodKeys[left], periodKeys[right]));
+            for (int slot : evicted) {
+                AttendanceGranularity granularity = granularityOf(periodKeys[slot]);
+                boolean reported = scheme.reported.contains(granularity);
+                int value = (int) periodKeys[slot];
+                String label = periodLabel(granularity, value);
+                Instant defaultStart = periodStart(granularity, value);
+                Instant defaultEnd = periodEnd(granularity, value);
+                for (int member = 0; member < memberCount; member++) {
+                    int total = votesTotal[slot][member];
+                    if (total == 0) {
+                        continue;
+                    }
+                    if (granularity == AttendanceGranularity.MONTH) {
+                        evictedSessionsTotal[member]++;
+                        if (isPresent(slot, member)) {
+                            evictedSessionsAttended[member]++;
+                        }
+                        evictedVotesParticipated[member] += votesParticipated[slot][member];
+                        evictedVotesTotal[member] += total;
+                    }
+                    if (reported) {
+                        ArrayDeque<AttendanceSnapshotData> snapshots = evictedHistory.computeIfAbsent(
+                                historyKey(member, granularity), ignored -> new ArrayDeque<>());
+                        snapshots.addLast(snapshot(slot, member, granularity, label, defaultStart, defaultEnd));
+                        if (snapshots.size() > retained) {
+                            snapshots.removeFirst();
+                        }
+                    }
                 }
-                if (maxInstant == null || occurrence.isAfter(maxInstant)) {
-                    maxInstant = occurrence;
+            }
+            int kept = 0;
+            earliestPeriodEnd = Long.MAX_VALUE;
+            periodSlotsByKey.clear();
+            for (int slot = 0; slot < periodCount; slot++) {
+                if (periodEnds[slot] < boundary) {
+                    continue;
                 }
+                periodSlotsByKey.put(periodKeys[slot], kept);
+                periodKeys[kept] = periodKeys[slot];
+                periodEnds[kept] = periodEnds[slot];
+                votesTotal[kept] = votesTotal[slot];
+                votesParticipated[kept] = votesParticipated[slot];
+                presentBits[kept] = presentBits[slot];
+                firstOccurrence[kept] = firstOccurrence[slot];
+                lastOccurrence[kept] = lastOccurrence[slot];
+                earliestPeriodEnd = Math.min(earliestPeriodEnd, periodEnds[kept]);
+                kept++;
             }
+            for (int slot = kept; slot < periodCount; slot++) {
+                votesTotal[slot] = null;
+                votesParticipated[slot] = null;
+                presentBits[slot] = null;
+                firstOccurrence[slot] = null;
+                lastOccurrence[slot] = null;
+            }
+            periodCount = kept;
+        }
+
+        int periodSlotCount() {
+            return periodCount;
         }
 
-        AttendanceSnapshotData snapshot() {
-            int sessionsAttended = present ? 1 : 0;
-            int sessionsTotal = 1;
-            int presenceScore = present ? 100 : 0;
-            int participationScore = votesTotal == 0 ? 0 : Math.round((votesParticipated * 100f) / votesTotal);
+        private boolean isPresent(int slot, int member) {
+            return (presentBits[slot][member >>> 6] & (1L << member)) != 0;
+        }
+
+        private AttendanceSnapshotData snapshot(
+                int slot,
+                int member,
+                AttendanceGranularity granularity,
+                String label,
+                Instant defaultStart,
+                Instant defaultEnd) {
+            int total = votesTotal[slot][member];
+            int participated = votesParticipated[slot][member];
+            boolean present = isPresent(slot, member);
             AttendanceCounters counters = new AttendanceCounters(
-                    sessionsAttended,
-                    sessionsTotal,
-                    votesParticipated,
-                    votesTotal,
-                    presenceScore,
-                    participationScore);
-            Instant start = minInstant != null
-                    ? minInstant
-                    : period.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
-            Instant end = maxInstant != null
-                    ? maxInstant
-                    : period.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).minusSeconds(1);
-            String label = "%04d-%02d".formatted(period.getYear(), period.getMonthValue());
-            return new AttendanceSnapshotData(label, start, end, counters);
+                    present ? 1 : 0,
+                    1,
+                    participated,
+                    total,
+                    present ? 100 : 0,
+                    Math.round((participated * 100f) / total));
+            long first = firstOccurrence[slot][member];
+            long last = lastOccurrence[slot][member];
+            return new AttendanceSnapshotData(
+                    granularity,
+                    label,
+                    first == NO_OCCURRENCE_MIN ? defaultStart : Instant.ofEpochMilli(first),
+                    last == NO_OCCURRENCE_MAX ? defaultEnd : Instant.ofEpochMilli(last),
+                    counters);
+        }
+
+        private static long historyKey(int member, AttendanceGranularity granularity) {
+            return ((long) member << 8) | granularity.getNumber();
         }
 
-        YearMonth getPeriod() {
-            return period;
+        private int memberSlot(String memberId) {
+            Integer code = memberCodes.get(memberId);
+            if (code != null) {
+                return code;
+            }
+            int member = memberCount++;
+            if (member == memberIds.length) {
+                growMembers(memberIds.length * 2);
+            }
+            memberIds[member] = memberId;
+            memberCodes.put(memberId, member);
+            return member;
+        }
+
+        private int[] periodSlots(long[] keys) {
+            int[] slots = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                slots[i] = periodSlot(keys[i]);
+            }
+            return slots;
+        }
+
+        /**
+         * Keeps only the newest {@code limit} snapshots among {@code history[from..]}, all of one granularity.
+         */
+        private static void trimHistory(List<AttendanceSnapshotData> history, int from, int limit) {
+            int excess = history.size() - from - limit;
+            if (limit > 0 && excess > 0) {
+                history.subList(from, from + excess).clear();
+            }
+        }
+
+        private int periodSlot(long periodKey) {
+            // Votes arrive roughly in date order, so the most recent slot is the common hit.
+            if (periodCount > 0 && periodKeys[periodCount - 1] == periodKey) {
+                return periodCount - 1;
+            }
+            Integer existing = periodSlotsByKey.get(periodKey);
+            if (existing != null) {
+                return existing;
+            }
+            int slot = periodCount++;
+            periodSlotsByKey.put(periodKey, slot);
+            if (slot == periodKeys.length) {
+                int capacity = periodKeys.length * 2;
+                periodKeys = Arrays.copyOf(periodKeys, capacity);
+                periodEnds = Arrays.copyOf(periodEnds, capacity);
+                votesTotal = Arrays.copyOf(votesTotal, capacity);
+                votesParticipated = Arrays.copyOf(votesParticipated, capacity);
+                presentBits = Arrays.copyOf(presentBits, capacity);
+                firstOccurrence = Arrays.copyOf(firstOccurrence, capacity);
+                lastOccurrence = Arrays.copyOf(lastOccurrence, capacity);
+            }
+            periodKeys[slot] = periodKey;
+            Instant end = periodEnd(granularityOf(periodKey), (int) periodKey);
+            periodEnds[slot] = end == null ? Long.MAX_VALUE : end.toEpochMilli();
+            earliestPeriodEnd = Math.min(earliestPeriodEnd, periodEnds[slot]);
+            int members = memberIds.length;
+            votesTotal[slot] = new int[members];
+            votesParticipated[slot] = new int[members];
+            presentBits[slot] = new long[bitWords(members)];
+            firstOccurrence[slot] = filled(members, NO_OCCURRENCE_MIN);
+            lastOccurrence[slot] = filled(members, NO_OCCURRENCE_MAX);
+            return slot;
+        }
+
+        private void growMembers(int capacity) {
+            int previous = memberIds.length;
+            memberIds = Arrays.copyOf(memberIds, capacity);
+            evictedSessionsTotal = Arrays.copyOf(evictedSessionsTotal, capacity);
+            evictedSessionsAttended = Arrays.copyOf(evictedSessionsAttended, capacity);
+            evictedVotesParticipated = Arrays.copyOf(evictedVotesParticipated, capacity);
+            evictedVotesTotal = Arrays.copyOf(evictedVotesTotal, capacity);
+            for (int slot = 0; slot < periodCount; slot++) {
+                votesTotal[slot] = Arrays.copyOf(votesTotal[slot], capacity);
+                votesParticipated[slot] = Arrays.copyOf(votesParticipated[slot], capacity);
+                presentBits[slot] = Arrays.copyOf(presentBits[slot], bitWords(capacity));
+                firstOccurrence[slot] = Arrays.copyOf(firstOccurrence[slot], capacity);
+                Arrays.fill(firstOccurrence[slot], previous, capacity, NO_OCCURRENCE_MIN);
+                lastOccurrence[slot] = Arrays.copyOf(lastOccurrence[slot], capacity);
+                Arrays.fill(lastOccurrence[slot], previous, capacity, NO_OCCURRENCE_MAX);
+            }
+        }
+
+        private static int bitWords(int members) {
+            return (members + 63) >>> 6;
+        }
+
+        private static long[] filled(int length, long value) {
+            long[] values = new long[length];
+            Arrays.fill(values, value);
+            return values;
         }
     }
 
-    private static boolean isPresent(String voteCast) {
-        if (voteCast == null) {
-            return false;
+    /**
+     * Accepts vote records one at a time. Records are buffered into partitions that are accumulated on the pool while
+     * the caller keeps reading; at most one partition per pool thread (plus the one being filled) is retained, and
+     * finished partitions are merged into a single accumulator as they complete.
+     *
+     * <p>With a positive {@code retainedPeriods}, records must arrive in start date order (undated records may come at
+     * any point). Periods that ended before the earliest record not yet merged are then evicted from the merged
+     * accumulator, so it holds the periods still being voted in rather than every period of the stored history.
+     */
+    static final class StreamingAccumulator implements Consumer<VoteRecord> {
+
+        private final ForkJoinPool pool;
+        private final int partitionSize;
+        private final int maxInFlight;
+        private final int retainedPeriods;
+        private final long undatedAt;
+        private final Accumulator merged;
+        private final Deque<Partition> inFlight = new ArrayDeque<>();
+        private List<VoteRecord> partition;
+        private long partitionEarliest = Long.MAX_VALUE;
+        private long latestRead = Long.MIN_VALUE;
+        private long evictedBefore = Long.MIN_VALUE;
+        private boolean finished;
+
+        StreamingAccumulator(ForkJoinPool pool, int partitionSize) {
+            this(pool, partitionSize, MONTHLY);
+        }
+
+        StreamingAccumulator(ForkJoinPool pool, int partitionSize, Set<AttendanceGranularity> granularities) {
+            this(pool, partitionSize, granularities, 0);
+        }
+
+        /**
+         * @param retainedPeriods history limit the computation finishes with; {@code 0} keeps every period and
+         *     accepts records in any order
+         */
+        StreamingAccumulator(
+                ForkJoinPool pool,
+                int partitionSize,
+                Set<AttendanceGranularity> granularities,
+                int retainedPeriods) {
+            if (partitionSize <= 0) {
+                throw new IllegalArgumentException("partitionSize must be positive");
+            }
+            if (retainedPeriods < 0) {
+                throw new IllegalArgumentException("retainedPeriods must not be negative");
+            }
+            this.pool = pool;
+            this.partitionSize = partitionSize;
+            this.maxInFlight = pool == null ? 0 : Math.max(1, pool.getParallelism());
+            this.retainedPeriods = retainedPeriods;
+            this.merged = new Accumulator(PeriodScheme.of(granularities));
+            // Undated records count towards the current periods, which therefore are never evicted.
+            this.undatedAt = merged.scheme.undatedAt.toEpochMilli();
+            this.partition = new ArrayList<>(partitionSize);
+        }
+
+        @Override
+        public void accept(VoteRecord vote) {
+            if (finished) {
+                throw new IllegalStateException("Streaming attendance computation already finished");
+            }
+            long startedAt = vote == null || vote.startDate() == null ? Long.MAX_VALUE : vote.startDate().toEpochMilli();
+            if (startedAt != Long.MAX_VALUE) {
+                if (startedAt < evictedBefore) {
+                    throw new IllegalArgumentException("Vote records must arrive in start date order");
+                }
+                latestRead = Math.max(latestRead, startedAt);
+            }
+            if (pool == null || maxInFlight <= 1) {
+                merged.add(vote);
+                evictEndedPeriods();
+                return;
+            }
+            partition.add(vote);
+            partitionEarliest = Math.min(partitionEarliest, startedAt);
+            if (partition.size() == partitionSize) {
+                submit();
+            }
+        }
+
+        /**
+         * Waits for outstanding partitions and builds the statistics. The accumulator cannot be fed afterwards.
+         */
+        AttendanceComputation finish(int periodHistoryLimit) {
+            if (finished) {
+                throw new IllegalStateException("Streaming attendance computation already finished");
+            }
+            if (retainedPeriods > 0 && (periodHistoryLimit <= 0 || periodHistoryLimit > retainedPeriods)) {
+                throw new IllegalArgumentException(
+                        "periodHistoryLimit " + periodHistoryLimit + " exceeds the " + retainedPeriods + " periods retained");
+            }
+            finished = true;
+            for (VoteRecord vote : partition) {
+                merged.add(vote);
+            }
+            partition = List.of();
+            while (!inFlight.isEmpty()) {
+                merged.merge(inFlight.removeFirst().accumulated().join());
+            }
+            return merged.finish(periodHistoryLimit);
         }
-        String normalized = voteCast.trim().toUpperCase(Locale.ROOT);
-        if (normalized.isEmpty()) {
-            return false;
+
+        /**
+         * Period slots the merged accumulator currently holds.
+         */
+        int periodSlotCount() {
+            return merged.periodSlotCount();
         }
-        return !normalized.contains("NOT VOTING");
+
+        private void submit() {
+            List<VoteRecord> records = partition;
+            partition = new ArrayList<>(partitionSize);
+            PeriodScheme scheme = merged.scheme;
+            inFlight.addLast(new Partition(pool.submit(() -> {
+                Accumulator accumulator = new Accumulator(scheme);
+                for (VoteRecord vote : records) {
+                    accumulator.add(vote);
+                }
+                return accumulator;
+            }), partitionEarliest));
+            partitionEarliest = Long.MAX_VALUE;
+            // Bound memory: fold the oldest partition in before reading further ahead.
+            while (inFlight.size() > maxInFlight) {
+                merged.merge(inFlight.removeFirst().accumulated().join());
+            }
+            evictEndedPeriods();
+        }
+
+        /**
+         * Evicts the periods that ended before every record not yet merged, and before every record still to come.
+         */
+        private void evictEndedPeriods() {
+            if (retainedPeriods == 0 || latestRead == Long.MIN_VALUE) {
+                return;
+            }
+            long boundary = Math.min(Math.min(latestRead, partitionEarliest), undatedAt);
+            for (Partition pending : inFlight) {
+                boundary = Math.min(boundary, pending.earliest());
+            }
+            if (boundary > evictedBefore) {
+                merged.evictEndedBefore(boundary, retainedPeriods);
+                evictedBefore = boundary;
+            }
+        }
+
+        /**
+         * A partition being accumulated on the pool, with the earliest start date among its records.
+         */
+        private record Partition(ForkJoinTask<Accumulator> accumulated, long earliest) {}
     }
 
-    private static boolean isParticipatory(String voteCast) {
-        if (voteCast == null) {
-            return false;
+    /**
+     * Accumulates a contiguous range of vote records, splitting it in half until ranges fit one partition.
+     */
+    private static final class AccumulateTask extends RecursiveTask<Accumulator> {
+
+        private final List<VoteRecord> votes;
+        private final int from;
+        private final int to;
+        private final int partitionSize;
+        private final PeriodScheme scheme;
+
+        AccumulateTask(List<VoteRecord> votes, int from, int to, int partitionSize, PeriodScheme scheme) {
+            this.votes = votes;
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+            this.scheme = scheme;
         }
-        String normalized = voteCast.trim().toUpperCase(Locale.ROOT);
-        return switch (normalized) {
-            case "YEA", "NAY", "AYE", "NO", "YEA AND NAY", "AYE AND NAY" -> true;
-            default -> false;
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= partitionSize) {
+                Accumulator accumulator = new Accumulator(scheme);
+                for (int i = from; i < to; i++) {
+                    accumulator.add(votes.get(i));
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            AccumulateTask left = new AccumulateTask(votes, from, middle, partitionSize, scheme);
+            left.fork();
+            Accumulator right = new AccumulateTask(votes, middle, to, partitionSize, scheme).compute();
+            Accumulator merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    /**
+     * Reduces a member vote to its attendance outcome through the classification the vote matrix and metric plugins
+     * share, so all of them agree on who participated.
+     */
+    private static byte classify(VotePosition position, String notes) {
+        VoteCode code = VoteCode.of(position, notes);
+        if (code.participated()) {
+            return PARTICIPATED;
+        }
+        return code.present() ? PRESENT : NOT_PRESENT;
+    }
+
+    /**
+     * Whether a member vote counts towards attendance: any recorded ballot or a {@code Present} note.
+     */
+    static boolean isPresent(MemberVote memberVote) {
+        return classify(memberVote.getVotePosition(), memberVote.getNotes()) != NOT_PRESENT;
+    }
+
+    /**
+     * Whether a member vote counts as participation, that is a yea or nay.
+     */
+    static boolean hasParticipated(MemberVote memberVote) {
+        return classify(memberVote.getVotePosition(), memberVote.getNotes()) == PARTICIPATED;
+    }
+
+    /**
+     * The granularities one computation counts into and the instant undated votes are attributed to. Months are always
+     * counted because the summary is derived from them, even when they are not reported.
+     */
+    static final class PeriodScheme {
+
+        private final AttendanceGranularity[] counted;
+        private final Set<AttendanceGranularity> reported;
+        private final Instant undatedAt;
+
+        private PeriodScheme(Set<AttendanceGranularity> reported, Instant undatedAt) {
+            this.reported = reported;
+            EnumSet<AttendanceGranularity> counted = EnumSet.copyOf(reported);
+            counted.add(AttendanceGranularity.MONTH);
+            this.counted = counted.toArray(AttendanceGranularity[]::new);
+            this.undatedAt = undatedAt;
+        }
+
+        static PeriodScheme of(Set<AttendanceGranularity> granularities) {
+            EnumSet<AttendanceGranularity> reported = EnumSet.noneOf(AttendanceGranularity.class);
+            for (AttendanceGranularity granularity : granularities) {
+                if (granularity != AttendanceGranularity.ATTENDANCE_GRANULARITY_UNSPECIFIED
+                        && granularity != AttendanceGranularity.UNRECOGNIZED) {
+                    reported.add(granularity);
+                }
+            }
+            // Undated votes land in the current month, as they always have.
+            Instant undatedAt = YearMonth.now(ZoneOffset.UTC).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            return new PeriodScheme(reported, undatedAt);
+        }
+
+        /**
+         * Returns one period key per counted granularity for a vote at {@code instant}.
+         *
+         * @param includeWeeks {@code false} for monthly counters, which cannot be split into weeks
+         */
+        long[] periodKeys(Instant instant, boolean includeWeeks) {
+            LocalDate date = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+            long[] keys = new long[counted.length];
+            int count = 0;
+            for (AttendanceGranularity granularity : counted) {
+                if (granularity == AttendanceGranularity.WEEK && !includeWeeks) {
+                    continue;
+                }
+                keys[count++] = periodKey(granularity, periodValue(granularity, date));
+            }
+            return count == keys.length ? keys : Arrays.copyOf(keys, count);
+        }
+    }
+
+    private static long periodKey(AttendanceGranularity granularity, int value) {
+        return ((long) granularity.getNumber() << 32) | (value & 0xFFFF_FFFFL);
+    }
+
+    private static AttendanceGranularity granularityOf(long periodKey) {
+        return AttendanceGranularity.forNumber((int) (periodKey >>> 32));
+    }
+
+    /**
+     * Encodes the period containing {@code date}: weeks since the Monday of 1969-12-29, months since year 0, the
+     * calendar year a session starts in, or the Congress number.
+     */
+    private static int periodValue(AttendanceGranularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case WEEK -> (int) Math.floorDiv(date.toEpochDay() + 3, 7);
+            case MONTH -> date.getYear() * 12 + date.getMonthValue() - 1;
+            case SESSION -> sessionYear(date);
+            case CONGRESS -> Math.floorDiv(sessionYear(date) - FIRST_CONGRESS_YEAR, 2) + 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Sessions convene on January 3, so votes on January 1 and 2 belong to the previous year's session.
+     */
+    private static int sessionYear(LocalDate date) {
+        return date.getMonthValue() == 1 && date.getDayOfMonth() < CONGRESS_START_DAY
+                ? date.getYear() - 1
+                : date.getYear();
+    }
+
+    private static String periodLabel(AttendanceGranularity granularity, int value) {
+        return switch (granularity) {
+            case WEEK -> {
+                LocalDate monday = weekStart(value);
+                yield "%04d-W%02d".formatted(
+                        monday.get(IsoFields.WEEK_BASED_YEAR), monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            }
+            case MONTH -> "%04d-%02d".formatted(Math.floorDiv(value, 12), Math.floorMod(value, 12) + 1);
+            case SESSION -> "%s Congress, session %d".formatted(
+                    ordinal(Math.floorDiv(value - FIRST_CONGRESS_YEAR, 2) + 1),
+                    Math.floorMod(value - FIRST_CONGRESS_YEAR, 2) + 1);
+            case CONGRESS -> "%s Congress".formatted(ordinal(value));
+            default -> "All time";
+        };
+    }
+
+    private static Instant periodStart(AttendanceGranularity granularity, int value) {
+        LocalDate start = switch (granularity) {
+            case WEEK -> weekStart(value);
+            case MONTH -> LocalDate.of(Math.floorDiv(value, 12), Math.floorMod(value, 12) + 1, 1);
+            case SESSION -> LocalDate.of(value, 1, CONGRESS_START_DAY);
+            case CONGRESS -> LocalDate.of(FIRST_CONGRESS_YEAR + (value - 1) * 2, 1, CONGRESS_START_DAY);
+            default -> null;
+        };
+        return start == null ? null : start.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    private static Instant periodEnd(AttendanceGranularity granularity, int value) {
+        Instant start = periodStart(granularity, value);
+        if (start == null) {
+            return null;
+        }
+        LocalDate next = switch (granularity) {
+            case WEEK -> weekStart(value).plusWeeks(1);
+            case MONTH -> LocalDate.ofInstant(start, ZoneOffset.UTC).plusMonths(1);
+            case SESSION -> LocalDate.ofInstant(start, ZoneOffset.UTC).plusYears(1);
+            default -> LocalDate.ofInstant(start, ZoneOffset.UTC).plusYears(2);
+        };
+        return next.atStartOfDay().toInstant(ZoneOffset.UTC).minusSeconds(1);
+    }
+
+    private static LocalDate weekStart(int epochWeek) {
+        return LocalDate.ofEpochDay(epochWeek * 7L - 3);
+    }
+
+    private static String ordinal(int number) {
+        int lastTwo = number % 100;
+        String suffix = lastTwo >= 11 && lastTwo <= 13 ? "th" : switch (number % 10) {
+            case 1 -> "st";
+            case 2 -> "nd";
+            case 3 -> "rd";
+            default -> "th";
         };
+        return number + suffix;
     }
 }
@@ -1,28 +1,51 @@
 package com.beacon.ingest.usafed.service;
 
+import com.beacon.common.accountability.MemberVoteCodec;
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.common.accountability.v1.AttendanceGranularity;
 import com.beacon.common.accountability.v1.AttendanceSnapshot;
 import com.beacon.common.accountability.v1.AttendanceSummary;
 import com.beacon.common.accountability.v1.ChamberType;
 import com.beacon.common.accountability.v1.LegislativeBody;
 import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.OfficeStatus;
 import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
 import com.beacon.common.accountability.v1.PublicOfficial;
 import com.beacon.common.accountability.v1.VotePosition;
 import com.beacon.common.accountability.v1.VotingRecord;
+import com.beacon.common.topics.AccountabilityEventType;
 import com.beacon.congress.client.CongressGovClient;
 import com.beacon.congress.client.CongressGovClientException;
+import com.beacon.ingest.usafed.config.AttendanceProperties;
 import com.beacon.ingest.usafed.config.CongressApiProperties;
+import com.beacon.ingest.usafed.metrics.MetricPlugin;
+import com.beacon.ingest.usafed.metrics.MetricStream;
+import com.beacon.ingest.usafed.metrics.VoteEvent;
 import com.beacon.ingest.usafed.publisher.AccountabilityEventPublisher;
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceRanks;
+import com.beacon.stateful.mongo.AttendanceRollupRepository;
+import com.beacon.stateful.mongo.AttendanceTimeline;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
 import com.beacon.stateful.mongo.LegislativeBodyRepository;
+import com.beacon.stateful.mongo.MetricCheckpointRepository;
+import com.beacon.stateful.mongo.PartyUnityRepository;
 import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteMatrix;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
 import com.beacon.stateful.mongo.VotingRecordRepository;
 import com.beacon.stateful.mongo.VotingRecordRepository.PersistedVotingRecord;
 import com.beacon.stateful.mongo.sync.RosterEntry;
 import com.beacon.stateful.mongo.sync.RosterSynchronizationService;
 import com.beacon.stateful.mongo.sync.RosterSynchronizationService.SyncResult;
 import com.google.protobuf.Timestamp;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,8 +56,24 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -46,6 +85,12 @@ public class FederalIngestionService {
     private static final String LOCK_NAMESPACE = "legislative-roster";
     private static final String INGESTION_SOURCE = "congress.gov";
     private static final int ATTENDANCE_HISTORY_LIMIT = 24;
+    private static final int VOTE_LOCK_STRIPES = 64;
+    private static final Comparator<CongressGovClient.HouseVoteSummary> NEWEST_VOTE_FIRST = Comparator
+            .comparing(CongressGovClient.HouseVoteSummary::startDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(CongressGovClient.HouseVoteSummary::sessionNumber)
+            .thenComparingInt(CongressGovClient.HouseVoteSummary::rollCallNumber)
+            .reversed();
 
     private final AccountabilityEventPublisher publisher;
     private final CongressApiProperties properties;
@@ -54,7 +99,43 @@ public class FederalIngestionService {
     private final PublicOfficialRepository publicOfficialRepository;
     private final LegislativeBodyRepository legislativeBodyRepository;
     private final VotingRecordRepository votingRecordRepository;
+    private final AttendanceRollupRepository attendanceRollupRepository;
+    private final AttendanceTimelineRepository attendanceTimelineRepository;
+    private final AttendanceRankRepository attendanceRankRepository;
+    private final VoteMatrixRepository voteMatrixRepository;
+    private final PartyUnityRepository partyUnityRepository;
+    private final MetricCheckpointRepository metricCheckpointRepository;
+    private final List<MetricPlugin> metricPlugins;
     private final LegislationSummaryService legislationSummaryService;
+    private final MeterRegistry meterRegistry;
+    private final AttendanceProperties attendanceProperties;
+    // One task per legislative body, so a slow chamber never delays the others.
+    private final ExecutorService bodyExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Per-body locks of the roster stage, and of the vote stages (latest votes, detail, attendance) that write a
+    // body's votes and recompute its attendance. Kept apart so a roster scan never holds up fresh votes.
+    private final Map<String, ReentrantLock> rosterLocks = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> voteStageLocks = new ConcurrentHashMap<>();
+    // Vote writes that keep derived state current (rollup deltas, vote matrix columns) hold a body's read lock;
+    // rebuilding that state from the stored votes holds its write lock.
+    private final Map<String, ReentrantReadWriteLock> derivedStateLocks = new ConcurrentHashMap<>();
+    private final Set<String> builtRollups = ConcurrentHashMap.newKeySet();
+    private final Set<String> builtVoteMatrices = ConcurrentHashMap.newKeySet();
+    // Party-unity counters of each body whose counters are built; vote writes update them under the engine's monitor.
+    private final Map<String, PartyUnityEngine> partyUnityEngines = new ConcurrentHashMap<>();
+    // Windowed metric state of each body, restored from its checkpoint on first use; guarded by the stream's monitor.
+    private final Map<String, MetricStream> metricStreams = new ConcurrentHashMap<>();
+    private final ReentrantLock[] voteLocks = newVoteLocks();
+    // Work handed between stages; each stage may run on its own scheduler lane.
+    private final Map<String, PendingHouseVote> pendingHouseVotes = new ConcurrentHashMap<>();
+    private final Map<String, LegislativeBody> attendanceDirtyBodies = new ConcurrentHashMap<>();
+    private final Map<String, PendingSummary> summaryBacklog = new ConcurrentHashMap<>();
+    // Votes known to carry a stored summary; re-ingesting them must not queue them for summarization again.
+    private final Set<String> summarizedVotes = ConcurrentHashMap.newKeySet();
+    // Update dates of fully ingested votes, so the fast lane can skip known votes without a Mongo round trip.
+    private final Map<String, Instant> knownVoteUpdates = new ConcurrentHashMap<>();
+    private final AtomicReference<Instant> latestHouseVoteStart = new AtomicReference<>();
+    private final AtomicReference<Instant> latestHouseVoteUpdate = new AtomicReference<>();
+    private final AtomicBoolean sessionMismatchWarned = new AtomicBoolean();
 
     public FederalIngestionService(
             AccountabilityEventPublisher publisher,
@@ -64,7 +145,16 @@ public class FederalIngestionService {
             PublicOfficialRepository publicOfficialRepository,
             LegislativeBodyRepository legislativeBodyRepository,
             VotingRecordRepository votingRecordRepository,
-            LegislationSummaryService legislationSummaryService) {
+            AttendanceRollupRepository attendanceRollupRepository,
+            AttendanceTimelineRepository attendanceTimelineRepository,
+            AttendanceRankRepository attendanceRankRepository,
+            VoteMatrixRepository voteMatrixRepository,
+            PartyUnityRepository partyUnityRepository,
+            MetricCheckpointRepository metricCheckpointRepository,
+            List<MetricPlugin> metricPlugins,
+            LegislationSummaryService legislationSummaryService,
+            MeterRegistry meterRegistry,
+            AttendanceProperties attendanceProperties) {
         this.publisher = publisher;
         this.properties = properties;
         this.congressGovClient = congressGovClient;
@@ -72,32 +162,129 @@ public class FederalIngestionService {
         this.publicOfficialRepository = publicOfficialRepository;
         this.legislativeBodyRepository = legislativeBodyRepository;
         this.votingRecordRepository = votingRecordRepository;
+        this.attendanceRollupRepository = attendanceRollupRepository;
+        this.attendanceTimelineRepository = attendanceTimelineRepository;
+        this.attendanceRankRepository = attendanceRankRepository;
+        this.voteMatrixRepository = voteMatrixRepository;
+        this.partyUnityRepository = partyUnityRepository;
+        this.metricCheckpointRepository = metricCheckpointRepository;
+        this.metricPlugins = List.copyOf(metricPlugins);
         this.legislationSummaryService = legislationSummaryService;
+        this.meterRegistry = meterRegistry;
+        this.attendanceProperties = attendanceProperties;
     }
 
-    public void refreshCongressRoster() {
-        Duration refreshInterval = properties.pollInterval();
+    @PreDestroy
+    public void shutdown() {
+        bodyExecutor.shutdownNow();
+    }
+
+    /**
+     * Synchronizes the roster of every legislative body when its stored copy is older than the poll interval. Bodies
+     * are synchronized concurrently.
+     */
+    public void refreshRoster() {
         LOGGER.info("Evaluating congressional roster freshness for {}th Congress", properties.congressNumber());
+        runPerBody("roster", legislativeBodies(), this::synchronizeRoster);
+    }
 
+    private List<LegislativeBody> legislativeBodies() {
         try {
-            List<LegislativeBody> bodies = congressGovClient.fetchLegislativeBodies(properties.congressNumber());
-            for (LegislativeBody body : bodies) {
-                Supplier<List<RosterEntry>> supplier = () -> toRosterEntries(body);
-                SyncResult result = rosterSynchronizationService.synchronizeIfStale(
-                        LOCK_NAMESPACE,
-                        body,
-                        refreshInterval,
-                        supplier);
-                handleSyncResult(body, result);
-                refreshAttendanceMetrics(body);
-            }
+            return congressGovClient.fetchLegislativeBodies(properties.congressNumber());
         } catch (CongressGovClientException ex) {
             LOGGER.warn(
                     "Congress.gov roster refresh skipped: {}. Verify CONGRESS_API_KEY or network access before retrying.",
                     ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private void synchronizeRoster(LegislativeBody body) {
+        Supplier<List<RosterEntry>> supplier = () -> toRosterEntries(body);
+        SyncResult result = rosterSynchronizationService.synchronizeIfStale(
+                LOCK_NAMESPACE,
+                body,
+                properties.pollInterval(),
+                supplier);
+        handleSyncResult(body, result);
+    }
+
+    /**
+     * Only House roll calls are ingested today; new chamber types join the vote stages by extending this check.
+     */
+    private static boolean ingestsVotes(LegislativeBody body) {
+        return body.getChamberType() == ChamberType.LOWER;
+    }
+
+    /**
+     * Runs {@code task} for every body concurrently and waits for all of them. A body whose roster is already being
+     * synchronized in this instance is skipped, and a failure in one body never affects the others.
+     */
+    private void runPerBody(String stage, List<LegislativeBody> bodies, Consumer<LegislativeBody> task) {
+        List<Future<?>> futures = new ArrayList<>(bodies.size());
+        for (LegislativeBody body : bodies) {
+            futures.add(bodyExecutor.submit(() -> runForBody(stage, rosterLocks, body, target -> {
+                task.accept(target);
+                return 0;
+            })));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for {} tasks to finish", stage);
+                return;
+            } catch (ExecutionException ex) {
+                LOGGER.error("Unexpected failure in {} task", stage, ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Runs {@code task} for one body unless another task holding the same lock from {@code locks} is still running
+     * for it. Failures are logged rather than thrown, and each run is timed under {@code beacon.ingest.body.stage},
+     * tagged by stage, body, chamber and outcome.
+     *
+     * @return what the task returned, or {@code 0} when it was skipped or failed
+     */
+    private int runForBody(
+            String stage,
+            Map<String, ReentrantLock> locks,
+            LegislativeBody body,
+            ToIntFunction<LegislativeBody> task) {
+        ReentrantLock lock = locks.computeIfAbsent(body.getUuid(), ignored -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            LOGGER.debug("Skipping {} for {}; another task for this body is still running", stage, body.getName());
+            recordBodyStage(stage, body, "skipped", 0);
+            return 0;
+        }
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return task.applyAsInt(body);
+        } catch (CongressGovClientException ex) {
+            outcome = "failure";
+            LOGGER.warn("{} for {} failed due to upstream error: {}", stage, body.getName(), ex.getMessage());
         } catch (Exception ex) {
-            LOGGER.error("Unexpected failure while refreshing congressional roster", ex);
+            outcome = "failure";
+            LOGGER.error("Unexpected failure during {} for {}", stage, body.getName(), ex);
+        } finally {
+            lock.unlock();
+            recordBodyStage(stage, body, outcome, System.nanoTime() - start);
         }
+        return 0;
+    }
+
+    private void recordBodyStage(String stage, LegislativeBody body, String outcome, long nanos) {
+        Timer.builder("beacon.ingest.body.stage")
+                .description("Duration of per-legislative-body ingestion tasks")
+                .tag("stage", stage)
+                .tag("body", body.getSourceId().isBlank() ? body.getUuid() : body.getSourceId())
+                .tag("chamber", body.getChamberType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
     }
 
     private void handleSyncResult(LegislativeBody body, SyncResult result) {
@@ -128,20 +315,10 @@ public class FederalIngestionService {
         result.updatedOfficials().forEach(official -> publishRosterEvent(body, official, true));
     }
 
-    private void refreshAttendanceMetrics(LegislativeBody body) {
-        if (body.getChamberType() != ChamberType.LOWER) {
-            return;
-        }
-        try {
-            ingestHouseVotes(body);
-        } catch (CongressGovClientException ex) {
-            LOGGER.warn("Unable to compute attendance metrics for {}: {}", body.getName(), ex.getMessage());
-        } catch (Exception ex) {
-            LOGGER.error("Unexpected error computing attendance metrics for {}", body.getName(), ex);
-        }
-    }
-
-    private boolean updateOfficialAttendance(LegislativeBody body, String sourceId, AttendanceStatisticsCalculator.AttendanceStatistics stats) {
+    private Optional<PublicOfficial> updateOfficialAttendance(
+            LegislativeBody body,
+            String sourceId,
+            AttendanceStatisticsCalculator.AttendanceStatistics stats) {
         return publicOfficialRepository.findOfficialBySourceId(sourceId).map(official -> {
             AttendanceStatisticsCalculator.AttendanceCounters counters = stats.summary();
             AttendanceSummary.Builder summaryBuilder = AttendanceSummary.newBuilder()
@@ -159,6 +336,7 @@ public class FederalIngestionService {
             for (AttendanceStatisticsCalculator.AttendanceSnapshotData snapshot : stats.history()) {
                 AttendanceStatisticsCalculator.AttendanceCounters periodCounters = snapshot.counters();
                 AttendanceSnapshot.Builder snapshotBuilder = AttendanceSnapshot.newBuilder()
+                        .setGranularity(snapshot.granularity())
                         .setPeriodLabel(snapshot.periodLabel())
                         .setSessionsAttended(periodCounters.sessionsAttended())
                         .setSessionsTotal(periodCounters.sessionsTotal())
@@ -178,42 +356,51 @@ public class FederalIngestionService {
             PublicOfficial updated = builder.build();
             publicOfficialRepository.upsertOfficial(updated);
             publishRosterEvent(body, updated, true);
-            return true;
-        }).orElse(false);
+            return updated;
+        });
     }
 
     /**
-     * Ensures the local vote cache contains the latest roll call data and refreshes attendance metrics after each vote
-     * so downstream systems observe progress in real time.
+     * Compares the upstream House roll call listings with the local vote cache and queues every new or updated vote
+     * for the detail stage. Stored votes without a summary are queued for the summary stage at the same time.
+     *
+     * @return number of votes newly queued for detail ingestion
      */
-    private void ingestHouseVotes(LegislativeBody body) throws CongressGovClientException {
+    public int discoverHouseVotes() {
+        int queued = 0;
+        for (LegislativeBody body : houseBodies()) {
+            try {
+                queued += discoverHouseVotes(body);
+            } catch (CongressGovClientException ex) {
+                LOGGER.warn("Unable to discover House votes for {}: {}", body.getName(), ex.getMessage());
+            } catch (Exception ex) {
+                LOGGER.error("Unexpected error discovering House votes for {}", body.getName(), ex);
+            }
+        }
+        return queued;
+    }
+
+    private int discoverHouseVotes(LegislativeBody body) throws CongressGovClientException {
         int congressNumber = properties.congressNumber();
-        List<CongressGovClient.HouseVoteSummary> pendingSummaries = new ArrayList<>();
         int totalSummaries = 0;
-        Instant latestSummaryUpdate = null;
+        int queued = 0;
 
-        List<PersistedVotingRecord> existingRecords = votingRecordRepository.findByLegislativeBody(body.getUuid(), 0);
         Map<String, Instant> existingRecordUpdates = new HashMap<>();
         Map<String, Boolean> existingRecordCompleteness = new HashMap<>();
-        Map<String, String> existingRecordSummaries = new HashMap<>();
-        Map<String, PersistedVotingRecord> summaryBacklog = new LinkedHashMap<>();
-        for (PersistedVotingRecord record : existingRecords) {
-            String sourceId = record.votingRecord().getSourceId();
-            existingRecordUpdates.put(sourceId, record.updateDateUtc());
-            existingRecordCompleteness.put(sourceId, record.votingRecord().getMemberVotesCount() > 0);
-            String summary = Optional.ofNullable(record.summary()).map(String::trim).orElse("");
-            String normalizedSummary = summary.isBlank() ? null : summary;
-            existingRecordSummaries.put(sourceId, normalizedSummary);
-            if (normalizedSummary == null
-                    && record.legislationUrl() != null
-                    && !record.legislationUrl().isBlank()) {
-                summaryBacklog.put(sourceId, record);
-            }
-            if (record.updateDateUtc() != null
-                    && (latestSummaryUpdate == null || record.updateDateUtc().isAfter(latestSummaryUpdate))) {
-                latestSummaryUpdate = record.updateDateUtc();
-            }
-        }
+        votingRecordRepository.forEachFreshness(body.getUuid(), freshness -> {
+            existingRecordUpdates.put(freshness.sourceId(), freshness.updateDate());
+            existingRecordCompleteness.put(freshness.sourceId(), freshness.memberVoteCount() > 0);
+            trackSummaryState(
+                    freshness.sourceId(),
+                    freshness.legislativeBodyUuid(),
+                    freshness.hasSummary(),
+                    new LegislationReference(
+                            freshness.legislationUrl(),
+                            freshness.congressNumber(),
+                            freshness.legislationType(),
+                            freshness.legislationNumber()));
+            trackVoteState(freshness.sourceId(), freshness.updateDate(), freshness.memberVoteCount());
+        });
 
         for (int session = 1; session <= 2; session++) {
             List<CongressGovClient.HouseVoteSummary> summaries =
@@ -221,9 +408,7 @@ public class FederalIngestionService {
             totalSummaries += summaries.size();
             for (CongressGovClient.HouseVoteSummary summary : summaries) {
                 Instant updateCandidate = summary.updateDate() != null ? summary.updateDate() : summary.startDate();
-                if (updateCandidate != null && (latestSummaryUpdate == null || updateCandidate.isAfter(latestSummaryUpdate))) {
-                    latestSummaryUpdate = updateCandidate;
-                }
+                recordVoteActivity(summary);
                 String voteSourceId = buildHouseVoteSourceId(body, summary.sessionNumber(), summary.rollCallNumber());
                 Instant storedUpdate = existingRecordUpdates.get(voteSourceId);
                 boolean hasMemberVotes = existingRecordCompleteness.getOrDefault(voteSourceId, false);
@@ -233,44 +418,66 @@ public class FederalIngestionService {
                         && hasMemberVotes) {
                     continue;
                 }
-                pendingSummaries.add(summary);
+                if (pendingHouseVotes.putIfAbsent(voteSourceId, new PendingHouseVote(body, congressNumber, summary)) == null) {
+                    queued++;
+                }
             }
         }
 
-        int cachedCount = totalSummaries - pendingSummaries.size();
         LOGGER.info(
-                "House vote ingestion sweep for {}: {} summaries discovered ({} cached, {} to fetch)",
+                "House vote discovery for {}: {} summaries listed, {} newly queued, {} awaiting detail, {} awaiting summaries",
                 body.getName(),
                 totalSummaries,
-                cachedCount,
-                pendingSummaries.size());
+                queued,
+                pendingHouseVotes.size(),
+                summaryBacklog.size());
+        return queued;
+    }
+
+    /**
+     * Downloads detail for every queued vote, persists it, and marks the owning bodies for an attendance refresh.
+     * A body whose vote stages are busy keeps its queued votes for the next run.
+     *
+     * @return number of votes ingested
+     */
+    public int ingestPendingHouseVotes() {
+        Map<String, LegislativeBody> bodies = new LinkedHashMap<>();
+        pendingHouseVotes.values().forEach(pending -> bodies.putIfAbsent(pending.body().getUuid(), pending.body()));
+        int ingested = 0;
+        for (LegislativeBody body : bodies.values()) {
+            ingested += runForBody("vote-detail", voteStageLocks, body, target -> ingestPendingHouseVotes(
+                    pending -> pending.body().getUuid().equals(target.getUuid())));
+        }
+        return ingested;
+    }
 
+    private int ingestPendingHouseVotes(Predicate<PendingHouseVote> filter) {
+        if (pendingHouseVotes.isEmpty()) {
+            return 0;
+        }
+        // Newest votes first: they are the ones readers are waiting for, the backlog can trail behind.
+        List<Map.Entry<String, PendingHouseVote>> batch = pendingHouseVotes.entrySet().stream()
+                .filter(entry -> filter.test(entry.getValue()))
+                .sorted(Comparator.comparing(
+                        (Map.Entry<String, PendingHouseVote> entry) -> entry.getValue().summary(),
+                        NEWEST_VOTE_FIRST))
+                .toList();
         Map<String, Optional<String>> officialUuidCache = new HashMap<>();
         int ingestedCount = 0;
         int failures = 0;
-        Instant latestProcessedUpdate = null;
 
-        for (CongressGovClient.HouseVoteSummary summary : pendingSummaries) {
+        for (Map.Entry<String, PendingHouseVote> entry : batch) {
+            PendingHouseVote pending = entry.getValue();
+            CongressGovClient.HouseVoteSummary summary = pending.summary();
+            LegislativeBody body = pending.body();
+            if (!pendingHouseVotes.containsKey(entry.getKey())) {
+                // Already ingested by the latest-votes lane since this batch was taken.
+                continue;
+            }
             try {
-                Instant update = ingestHouseVote(
-                        body,
-                        congressNumber,
-                        summary,
-                        officialUuidCache,
-                        existingRecordSummaries,
-                        summaryBacklog);
-                if (update != null && (latestProcessedUpdate == null || update.isAfter(latestProcessedUpdate))) {
-                    latestProcessedUpdate = update;
-                }
+                ingestHouseVote(body, pending.congressNumber(), summary, officialUuidCache);
+                attendanceDirtyBodies.put(body.getUuid(), body);
                 ingestedCount++;
-
-                Instant metricsUpdate = recomputeAttendanceFromRepository(
-                        body,
-                        "vote %d (session %d)".formatted(summary.rollCallNumber(), summary.sessionNumber()));
-                if (metricsUpdate != null
-                        && (latestProcessedUpdate == null || metricsUpdate.isAfter(latestProcessedUpdate))) {
-                    latestProcessedUpdate = metricsUpdate;
-                }
             } catch (CongressGovClientException ex) {
                 failures++;
                 LOGGER.warn(
@@ -287,22 +494,218 @@ public class FederalIngestionService {
                         summary.sessionNumber(),
                         body.getName(),
                         ex);
+            } finally {
+                // Failed votes are rediscovered on the next discovery pass rather than retried in a tight loop.
+                pendingHouseVotes.remove(entry.getKey(), pending);
             }
         }
 
-        generateMissingSummaries(body, summaryBacklog, existingRecordSummaries);
-
-        if (pendingSummaries.isEmpty()) {
-            LOGGER.debug("House vote cache for {} already up to date ({} stored)", body.getName(), cachedCount);
-            return;
-        }
-
         LOGGER.info(
-                "House vote ingestion for {} completed: {} new votes cached, {} already cached, {} failures",
-                body.getName(),
+                "House vote detail ingestion completed: {} votes cached, {} failures",
                 ingestedCount,
-                cachedCount,
                 failures);
+        return ingestedCount;
+    }
+
+    /**
+     * Low-latency path for votes cast today: reads only the newest roll call summaries of the current session,
+     * ingests anything new or updated immediately (newest first), and marks the body for the attendance lane, which
+     * coalesces the refresh for every vote ingested since its last run. The discovery lane remains the reconciliation
+     * backstop.
+     *
+     * @param limit number of most recent roll calls to inspect
+     * @return number of votes ingested
+     */
+    public int ingestLatestHouseVotes(int limit) {
+        int congressNumber = properties.congressNumber();
+        int sessionNumber = currentSessionNumber(congressNumber);
+        int ingested = 0;
+        for (LegislativeBody body : houseBodies()) {
+            ingested += runForBody("latest-votes", voteStageLocks, body,
+                    target -> ingestLatestHouseVotes(target, congressNumber, sessionNumber, limit));
+        }
+        return ingested;
+    }
+
+    private int ingestLatestHouseVotes(LegislativeBody body, int congressNumber, int sessionNumber, int limit) {
+        List<CongressGovClient.HouseVoteSummary> fresh = new ArrayList<>();
+        for (CongressGovClient.HouseVoteSummary summary
+                : congressGovClient.fetchLatestHouseVoteSummaries(congressNumber, sessionNumber, limit)) {
+            recordVoteActivity(summary);
+            String voteSourceId = buildHouseVoteSourceId(body, summary.sessionNumber(), summary.rollCallNumber());
+            Instant updateCandidate = summary.updateDate() != null ? summary.updateDate() : summary.startDate();
+            Instant storedUpdate = knownVoteUpdates.get(voteSourceId);
+            if (storedUpdate == null) {
+                storedUpdate = votingRecordRepository.findMetadataBySourceId(voteSourceId)
+                        .map(VotingRecordRepository.RecordMetadata::updateDate)
+                        .orElse(null);
+            }
+            if (storedUpdate != null && updateCandidate != null && !updateCandidate.isAfter(storedUpdate)) {
+                continue;
+            }
+            fresh.add(summary);
+        }
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        fresh.sort(NEWEST_VOTE_FIRST);
+
+        Map<String, Optional<String>> officialUuidCache = new HashMap<>();
+        int ingested = 0;
+        for (CongressGovClient.HouseVoteSummary summary : fresh) {
+            String voteSourceId = buildHouseVoteSourceId(body, summary.sessionNumber(), summary.rollCallNumber());
+            try {
+                ingestHouseVote(body, congressNumber, summary, officialUuidCache);
+                pendingHouseVotes.remove(voteSourceId);
+                attendanceDirtyBodies.put(body.getUuid(), body);
+                ingested++;
+            } catch (CongressGovClientException ex) {
+                // Votes that are still open may not expose member results yet; the next poll retries them.
+                LOGGER.debug("Latest House vote {} not ingested yet: {}", voteSourceId, ex.getMessage());
+            } catch (Exception ex) {
+                LOGGER.error("Unexpected error while ingesting latest House vote {}", voteSourceId, ex);
+            }
+        }
+        if (ingested > 0) {
+            LOGGER.info("Fast lane ingested {} new House votes for {}", ingested, body.getName());
+        }
+        return ingested;
+    }
+
+    /**
+     * Start time of the newest House roll call seen in any listing, used to tell whether the chamber is active.
+     */
+    public Optional<Instant> latestHouseVoteStart() {
+        return Optional.ofNullable(latestHouseVoteStart.get());
+    }
+
+    /**
+     * Newest {@code updateDate} reported by any House roll call listing, used to adapt polling cadence.
+     */
+    public Optional<Instant> latestHouseVoteUpdate() {
+        return Optional.ofNullable(latestHouseVoteUpdate.get());
+    }
+
+    private void recordVoteActivity(CongressGovClient.HouseVoteSummary summary) {
+        recordLatest(latestHouseVoteStart, summary.startDate());
+        recordLatest(latestHouseVoteUpdate, summary.updateDate());
+    }
+
+    private static void recordLatest(AtomicReference<Instant> latest, Instant candidate) {
+        if (candidate != null) {
+            latest.accumulateAndGet(
+                    candidate,
+                    (current, next) -> current == null || next.isAfter(current) ? next : current);
+        }
+    }
+
+    private void trackVoteState(String sourceId, Instant updateDate, int memberVoteCount) {
+        if (updateDate != null && memberVoteCount > 0) {
+            knownVoteUpdates.put(sourceId, updateDate);
+        }
+    }
+
+    /**
+     * Session of the configured Congress sitting today. A configured Congress that is not sitting this year is polled at
+     * its nearest session, with a warning so the stale configuration gets noticed.
+     */
+    private int currentSessionNumber(int congressNumber) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        OptionalInt session = properties.sessionNumberOn(today);
+        if (session.isPresent()) {
+            return session.getAsInt();
+        }
+        int nearest = today.getYear() % 2 == 1 ? 1 : 2;
+        if (sessionMismatchWarned.compareAndSet(false, true)) {
+            LOGGER.warn("Configured Congress {} is not sitting in {}; polling session {} of it", congressNumber,
+                    today.getYear(), nearest);
+        }
+        return nearest;
+    }
+
+    /**
+     * Recomputes attendance metrics for every body whose vote cache changed since the last refresh. A body whose vote
+     * stages are busy stays marked for the next run.
+     *
+     * @return number of bodies refreshed
+     */
+    public int refreshDirtyAttendance() {
+        int refreshed = 0;
+        for (LegislativeBody body : List.copyOf(attendanceDirtyBodies.values())) {
+            refreshed += runForBody("attendance", voteStageLocks, body, this::refreshAttendanceIfDirty);
+        }
+        return refreshed;
+    }
+
+    private int refreshAttendanceIfDirty(LegislativeBody body) {
+        // Runs under the body's vote-stage lock, so no vote lane can mark it between the recompute and the clear.
+        if (!attendanceDirtyBodies.containsKey(body.getUuid())) {
+            return 0;
+        }
+        recomputeAttendanceFromRepository(body, "attendance lane");
+        attendanceDirtyBodies.remove(body.getUuid());
+        return 1;
+    }
+
+    /**
+     * Generates legislation summaries for queued votes that still lack one.
+     *
+     * @return number of votes that received a summary
+     */
+    public int generatePendingSummaries() {
+        if (summaryBacklog.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<PendingSummary>> backlogByBody = new LinkedHashMap<>();
+        for (PendingSummary pending : List.copyOf(summaryBacklog.values())) {
+            backlogByBody.computeIfAbsent(pending.legislativeBodyUuid(), ignored -> new ArrayList<>()).add(pending);
+        }
+        int stored = 0;
+        for (LegislativeBody body : houseBodies()) {
+            List<PendingSummary> records = backlogByBody.getOrDefault(body.getUuid(), List.of());
+            if (records.isEmpty()) {
+                continue;
+            }
+            try {
+                stored += generateMissingSummaries(body, records);
+            } catch (Exception ex) {
+                LOGGER.error("Unexpected error generating legislation summaries for {}", body.getName(), ex);
+            }
+        }
+        return stored;
+    }
+
+    private List<LegislativeBody> houseBodies() {
+        try {
+            return congressGovClient.fetchLegislativeBodies(properties.congressNumber()).stream()
+                    .filter(FederalIngestionService::ingestsVotes)
+                    .toList();
+        } catch (CongressGovClientException ex) {
+            LOGGER.warn("Unable to resolve House legislative body: {}", ex.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Keeps the summarized-vote set and summary backlog in step with a persisted vote.
+     */
+    private void trackSummaryState(
+            String sourceId,
+            String legislativeBodyUuid,
+            boolean hasSummary,
+            LegislationReference legislation) {
+        if (hasSummary) {
+            summarizedVotes.add(sourceId);
+            summaryBacklog.remove(sourceId);
+            return;
+        }
+        if (summarizedVotes.contains(sourceId)) {
+            return;
+        }
+        if (legislation.legislationUrl() != null && !legislation.legislationUrl().isBlank()) {
+            // Track votes missing summaries so we can enrich them once scraping and LLM calls complete.
+            summaryBacklog.put(sourceId, new PendingSummary(sourceId, legislativeBodyUuid, legislation));
+        }
     }
 
     /**
@@ -313,9 +716,7 @@ public class FederalIngestionService {
             LegislativeBody body,
             int congressNumber,
             CongressGovClient.HouseVoteSummary summary,
-            Map<String, Optional<String>> officialUuidCache,
-            Map<String, String> summaryCache,
-            Map<String, PersistedVotingRecord> summaryBacklog) throws CongressGovClientException {
+            Map<String, Optional<String>> officialUuidCache) throws CongressGovClientException {
         CongressGovClient.HouseVoteDetail detail = congressGovClient.fetchHouseVoteDetail(
                 congressNumber,
                 summary.sessionNumber(),
@@ -343,19 +744,19 @@ public class FederalIngestionService {
                 detail.legislationType(),
                 detail.legislationNumber(),
                 detail.legislationUrl(),
-                summaryCache.get(votingRecord.getSourceId()));
-        votingRecordRepository.upsert(persisted);
-        String normalizedSummary = Optional.ofNullable(summaryCache.get(votingRecord.getSourceId()))
-                .map(String::trim)
-                .filter(value -> !value.isEmpty())
-                .orElse(null);
-        summaryCache.put(votingRecord.getSourceId(), normalizedSummary);
-        if (normalizedSummary == null
-                && detail.legislationUrl() != null
-                && !detail.legislationUrl().isBlank()) {
-            // Track votes missing summaries so we can enrich them once scraping and LLM calls complete.
-            summaryBacklog.put(votingRecord.getSourceId(), persisted);
-        }
+                null);
+        // Without a summary the upsert keeps whatever summary is already stored for this vote.
+        upsertVote(body, persisted);
+        trackSummaryState(
+                votingRecord.getSourceId(),
+                body.getUuid(),
+                false,
+                new LegislationReference(
+                        detail.legislationUrl(),
+                        congressNumber,
+                        detail.legislationType(),
+                        detail.legislationNumber()));
+        trackVoteState(votingRecord.getSourceId(), persisted.updateDateUtc(), votingRecord.getMemberVotesCount());
         LOGGER.debug(
                 "Cached House vote congress {} session {} roll call {} for {}",
                 congressNumber,
@@ -368,32 +769,61 @@ public class FederalIngestionService {
     /**
      * Generates missing legislation summaries after vote ingestion to avoid delaying the primary persistence path.
      */
-    private void generateMissingSummaries(
-            LegislativeBody body,
-            Map<String, PersistedVotingRecord> summaryBacklog,
-            Map<String, String> summaryCache) {
-        if (summaryBacklog.isEmpty()) {
-            return;
-        }
-        for (PersistedVotingRecord record : summaryBacklog.values()) {
-            String sourceId = record.votingRecord().getSourceId();
-            String cachedSummary = Optional.ofNullable(summaryCache.get(sourceId)).orElse("");
-            if (!cachedSummary.isBlank()) {
+    private int generateMissingSummaries(LegislativeBody body, List<PendingSummary> backlog) {
+        // Several roll calls usually reference the same bill, so group by URL and summarize each bill once.
+        Map<String, List<String>> sourceIdsByUrl = new LinkedHashMap<>();
+        Map<String, LegislationReference> referencesByUrl = new LinkedHashMap<>();
+        for (PendingSummary pending : backlog) {
+            String sourceId = pending.sourceId();
+            if (summarizedVotes.contains(sourceId)) {
+                summaryBacklog.remove(sourceId);
                 continue;
             }
-            String legislationUrl = record.legislationUrl();
+            String legislationUrl = pending.legislation().legislationUrl();
             if (legislationUrl == null || legislationUrl.isBlank()) {
                 LOGGER.debug("Skipping legislation summary for {} because no URL is available", sourceId);
                 continue;
             }
+            sourceIdsByUrl.computeIfAbsent(legislationUrl, ignored -> new ArrayList<>()).add(sourceId);
+            referencesByUrl.putIfAbsent(legislationUrl, pending.legislation());
+        }
+        if (sourceIdsByUrl.isEmpty()) {
+            return 0;
+        }
+
+        int[] stored = {0};
+        if (sourceIdsByUrl.size() >= legislationSummaryService.batchThreshold()) {
+            LOGGER.info(
+                    "Submitting {} legislation summaries for {} through batch mode",
+                    sourceIdsByUrl.size(),
+                    body.getName());
+            Map<String, String> summaries = legislationSummaryService.summarizeLegislationBatch(referencesByUrl.values());
+            summaries.forEach((legislationUrl, summary) ->
+                    stored[0] += storeLegislationSummary(body, legislationUrl, summary, sourceIdsByUrl.get(legislationUrl)));
+            return stored[0];
+        }
+
+        sourceIdsByUrl.forEach((legislationUrl, sourceIds) -> legislationSummaryService
+                .summarizeLegislation(referencesByUrl.get(legislationUrl))
+                .ifPresent(summary -> stored[0] += storeLegislationSummary(body, legislationUrl, summary, sourceIds)));
+        return stored[0];
+    }
+
+    private int storeLegislationSummary(
+            LegislativeBody body,
+            String legislationUrl,
+            String summary,
+            List<String> sourceIds) {
+        if (sourceIds == null) {
+            return 0;
+        }
+        int stored = 0;
+        for (String sourceId : sourceIds) {
             try {
-                Optional<String> summary = legislationSummaryService.summarizeLegislation(legislationUrl);
-                if (summary.isEmpty()) {
-                    continue;
-                }
-                String normalizedSummary = summary.get();
-                votingRecordRepository.updateSummary(sourceId, normalizedSummary);
-                summaryCache.put(sourceId, normalizedSummary);
+                votingRecordRepository.updateSummary(sourceId, summary);
+                summarizedVotes.add(sourceId);
+                summaryBacklog.remove(sourceId);
+                stored++;
                 LOGGER.info(
                         "Stored legislation summary for {} (body: {}, url: {})",
                         sourceId,
@@ -407,6 +837,7 @@ public class FederalIngestionService {
                         ex);
             }
         }
+        return stored;
     }
 
     private VotingRecord buildVotingRecord(
@@ -439,7 +870,8 @@ public class FederalIngestionService {
             String voteCast = voteResult.voteCast();
             VotePosition position = mapVotePosition(voteCast);
             MemberVote.Builder voteBuilder = MemberVote.newBuilder()
-                    .setUuid(deterministicUuid("house-vote-member-" + sourceId + "-" + bioguideId))
+                    .setUuid(MemberVoteCodec.memberVoteUuid(
+                            MemberVoteCodec.HOUSE_MEMBER_VOTE_UUID_PREFIX, sourceId, bioguideId))
                     .setSourceId(bioguideId)
                     .setVotingRecordUuid(voteUuid)
                     .setVotePosition(position)
@@ -456,49 +888,518 @@ public class FederalIngestionService {
     }
 
     private Instant recomputeAttendanceFromRepository(LegislativeBody body, String context) {
-        List<PersistedVotingRecord> persistedRecords = votingRecordRepository.findByLegislativeBody(body.getUuid(), 0);
-        if (persistedRecords.isEmpty()) {
+        AttendanceStatisticsCalculator.AttendanceComputation computation = computeAttendance(body);
+        if (computation.voteRecordsProcessed() == 0) {
             LOGGER.debug("Skipping attendance metrics recompute for {} [{}]: no vote records cached", body.getName(), context);
             return null;
         }
-        List<AttendanceStatisticsCalculator.VoteRecord> voteRecords = new ArrayList<>(persistedRecords.size());
-        Instant latestUpdate = null;
-        for (PersistedVotingRecord record : persistedRecords) {
-            voteRecords.add(toAttendanceVoteRecord(record));
-            if (record.updateDateUtc() != null
-                    && (latestUpdate == null || record.updateDateUtc().isAfter(latestUpdate))) {
-                latestUpdate = record.updateDateUtc();
+        applyAttendanceMetrics(body, computation, context);
+        refreshAttendanceTimelines(body);
+        ensureVoteMatrix(body);
+        ensurePartyUnity(body);
+        refreshMetricStream(body);
+        return computation.latestUpdate();
+    }
+
+    /**
+     * Builds the body's packed vote matrix from the stored votes the first time; afterwards every vote upsert writes
+     * its own column, so the matrix never needs another scan.
+     */
+    private void ensureVoteMatrix(LegislativeBody body) {
+        String bodyUuid = body.getUuid();
+        if (voteMatrixBuilt(bodyUuid)) {
+            return;
+        }
+        ReentrantReadWriteLock.WriteLock writeLock = derivedStateLock(bodyUuid).writeLock();
+        writeLock.lock();
+        try {
+            if (voteMatrixBuilt(bodyUuid)) {
+                return;
             }
+            Map<String, VoteMatrix> matrices = new LinkedHashMap<>();
+            votingRecordRepository.forEachByLegislativeBody(bodyUuid, record -> {
+                if (record.rollCallNumber() < 1) {
+                    return;
+                }
+                matrices.computeIfAbsent(
+                                record.congressNumber() + "|" + record.sessionNumber(),
+                                ignored -> new VoteMatrix(bodyUuid, record.congressNumber(), record.sessionNumber()))
+                        .setRollCall(record.rollCallNumber(), record.votingRecord().getMemberVotesList());
+            });
+            voteMatrixRepository.replaceAll(bodyUuid, matrices.values());
+            builtVoteMatrices.add(bodyUuid);
+            LOGGER.info("Built vote matrix for {} covering {} sessions", body.getName(), matrices.size());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to build vote matrix for {}; will retry on the next recompute", body.getName(), ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyVoteMatrix(LegislativeBody body, PersistedVotingRecord persisted) {
+        if (persisted.rollCallNumber() < 1) {
+            return;
+        }
+        try {
+            voteMatrixRepository.applyRollCall(
+                    body.getUuid(),
+                    persisted.congressNumber(),
+                    persisted.sessionNumber(),
+                    persisted.rollCallNumber(),
+                    persisted.votingRecord().getMemberVotesList());
+        } catch (RuntimeException ex) {
+            builtVoteMatrices.remove(body.getUuid());
+            voteMatrixRepository.invalidate(body.getUuid());
+            LOGGER.warn("Failed to update the vote matrix for {}; it will be rebuilt", body.getName(), ex);
         }
-        applyAttendanceMetrics(body, voteRecords, latestUpdate, context);
-        return latestUpdate;
+    }
+
+    private boolean voteMatrixBuilt(String bodyUuid) {
+        if (builtVoteMatrices.contains(bodyUuid)) {
+            return true;
+        }
+        if (voteMatrixRepository.isBuilt(bodyUuid)) {
+            builtVoteMatrices.add(bodyUuid);
+            return true;
+        }
+        return false;
     }
 
     /**
-     * Recomputes attendance metrics for all officials belonging to the supplied body using the supplied vote records.
-     *
-     * @param body legislative body whose officials should be updated
-     * @param voteRecords cached vote records to aggregate
-     * @param latestUpdate timestamp of the most recent roll call processed (can be {@code null})
-     * @param context label used for logging (e.g., chunk identifier)
+     * Builds the body's party-unity counters from its vote matrix the first time, and again whenever party
+     * affiliations change, so every roll call is counted and retracted with the same affiliations. In between, every
+     * vote upsert applies its roll call.
      */
-    private void applyAttendanceMetrics(
+    private void ensurePartyUnity(LegislativeBody body) {
+        String bodyUuid = body.getUuid();
+        Map<String, String> parties = partiesOf(bodyUuid);
+        PartyUnityEngine existing = partyUnityEngine(bodyUuid);
+        if (existing != null && existing.countsWith(parties)) {
+            return;
+        }
+        if (!voteMatrixBuilt(bodyUuid)) {
+            return;
+        }
+        ReentrantReadWriteLock.WriteLock writeLock = derivedStateLock(bodyUuid).writeLock();
+        writeLock.lock();
+        try {
+            PartyUnityEngine current = partyUnityEngine(bodyUuid);
+            if (current != null && current.countsWith(parties)) {
+                return;
+            }
+            PartyUnityEngine engine = new PartyUnityEngine(parties);
+            List<VoteMatrix> matrices = voteMatrixRepository.loadAll(bodyUuid);
+            matrices.forEach(engine::applyMatrix);
+            partyUnityRepository.replaceAll(bodyUuid, engine.parties(), engine.all());
+            partyUnityEngines.put(bodyUuid, engine);
+            LOGGER.info("Built party-unity counters for {} from {} sessions", body.getName(), matrices.size());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to build party-unity counters for {}; will retry on the next recompute", body.getName(), ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyPartyUnity(
             LegislativeBody body,
-            List<AttendanceStatisticsCalculator.VoteRecord> voteRecords,
-            Instant latestUpdate,
-            String context) {
-        if (voteRecords == null || voteRecords.isEmpty()) {
+            PartyUnityEngine engine,
+            PersistedVotingRecord previous,
+            PersistedVotingRecord persisted) {
+        if (persisted.rollCallNumber() < 1) {
+            return;
+        }
+        try {
+            // Saving under the monitor keeps concurrent roll calls from writing older counters over newer ones.
+            synchronized (engine) {
+                List<PartyUnityRepository.MemberUnity> changed = engine.apply(
+                        PartyUnityEngine.voteKey(
+                                persisted.congressNumber(),
+                                persisted.sessionNumber(),
+                                persisted.rollCallNumber()),
+                        previous == null ? null : VoteEvent.positions(previous.votingRecord().getMemberVotesList()),
+                        VoteEvent.positions(persisted.votingRecord().getMemberVotesList()));
+                partyUnityRepository.saveAll(body.getUuid(), changed);
+            }
+        } catch (RuntimeException ex) {
+            partyUnityEngines.remove(body.getUuid());
+            partyUnityRepository.invalidate(body.getUuid());
+            LOGGER.warn("Failed to update party-unity counters for {}; they will be rebuilt", body.getName(), ex);
+        }
+    }
+
+    /**
+     * Feeds votes written since the body's metric checkpoint through every registered {@link MetricPlugin} in one
+     * pass, recounts the panes of votes whose positions changed, then checkpoints the touched panes and the new
+     * watermark. The watermark is the votes' {@code ingested_at}, so backfilled votes with old upstream update dates
+     * are still fed. The first run, or a run after the registered plugins changed, replays every stored vote.
+     */
+    private void refreshMetricStream(LegislativeBody body) {
+        if (metricPlugins.isEmpty()) {
+            return;
+        }
+        String bodyUuid = body.getUuid();
+        MetricStream stream = metricStreams.computeIfAbsent(bodyUuid, this::restoreMetricStream);
+        synchronized (stream) {
+            try {
+                stream.updateParties(partiesOf(bodyUuid));
+                Instant watermark = stream.watermark();
+                // Read before the votes: a vote written during this run is fed again next time, and the pane
+                // ledgers skip it.
+                Instant ingestedThrough = votingRecordRepository.findLatestIngestedAt(bodyUuid).orElse(null);
+                Set<MetricStream.Recount> recounts = new LinkedHashSet<>();
+                Consumer<PersistedVotingRecord> feed = record -> {
+                    Integer day = voteEpochDay(record);
+                    if (day != null) {
+                        recounts.addAll(stream.apply(toVoteEvent(stream, record, day)));
+                    }
+                };
+                if (watermark == null) {
+                    votingRecordRepository.forEachByLegislativeBody(bodyUuid, feed);
+                } else {
+                    votingRecordRepository.findByLegislativeBodyIngestedAfter(bodyUuid, watermark).forEach(feed);
+                }
+                for (MetricStream.Recount recount : recounts) {
+                    List<VoteEvent> events = new ArrayList<>();
+                    votingRecordRepository.forEachByLegislativeBodyBetween(
+                            bodyUuid,
+                            recount.from().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                            recount.to().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                            record -> {
+                                Integer day = voteEpochDay(record);
+                                if (day != null) {
+                                    events.add(toVoteEvent(stream, record, day));
+                                }
+                            });
+                    stream.recount(recount, events);
+                }
+                stream.advanceWatermark(ingestedThrough);
+                MetricStream.Changes changes = stream.drainChanges();
+                if (!changes.isEmpty() || !Objects.equals(watermark, stream.watermark())) {
+                    metricCheckpointRepository.save(
+                            bodyUuid,
+                            stream.metricNames(),
+                            changes.changed(),
+                            changes.removed(),
+                            stream.watermark());
+                }
+            } catch (RuntimeException ex) {
+                // Drop the in-memory state; the next run resumes from the last checkpoint.
+                metricStreams.remove(bodyUuid);
+                LOGGER.warn("Failed to refresh streaming metrics for {}; will retry on the next recompute", body.getName(), ex);
+            }
+        }
+    }
+
+    private MetricStream restoreMetricStream(String bodyUuid) {
+        MetricStream stream = new MetricStream(bodyUuid, metricPlugins, Map.of());
+        metricCheckpointRepository.load(bodyUuid).ifPresent(checkpoint -> {
+            if (checkpoint.metrics().equals(stream.metricNames())) {
+                stream.restore(checkpoint.watermark(), checkpoint.panes());
+            } else {
+                LOGGER.info("Metric plugins changed from {} to {}; rebuilding streaming metrics for body {}",
+                        checkpoint.metrics(), stream.metricNames(), bodyUuid);
+                metricCheckpointRepository.clear(bodyUuid);
+            }
+        });
+        return stream;
+    }
+
+    private static VoteEvent toVoteEvent(MetricStream stream, PersistedVotingRecord record, int epochDay) {
+        return stream.event(record.votingRecord().getSourceId(), epochDay, record.votingRecord().getMemberVotesList());
+    }
+
+    /**
+     * Returns the body's engine, restoring it from the stored counters after a restart, or {@code null} before the
+     * counters have been built.
+     */
+    private PartyUnityEngine partyUnityEngine(String bodyUuid) {
+        PartyUnityEngine engine = partyUnityEngines.get(bodyUuid);
+        if (engine != null || !partyUnityRepository.isBuilt(bodyUuid)) {
+            return engine;
+        }
+        return partyUnityEngines.computeIfAbsent(bodyUuid, ignored -> PartyUnityEngine.restore(
+                partyUnityRepository.findParties(bodyUuid),
+                partyUnityRepository.findByLegislativeBody(bodyUuid)));
+    }
+
+    private Map<String, String> partiesOf(String bodyUuid) {
+        Map<String, String> parties = new HashMap<>();
+        for (PublicOfficial official : publicOfficialRepository.findByLegislativeBody(bodyUuid)) {
+            parties.put(official.getSourceId(), official.getPartyAffiliation());
+        }
+        return parties;
+    }
+
+    private List<AccountabilityMetric> accountabilityMetrics(LegislativeBody body, PublicOfficial official) {
+        List<AccountabilityMetric> metrics = new ArrayList<>();
+        PartyUnityEngine engine = partyUnityEngines.get(body.getUuid());
+        if (engine != null) {
+            Optional<PartyUnityRepository.MemberUnity> unity;
+            synchronized (engine) {
+                unity = engine.find(official.getSourceId());
+            }
+            unity.ifPresent(counters -> metrics.addAll(PartyUnityEngine.toMetrics(official.getSourceId(), counters)));
+        }
+        MetricStream stream = metricStreams.get(body.getUuid());
+        if (stream != null) {
+            synchronized (stream) {
+                metrics.addAll(stream.metrics(official.getSourceId()));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Folds votes written since the last run into the body's prefix-sum attendance timelines. The first run streams
+     * every stored vote; later runs re-read only the days touched by changed votes and rewrite those days, so the
+     * timelines stay exact without rescanning history. The watermark is the votes' {@code ingested_at}, not their
+     * upstream update date, so backfilled votes with old update dates are still picked up. Runs under the body's
+     * vote-stage lock, so vote writes and other refreshes of the same body never interleave with the
+     * read-modify-write. Failures leave the watermark in place and are retried on the next recompute.
+     */
+    private void refreshAttendanceTimelines(LegislativeBody body) {
+        String bodyUuid = body.getUuid();
+        try {
+            Optional<Instant> builtThrough = attendanceTimelineRepository.findBuiltThrough(bodyUuid);
+            // Read before the votes: anything written during this run is folded in again next time, never skipped.
+            Instant ingestedThrough = votingRecordRepository.findLatestIngestedAt(bodyUuid).orElse(null);
+            Map<String, AttendanceTimeline.Builder> builders = new HashMap<>();
+            if (builtThrough.isEmpty()) {
+                votingRecordRepository.forEachByLegislativeBody(bodyUuid, record -> addToTimelines(builders, record));
+            } else {
+                List<PersistedVotingRecord> changed =
+                        votingRecordRepository.findByLegislativeBodyIngestedAfter(bodyUuid, builtThrough.get());
+                if (changed.isEmpty()) {
+                    return;
+                }
+                TreeSet<Integer> touchedDays = new TreeSet<>();
+                for (PersistedVotingRecord record : changed) {
+                    Integer day = voteEpochDay(record);
+                    if (day != null) {
+                        touchedDays.add(day);
+                    }
+                }
+                attendanceTimelineRepository.findByLegislativeBody(bodyUuid).forEach((memberId, timeline) -> {
+                    AttendanceTimeline.Builder builder = builders.computeIfAbsent(memberId, AttendanceTimeline::builder);
+                    timeline.forEachDay((day, votes, participated, present) -> {
+                        if (!touchedDays.contains(day)) {
+                            builder.add(day, votes, participated, present);
+                        }
+                    });
+                });
+                // Recount each touched day from all of its votes, not just the changed ones.
+                for (int day : touchedDays) {
+                    Instant dayStart = LocalDate.ofEpochDay(day).atStartOfDay(ZoneOffset.UTC).toInstant();
+                    votingRecordRepository.forEachByLegislativeBodyBetween(
+                            bodyUuid,
+                            dayStart,
+                            dayStart.plus(Duration.ofDays(1)),
+                            record -> addToTimelines(builders, record));
+                }
+            }
+            List<AttendanceTimeline> timelines = builders.values().stream()
+                    .map(AttendanceTimeline.Builder::build)
+                    .toList();
+            attendanceTimelineRepository.saveAll(bodyUuid, timelines, ingestedThrough);
+            LOGGER.debug("Refreshed {} attendance timelines for {}", timelines.size(), body.getName());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to refresh attendance timelines for {}; will retry on the next recompute", body.getName(), ex);
+        }
+    }
+
+    private static void addToTimelines(Map<String, AttendanceTimeline.Builder> builders, PersistedVotingRecord record) {
+        Integer day = voteEpochDay(record);
+        if (day == null) {
+            // Timelines answer date-range questions, so votes without a date have nowhere to go.
             return;
         }
+        for (MemberVote memberVote : record.votingRecord().getMemberVotesList()) {
+            String memberId = memberVote.getSourceId();
+            if (memberId == null || memberId.isBlank()) {
+                continue;
+            }
+            builders.computeIfAbsent(memberId, AttendanceTimeline::builder).add(
+                    day,
+                    1,
+                    AttendanceStatisticsCalculator.hasParticipated(memberVote) ? 1 : 0,
+                    AttendanceStatisticsCalculator.isPresent(memberVote));
+        }
+    }
+
+    private static Integer voteEpochDay(PersistedVotingRecord record) {
+        if (!record.votingRecord().hasVoteDateUtc()) {
+            return null;
+        }
+        return Math.toIntExact(Math.floorDiv(record.votingRecord().getVoteDateUtc().getSeconds(), 86_400L));
+    }
+
+    /**
+     * Aggregates attendance for a body with the configured engine, timing each run under
+     * {@code beacon.ingest.attendance.compute} so the engines can be compared on real data.
+     */
+    private AttendanceStatisticsCalculator.AttendanceComputation computeAttendance(LegislativeBody body) {
+        AttendanceProperties.Engine engine = attendanceProperties.engine();
+        Set<AttendanceGranularity> granularities = attendanceProperties.granularitySet();
+        long start = System.nanoTime();
+        AttendanceStatisticsCalculator.AttendanceComputation computation;
+        if (engine == AttendanceProperties.Engine.MONGO) {
+            computation = AttendanceStatisticsCalculator.fromAggregation(
+                    votingRecordRepository.aggregateAttendance(body.getUuid()),
+                    ATTENDANCE_HISTORY_LIMIT,
+                    granularities);
+        } else if (engine == AttendanceProperties.Engine.ROLLUP) {
+            computation = AttendanceStatisticsCalculator.fromAggregation(
+                    loadRollups(body), ATTENDANCE_HISTORY_LIMIT, granularities);
+        } else {
+            // The cursor is ordered by vote date, so ended periods are evicted as it moves on and the accumulator holds
+            // the periods still being voted in rather than every stored Congress.
+            AttendanceStatisticsCalculator.StreamingAccumulator accumulator =
+                    AttendanceStatisticsCalculator.streaming(granularities, ATTENDANCE_HISTORY_LIMIT);
+            votingRecordRepository.forEachByLegislativeBody(
+                    body.getUuid(),
+                    record -> accumulator.accept(toAttendanceVoteRecord(record)));
+            computation = accumulator.finish(ATTENDANCE_HISTORY_LIMIT);
+        }
+        Timer.builder("beacon.ingest.attendance.compute")
+                .description("Time to aggregate attendance counters for a legislative body")
+                .tag("engine", engine.name().toLowerCase(Locale.ROOT))
+                .tag("chamber", body.getChamberType().name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return computation;
+    }
+
+    /**
+     * Reads a body's attendance rollups, building them from the stored votes the first time. Later reads never scan
+     * raw votes because every upsert keeps the rollups current.
+     */
+    private VotingRecordRepository.AttendanceAggregation loadRollups(LegislativeBody body) {
+        String bodyUuid = body.getUuid();
+        if (!rollupsBuilt(bodyUuid)) {
+            ReentrantReadWriteLock.WriteLock writeLock = derivedStateLock(bodyUuid).writeLock();
+            writeLock.lock();
+            try {
+                if (!rollupsBuilt(bodyUuid)) {
+                    VotingRecordRepository.AttendanceAggregation aggregation =
+                            votingRecordRepository.aggregateAttendance(bodyUuid);
+                    attendanceRollupRepository.rebuild(bodyUuid, aggregation);
+                    builtRollups.add(bodyUuid);
+                    LOGGER.info(
+                            "Built attendance rollups for {} from {} vote records ({} member-months)",
+                            body.getName(),
+                            aggregation.voteRecords(),
+                            aggregation.counters().size());
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return attendanceRollupRepository.load(bodyUuid);
+    }
+
+    /**
+     * Stores a vote and, once the body's rollups and vote matrix are built, applies the change it makes to them. The
+     * per-vote lock stripe keeps two lanes ingesting the same roll call from retracting the same previous contribution
+     * twice or writing its matrix column out of order.
+     */
+    void upsertVote(LegislativeBody body, PersistedVotingRecord persisted) {
+        String bodyUuid = body.getUuid();
+        ReentrantReadWriteLock.ReadLock readLock = derivedStateLock(bodyUuid).readLock();
+        readLock.lock();
+        try {
+            boolean rollups = rollupsBuilt(bodyUuid);
+            boolean voteMatrix = voteMatrixBuilt(bodyUuid);
+            PartyUnityEngine partyUnity = partyUnityEngine(bodyUuid);
+            if (!rollups && !voteMatrix && partyUnity == null) {
+                votingRecordRepository.upsert(persisted);
+                return;
+            }
+            String sourceId = persisted.votingRecord().getSourceId();
+            ReentrantLock voteLock = voteLocks[Math.floorMod(sourceId.hashCode(), voteLocks.length)];
+            voteLock.lock();
+            try {
+                // Rollups and party unity both replace the stored version's contribution, so read it first.
+                PersistedVotingRecord previous = rollups || partyUnity != null
+                        ? votingRecordRepository.findBySourceId(sourceId).orElse(null)
+                        : null;
+                votingRecordRepository.upsert(persisted);
+                if (rollups) {
+                    AttendanceStatisticsCalculator.VoteRecord previousRecord = previous == null
+                            ? null
+                            : toAttendanceVoteRecord(previous);
+                    AttendanceStatisticsCalculator.VoteRecord current = toAttendanceVoteRecord(persisted);
+                    int voteRecordsDelta = (current.memberVotes().isEmpty() ? 0 : 1)
+                            - (previousRecord == null || previousRecord.memberVotes().isEmpty() ? 0 : 1);
+                    applyRollupDelta(
+                            body,
+                            voteRecordsDelta,
+                            persisted.updateDateUtc(),
+                            AttendanceStatisticsCalculator.rollupDelta(previousRecord, current));
+                }
+                if (voteMatrix) {
+                    applyVoteMatrix(body, persisted);
+                }
+                if (partyUnity != null) {
+                    applyPartyUnity(body, partyUnity, previous, persisted);
+                }
+            } finally {
+                voteLock.unlock();
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
 
-        AttendanceStatisticsCalculator.AttendanceComputation computation =
-                AttendanceStatisticsCalculator.compute(voteRecords, ATTENDANCE_HISTORY_LIMIT);
+    private void applyRollupDelta(
+            LegislativeBody body,
+            int voteRecordsDelta,
+            Instant updateDate,
+            List<VotingRecordRepository.MemberPeriodCounters> deltas) {
+        try {
+            attendanceRollupRepository.apply(body.getUuid(), voteRecordsDelta, updateDate, deltas);
+        } catch (RuntimeException ex) {
+            // The vote itself is stored; drop the built marker so the next read rebuilds instead of drifting.
+            builtRollups.remove(body.getUuid());
+            attendanceRollupRepository.invalidate(body.getUuid());
+            LOGGER.warn("Failed to update attendance rollups for {}; they will be rebuilt", body.getName(), ex);
+        }
+    }
 
-        Instant effectiveUpdate = latestUpdate;
-        if (computation.latestUpdate() != null
-                && (effectiveUpdate == null || computation.latestUpdate().isAfter(effectiveUpdate))) {
-            effectiveUpdate = computation.latestUpdate();
+    private boolean rollupsBuilt(String bodyUuid) {
+        if (builtRollups.contains(bodyUuid)) {
+            return true;
         }
+        if (attendanceRollupRepository.isBuilt(bodyUuid)) {
+            builtRollups.add(bodyUuid);
+            return true;
+        }
+        return false;
+    }
+
+    private ReentrantReadWriteLock derivedStateLock(String bodyUuid) {
+        return derivedStateLocks.computeIfAbsent(bodyUuid, ignored -> new ReentrantReadWriteLock());
+    }
+
+    private static ReentrantLock[] newVoteLocks() {
+        ReentrantLock[] locks = new ReentrantLock[VOTE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    /**
+     * Writes computed attendance metrics to every official of the supplied body and publishes roster events for them.
+     *
+     * @param body legislative body whose officials should be updated
+     * @param computation aggregated attendance statistics for the body
+     * @param context label used for logging (e.g., chunk identifier)
+     */
+    private void applyAttendanceMetrics(
+            LegislativeBody body,
+            AttendanceStatisticsCalculator.AttendanceComputation computation,
+            String context) {
+        Instant effectiveUpdate = computation.latestUpdate();
 
         if (computation.statisticsByMember().isEmpty()) {
             if (effectiveUpdate != null) {
@@ -509,14 +1410,22 @@ public class FederalIngestionService {
         }
 
         int updatedOfficials = 0;
+        AttendanceRanks.Builder ranks = AttendanceRanks.builder(body.getUuid());
         for (Map.Entry<String, AttendanceStatisticsCalculator.AttendanceStatistics> entry : computation.statisticsByMember().entrySet()) {
-            if (updateOfficialAttendance(body, entry.getKey(), entry.getValue())) {
+            Optional<PublicOfficial> updated = updateOfficialAttendance(body, entry.getKey(), entry.getValue());
+            if (updated.isPresent()) {
                 updatedOfficials++;
+                addToRanks(ranks, updated.get());
             }
         }
         if (effectiveUpdate != null) {
             legislativeBodyRepository.updateLastVoteIngestedAt(body.getSourceId(), effectiveUpdate);
         }
+        try {
+            attendanceRankRepository.save(ranks.build(Instant.now()));
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to store attendance ranks for {}; the previous ranks remain", body.getName(), ex);
+        }
         LOGGER.info(
                 "Computed attendance metrics for {} [{}]: {} vote records processed, {} officials updated",
                 body.getName(),
@@ -525,6 +1434,24 @@ public class FederalIngestionService {
                 updatedOfficials);
     }
 
+    /**
+     * Counts a sitting official towards the chamber, state and party distributions. Former members keep their own
+     * scores but are left out so ranks compare against the current membership.
+     */
+    private static void addToRanks(AttendanceRanks.Builder ranks, PublicOfficial official) {
+        OfficeStatus status = official.getOfficeStatus();
+        if (status != OfficeStatus.ACTIVE && status != OfficeStatus.OFFICE_STATUS_UNSPECIFIED) {
+            return;
+        }
+        AttendanceSummary summary = official.getAttendanceSummary();
+        ranks.add(
+                official.getJurisdictionRegionCode(),
+                official.getPartyAffiliation(),
+                summary.getPresenceScore(),
+                summary.getParticipationScore(),
+                Math.round((summary.getPresenceScore() + summary.getParticipationScore()) / 2.0f));
+    }
+
     private String buildBillReference(String legislationType, String legislationNumber) {
         if (legislationType == null && legislationNumber == null) {
             return "";
@@ -552,42 +1479,19 @@ public class FederalIngestionService {
     }
 
     private VotePosition mapVotePosition(String voteCast) {
-        if (voteCast == null) {
-            return VotePosition.VOTE_POSITION_UNSPECIFIED;
-        }
-        String normalized = voteCast.trim().toUpperCase(Locale.ROOT)
-                .replace('-', ' ')
-                .replace('_', ' ')
-                .replace('/', ' ')
-                .replaceAll("\\s+", " ");
-        return switch (normalized) {
-            case "YEA", "AYE", "YES", "YEA AND NAY", "AYE AND NAY" -> VotePosition.YEA;
-            case "NAY", "NO" -> VotePosition.NAY;
-            case "ABSENT" -> VotePosition.ABSENT;
-            case "PRESENT", "NOT VOTING", "PRESENT NOT VOTING" -> VotePosition.NOT_VOTING;
-            default -> VotePosition.VOTE_POSITION_UNSPECIFIED;
-        };
+        return AttendanceStatisticsCalculator.parseVotePosition(voteCast);
     }
 
     private AttendanceStatisticsCalculator.VoteRecord toAttendanceVoteRecord(PersistedVotingRecord record) {
-        Map<String, String> memberVotes = new LinkedHashMap<>();
-        for (MemberVote vote : record.votingRecord().getMemberVotesList()) {
-            String bioguideId = vote.getSourceId();
-            if (bioguideId == null || bioguideId.isBlank()) {
-                continue;
-            }
-            String label = vote.getNotes();
-            if (label == null || label.isBlank()) {
-                label = vote.getVotePosition().name();
-            }
-            memberVotes.put(bioguideId, label);
-        }
         Instant startDate = record.votingRecord().hasVoteDateUtc()
                 ? Instant.ofEpochSecond(
                         record.votingRecord().getVoteDateUtc().getSeconds(),
                         record.votingRecord().getVoteDateUtc().getNanos())
                 : null;
-        return new AttendanceStatisticsCalculator.VoteRecord(startDate, record.updateDateUtc(), memberVotes);
+        return new AttendanceStatisticsCalculator.VoteRecord(
+                startDate,
+                record.updateDateUtc(),
+                record.votingRecord().getMemberVotesList());
     }
 
     private static String deterministicUuid(String seed) {
@@ -689,8 +1593,11 @@ public class FederalIngestionService {
                     .setPartitionKey(buildPartitionKey(official.getUuid(), body))
                     .setLegislativeBody(body)
                     .setPublicOfficial(official)
+                    .addAllAccountabilityMetrics(accountabilityMetrics(body, official))
                     .build();
-            publisher.publish(event);
+            publisher.publish(
+                    existing ? AccountabilityEventType.OFFICIAL_UPDATED : AccountabilityEventType.OFFICIAL_INSERTED,
+                    event);
             LOGGER.debug("Published roster {} event for {}", existing ? "update" : "insert", official.getSourceId());
         } catch (Exception ex) {
             LOGGER.warn("Failed to publish roster event for {}", official.getSourceId(), ex);
@@ -708,4 +1615,14 @@ public class FederalIngestionService {
         String chamber = body.getChamberType().name().toLowerCase(Locale.ROOT);
         return "%s::%s".formatted(officialUuid, chamber);
     }
+
+    private record PendingHouseVote(
+            LegislativeBody body,
+            int congressNumber,
+            CongressGovClient.HouseVoteSummary summary) {}
+
+    private record PendingSummary(
+            String sourceId,
+            String legislativeBodyUuid,
+            LegislationReference legislation) {}
 }
@@ -0,0 +1,27 @@
+package com.beacon.ingest.usafed.service;
+
+/**
+ * Identifies legislation to summarize: the page to scrape plus, when known, the Congress.gov bill coordinates used
+ * to look up an upstream CRS summary first.
+ *
+ * @param legislationUrl source page containing bill details
+ * @param congressNumber congress the bill belongs to, or {@code 0} when unknown
+ * @param legislationType legislation type as reported by vote payloads (e.g. {@code HR}), may be {@code null}
+ * @param legislationNumber bill number, may be {@code null}
+ */
+public record LegislationReference(
+        String legislationUrl,
+        int congressNumber,
+        String legislationType,
+        String legislationNumber) {
+
+    public static LegislationReference ofUrl(String legislationUrl) {
+        return new LegislationReference(legislationUrl, 0, null, null);
+    }
+
+    boolean hasBillCoordinates() {
+        return congressNumber > 0
+                && legislationType != null && !legislationType.isBlank()
+                && legislationNumber != null && !legislationNumber.isBlank();
+    }
+}
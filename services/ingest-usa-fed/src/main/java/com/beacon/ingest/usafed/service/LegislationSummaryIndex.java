@@ -0,0 +1,161 @@
+package com.beacon.ingest.usafed.service;
+
+import com.beacon.ingest.usafed.similarity.LshIndex;
+import com.beacon.ingest.usafed.similarity.MinHasher;
+import com.beacon.stateful.mongo.LegislationSummaryRepository;
+import com.beacon.stateful.mongo.LegislationSummaryRepository.LegislationSummaryRecord;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Near-duplicate index over summarized legislation text. Summaries and their MinHash signatures are persisted in
+ * Mongo and the in-memory LSH index is rebuilt from there when the service starts. Summaries condensed from CRS
+ * summaries are kept apart with their CRS version: they have no text signature to match, and are replaced when a
+ * newer CRS version is published.
+ */
+@Component
+public class LegislationSummaryIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LegislationSummaryIndex.class);
+    private static final int LSH_BANDS = 32;
+
+    private final LegislationSummaryRepository repository;
+    private final MinHasher minHasher;
+    private final LshIndex lshIndex;
+    private final Map<String, String> summariesByUrl = new ConcurrentHashMap<>();
+    private final Map<String, CrsSummary> crsSummariesByUrl = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public LegislationSummaryIndex(LegislationSummaryRepository repository) {
+        this(repository, new MinHasher());
+    }
+
+    LegislationSummaryIndex(LegislationSummaryRepository repository, MinHasher minHasher) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.minHasher = Objects.requireNonNull(minHasher, "minHasher");
+        this.lshIndex = new LshIndex(minHasher.signatureLength(), LSH_BANDS);
+    }
+
+    /**
+     * Loads persisted summaries into memory once the application is ready so the first sweep benefits from reuse.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        ensureLoaded();
+    }
+
+    int[] signature(String documentText) {
+        return minHasher.signature(documentText);
+    }
+
+    /**
+     * Returns the summary previously stored for exactly this legislation URL, generated or condensed from CRS.
+     */
+    Optional<String> findByLegislationUrl(String legislationUrl) {
+        ensureLoaded();
+        return Optional.ofNullable(summariesByUrl.get(legislationUrl))
+                .or(() -> findCrsSummary(legislationUrl).map(CrsSummary::summary));
+    }
+
+    /**
+     * Returns the summary condensed from a CRS summary for this legislation URL, with the CRS version it came from.
+     */
+    Optional<CrsSummary> findCrsSummary(String legislationUrl) {
+        ensureLoaded();
+        return Optional.ofNullable(crsSummariesByUrl.get(legislationUrl));
+    }
+
+    /**
+     * Finds the stored summary whose source text is most similar to the supplied signature.
+     *
+     * @param legislationUrl URL being summarized; excluded from the candidates
+     * @param signature MinHash signature of the legislation text
+     * @return closest match, if any shares at least one LSH band
+     */
+    Optional<NearDuplicate> findNearDuplicate(String legislationUrl, int[] signature) {
+        ensureLoaded();
+        return lshIndex.findMostSimilar(signature, legislationUrl)
+                .flatMap(match -> Optional.ofNullable(summariesByUrl.get(match.key()))
+                        .map(summary -> new NearDuplicate(match.key(), summary, match.similarity())));
+    }
+
+    /**
+     * Records a summary in memory and persists it so later runs and restarts can reuse it.
+     */
+    void record(String legislationUrl, String summary, int[] signature, String reusedFrom) {
+        ensureLoaded();
+        crsSummariesByUrl.remove(legislationUrl);
+        summariesByUrl.put(legislationUrl, summary);
+        lshIndex.put(legislationUrl, signature);
+        persist(new LegislationSummaryRecord(legislationUrl, summary, signature, reusedFrom, null, Instant.now()));
+    }
+
+    /**
+     * Records a summary condensed from a CRS summary, replacing whatever was stored for the URL. It stays out of the
+     * near-duplicate index.
+     */
+    void recordCrs(String legislationUrl, CrsSummary crsSummary) {
+        ensureLoaded();
+        summariesByUrl.remove(legislationUrl);
+        lshIndex.remove(legislationUrl);
+        crsSummariesByUrl.put(legislationUrl, crsSummary);
+        persist(new LegislationSummaryRecord(
+                legislationUrl, crsSummary.summary(), new int[0], null, crsSummary.version(), Instant.now()));
+    }
+
+    private void persist(LegislationSummaryRecord record) {
+        try {
+            repository.upsert(record);
+        } catch (Exception ex) {
+            LOGGER.warn("Unable to persist legislation summary for {}: {}", record.legislationUrl(), ex.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            int[] count = {0};
+            try {
+                repository.forEach(record -> {
+                    if (record.legislationUrl() == null || record.summary() == null || record.summary().isBlank()) {
+                        return;
+                    }
+                    if (record.crsVersion() != null) {
+                        crsSummariesByUrl.put(
+                                record.legislationUrl(),
+                                new CrsSummary(record.summary(), record.crsVersion()));
+                    } else {
+                        summariesByUrl.put(record.legislationUrl(), record.summary());
+                        lshIndex.put(record.legislationUrl(), record.signature());
+                    }
+                    count[0]++;
+                });
+                LOGGER.info("Loaded {} legislation summaries into the near-duplicate index", count[0]);
+            } catch (Exception ex) {
+                LOGGER.warn("Unable to rebuild legislation summary index; continuing with an empty index: {}", ex.getMessage());
+            }
+            loaded = true;
+        }
+    }
+
+    record NearDuplicate(String legislationUrl, String summary, double similarity) {}
+
+    /**
+     * @param version identifies the CRS summary the text was condensed from; a different value means CRS published
+     *                a new version
+     */
+    record CrsSummary(String summary, String version) {}
+}
@@ -1,75 +1,142 @@
 package com.beacon.ingest.usafed.service;
 
+import com.beacon.congress.client.CongressGovClient;
+import com.beacon.congress.client.CongressGovClientException;
+import com.beacon.ingest.usafed.config.LegislationSummaryProperties;
+import com.beacon.ingest.usafed.llm.LlmBatchRequest;
+import com.beacon.ingest.usafed.llm.LlmBatchResult;
 import com.beacon.ingest.usafed.llm.LlmClient;
 import com.beacon.ingest.usafed.llm.Model;
 import com.beacon.ingest.usafed.llm.OpenAiModel;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.BreakIterator;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
- * Generates concise legislation summaries by scraping source content and delegating the synthesis to an LLM.
+ * Generates concise legislation summaries. Resolution is tiered from cheapest to most expensive: the upstream CRS
+ * summary published by Congress.gov condensed locally, a summary already stored for the URL, and finally scraping the
+ * source page and delegating the synthesis to an LLM. Near-duplicate texts (amended versions, companion bills)
+ * reuse or patch an existing summary instead of a fresh LLM call.
  */
 @Service
 public class LegislationSummaryService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LegislationSummaryService.class);
     private static final int MAX_CONTENT_LENGTH = 16_000;
+    private static final long MAX_DOWNLOAD_BYTES = 2L * 1024 * 1024;
+    private static final int PATCH_CONTENT_LENGTH = 6_000;
+    private static final int CRS_SUMMARY_MAX_WORDS = 120;
+    // Single initials and dotted initialisms such as "L.", "H.R." or "U.S.C.".
+    private static final Pattern INITIALISM = Pattern.compile("\\(?(?:\\p{L}\\.)+");
+    private static final Set<String> CRS_ABBREVIATIONS = Set.of(
+            "sec.", "secs.", "no.", "nos.", "pub.", "stat.", "res.", "con.", "cong.", "sess.", "rept.", "doc.",
+            "div.", "tit.", "subtit.", "ch.", "subch.", "pt.", "subpt.", "par.", "para.", "subpar.", "cl.", "art.",
+            "amdt.", "dept.", "admin.", "gov.", "rep.", "sen.", "mr.", "mrs.", "ms.", "dr.", "jr.", "sr.", "st.",
+            "inc.", "co.", "corp.", "e.g.", "i.e.", "etc.", "seq.", "v.", "vs.", "approx.", "jan.", "feb.", "mar.",
+            "apr.", "jun.", "jul.", "aug.", "sept.", "oct.", "nov.", "dec.");
     private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(20);
 
     private final LlmClient llmClient;
+    private final CongressGovClient congressGovClient;
     private final HttpClient httpClient;
     private final Model summaryModel;
+    private final LegislationSummaryIndex summaryIndex;
+    private final LegislationSummaryProperties properties;
+    private final StreamingHtmlTextExtractor textExtractor =
+            new StreamingHtmlTextExtractor(MAX_CONTENT_LENGTH, MAX_DOWNLOAD_BYTES);
 
     @Autowired
-    public LegislationSummaryService(LlmClient llmClient) {
-        this(llmClient, HttpClient.newBuilder()
+    public LegislationSummaryService(
+            LlmClient llmClient,
+            CongressGovClient congressGovClient,
+            LegislationSummaryIndex summaryIndex,
+            LegislationSummaryProperties properties) {
+        this(llmClient, congressGovClient, HttpClient.newBuilder()
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .connectTimeout(FETCH_TIMEOUT)
                 .build(),
-                OpenAiModel.GPT_4O_MINI);
+                OpenAiModel.GPT_4O_MINI,
+                summaryIndex,
+                properties);
     }
 
-    LegislationSummaryService(LlmClient llmClient, HttpClient httpClient, Model summaryModel) {
+    LegislationSummaryService(
+            LlmClient llmClient,
+            CongressGovClient congressGovClient,
+            HttpClient httpClient,
+            Model summaryModel,
+            LegislationSummaryIndex summaryIndex,
+            LegislationSummaryProperties properties) {
         this.llmClient = Objects.requireNonNull(llmClient, "llmClient");
+        this.congressGovClient = Objects.requireNonNull(congressGovClient, "congressGovClient");
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
         this.summaryModel = Objects.requireNonNull(summaryModel, "summaryModel");
+        this.summaryIndex = Objects.requireNonNull(summaryIndex, "summaryIndex");
+        this.properties = Objects.requireNonNull(properties, "properties");
     }
 
     /**
-     * Scrapes the supplied legislation URL and requests a single-paragraph summary from the configured model.
+     * Number of outstanding summaries at or above which callers should prefer
+     * {@link #summarizeLegislationBatch(Collection)}.
+     */
+    public int batchThreshold() {
+        return properties.batchThreshold();
+    }
+
+    /**
+     * Summarizes the legislation at the supplied URL without bill coordinates, so no CRS lookup is attempted.
      *
      * @param legislationUrl source page containing bill details
      * @return optional summary when both scraping and LLM processing succeed
      */
     public Optional<String> summarizeLegislation(String legislationUrl) {
-        if (legislationUrl == null || legislationUrl.isBlank()) {
+        return summarizeLegislation(LegislationReference.ofUrl(legislationUrl));
+    }
+
+    /**
+     * Returns the condensed CRS summary or the stored summary when available; otherwise scrapes the legislation URL
+     * and requests a single-paragraph summary from the configured model. When the scraped text is a near duplicate
+     * of previously summarized legislation, that summary is reused (above {@code reuseSimilarity}) or handed to the
+     * model for a cheaper revision (above {@code patchSimilarity}).
+     *
+     * @param reference legislation URL plus optional bill coordinates
+     * @return optional summary when any tier succeeds
+     */
+    public Optional<String> summarizeLegislation(LegislationReference reference) {
+        if (reference == null || reference.legislationUrl() == null || reference.legislationUrl().isBlank()) {
             return Optional.empty();
         }
+        String legislationUrl = reference.legislationUrl();
         try {
-            String documentText = fetchDocumentText(legislationUrl);
-            if (documentText.isBlank()) {
-                return Optional.empty();
+            PreparedSummary prepared = prepare(reference);
+            if (prepared.prompt() == null) {
+                return Optional.ofNullable(prepared.resolvedSummary());
             }
-            String prompt = buildPrompt(documentText);
-            String summary = llmClient.promptModel(summaryModel, prompt);
-            String normalized = summary == null ? "" : summary.trim();
-            if (normalized.isEmpty()) {
-                return Optional.empty();
-            }
-            return Optional.of(normalized);
+            return complete(prepared, llmClient.promptModel(summaryModel, prepared.prompt()));
         } catch (IllegalStateException ex) {
             LOGGER.warn("LLM summary generation unavailable for {}: {}", legislationUrl, ex.getMessage());
             return Optional.empty();
@@ -79,6 +146,209 @@ public class LegislationSummaryService {
         }
     }
 
+    /**
+     * Summarizes many legislation references at once. Stored and CRS summaries, scraping, and near-duplicate reuse
+     * happen exactly as in {@link #summarizeLegislation(LegislationReference)}; the remaining prompts are submitted together through
+     * {@link LlmClient#promptModelBatch(Model, List)} so a large backlog costs one batch job rather than one request
+     * per bill.
+     *
+     * @param references legislation to summarize; duplicate URLs and blanks are ignored
+     * @return summaries keyed by legislation URL for every URL that could be summarized
+     */
+    public Map<String, String> summarizeLegislationBatch(Collection<LegislationReference> references) {
+        if (references == null || references.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> summaries = new LinkedHashMap<>();
+        Map<String, PreparedSummary> pending = new LinkedHashMap<>();
+        for (LegislationReference reference : references) {
+            String legislationUrl = reference == null ? null : reference.legislationUrl();
+            if (legislationUrl == null || legislationUrl.isBlank()
+                    || summaries.containsKey(legislationUrl) || pending.containsKey(legislationUrl)) {
+                continue;
+            }
+            try {
+                PreparedSummary prepared = prepare(reference);
+                if (prepared.prompt() != null) {
+                    pending.put(legislationUrl, prepared);
+                } else if (prepared.resolvedSummary() != null) {
+                    summaries.put(legislationUrl, prepared.resolvedSummary());
+                }
+            } catch (Exception ex) {
+                LOGGER.warn("Unable to prepare legislation summary for {}: {}", legislationUrl, ex.getMessage());
+            }
+        }
+        if (pending.isEmpty()) {
+            return summaries;
+        }
+
+        List<LlmBatchRequest> requests = new ArrayList<>(pending.size());
+        for (PreparedSummary prepared : pending.values()) {
+            requests.add(new LlmBatchRequest(prepared.legislationUrl(), prepared.prompt()));
+        }
+        try {
+            for (LlmBatchResult result : llmClient.promptModelBatch(summaryModel, requests)) {
+                PreparedSummary prepared = pending.get(result.customId());
+                if (prepared == null) {
+                    continue;
+                }
+                if (!result.succeeded()) {
+                    LOGGER.warn("Batch summary failed for {}: {}", result.customId(), result.error());
+                    continue;
+                }
+                complete(prepared, result.content()).ifPresent(summary -> summaries.put(result.customId(), summary));
+            }
+        } catch (IllegalStateException ex) {
+            LOGGER.warn("LLM batch summary generation unavailable for {} legislation: {}", pending.size(), ex.getMessage());
+        }
+        LOGGER.info(
+                "Batch summarization produced {} of {} legislation summaries ({} sent to the model)",
+                summaries.size(),
+                references.size(),
+                pending.size());
+        return summaries;
+    }
+
+    /**
+     * Resolves a summary without the model where possible (known URL, CRS summary, or near-duplicate reuse) and
+     * otherwise builds the prompt that should be sent.
+     */
+    private PreparedSummary prepare(LegislationReference reference) throws IOException, InterruptedException {
+        String legislationUrl = reference.legislationUrl();
+        // CRS is checked before stored summaries so a newer CRS version replaces the one stored earlier.
+        Optional<LegislationSummaryIndex.CrsSummary> crsSummary = fetchCrsSummary(reference);
+        if (crsSummary.isPresent()) {
+            if (!summaryIndex.findCrsSummary(legislationUrl).equals(crsSummary)) {
+                summaryIndex.recordCrs(legislationUrl, crsSummary.get());
+            }
+            return PreparedSummary.resolved(legislationUrl, crsSummary.get().summary());
+        }
+        Optional<String> known = summaryIndex.findByLegislationUrl(legislationUrl);
+        if (known.isPresent()) {
+            return PreparedSummary.resolved(legislationUrl, known.get());
+        }
+        String documentText = fetchDocumentText(legislationUrl);
+        if (documentText.isBlank()) {
+            return PreparedSummary.resolved(legislationUrl, null);
+        }
+        int[] signature = summaryIndex.signature(documentText);
+        Optional<LegislationSummaryIndex.NearDuplicate> nearDuplicate = summaryIndex
+                .findNearDuplicate(legislationUrl, signature)
+                .filter(match -> match.similarity() >= properties.patchSimilarity());
+        if (nearDuplicate.isPresent() && nearDuplicate.get().similarity() >= properties.reuseSimilarity()) {
+            LegislationSummaryIndex.NearDuplicate match = nearDuplicate.get();
+            LOGGER.info(
+                    "Reusing legislation summary from {} for {} (estimated similarity {})",
+                    match.legislationUrl(),
+                    legislationUrl,
+                    "%.2f".formatted(match.similarity()));
+            summaryIndex.record(legislationUrl, match.summary(), signature, match.legislationUrl());
+            return PreparedSummary.resolved(legislationUrl, match.summary());
+        }
+        String prompt = nearDuplicate
+                .map(match -> buildPatchPrompt(match.summary(), documentText))
+                .orElseGet(() -> buildPrompt(documentText));
+        return new PreparedSummary(
+                legislationUrl,
+                null,
+                prompt,
+                signature,
+                nearDuplicate.map(LegislationSummaryIndex.NearDuplicate::legislationUrl).orElse(null));
+    }
+
+    private Optional<String> complete(PreparedSummary prepared, String summary) {
+        String normalized = summary == null ? "" : summary.trim();
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        summaryIndex.record(prepared.legislationUrl(), normalized, prepared.signature(), prepared.reusedFrom());
+        return Optional.of(normalized);
+    }
+
+    /**
+     * Looks up the most recent CRS summary for the bill and condenses it to a single plain-text paragraph, versioned
+     * by its version code, action date and update date. Lookup failures fall through to the stored and scraping tiers.
+     */
+    private Optional<LegislationSummaryIndex.CrsSummary> fetchCrsSummary(LegislationReference reference) {
+        if (!reference.hasBillCoordinates()) {
+            return Optional.empty();
+        }
+        try {
+            Optional<LegislationSummaryIndex.CrsSummary> condensed = congressGovClient.fetchBillSummaries(
+                            reference.congressNumber(),
+                            reference.legislationType(),
+                            reference.legislationNumber())
+                    .stream()
+                    .max(Comparator.comparing(
+                                    CongressGovClient.BillSummary::actionDate,
+                                    Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(
+                                    CongressGovClient.BillSummary::updateDate,
+                                    Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .map(summary -> new LegislationSummaryIndex.CrsSummary(
+                            condenseCrsSummary(summary.text(), CRS_SUMMARY_MAX_WORDS),
+                            "%s|%s|%s".formatted(summary.versionCode(), summary.actionDate(), summary.updateDate())))
+                    .filter(summary -> !summary.summary().isBlank());
+            condensed.ifPresent(summary -> LOGGER.debug(
+                    "Using CRS summary for {} {} ({})",
+                    reference.legislationType(),
+                    reference.legislationNumber(),
+                    reference.legislationUrl()));
+            return condensed;
+        } catch (CongressGovClientException ex) {
+            LOGGER.debug("CRS summary unavailable for {}: {}", reference.legislationUrl(), ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Strips markup from a CRS summary and keeps whole sentences up to {@code maxWords} words. A first sentence
+     * that is already too long is cut at the word limit instead.
+     *
+     * <p>Sentences are found with a {@link BreakIterator}, ignoring its boundaries after the citations and
+     * abbreviations CRS text is full of ("H.R.", "U.S.C.", "Sec.", "Pub. L. No.").
+     */
+    static String condenseCrsSummary(String html, int maxWords) {
+        if (html == null || html.isBlank()) {
+            return "";
+        }
+        String text = Jsoup.parse(html).text().replaceAll("\\s+", " ").trim();
+        if (wordCount(text) <= maxWords) {
+            return text;
+        }
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.US);
+        sentences.setText(text);
+        int kept = 0;
+        int words = 0;
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; end = sentences.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (end < text.length() && endsWithAbbreviation(sentence)) {
+                continue;
+            }
+            words += wordCount(sentence);
+            if (words > maxWords) {
+                break;
+            }
+            kept = end;
+            start = end;
+        }
+        if (kept > 0) {
+            return text.substring(0, kept).trim();
+        }
+        return String.join(" ", Arrays.copyOf(text.split(" "), maxWords)) + "...";
+    }
+
+    private static boolean endsWithAbbreviation(String sentence) {
+        String lastWord = sentence.substring(sentence.lastIndexOf(' ') + 1);
+        return INITIALISM.matcher(lastWord).matches()
+                || CRS_ABBREVIATIONS.contains(lastWord.toLowerCase(Locale.ROOT));
+    }
+
+    private static int wordCount(String text) {
+        return text.isBlank() ? 0 : text.trim().split(" ").length;
+    }
+
     private String fetchDocumentText(String legislationUrl) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder(URI.create(legislationUrl))
                 .GET()
@@ -86,22 +356,33 @@ public class LegislationSummaryService {
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
                 .build();
 
-        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-        if (response.statusCode() >= 400) {
-            LOGGER.warn("Unable to fetch legislation content (status {}) from {}", response.statusCode(), legislationUrl);
-            return "";
-        }
-
-        String text;
-        try (ByteArrayInputStream bodyStream = new ByteArrayInputStream(response.body())) {
-            Document document = Jsoup.parse(bodyStream, null, legislationUrl);
-            text = document == null ? "" : document.text();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        // Closing the body before it is exhausted aborts the transfer, so oversized pages stop downloading here.
+        try (InputStream body = response.body()) {
+            if (response.statusCode() >= 400) {
+                LOGGER.warn("Unable to fetch legislation content (status {}) from {}", response.statusCode(), legislationUrl);
+                return "";
+            }
+            return textExtractor.extract(body, resolveCharset(response));
         }
+    }
 
-        if (text.length() > MAX_CONTENT_LENGTH) {
-            text = text.substring(0, MAX_CONTENT_LENGTH);
-        }
-        return text.trim();
+    private Charset resolveCharset(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue("Content-Type")
+                .map(contentType -> {
+                    int index = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+                    if (index < 0) {
+                        return null;
+                    }
+                    String name = contentType.substring(index + "charset=".length()).split(";")[0].replace("\"", "").trim();
+                    try {
+                        return Charset.forName(name);
+                    } catch (IllegalArgumentException ex) {
+                        return null;
+                    }
+                })
+                .orElse(StandardCharsets.UTF_8);
     }
 
     private String buildPrompt(String documentText) {
@@ -113,4 +394,33 @@ public class LegislationSummaryService {
                 %s
                 """.formatted(documentText);
     }
+
+    private String buildPatchPrompt(String existingSummary, String documentText) {
+        String excerpt = documentText.length() > PATCH_CONTENT_LENGTH
+                ? documentText.substring(0, PATCH_CONTENT_LENGTH)
+                : documentText;
+        return """
+                The following summary was written for a closely related version of this U.S. congressional legislation.
+                Revise it only where the legislation text below differs, keeping a single neutral paragraph (maximum 120 words).
+                Return the summary unchanged if it remains accurate.
+
+                Existing summary:
+                %s
+
+                Legislation text:
+                %s
+                """.formatted(existingSummary, excerpt);
+    }
+
+    private record PreparedSummary(
+            String legislationUrl,
+            String resolvedSummary,
+            String prompt,
+            int[] signature,
+            String reusedFrom) {
+
+        static PreparedSummary resolved(String legislationUrl, String summary) {
+            return new PreparedSummary(legislationUrl, summary, null, null, null);
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package com.beacon.ingest.usafed.service;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.ingest.usafed.metrics.MetricPlugin;
+import com.beacon.ingest.usafed.metrics.VoteEvent;
+import com.beacon.stateful.mongo.PartyUnityRepository.MemberUnity;
+import com.beacon.stateful.mongo.VoteCode;
+import com.beacon.stateful.mongo.VoteMatrix;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps every member's party-unity counters for one legislative body current as roll calls land.
+ *
+ * <p>A party takes a position on a roll call when more of its members who cast a vote voted yea than nay, or the
+ * reverse. Only party-line roll calls count: those on which the positions of at least two parties oppose each other,
+ * so unanimous and bipartisan votes do not inflate anyone's unity. Each member who cast a vote on a party-line roll
+ * call is counted with or against their own party, so applying a roll call costs O(members) and nothing is
+ * recomputed.
+ *
+ * <p>An engine counts with one fixed party mapping, which is stored with its counters; when affiliations change the
+ * counters are rebuilt rather than mixed. A re-ingested roll call therefore subtracts exactly the counts its previous
+ * version added. Deviation streaks follow roll calls in {@link #voteKey} order and only advance on a roll call at or
+ * after the last one counted for the member, so re-ingesting an older roll call corrects the counts without rewinding
+ * streaks, while re-ingesting the newest one recomputes the streak from the one before it. Instances are not
+ * thread-safe.
+ */
+final class PartyUnityEngine {
+
+    static final String METHODOLOGY_VERSION = "party-unity-v2";
+    static final String UNITY_RATE = "party_unity_rate";
+    static final String VOTES_AGAINST_PARTY = "votes_against_party";
+    static final String DEVIATION_STREAK = "party_deviation_streak";
+
+    private final Map<String, String> partyByMember;
+    private final Map<String, Counters> counters = new LinkedHashMap<>();
+
+    /**
+     * @param partyByMember member to party mapping used for every roll call; party codes are compared
+     *     case-insensitively and members without a party are never counted
+     */
+    PartyUnityEngine(Map<String, String> partyByMember) {
+        this.partyByMember = Map.copyOf(VoteEvent.normalizeParties(partyByMember));
+    }
+
+    /**
+     * Restores an engine from stored counters and the party mapping they were counted with.
+     */
+    static PartyUnityEngine restore(Map<String, String> partyByMember, Collection<MemberUnity> stored) {
+        PartyUnityEngine engine = new PartyUnityEngine(partyByMember);
+        for (MemberUnity member : stored) {
+            Counters restored = engine.counters(member.memberId());
+            restored.withParty = member.votesWithParty();
+            restored.againstParty = member.votesAgainstParty();
+            restored.streak = member.deviationStreak();
+            restored.longestStreak = member.longestDeviationStreak();
+            restored.lastVoteKey = member.lastVoteKey();
+            restored.priorStreak = member.priorDeviationStreak();
+            restored.priorLongestStreak = member.priorLongestDeviationStreak();
+        }
+        return engine;
+    }
+
+    /**
+     * Normalized member to party mapping the counters are kept with.
+     */
+    Map<String, String> parties() {
+        return partyByMember;
+    }
+
+    /**
+     * Whether the counters were counted with the given affiliations; when not, they must be rebuilt.
+     */
+    boolean countsWith(Map<String, String> partyByMember) {
+        return this.partyByMember.equals(VoteEvent.normalizeParties(partyByMember));
+    }
+
+    /**
+     * Orders roll calls by Congress, session and roll call number.
+     */
+    static long voteKey(int congressNumber, int sessionNumber, int rollCallNumber) {
+        return ((long) congressNumber << 40) | ((long) sessionNumber << 24) | rollCallNumber;
+    }
+
+    /**
+     * Applies one roll call.
+     *
+     * @param previous positions of the stored version of the roll call, or {@code null} when it is new
+     * @return the counters of every member whose counters changed
+     */
+    List<MemberUnity> apply(long voteKey, Map<String, VoteCode> previous, Map<String, VoteCode> current) {
+        Map<String, Counters> changed = new LinkedHashMap<>();
+        if (previous != null && !previous.isEmpty()) {
+            Map<String, VoteCode> majorities = partyLineMajorities(previous);
+            previous.forEach((member, code) -> {
+                Boolean withParty = withParty(majorities, member, code);
+                if (withParty == null) {
+                    return;
+                }
+                Counters memberCounters = counters(member);
+                if (withParty) {
+                    memberCounters.withParty--;
+                } else {
+                    memberCounters.againstParty--;
+                }
+                if (voteKey == memberCounters.lastVoteKey) {
+                    // The member's newest counted roll call is being replaced: its streaks go back to before it.
+                    memberCounters.streak = memberCounters.priorStreak;
+                    memberCounters.longestStreak = memberCounters.priorLongestStreak;
+                }
+                changed.put(member, memberCounters);
+            });
+        }
+        Map<String, VoteCode> majorities = partyLineMajorities(current);
+        current.forEach((member, code) -> {
+            Boolean withParty = withParty(majorities, member, code);
+            if (withParty == null) {
+                return;
+            }
+            Counters memberCounters = counters(member);
+            if (withParty) {
+                memberCounters.withParty++;
+            } else {
+                memberCounters.againstParty++;
+            }
+            if (voteKey >= memberCounters.lastVoteKey) {
+                if (voteKey > memberCounters.lastVoteKey) {
+                    memberCounters.priorStreak = memberCounters.streak;
+                    memberCounters.priorLongestStreak = memberCounters.longestStreak;
+                    memberCounters.lastVoteKey = voteKey;
+                }
+                memberCounters.streak = withParty ? 0 : memberCounters.streak + 1;
+                memberCounters.longestStreak = Math.max(memberCounters.longestStreak, memberCounters.streak);
+            }
+            changed.put(member, memberCounters);
+        });
+        List<MemberUnity> updated = new ArrayList<>(changed.size());
+        changed.forEach((member, memberCounters) -> updated.add(memberCounters.toMemberUnity(member)));
+        return updated;
+    }
+
+    /**
+     * Applies every roll call of a session matrix in roll call order, as a full build does.
+     */
+    void applyMatrix(VoteMatrix matrix) {
+        List<String> members = matrix.members();
+        for (int rollCall = 1; rollCall <= matrix.rollCalls(); rollCall++) {
+            Map<String, VoteCode> positions = new HashMap<>();
+            for (int member = 0; member < members.size(); member++) {
+                VoteCode code = matrix.get(member, rollCall);
+                if (code != VoteCode.NONE) {
+                    positions.put(members.get(member), code);
+                }
+            }
+            if (!positions.isEmpty()) {
+                apply(voteKey(matrix.congressNumber(), matrix.sessionNumber(), rollCall), null, positions);
+            }
+        }
+    }
+
+    Optional<MemberUnity> find(String member) {
+        Counters memberCounters = counters.get(member);
+        return memberCounters == null ? Optional.empty() : Optional.of(memberCounters.toMemberUnity(member));
+    }
+
+    List<MemberUnity> all() {
+        List<MemberUnity> all = new ArrayList<>(counters.size());
+        counters.forEach((member, memberCounters) -> all.add(memberCounters.toMemberUnity(member)));
+        return all;
+    }
+
+    /**
+     * Publishes a member's counters as accountability metrics: the unity rate, the votes against the party, and the
+     * current deviation streak with the longest one in its details.
+     */
+    static List<AccountabilityMetric> toMetrics(String officialSourceId, MemberUnity unity) {
+        return List.of(
+                metric(
+                        officialSourceId,
+                        UNITY_RATE,
+                        unity.unityRate(),
+                        "%d of %d party-line votes cast with the party majority".formatted(
+                                unity.votesWithParty(),
+                                unity.votesWithParty() + unity.votesAgainstParty())),
+                metric(
+                        officialSourceId,
+                        VOTES_AGAINST_PARTY,
+                        unity.votesAgainstParty(),
+                        "votes cast against the party majority"),
+                metric(
+                        officialSourceId,
+                        DEVIATION_STREAK,
+                        unity.deviationStreak(),
+                        "longest streak of votes against the party majority: %d".formatted(
+                                unity.longestDeviationStreak())));
+    }
+
+    private static AccountabilityMetric metric(String officialSourceId, String name, double score, String details) {
+        return MetricPlugin.metric(officialSourceId, name, score, METHODOLOGY_VERSION, details);
+    }
+
+    /**
+     * Party positions of a party-line roll call, or an empty map when no two parties took opposing positions.
+     */
+    private Map<String, VoteCode> partyLineMajorities(Map<String, VoteCode> positions) {
+        Map<String, VoteCode> majorities = VoteEvent.partyMajorities(positions, partyByMember);
+        boolean partyLine = majorities.containsValue(VoteCode.YEA) && majorities.containsValue(VoteCode.NAY);
+        return partyLine ? majorities : Map.of();
+    }
+
+    /**
+     * Whether the member voted with their party, or {@code null} when the roll call does not count for them.
+     */
+    private Boolean withParty(Map<String, VoteCode> majorities, String member, VoteCode code) {
+        if (code != VoteCode.YEA && code != VoteCode.NAY) {
+            return null;
+        }
+        String party = partyByMember.get(member);
+        VoteCode majority = party == null ? null : majorities.get(party);
+        return majority == null ? null : majority == code;
+    }
+
+    private Counters counters(String member) {
+        return counters.computeIfAbsent(member, ignored -> new Counters());
+    }
+
+    private static final class Counters {
+        private int withParty;
+        private int againstParty;
+        private int streak;
+        private int longestStreak;
+        private long lastVoteKey;
+        private int priorStreak;
+        private int priorLongestStreak;
+
+        MemberUnity toMemberUnity(String member) {
+            return new MemberUnity(
+                    member, withParty, againstParty, streak, longestStreak, lastVoteKey, priorStreak, priorLongestStreak);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.beacon.ingest.usafed.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Set;
+import org.jsoup.parser.Parser;
+
+/**
+ * Extracts readable text from an HTML stream without building a DOM. Tags are tokenized as characters arrive,
+ * non-content elements (scripts, navigation, headers, footers, ...) are skipped, and reading stops as soon as
+ * {@code maxChars} characters of text or {@code maxBytes} bytes of input have been consumed, so a multi-megabyte
+ * bill text page costs no more than the prefix we actually summarize.
+ */
+final class StreamingHtmlTextExtractor {
+
+    private static final int BUFFER_SIZE = 8_192;
+    private static final Set<String> SKIPPED_ELEMENTS = Set.of(
+            "script", "style", "noscript", "head", "nav", "header", "footer", "svg", "template", "iframe", "form");
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style");
+    private static final Set<String> BLOCK_ELEMENTS = Set.of(
+            "p", "div", "br", "li", "ul", "ol", "tr", "td", "th", "table", "section", "article", "main", "pre",
+            "h1", "h2", "h3", "h4", "h5", "h6", "blockquote", "dd", "dt", "hr");
+
+    private final int maxChars;
+    private final long maxBytes;
+
+    StreamingHtmlTextExtractor(int maxChars, long maxBytes) {
+        if (maxChars <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("maxChars and maxBytes must be positive");
+        }
+        this.maxChars = maxChars;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Reads text from the stream until the document ends or a limit is reached. The caller remains responsible
+     * for closing the stream; closing it early is what releases the underlying connection.
+     */
+    String extract(InputStream input, Charset charset) throws IOException {
+        Reader reader = new InputStreamReader(new CappedInputStream(input, maxBytes), charset);
+        Extraction extraction = new Extraction();
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while (!extraction.full() && (read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read && !extraction.full(); i++) {
+                extraction.accept(buffer[i]);
+            }
+        }
+        extraction.flushText();
+        return extraction.result();
+    }
+
+    private final class Extraction {
+
+        private final StringBuilder output = new StringBuilder();
+        private final StringBuilder text = new StringBuilder();
+        private final StringBuilder tag = new StringBuilder();
+        private final StringBuilder rawTail = new StringBuilder();
+        private boolean inTag;
+        private String skipping;
+        private int skipDepth;
+        private String rawTextCloser;
+
+        void accept(char c) {
+            if (!inTag) {
+                if (rawTextCloser != null) {
+                    scanRawText(c);
+                } else if (c == '<') {
+                    inTag = true;
+                    tag.setLength(0);
+                } else if (skipping == null) {
+                    text.append(c);
+                    // Flush on whitespace so an entity reference is never split across two decode calls.
+                    if (text.length() >= BUFFER_SIZE && Character.isWhitespace(c)) {
+                        flushText();
+                    }
+                }
+                return;
+            }
+            tag.append(c);
+            if (c != '>') {
+                return;
+            }
+            if (tag.length() >= 3 && tag.charAt(0) == '!' && tag.charAt(1) == '-' && tag.charAt(2) == '-') {
+                // Comments end with "-->"; a '>' anywhere else is part of the comment body.
+                if (tag.length() < 5 || tag.charAt(tag.length() - 2) != '-' || tag.charAt(tag.length() - 3) != '-') {
+                    return;
+                }
+                inTag = false;
+                return;
+            }
+            inTag = false;
+            handleTag(tag.substring(0, tag.length() - 1));
+        }
+
+        /**
+         * Script and style bodies may contain '<' freely, so only their literal closing tag ends them.
+         */
+        private void scanRawText(char c) {
+            rawTail.append(Character.toLowerCase(c));
+            if (rawTail.length() > rawTextCloser.length()) {
+                rawTail.deleteCharAt(0);
+            }
+            if (rawTail.toString().equals(rawTextCloser)) {
+                rawTail.setLength(0);
+                rawTextCloser = null;
+                inTag = true;
+                tag.setLength(0);
+                tag.append('/').append(skipping);
+            }
+        }
+
+        private void handleTag(String rawTag) {
+            boolean closing = rawTag.startsWith("/");
+            String name = tagName(closing ? rawTag.substring(1) : rawTag);
+            if (skipping != null) {
+                if (name.equals(skipping)) {
+                    skipDepth += closing ? -1 : (rawTag.endsWith("/") ? 0 : 1);
+                    if (skipDepth == 0) {
+                        skipping = null;
+                    }
+                }
+                return;
+            }
+            if (!closing && !rawTag.endsWith("/") && SKIPPED_ELEMENTS.contains(name)) {
+                flushText();
+                skipping = name;
+                skipDepth = 1;
+                rawTextCloser = RAW_TEXT_ELEMENTS.contains(name) ? "</" + name : null;
+                return;
+            }
+            if (BLOCK_ELEMENTS.contains(name)) {
+                text.append(' ');
+                flushText();
+            }
+        }
+
+        void flushText() {
+            if (text.isEmpty()) {
+                return;
+            }
+            String decoded = Parser.unescapeEntities(text.toString(), false);
+            text.setLength(0);
+            for (int i = 0; i < decoded.length() && !full(); i++) {
+                char c = decoded.charAt(i);
+                if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                    if (!output.isEmpty() && output.charAt(output.length() - 1) != ' ') {
+                        output.append(' ');
+                    }
+                } else {
+                    output.append(c);
+                }
+            }
+        }
+
+        boolean full() {
+            return output.length() >= maxChars;
+        }
+
+        String result() {
+            return output.toString().trim();
+        }
+
+        private String tagName(String rawTag) {
+            int end = 0;
+            while (end < rawTag.length()
+                    && !Character.isWhitespace(rawTag.charAt(end))
+                    && rawTag.charAt(end) != '/') {
+                end++;
+            }
+            return rawTag.substring(0, end).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Reports end-of-stream once the byte budget is spent so oversized pages are never fully downloaded.
+     */
+    private static final class CappedInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private long remaining;
+
+        CappedInputStream(InputStream delegate, long maxBytes) {
+            this.delegate = delegate;
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = delegate.read();
+            if (value != -1) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = delegate.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.beacon.ingest.usafed.similarity;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe in-memory locality-sensitive hashing index over MinHash signatures. Signatures are split into bands;
+ * two documents become candidates when any band hashes identically, and candidates are then ranked by their
+ * estimated Jaccard similarity.
+ */
+public final class LshIndex {
+
+    private final int bands;
+    private final int rowsPerBand;
+    private final Map<String, int[]> signatures = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param signatureLength length of every signature stored in the index
+     * @param bands number of bands; must divide {@code signatureLength}
+     */
+    public LshIndex(int signatureLength, int bands) {
+        if (bands <= 0 || signatureLength <= 0 || signatureLength % bands != 0) {
+            throw new IllegalArgumentException("signatureLength must be a positive multiple of bands");
+        }
+        this.bands = bands;
+        this.rowsPerBand = signatureLength / bands;
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Adds or replaces the signature stored for {@code key}. Signatures of an unexpected length are ignored.
+     */
+    public void put(String key, int[] signature) {
+        Objects.requireNonNull(key, "key");
+        if (signature == null || signature.length != bands * rowsPerBand) {
+            return;
+        }
+        int[] copy = signature.clone();
+        int[] previous = signatures.put(key, copy);
+        if (previous != null) {
+            for (int band = 0; band < bands; band++) {
+                Set<String> bucket = buckets.get(bandKey(previous, band));
+                if (bucket != null) {
+                    bucket.remove(key);
+                }
+            }
+        }
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bandKey(copy, band), ignored -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    /**
+     * Removes the signature stored for {@code key}, if any.
+     */
+    public void remove(String key) {
+        int[] previous = signatures.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            Set<String> bucket = buckets.get(bandKey(previous, band));
+            if (bucket != null) {
+                bucket.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the most similar stored document other than {@code excludeKey}.
+     *
+     * @param signature query signature
+     * @param excludeKey key to ignore (typically the document being queried), may be {@code null}
+     * @return best candidate with its estimated similarity
+     */
+    public Optional<Match> findMostSimilar(int[] signature, String excludeKey) {
+        if (signature == null || signature.length != bands * rowsPerBand) {
+            return Optional.empty();
+        }
+        Set<String> candidates = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Set<String> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        Match best = null;
+        for (String candidate : candidates) {
+            if (candidate.equals(excludeKey)) {
+                continue;
+            }
+            int[] stored = signatures.get(candidate);
+            double similarity = MinHasher.similarity(signature, stored);
+            if (best == null || similarity > best.similarity()) {
+                best = new Match(candidate, similarity);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long hash = band;
+        int offset = band * rowsPerBand;
+        for (int row = 0; row < rowsPerBand; row++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[offset + row];
+        }
+        return hash;
+    }
+
+    public record Match(String key, double similarity) {}
+}
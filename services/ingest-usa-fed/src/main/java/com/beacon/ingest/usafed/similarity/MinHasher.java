@@ -0,0 +1,141 @@
+package com.beacon.ingest.usafed.similarity;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Computes MinHash signatures over word shingles so the Jaccard similarity of two documents can be estimated by
+ * comparing fixed-size signatures instead of the full texts.
+ *
+ * <p>Hash seeds are derived from a fixed seed, so signatures persisted by one process remain comparable with
+ * signatures computed after a restart.
+ */
+public final class MinHasher {
+
+    public static final int DEFAULT_SIGNATURE_LENGTH = 128;
+    public static final int DEFAULT_SHINGLE_SIZE = 5;
+
+    private static final long SEED = 0x6265_6163_6f6e_4d48L;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher() {
+        this(DEFAULT_SIGNATURE_LENGTH, DEFAULT_SHINGLE_SIZE);
+    }
+
+    public MinHasher(int signatureLength, int shingleSize) {
+        if (signatureLength <= 0) {
+            throw new IllegalArgumentException("signatureLength must be positive");
+        }
+        if (shingleSize <= 0) {
+            throw new IllegalArgumentException("shingleSize must be positive");
+        }
+        this.shingleSize = shingleSize;
+        this.seeds = new long[signatureLength];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < signatureLength; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int signatureLength() {
+        return seeds.length;
+    }
+
+    /**
+     * Builds the signature for the supplied text. Tokens are lower-cased alphanumeric runs and shingles are
+     * overlapping windows of {@code shingleSize} tokens; texts shorter than one window form a single shingle.
+     *
+     * @param text document text (may be {@code null})
+     * @return signature of {@link #signatureLength()} values; empty when the text has no tokens
+     */
+    public int[] signature(String text) {
+        long[] tokenHashes = tokenHashes(text);
+        if (tokenHashes.length == 0) {
+            return new int[0];
+        }
+        long[] minimums = new long[seeds.length];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        int windows = Math.max(1, tokenHashes.length - shingleSize + 1);
+        for (int start = 0; start < windows; start++) {
+            long shingle = FNV_OFFSET_BASIS;
+            int end = Math.min(tokenHashes.length, start + shingleSize);
+            for (int i = start; i < end; i++) {
+                shingle = (shingle ^ tokenHashes[i]) * FNV_PRIME;
+            }
+            for (int i = 0; i < seeds.length; i++) {
+                long hashed = mix(shingle ^ seeds[i]);
+                if (hashed < minimums[i]) {
+                    minimums[i] = hashed;
+                }
+            }
+        }
+        int[] signature = new int[seeds.length];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = (int) (minimums[i] >>> 32);
+        }
+        return signature;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the documents behind two signatures as the fraction of matching slots.
+     *
+     * @return similarity in {@code [0, 1]}; {@code 0} when the signatures are empty or of different lengths
+     */
+    public static double similarity(int[] left, int[] right) {
+        if (left == null || right == null || left.length == 0 || left.length != right.length) {
+            return 0d;
+        }
+        int matches = 0;
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] == right[i]) {
+                matches++;
+            }
+        }
+        return (double) matches / left.length;
+    }
+
+    private static long[] tokenHashes(String text) {
+        if (text == null || text.isBlank()) {
+            return new long[0];
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        long[] hashes = new long[Math.max(16, normalized.length() / 6)];
+        int count = 0;
+        long hash = FNV_OFFSET_BASIS;
+        boolean inToken = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                hash = (hash ^ ch) * FNV_PRIME;
+                inToken = true;
+            } else if (inToken) {
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, hashes.length * 2);
+                }
+                hashes[count++] = hash;
+                hash = FNV_OFFSET_BASIS;
+                inToken = false;
+            }
+        }
+        if (inToken) {
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length + 1);
+            }
+            hashes[count++] = hash;
+        }
+        return Arrays.copyOf(hashes, count);
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer; spreads the seeded shingle hash across all bits.
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
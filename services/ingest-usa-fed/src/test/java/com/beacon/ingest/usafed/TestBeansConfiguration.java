@@ -1,7 +1,14 @@
 package com.beacon.ingest.usafed;
 
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceRollupRepository;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
+import com.beacon.stateful.mongo.LegislationSummaryRepository;
 import com.beacon.stateful.mongo.LegislativeBodyRepository;
+import com.beacon.stateful.mongo.MetricCheckpointRepository;
+import com.beacon.stateful.mongo.PartyUnityRepository;
 import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
 import com.beacon.stateful.mongo.VotingRecordRepository;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -24,4 +31,39 @@ class TestBeansConfiguration {
     VotingRecordRepository votingRecordRepository() {
         return Mockito.mock(VotingRecordRepository.class);
     }
+
+    @Bean
+    LegislationSummaryRepository legislationSummaryRepository() {
+        return Mockito.mock(LegislationSummaryRepository.class);
+    }
+
+    @Bean
+    AttendanceRollupRepository attendanceRollupRepository() {
+        return Mockito.mock(AttendanceRollupRepository.class);
+    }
+
+    @Bean
+    AttendanceTimelineRepository attendanceTimelineRepository() {
+        return Mockito.mock(AttendanceTimelineRepository.class);
+    }
+
+    @Bean
+    AttendanceRankRepository attendanceRankRepository() {
+        return Mockito.mock(AttendanceRankRepository.class);
+    }
+
+    @Bean
+    VoteMatrixRepository voteMatrixRepository() {
+        return Mockito.mock(VoteMatrixRepository.class);
+    }
+
+    @Bean
+    PartyUnityRepository partyUnityRepository() {
+        return Mockito.mock(PartyUnityRepository.class);
+    }
+
+    @Bean
+    MetricCheckpointRepository metricCheckpointRepository() {
+        return Mockito.mock(MetricCheckpointRepository.class);
+    }
 }
@@ -4,8 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.net.URI;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalInt;
 import org.junit.jupiter.api.Test;
 
 class CongressApiPropertiesTest {
@@ -24,4 +26,15 @@ class CongressApiPropertiesTest {
 
         assertEquals(List.of(118, 117), rosterCongresses);
     }
+
+    @Test
+    void sessionNumberFollowsTheConfiguredCongress() {
+        CongressApiProperties properties = new CongressApiProperties(
+                URI.create("https://example.com"), "key", Duration.ofHours(1), "House", 119, List.of());
+
+        assertEquals(OptionalInt.of(1), properties.sessionNumberOn(LocalDate.of(2025, 6, 1)));
+        assertEquals(OptionalInt.of(2), properties.sessionNumberOn(LocalDate.of(2026, 6, 1)));
+        assertEquals(OptionalInt.empty(), properties.sessionNumberOn(LocalDate.of(2027, 6, 1)));
+        assertEquals(OptionalInt.empty(), properties.sessionNumberOn(LocalDate.of(2024, 6, 1)));
+    }
 }
@@ -0,0 +1,45 @@
+package com.beacon.ingest.usafed.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class IngestionSchedulerPropertiesTest {
+
+    private final IngestionSchedulerProperties.HouseSession session =
+            new IngestionSchedulerProperties(null, null, null, null).houseSession();
+
+    @Test
+    void defaultsFillEveryLane() {
+        IngestionSchedulerProperties properties = new IngestionSchedulerProperties(null, null, null, null);
+
+        assertThat(properties.enabled()).isTrue();
+        assertThat(properties.lanes().roster().interval()).isNull();
+        assertThat(properties.lanes().latestVotes().interval()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(properties.lanes().voteDetail().enabled()).isTrue();
+        assertThat(session.pageSize()).isEqualTo(20);
+        assertThat(properties.lanes().voteDiscovery().adaptive()).isTrue();
+        assertThat(properties.lanes().voteDetail().adaptive()).isFalse();
+        assertThat(properties.adaptive().backoffMultiplier()).isEqualTo(2.0);
+    }
+
+    @Test
+    void houseSessionIsActiveOnWeekdayDaytimeEasternTime() {
+        // Wednesday 2024-03-06 15:00 in Washington.
+        assertThat(session.isActive(Instant.parse("2024-03-06T20:00:00Z"), null)).isTrue();
+        // Wednesday 03:00 in Washington.
+        assertThat(session.isActive(Instant.parse("2024-03-06T08:00:00Z"), null)).isFalse();
+        // Saturday afternoon.
+        assertThat(session.isActive(Instant.parse("2024-03-09T20:00:00Z"), null)).isFalse();
+    }
+
+    @Test
+    void recentVoteKeepsLaneActiveOutsideRegularHours() {
+        Instant saturday = Instant.parse("2024-03-09T20:00:00Z");
+
+        assertThat(session.isActive(saturday, saturday.minus(Duration.ofHours(1)))).isTrue();
+        assertThat(session.isActive(saturday, saturday.minus(Duration.ofDays(1)))).isFalse();
+    }
+}
@@ -0,0 +1,146 @@
+package com.beacon.ingest.usafed.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beacon.ingest.usafed.config.OpenAiProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpenAiLlmClientBatchTest {
+
+    private StubOpenAiServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = StubOpenAiServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void batchResultsMatchSequentialCompletionsInRequestOrder() {
+        OpenAiLlmClient client = newClient(2, Duration.ofSeconds(10), Duration.ofHours(24));
+        List<LlmBatchRequest> requests = List.of(
+                new LlmBatchRequest("hr-1", "Summarize bill one"),
+                new LlmBatchRequest("hr-2", "Summarize bill two"),
+                new LlmBatchRequest("hr-3", "Summarize bill three"));
+
+        List<LlmBatchResult> results = client.promptModelBatch(OpenAiModel.GPT_4O_MINI, requests);
+
+        assertThat(results).extracting(LlmBatchResult::customId).containsExactly("hr-1", "hr-2", "hr-3");
+        assertThat(results).allMatch(LlmBatchResult::succeeded);
+        for (int i = 0; i < requests.size(); i++) {
+            assertThat(results.get(i).content())
+                    .isEqualTo(client.promptModel(OpenAiModel.GPT_4O_MINI, requests.get(i).prompt()));
+        }
+        assertThat(stub.batchesCreated()).isEqualTo(2);
+    }
+
+    @Test
+    void failedLinesAreResubmitted() {
+        stub.failOnce("hr-2");
+        OpenAiLlmClient client = newClient(100, Duration.ofSeconds(10), Duration.ofHours(24));
+
+        List<LlmBatchResult> results = client.promptModelBatch(
+                OpenAiModel.GPT_4O_MINI,
+                List.of(new LlmBatchRequest("hr-1", "first"), new LlmBatchRequest("hr-2", "second")));
+
+        assertThat(results).allMatch(LlmBatchResult::succeeded);
+        assertThat(results.get(1).content()).isEqualTo(StubOpenAiServer.completionFor("second"));
+        assertThat(stub.batchesCreated()).isEqualTo(2);
+        assertThat(stub.chatCompletionRequests()).isZero();
+    }
+
+    @Test
+    void runningJobsAreCollectedByALaterCallInsteadOfResubmitted() {
+        stub.neverComplete(true);
+        OpenAiLlmClient client = newClient(100, Duration.ZERO, Duration.ofHours(24));
+        List<LlmBatchRequest> requests = List.of(new LlmBatchRequest("hr-1", "first"));
+
+        List<LlmBatchResult> running = client.promptModelBatch(OpenAiModel.GPT_4O_MINI, requests);
+
+        assertThat(running).singleElement().satisfies(result -> {
+            assertThat(result.succeeded()).isFalse();
+            assertThat(result.error()).contains("still running");
+        });
+
+        stub.neverComplete(false);
+        List<LlmBatchResult> collected = client.promptModelBatch(OpenAiModel.GPT_4O_MINI, requests);
+
+        assertThat(collected).singleElement().satisfies(result -> {
+            assertThat(result.succeeded()).isTrue();
+            assertThat(result.content()).isEqualTo(StubOpenAiServer.completionFor("first"));
+        });
+        assertThat(stub.batchesCreated()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledJobsYieldTheLinesTheyCompleted() {
+        stub.neverComplete(true);
+        OpenAiLlmClient client = newClient(100, Duration.ofSeconds(10), Duration.ZERO);
+
+        List<LlmBatchResult> results = client.promptModelBatch(
+                OpenAiModel.GPT_4O_MINI,
+                List.of(new LlmBatchRequest("hr-1", "first")));
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.succeeded()).isTrue();
+            assertThat(result.content()).isEqualTo(StubOpenAiServer.completionFor("first"));
+        });
+        assertThat(stub.batchesCreated()).isEqualTo(1);
+    }
+
+    @Test
+    void jobsOfAnAttemptShareOneDeadline() {
+        stub.neverComplete(true);
+        OpenAiLlmClient client = newClient(1, Duration.ofSeconds(1), Duration.ofHours(24));
+
+        long started = System.nanoTime();
+        List<LlmBatchResult> results = client.promptModelBatch(
+                OpenAiModel.GPT_4O_MINI,
+                List.of(
+                        new LlmBatchRequest("hr-1", "first"),
+                        new LlmBatchRequest("hr-2", "second"),
+                        new LlmBatchRequest("hr-3", "third")));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(results).noneMatch(LlmBatchResult::succeeded);
+        // Running jobs are left for a later call, not cancelled and resubmitted.
+        assertThat(stub.batchesCreated()).isEqualTo(3);
+        // Three jobs awaited one after another would take at least three seconds.
+        assertThat(elapsed).isLessThan(Duration.ofMillis(2_500));
+    }
+
+    @Test
+    void duplicateCustomIdsAreRejected() {
+        OpenAiLlmClient client = newClient(100, Duration.ofSeconds(10), Duration.ofHours(24));
+
+        assertThatThrownBy(() -> client.promptModelBatch(
+                        OpenAiModel.GPT_4O_MINI,
+                        List.of(new LlmBatchRequest("hr-1", "a"), new LlmBatchRequest("hr-1", "b"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private OpenAiLlmClient newClient(int maxRequestsPerBatch, Duration maxWait, Duration maxAge) {
+        OpenAiProperties properties = new OpenAiProperties(
+                stub.baseUrl(),
+                "test-key",
+                null,
+                Duration.ofSeconds(5),
+                Duration.ofMillis(10),
+                maxWait,
+                maxAge,
+                maxRequestsPerBatch,
+                2);
+        return new OpenAiLlmClient(HttpClient.newHttpClient(), new ObjectMapper(), properties);
+    }
+}
@@ -0,0 +1,220 @@
+package com.beacon.ingest.usafed.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the subset of the OpenAI API used by {@link OpenAiLlmClient}: chat completions, file
+ * upload/download and the Batch API. Responses are deterministic so batch and sequential summarization can be
+ * exercised without credentials or network access. Run {@link #main(String[])} and point
+ * {@code OPENAI_BASE_URL} at the printed address to use it as a local backend.
+ */
+public final class StubOpenAiServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+    private final Map<String, ObjectNode> batches = new ConcurrentHashMap<>();
+    private final Set<String> failOnce = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger ids = new AtomicInteger();
+    private final AtomicInteger chatCompletionRequests = new AtomicInteger();
+    private final AtomicInteger batchesCreated = new AtomicInteger();
+    private volatile int pollsBeforeCompletion = 1;
+    private volatile boolean neverComplete;
+
+    private StubOpenAiServer(HttpServer server) {
+        this.server = server;
+        server.createContext("/v1/", this::handle);
+    }
+
+    public static StubOpenAiServer start() throws IOException {
+        return start(0);
+    }
+
+    public static StubOpenAiServer start(int port) throws IOException {
+        StubOpenAiServer stub = new StubOpenAiServer(HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0));
+        stub.server.start();
+        return stub;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        StubOpenAiServer stub = start(port);
+        System.out.println("Stub OpenAI API listening at " + stub.baseUrl());
+    }
+
+    public URI baseUrl() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+    }
+
+    /**
+     * Makes the batch line with this {@code custom_id} fail the first time it is processed.
+     */
+    public void failOnce(String customId) {
+        failOnce.add(customId);
+    }
+
+    public void pollsBeforeCompletion(int polls) {
+        this.pollsBeforeCompletion = polls;
+    }
+
+    public void neverComplete(boolean neverComplete) {
+        this.neverComplete = neverComplete;
+    }
+
+    public int chatCompletionRequests() {
+        return chatCompletionRequests.get();
+    }
+
+    public int batchesCreated() {
+        return batchesCreated.get();
+    }
+
+    /**
+     * Deterministic completion returned for a prompt, by both the chat and batch endpoints.
+     */
+    public static String completionFor(String prompt) {
+        return "Stub summary " + Integer.toHexString(prompt.strip().hashCode());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath().substring("/v1".length());
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String[] segments = path.substring(1).split("/");
+
+            if ("POST".equals(method) && "/chat/completions".equals(path)) {
+                chatCompletionRequests.incrementAndGet();
+                respond(exchange, 200, chatCompletion(objectMapper.readTree(body)).toString());
+            } else if ("POST".equals(method) && "/files".equals(path)) {
+                String fileId = "file-" + ids.incrementAndGet();
+                files.put(fileId, extractMultipartFile(exchange, body));
+                respond(exchange, 200, objectMapper.createObjectNode().put("id", fileId).toString());
+            } else if ("GET".equals(method) && segments.length == 3 && "files".equals(segments[0])) {
+                String content = files.get(segments[1]);
+                respond(exchange, content == null ? 404 : 200, content == null ? "{}" : content);
+            } else if ("POST".equals(method) && "/batches".equals(path)) {
+                batchesCreated.incrementAndGet();
+                ObjectNode batch = objectMapper.createObjectNode();
+                batch.put("id", "batch-" + ids.incrementAndGet());
+                batch.put("status", "validating");
+                batch.put("input_file_id", objectMapper.readTree(body).path("input_file_id").asText());
+                batch.put("polls", 0);
+                batches.put(batch.get("id").asText(), batch);
+                respond(exchange, 200, batch.toString());
+            } else if (segments.length >= 2 && "batches".equals(segments[0]) && batches.containsKey(segments[1])) {
+                ObjectNode batch = batches.get(segments[1]);
+                if ("POST".equals(method) && segments.length == 3 && "cancel".equals(segments[2])) {
+                    // Like OpenAI, the job only reports its partial output once it has finished cancelling.
+                    batch.put("status", "cancelling");
+                } else {
+                    advance(batch);
+                }
+                respond(exchange, 200, batch.toString());
+            } else {
+                respond(exchange, 404, "{\"error\":{\"message\":\"Unknown route " + path + "\"}}");
+            }
+        }
+    }
+
+    private synchronized void advance(ObjectNode batch) throws IOException {
+        String status = batch.path("status").asText();
+        if ("cancelling".equals(status)) {
+            writeOutput(batch);
+            batch.put("status", "cancelled");
+            return;
+        }
+        if (!"validating".equals(status) && !"in_progress".equals(status)) {
+            return;
+        }
+        int polls = batch.path("polls").asInt() + 1;
+        batch.put("polls", polls);
+        if (neverComplete || polls < pollsBeforeCompletion) {
+            batch.put("status", "in_progress");
+            return;
+        }
+        writeOutput(batch);
+        batch.put("status", "completed");
+    }
+
+    private void writeOutput(ObjectNode batch) throws IOException {
+
+        StringBuilder output = new StringBuilder();
+        StringBuilder errors = new StringBuilder();
+        for (String line : files.getOrDefault(batch.path("input_file_id").asText(), "").split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode request = objectMapper.readTree(line);
+            String customId = request.path("custom_id").asText();
+            ObjectNode result = objectMapper.createObjectNode();
+            result.put("custom_id", customId);
+            if (failOnce.remove(customId)) {
+                result.putObject("error").put("message", "Injected failure for " + customId);
+                errors.append(result).append('\n');
+                continue;
+            }
+            ObjectNode response = result.putObject("response");
+            response.put("status_code", 200);
+            response.set("body", chatCompletion(request.path("body")));
+            result.putNull("error");
+            output.append(result).append('\n');
+        }
+        String outputFileId = "file-" + ids.incrementAndGet();
+        files.put(outputFileId, output.toString());
+        batch.put("output_file_id", outputFileId);
+        if (!errors.isEmpty()) {
+            String errorFileId = "file-" + ids.incrementAndGet();
+            files.put(errorFileId, errors.toString());
+            batch.put("error_file_id", errorFileId);
+        }
+    }
+
+    private ObjectNode chatCompletion(JsonNode requestBody) {
+        String prompt = requestBody.path("messages").path(0).path("content").asText("");
+        ObjectNode completion = objectMapper.createObjectNode();
+        completion.put("model", requestBody.path("model").asText());
+        completion.putArray("choices")
+                .addObject()
+                .putObject("message")
+                .put("role", "assistant")
+                .put("content", completionFor(prompt));
+        return completion;
+    }
+
+    private static String extractMultipartFile(HttpExchange exchange, String body) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String boundary = "--" + contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+        int filePart = body.indexOf("filename=");
+        int start = body.indexOf("\r\n\r\n", filePart) + 4;
+        int end = body.indexOf("\r\n" + boundary, start);
+        return body.substring(start, end);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.beacon.ingest.usafed.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.stateful.mongo.VoteCode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MetricStreamTest {
+
+    private static final Map<String, String> PARTIES = Map.of(
+            "A000001", "D",
+            "B000002", "D",
+            "C000003", "D",
+            "R000001", "R");
+    // A Monday, so seven-day panes start on it.
+    private static final LocalDate MONDAY = LocalDate.parse("2025-03-03");
+
+    @Test
+    void windowsAlignPanesToMondays() {
+        Window weekly = Window.tumbling(7);
+        long pane = weekly.paneOf(MONDAY.toEpochDay());
+
+        assertThat(weekly.paneOf(MONDAY.plusDays(6).toEpochDay())).isEqualTo(pane);
+        assertThat(weekly.paneOf(MONDAY.minusDays(1).toEpochDay())).isEqualTo(pane - 1);
+        assertThat(weekly.paneStart(pane)).isEqualTo(MONDAY);
+        assertThat(Window.sliding(84, 7).windowStart(pane)).isEqualTo(MONDAY.minusWeeks(11));
+        assertThatThrownBy(() -> Window.sliding(10, 7)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void everyPluginSeesEachVoteOnce() {
+        MetricStream stream = new MetricStream("house", plugins(), PARTIES);
+        VoteEvent event = new VoteEvent("house-119-1-1", MONDAY.toEpochDay(), partyLine(VoteCode.NOT_VOTING), normalized());
+
+        assertThat(stream.apply(event)).isEmpty();
+        assertThat(stream.apply(event)).isEmpty();
+
+        assertThat(score(stream, "C000003", WeeklyMissedVotesPlugin.NAME)).isEqualTo(1.0);
+    }
+
+    @Test
+    void slidingWindowSumsPanesAndDropsExpiredOnes() {
+        MetricStream stream = new MetricStream("house", plugins(), PARTIES);
+        // Week 0: C000003 breaks with the party; weeks 1..12: votes with it.
+        stream.apply(new VoteEvent("v0", MONDAY.toEpochDay(), partyLine(VoteCode.NAY), normalized()));
+        for (int week = 1; week <= 11; week++) {
+            stream.apply(new VoteEvent("v" + week, MONDAY.plusWeeks(week).toEpochDay(), partyLine(VoteCode.YEA), normalized()));
+        }
+        assertThat(score(stream, "C000003", RecentPartyUnityPlugin.NAME)).isEqualTo(91.7);
+
+        stream.apply(new VoteEvent("v12", MONDAY.plusWeeks(12).toEpochDay(), partyLine(VoteCode.YEA), normalized()));
+
+        assertThat(score(stream, "C000003", RecentPartyUnityPlugin.NAME)).isEqualTo(100.0);
+        MetricStream.Changes changes = stream.drainChanges();
+        assertThat(changes.removed().stream()
+                .filter(key -> key.metric().equals(RecentPartyUnityPlugin.NAME))
+                .count()).isEqualTo(1L);
+        // A late vote for an expired pane is ignored rather than resurrecting it.
+        assertThat(stream.apply(new VoteEvent("late", MONDAY.toEpochDay(), partyLine(VoteCode.NAY), normalized())))
+                .isEmpty();
+        assertThat(score(stream, "C000003", RecentPartyUnityPlugin.NAME)).isEqualTo(100.0);
+    }
+
+    @Test
+    void changedVoteRequestsARecountOfItsPane() {
+        MetricStream stream = new MetricStream("house", plugins(), PARTIES);
+        VoteEvent original = new VoteEvent("v1", MONDAY.toEpochDay(), partyLine(VoteCode.NOT_VOTING), normalized());
+        VoteEvent other = new VoteEvent("v2", MONDAY.plusDays(1).toEpochDay(), partyLine(VoteCode.YEA), normalized());
+        stream.apply(original);
+        stream.apply(other);
+
+        VoteEvent corrected = new VoteEvent("v1", MONDAY.toEpochDay(), partyLine(VoteCode.YEA), normalized());
+        List<MetricStream.Recount> recounts = stream.apply(corrected);
+
+        assertThat(recounts).hasSize(2);
+        MetricStream.Recount weekly = recounts.stream()
+                .filter(recount -> recount.metric().equals(WeeklyMissedVotesPlugin.NAME))
+                .findFirst()
+                .orElseThrow();
+        assertThat(weekly.from()).isEqualTo(MONDAY);
+        assertThat(weekly.to()).isEqualTo(MONDAY.plusWeeks(1));
+        for (MetricStream.Recount recount : recounts) {
+            stream.recount(recount, List.of(corrected, other));
+        }
+        assertThat(score(stream, "C000003", WeeklyMissedVotesPlugin.NAME)).isEqualTo(0.0);
+        assertThat(stream.apply(corrected)).isEmpty();
+    }
+
+    @Test
+    void checkpointRestoresTheSameMetrics() {
+        MetricStream stream = new MetricStream("house", plugins(), PARTIES);
+        stream.apply(new VoteEvent("v1", MONDAY.toEpochDay(), partyLine(VoteCode.NAY), normalized()));
+        stream.apply(new VoteEvent("v2", MONDAY.plusWeeks(1).toEpochDay(), partyLine(VoteCode.NOT_VOTING), normalized()));
+        stream.advanceWatermark(Instant.parse("2025-03-11T00:00:00Z"));
+
+        MetricStream restored = new MetricStream("house", plugins(), PARTIES);
+        restored.restore(stream.watermark(), stream.drainChanges().changed());
+
+        assertThat(restored.metrics("C000003")).isEqualTo(stream.metrics("C000003"));
+        assertThat(restored.watermark()).isEqualTo(stream.watermark());
+        assertThat(restored.apply(new VoteEvent("v1", MONDAY.toEpochDay(), partyLine(VoteCode.NAY), normalized())))
+                .isEmpty();
+        assertThat(restored.metrics("C000003")).isEqualTo(stream.metrics("C000003"));
+    }
+
+    @Test
+    void duplicatePluginNamesAreRejected() {
+        assertThatThrownBy(() -> new MetricStream(
+                "house",
+                List.of(new WeeklyMissedVotesPlugin(), new WeeklyMissedVotesPlugin()),
+                PARTIES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<MetricPlugin> plugins() {
+        return List.of(new RecentPartyUnityPlugin(), new WeeklyMissedVotesPlugin());
+    }
+
+    private static Map<String, String> normalized() {
+        return VoteEvent.normalizeParties(PARTIES);
+    }
+
+    /**
+     * A and B vote yea with the Democratic majority; C casts the given position.
+     */
+    private static Map<String, VoteCode> partyLine(VoteCode third) {
+        return Map.of(
+                "A000001", VoteCode.YEA,
+                "B000002", VoteCode.YEA,
+                "C000003", third,
+                "R000001", VoteCode.NAY);
+    }
+
+    private static double score(MetricStream stream, String memberId, String metric) {
+        return stream.metrics(memberId).stream()
+                .filter(candidate -> candidate.getName().equals(metric))
+                .mapToDouble(AccountabilityMetric::getScore)
+                .findFirst()
+                .orElse(Double.NaN);
+    }
+}
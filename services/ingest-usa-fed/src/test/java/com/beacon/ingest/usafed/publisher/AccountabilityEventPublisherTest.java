@@ -0,0 +1,102 @@
+package com.beacon.ingest.usafed.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.beacon.common.accountability.MemberVoteCodec;
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.OfficialAccountabilityEvent;
+import com.beacon.common.accountability.v1.VotePosition;
+import com.beacon.common.accountability.v1.VoteRoster;
+import com.beacon.common.accountability.v1.VotingRecord;
+import com.beacon.common.topics.AccountabilityEventType;
+import com.beacon.ingest.usafed.config.EventPublishingProperties;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+
+class AccountabilityEventPublisherTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+
+    @Test
+    void memberVotesStayExpandedByDefault() throws InvalidProtocolBufferException {
+        OfficialAccountabilityEvent event = event(vote("house-119-1-1", "A000001"), vote("house-119-1-2", "B000002"));
+
+        OfficialAccountabilityEvent sent = publish(EventPublishingProperties.defaults(), event);
+
+        assertThat(sent.getVotingRecordsList()).isEqualTo(event.getVotingRecordsList());
+    }
+
+    @Test
+    void packedRecordsShareOneRosterInlinedOnce() throws InvalidProtocolBufferException {
+        OfficialAccountabilityEvent event = event(vote("house-119-1-1", "A000001"), vote("house-119-1-2", "B000002"));
+
+        OfficialAccountabilityEvent sent = publish(new EventPublishingProperties(null, true), event);
+
+        VotingRecord first = sent.getVotingRecords(0);
+        VotingRecord second = sent.getVotingRecords(1);
+        assertThat(first.getMemberVotesCount()).isZero();
+        assertThat(first.getPackedMemberVotes().hasRoster()).isTrue();
+        assertThat(second.getPackedMemberVotes().hasRoster()).isFalse();
+        assertThat(second.getPackedMemberVotes().getRosterId()).isEqualTo(first.getPackedMemberVotes().getRosterId());
+        VoteRoster roster = first.getPackedMemberVotes().getRoster();
+        assertThat(sent.getVotingRecordsList())
+                .extracting(record -> MemberVoteCodec.unpack(record, rosterId -> roster))
+                .isEqualTo(event.getVotingRecordsList());
+    }
+
+    @Test
+    void recordsWhoseUuidsWouldChangeStayExpanded() throws InvalidProtocolBufferException {
+        VotingRecord foreign = vote("senate-119-1-1", "A000001").toBuilder()
+                .setMemberVotes(0, vote("senate-119-1-1", "A000001").getMemberVotes(0).toBuilder().setUuid("custom"))
+                .build();
+
+        OfficialAccountabilityEvent sent = publish(new EventPublishingProperties(null, true), event(foreign));
+
+        assertThat(sent.getVotingRecords(0)).isEqualTo(foreign);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OfficialAccountabilityEvent publish(EventPublishingProperties properties, OfficialAccountabilityEvent event)
+            throws InvalidProtocolBufferException {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        new AccountabilityEventPublisher(kafkaTemplate, properties)
+                .publish(AccountabilityEventType.OFFICIAL_UPDATED, event);
+        ArgumentCaptor<ProducerRecord<String, byte[]>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        return OfficialAccountabilityEvent.parseFrom(record.getValue().value());
+    }
+
+    private static OfficialAccountabilityEvent event(VotingRecord... records) {
+        return OfficialAccountabilityEvent.newBuilder()
+                .setUuid("event-1")
+                .setPartitionKey("official-1::house")
+                .addAllVotingRecords(List.of(records))
+                .build();
+    }
+
+    private static VotingRecord vote(String sourceId, String member) {
+        return VotingRecord.newBuilder()
+                .setUuid(sourceId + "-uuid")
+                .setSourceId(sourceId)
+                .setLegislativeBodyUuid("house")
+                .addMemberVotes(MemberVote.newBuilder()
+                        .setUuid(MemberVoteCodec.memberVoteUuid(
+                                MemberVoteCodec.HOUSE_MEMBER_VOTE_UUID_PREFIX, sourceId, member))
+                        .setSourceId(member)
+                        .setOfficialUuid(member + "-official")
+                        .setVotingRecordUuid(sourceId + "-uuid")
+                        .setVotePosition(VotePosition.YEA)
+                        .setNotes("Yea"))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.beacon.ingest.usafed.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveCadenceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-06T20:00:00Z");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveCadence cadence = new AdaptiveCadence(
+            "test",
+            Duration.ofMinutes(10),
+            Duration.ofMinutes(1),
+            Duration.ofHours(1),
+            2.0,
+            0.5,
+            Duration.ofMinutes(30),
+            registry);
+
+    @Test
+    void backsOffExponentiallyUpToMaximumWhenNothingChanges() {
+        Instant old = NOW.minus(Duration.ofDays(2));
+
+        assertThat(cadence.next(new AdaptiveCadence.Observation(0, old), NOW)).isEqualTo(Duration.ofMinutes(20));
+        assertThat(cadence.next(new AdaptiveCadence.Observation(0, old), NOW.plus(Duration.ofMinutes(20))))
+                .isEqualTo(Duration.ofMinutes(40));
+        assertThat(cadence.next(new AdaptiveCadence.Observation(0, null), NOW.plus(Duration.ofMinutes(60))))
+                .isEqualTo(Duration.ofHours(1));
+        assertThat(registry.get("beacon.ingest.lane.cadence.decisions").tag("decision", "backoff").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void tightensTowardMinimumDuringFloorActivity() {
+        Duration first = cadence.next(new AdaptiveCadence.Observation(5, NOW), NOW);
+        Duration second = cadence.next(new AdaptiveCadence.Observation(10, NOW), NOW.plus(first));
+
+        assertThat(first).isEqualTo(Duration.ofMinutes(2));
+        assertThat(second).isLessThan(first).isGreaterThanOrEqualTo(Duration.ofMinutes(1));
+        assertThat(registry.get("beacon.ingest.lane.delay").gauge().value()).isEqualTo(second.toMillis() / 1000.0);
+    }
+
+    @Test
+    void recentUpstreamUpdateHoldsCadenceAtBaseInterval() {
+        cadence.next(new AdaptiveCadence.Observation(0, null), NOW);
+
+        Duration held = cadence.next(
+                new AdaptiveCadence.Observation(0, NOW.minus(Duration.ofMinutes(5))), NOW.plus(Duration.ofMinutes(20)));
+
+        assertThat(held).isEqualTo(Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,74 @@
+package com.beacon.ingest.usafed.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.beacon.ingest.usafed.config.IngestionSchedulerProperties;
+import com.beacon.ingest.usafed.config.IngestionSchedulerProperties.LaneSettings;
+import com.beacon.ingest.usafed.service.FederalIngestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class FederalIngestionSchedulerTest {
+
+    private final FederalIngestionService ingestionService = Mockito.mock(FederalIngestionService.class);
+    private FederalIngestionScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void latestVotesLaneKeepsItsIntervalWhileTheHouseIsOutOfSession() throws Exception {
+        AtomicInteger sessionChecks = new AtomicInteger();
+        AtomicReference<Instant> latestVoteStart = new AtomicReference<>();
+        when(ingestionService.latestHouseVoteStart()).thenAnswer(invocation -> {
+            sessionChecks.incrementAndGet();
+            return Optional.ofNullable(latestVoteStart.get());
+        });
+        // Bounds configured for the lane must not let it back off between sessions.
+        scheduler = newScheduler(new LaneSettings(
+                Duration.ofMillis(50), true, Duration.ofMillis(50), Duration.ofHours(1)));
+
+        scheduler.triggerOnStartup();
+        Thread.sleep(1_000);
+
+        // A lane backing off from 50 ms would have checked about five times.
+        assertThat(sessionChecks.get()).isGreaterThanOrEqualTo(10);
+        verify(ingestionService, never()).ingestLatestHouseVotes(anyInt());
+
+        latestVoteStart.set(Instant.now());
+
+        verify(ingestionService, timeout(1_000)).ingestLatestHouseVotes(20);
+    }
+
+    private FederalIngestionScheduler newScheduler(LaneSettings latestVotes) {
+        LaneSettings disabled = new LaneSettings(Duration.ofHours(1), false, null, null);
+        // A session window that never opens: only a recent roll call makes the House look active.
+        IngestionSchedulerProperties.HouseSession houseSession = new IngestionSchedulerProperties.HouseSession(
+                ZoneOffset.UTC, LocalTime.MAX, LocalTime.MIN, Duration.ofHours(6), null);
+        IngestionSchedulerProperties properties = new IngestionSchedulerProperties(
+                true,
+                new IngestionSchedulerProperties.Lanes(
+                        disabled, latestVotes, disabled, disabled, disabled, disabled),
+                houseSession,
+                null);
+        return new FederalIngestionScheduler(ingestionService, null, properties, new SimpleMeterRegistry());
+    }
+}
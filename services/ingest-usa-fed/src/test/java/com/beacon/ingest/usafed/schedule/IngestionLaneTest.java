@@ -0,0 +1,51 @@
+package com.beacon.ingest.usafed.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class IngestionLaneTest {
+
+    @Test
+    void triggersWhileRunningCollapseIntoSingleFollowUpRun() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        try (IngestionLane lane = new IngestionLane("test", Duration.ofHours(1), () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            lane.trigger();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 10; i++) {
+                lane.trigger();
+            }
+            release.countDown();
+
+            Thread.sleep(200);
+            assertThat(runs.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheSchedule() throws Exception {
+        CountDownLatch attempts = new CountDownLatch(3);
+        try (IngestionLane lane = new IngestionLane("failing", Duration.ofMillis(10), () -> {
+            attempts.countDown();
+            throw new IllegalStateException("boom");
+        })) {
+            lane.start(Duration.ZERO);
+
+            assertThat(attempts.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.beacon.ingest.usafed.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AttendanceStatisticsCalculatorParallelTest {
+
+    private static final String[] LABELS = {"Yea", "Nay", "Aye", "No", "Not Voting", "Present", "Absent"};
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelComputationMatchesSequentialComputation() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = randomVotes(new Random(42), 3_000, 700);
+
+        AttendanceStatisticsCalculator.AttendanceComputation sequential =
+                AttendanceStatisticsCalculator.compute(votes, 12);
+        AttendanceStatisticsCalculator.AttendanceComputation parallel =
+                AttendanceStatisticsCalculator.computeParallel(votes, 12, pool, 97);
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.voteRecordsProcessed()).isEqualTo(3_000);
+    }
+
+    @Test
+    void parallelComputationMatchesSequentialComputationAtEveryGranularity() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = randomVotes(new Random(3), 2_500, 450);
+        EnumSet<AttendanceGranularity> granularities = EnumSet.of(
+                AttendanceGranularity.WEEK,
+                AttendanceGranularity.MONTH,
+                AttendanceGranularity.SESSION,
+                AttendanceGranularity.CONGRESS,
+                AttendanceGranularity.ALL_TIME);
+
+        assertThat(AttendanceStatisticsCalculator.computeParallel(votes, 24, granularities, pool, 128))
+                .isEqualTo(AttendanceStatisticsCalculator.compute(votes, 24, granularities));
+    }
+
+    @Test
+    void parallelComputationIsIndependentOfPartitionSize() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = randomVotes(new Random(7), 1_500, 120);
+
+        AttendanceStatisticsCalculator.AttendanceComputation coarse =
+                AttendanceStatisticsCalculator.computeParallel(votes, 0, pool, 500);
+        AttendanceStatisticsCalculator.AttendanceComputation fine =
+                AttendanceStatisticsCalculator.computeParallel(votes, 0, pool, 3);
+
+        assertThat(fine).isEqualTo(coarse);
+    }
+
+    @Test
+    void streamingComputationMatchesSequentialComputation() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = randomVotes(new Random(11), 2_000, 450);
+        AttendanceStatisticsCalculator.StreamingAccumulator streaming =
+                new AttendanceStatisticsCalculator.StreamingAccumulator(pool, 64);
+
+        votes.forEach(streaming);
+
+        assertThat(streaming.finish(12)).isEqualTo(AttendanceStatisticsCalculator.compute(votes, 12));
+        assertThatThrownBy(() -> streaming.accept(votes.get(0))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void orderedStreamingEvictsEndedPeriodsWithoutChangingTheResult() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = inDateOrder(randomVotes(new Random(5), 2_000, 450));
+        EnumSet<AttendanceGranularity> granularities = EnumSet.of(
+                AttendanceGranularity.WEEK,
+                AttendanceGranularity.MONTH,
+                AttendanceGranularity.SESSION,
+                AttendanceGranularity.ALL_TIME);
+        AttendanceStatisticsCalculator.StreamingAccumulator keeping =
+                new AttendanceStatisticsCalculator.StreamingAccumulator(pool, 64, granularities);
+        AttendanceStatisticsCalculator.StreamingAccumulator evicting =
+                new AttendanceStatisticsCalculator.StreamingAccumulator(pool, 64, granularities, 6);
+        AttendanceStatisticsCalculator.StreamingAccumulator sequential =
+                new AttendanceStatisticsCalculator.StreamingAccumulator(null, 64, granularities, 6);
+
+        votes.forEach(keeping);
+        votes.forEach(evicting);
+        votes.forEach(sequential);
+
+        assertThat(evicting.periodSlotCount()).isLessThan(keeping.periodSlotCount() / 3);
+        assertThat(sequential.periodSlotCount()).isLessThan(keeping.periodSlotCount() / 3);
+        AttendanceStatisticsCalculator.AttendanceComputation expected =
+                AttendanceStatisticsCalculator.compute(votes, 6, granularities);
+        assertThat(evicting.finish(6)).isEqualTo(expected);
+        assertThat(sequential.finish(6)).isEqualTo(expected);
+    }
+
+    @Test
+    void orderedStreamingRejectsVotesBeforeEvictedPeriods() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = inDateOrder(randomVotes(new Random(9), 400, 40));
+        AttendanceStatisticsCalculator.StreamingAccumulator streaming =
+                new AttendanceStatisticsCalculator.StreamingAccumulator(null, 64, AttendanceStatisticsCalculator.MONTHLY, 3);
+
+        votes.forEach(streaming);
+
+        assertThatThrownBy(() -> streaming.accept(votes.get(votes.size() / 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> streaming.finish(12)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Orders votes as the vote cursor does: undated records first, then by start date.
+     */
+    private static List<AttendanceStatisticsCalculator.VoteRecord> inDateOrder(
+            List<AttendanceStatisticsCalculator.VoteRecord> votes) {
+        List<AttendanceStatisticsCalculator.VoteRecord> ordered = new ArrayList<>(votes);
+        ordered.sort(Comparator.comparing(
+                AttendanceStatisticsCalculator.VoteRecord::startDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return ordered;
+    }
+
+    /**
+     * Votes spread over four years with a membership that turns over, including records without a start date.
+     */
+    private static List<AttendanceStatisticsCalculator.VoteRecord> randomVotes(Random random, int count, int members) {
+        Instant start = Instant.parse("2021-01-03T15:00:00Z");
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant voteTime = random.nextInt(100) == 0
+                    ? null
+                    : start.plus(Duration.ofMinutes(random.nextInt(4 * 365 * 24 * 60)));
+            Map<String, String> labels = new LinkedHashMap<>();
+            int first = random.nextInt(members / 4);
+            for (int member = first; member < first + members * 3 / 4; member++) {
+                labels.put("M%06d".formatted(member), LABELS[random.nextInt(LABELS.length)]);
+            }
+            votes.add(new AttendanceStatisticsCalculator.VoteRecord(voteTime, voteTime, labels));
+        }
+        return votes;
+    }
+}
@@ -2,7 +2,17 @@ package com.beacon.ingest.usafed.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import com.beacon.stateful.mongo.VoteCode;
+import com.beacon.stateful.mongo.VotingRecordRepository.AttendanceAggregation;
+import com.beacon.stateful.mongo.VotingRecordRepository.MemberPeriodCounters;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -62,4 +72,216 @@ class AttendanceStatisticsCalculatorTest {
         assertThat(memberB.summary().participationScore()).isEqualTo(33);
         assertThat(memberB.history()).hasSize(2);
     }
+
+    @Test
+    void computeReadsVotePositionsAndCountsPresentAsAttendance() {
+        Instant voteTime = Instant.parse("2025-03-04T16:00:00Z");
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = List.of(
+                new AttendanceStatisticsCalculator.VoteRecord(voteTime, voteTime, List.of(
+                        memberVote("A000001", VotePosition.YEA, ""),
+                        memberVote("B000001", VotePosition.NOT_VOTING, "Present"),
+                        memberVote("C000001", VotePosition.NOT_VOTING, "Not Voting"),
+                        memberVote("D000001", VotePosition.ABSENT, ""),
+                        memberVote("", VotePosition.YEA, ""))));
+
+        AttendanceStatisticsCalculator.AttendanceComputation computation = AttendanceStatisticsCalculator.compute(votes, 12);
+
+        assertThat(computation.statisticsByMember()).containsOnlyKeys("A000001", "B000001", "C000001", "D000001");
+        assertThat(computation.statisticsByMember().get("A000001").summary().participationScore()).isEqualTo(100);
+        assertThat(computation.statisticsByMember().get("B000001").summary().presenceScore()).isEqualTo(100);
+        assertThat(computation.statisticsByMember().get("B000001").summary().votesParticipated()).isZero();
+        assertThat(computation.statisticsByMember().get("C000001").summary().presenceScore()).isZero();
+        assertThat(computation.statisticsByMember().get("D000001").summary().presenceScore()).isZero();
+        assertThat(computation.statisticsByMember().get("A000001").history())
+                .singleElement()
+                .satisfies(snapshot -> {
+                    assertThat(snapshot.periodLabel()).isEqualTo("2025-03");
+                    assertThat(snapshot.periodStart()).isEqualTo(voteTime);
+                    assertThat(snapshot.periodEnd()).isEqualTo(voteTime);
+                });
+    }
+
+    @Test
+    void computeHandlesMoreMembersAndPeriodsThanInitialCapacity() {
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = new ArrayList<>();
+        Instant start = Instant.parse("2023-01-03T15:00:00Z");
+        for (int month = 0; month < 24; month++) {
+            Instant voteTime = start.plus(Duration.ofDays(31L * month));
+            Map<String, String> labels = new HashMap<>();
+            for (int member = 0; member < 450; member++) {
+                labels.put("M%06d".formatted(member), member % 10 == 0 ? "Not Voting" : "Yea");
+            }
+            votes.add(new AttendanceStatisticsCalculator.VoteRecord(voteTime, voteTime, labels));
+        }
+
+        AttendanceStatisticsCalculator.AttendanceComputation computation = AttendanceStatisticsCalculator.compute(votes, 12);
+
+        assertThat(computation.statisticsByMember()).hasSize(450);
+        AttendanceStatisticsCalculator.AttendanceStatistics absentee = computation.statisticsByMember().get("M000440");
+        assertThat(absentee.summary().sessionsTotal()).isEqualTo(24);
+        assertThat(absentee.summary().sessionsAttended()).isZero();
+        assertThat(absentee.history()).hasSize(12);
+        assertThat(computation.statisticsByMember().get("M000449").summary().participationScore()).isEqualTo(100);
+    }
+
+    @Test
+    void aggregatedCountersProduceSameStatisticsAsVoteRecords() {
+        Instant vote1Time = Instant.parse("2025-01-01T15:00:00Z");
+        Instant vote2Time = Instant.parse("2025-01-05T18:00:00Z");
+        Instant vote3Time = Instant.parse("2025-02-15T17:00:00Z");
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = List.of(
+                new AttendanceStatisticsCalculator.VoteRecord(
+                        vote1Time, vote1Time, Map.of("A000001", "Yea", "B000001", "Not Voting")),
+                new AttendanceStatisticsCalculator.VoteRecord(
+                        vote2Time, vote2Time, Map.of("A000001", "Nay", "B000001", "Yea")),
+                new AttendanceStatisticsCalculator.VoteRecord(
+                        vote3Time, vote3Time, Map.of("A000001", "Not Voting", "B000001", "Not Voting")));
+        AttendanceAggregation aggregation = new AttendanceAggregation(3, vote3Time, List.of(
+                new MemberPeriodCounters("A000001", 2025, 1, 2, 2, 2, vote1Time, vote2Time),
+                new MemberPeriodCounters("A000001", 2025, 2, 1, 0, 0, vote3Time, vote3Time),
+                new MemberPeriodCounters("B000001", 2025, 2, 1, 0, 0, vote3Time, vote3Time),
+                new MemberPeriodCounters("B000001", 2025, 1, 2, 1, 1, vote1Time, vote2Time)));
+
+        assertThat(AttendanceStatisticsCalculator.fromAggregation(aggregation, 12))
+                .isEqualTo(AttendanceStatisticsCalculator.compute(votes, 12));
+    }
+
+    @Test
+    void onePassProducesEveryRequestedGranularity() {
+        Instant lameDuck = Instant.parse("2025-01-02T15:00:00Z");
+        Instant opening = Instant.parse("2025-01-07T15:00:00Z");
+        Instant sameWeek = Instant.parse("2025-01-09T15:00:00Z");
+        Instant secondSession = Instant.parse("2026-03-04T15:00:00Z");
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = List.of(
+                new AttendanceStatisticsCalculator.VoteRecord(lameDuck, lameDuck, Map.of("A000001", "Yea")),
+                new AttendanceStatisticsCalculator.VoteRecord(opening, opening, Map.of("A000001", "Not Voting")),
+                new AttendanceStatisticsCalculator.VoteRecord(sameWeek, sameWeek, Map.of("A000001", "Nay")),
+                new AttendanceStatisticsCalculator.VoteRecord(secondSession, secondSession, Map.of("A000001", "Aye")));
+
+        AttendanceStatisticsCalculator.AttendanceStatistics stats = AttendanceStatisticsCalculator.compute(
+                        votes,
+                        12,
+                        EnumSet.of(
+                                AttendanceGranularity.WEEK,
+                                AttendanceGranularity.SESSION,
+                                AttendanceGranularity.CONGRESS,
+                                AttendanceGranularity.ALL_TIME))
+                .statisticsByMember()
+                .get("A000001");
+
+        assertThat(stats.history())
+                .extracting(AttendanceStatisticsCalculator.AttendanceSnapshotData::periodLabel)
+                .containsExactly(
+                        "2025-W01", "2025-W02", "2026-W10",
+                        "118th Congress, session 2", "119th Congress, session 1", "119th Congress, session 2",
+                        "118th Congress", "119th Congress",
+                        "All time");
+        assertThat(stats.history())
+                .filteredOn(snapshot -> snapshot.granularity() == AttendanceGranularity.WEEK)
+                .extracting(snapshot -> snapshot.counters().votesTotal())
+                .containsExactly(1, 2, 1);
+        AttendanceStatisticsCalculator.AttendanceSnapshotData allTime = stats.history().get(stats.history().size() - 1);
+        assertThat(allTime.counters().votesTotal()).isEqualTo(4);
+        assertThat(allTime.counters().votesParticipated()).isEqualTo(3);
+        assertThat(allTime.periodStart()).isEqualTo(lameDuck);
+        assertThat(allTime.periodEnd()).isEqualTo(secondSession);
+        // The summary stays monthly whichever granularities are reported.
+        assertThat(stats.summary().sessionsTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void historyLimitAppliesPerGranularity() {
+        Instant start = Instant.parse("2025-01-06T15:00:00Z");
+        List<AttendanceStatisticsCalculator.VoteRecord> votes = new ArrayList<>();
+        for (int week = 0; week < 20; week++) {
+            Instant voteTime = start.plus(Duration.ofDays(7L * week));
+            votes.add(new AttendanceStatisticsCalculator.VoteRecord(voteTime, voteTime, Map.of("A000001", "Yea")));
+        }
+
+        List<AttendanceStatisticsCalculator.AttendanceSnapshotData> history = AttendanceStatisticsCalculator.compute(
+                        votes, 3, EnumSet.of(AttendanceGranularity.WEEK, AttendanceGranularity.MONTH))
+                .statisticsByMember()
+                .get("A000001")
+                .history();
+
+        assertThat(history)
+                .extracting(AttendanceStatisticsCalculator.AttendanceSnapshotData::periodLabel)
+                .containsExactly("2025-W19", "2025-W20", "2025-W21", "2025-03", "2025-04", "2025-05");
+    }
+
+    @Test
+    void rollupDeltasTrackInsertsAndUpdates() {
+        Instant vote1Time = Instant.parse("2025-01-01T15:00:00Z");
+        Instant vote2Time = Instant.parse("2025-02-15T17:00:00Z");
+        AttendanceStatisticsCalculator.VoteRecord vote1 = new AttendanceStatisticsCalculator.VoteRecord(
+                vote1Time, vote1Time, Map.of("A000001", "Yea", "B000001", "Yea"));
+        AttendanceStatisticsCalculator.VoteRecord vote2 = new AttendanceStatisticsCalculator.VoteRecord(
+                vote2Time, vote2Time, Map.of("A000001", "Nay", "B000001", "Yea"));
+        AttendanceStatisticsCalculator.VoteRecord vote2Corrected = new AttendanceStatisticsCalculator.VoteRecord(
+                vote2Time, vote2Time.plusSeconds(60), Map.of("A000001", "Not Voting", "B000001", "Yea"));
+
+        Map<String, MemberPeriodCounters> rollups = new HashMap<>();
+        applyDeltas(rollups, AttendanceStatisticsCalculator.rollupDelta(null, vote1));
+        applyDeltas(rollups, AttendanceStatisticsCalculator.rollupDelta(null, vote2));
+        List<MemberPeriodCounters> correction = AttendanceStatisticsCalculator.rollupDelta(vote2, vote2Corrected);
+        applyDeltas(rollups, correction);
+
+        assertThat(correction).singleElement().satisfies(delta -> {
+            assertThat(delta.memberId()).isEqualTo("A000001");
+            assertThat(delta.votesTotal()).isZero();
+            assertThat(delta.votesParticipated()).isEqualTo(-1);
+            assertThat(delta.votesPresent()).isEqualTo(-1);
+        });
+        assertThat(AttendanceStatisticsCalculator.rollupDelta(vote1, vote1)).isEmpty();
+        AttendanceAggregation aggregation = new AttendanceAggregation(
+                2, vote2Time.plusSeconds(60), List.copyOf(rollups.values()));
+        assertThat(AttendanceStatisticsCalculator.fromAggregation(aggregation, 12))
+                .isEqualTo(AttendanceStatisticsCalculator.compute(List.of(vote1, vote2Corrected), 12));
+    }
+
+    @Test
+    void attendanceAgreesWithTheVoteMatrixClassification() {
+        List<String> labels = new ArrayList<>(VoteCode.castLabels());
+        labels.addAll(List.of("Yea and Nay", " yes ", "Present", "Not Voting", "Absent", "Paired", "", " "));
+        for (VotePosition position : EnumSet.complementOf(EnumSet.of(VotePosition.UNRECOGNIZED))) {
+            for (String label : labels) {
+                MemberVote vote = memberVote("A000001", position, label);
+                VoteCode code = VoteCode.of(vote);
+
+                assertThat(AttendanceStatisticsCalculator.hasParticipated(vote))
+                        .as("%s / %s participated", position, label)
+                        .isEqualTo(code.participated());
+                assertThat(AttendanceStatisticsCalculator.isPresent(vote))
+                        .as("%s / %s present", position, label)
+                        .isEqualTo(code.present());
+            }
+        }
+        assertThat(AttendanceStatisticsCalculator.hasParticipated(
+                memberVote("A000001", VotePosition.VOTE_POSITION_UNSPECIFIED, "Yea and Nay"))).isTrue();
+    }
+
+    private static void applyDeltas(Map<String, MemberPeriodCounters> rollups, List<MemberPeriodCounters> deltas) {
+        for (MemberPeriodCounters delta : deltas) {
+            rollups.merge(delta.memberId() + '|' + delta.year() + '-' + delta.month(), delta, (stored, change) ->
+                    new MemberPeriodCounters(
+                            stored.memberId(),
+                            stored.year(),
+                            stored.month(),
+                            stored.votesTotal() + change.votesTotal(),
+                            stored.votesParticipated() + change.votesParticipated(),
+                            stored.votesPresent() + change.votesPresent(),
+                            change.firstVote() == null || stored.firstVote().isBefore(change.firstVote())
+                                    ? stored.firstVote() : change.firstVote(),
+                            change.lastVote() == null || stored.lastVote().isAfter(change.lastVote())
+                                    ? stored.lastVote() : change.lastVote()));
+        }
+    }
+
+    private static MemberVote memberVote(String bioguideId, VotePosition position, String notes) {
+        return MemberVote.newBuilder()
+                .setSourceId(bioguideId)
+                .setVotePosition(position)
+                .setNotes(notes)
+                .build();
+    }
 }
@@ -0,0 +1,154 @@
+package com.beacon.ingest.usafed.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.beacon.common.accountability.v1.LegislativeBody;
+import com.beacon.common.accountability.v1.MemberVote;
+import com.beacon.common.accountability.v1.VotePosition;
+import com.beacon.common.accountability.v1.VotingRecord;
+import com.beacon.congress.client.CongressGovClient;
+import com.beacon.ingest.usafed.config.AttendanceProperties;
+import com.beacon.ingest.usafed.config.CongressApiProperties;
+import com.beacon.ingest.usafed.publisher.AccountabilityEventPublisher;
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceRollupRepository;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
+import com.beacon.stateful.mongo.LegislativeBodyRepository;
+import com.beacon.stateful.mongo.MetricCheckpointRepository;
+import com.beacon.stateful.mongo.PartyUnityRepository;
+import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
+import com.beacon.stateful.mongo.VotingRecordRepository;
+import com.beacon.stateful.mongo.VotingRecordRepository.MemberPeriodCounters;
+import com.beacon.stateful.mongo.VotingRecordRepository.PersistedVotingRecord;
+import com.beacon.stateful.mongo.sync.RosterSynchronizationService;
+import com.google.protobuf.Timestamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+class FederalIngestionServiceTest {
+
+    private static final Instant VOTED = Instant.parse("2025-03-04T17:00:00Z");
+    private static final LegislativeBody HOUSE = LegislativeBody.newBuilder().setUuid("house").setName("House").build();
+
+    private final VotingRecordRepository votingRecordRepository = mock(VotingRecordRepository.class);
+    private final AttendanceRollupRepository attendanceRollupRepository = mock(AttendanceRollupRepository.class);
+    private final FederalIngestionService service = new FederalIngestionService(
+            mock(AccountabilityEventPublisher.class),
+            new CongressApiProperties(
+                    URI.create("https://example.com"), "key", Duration.ofHours(1), "House", 119, List.of()),
+            mock(CongressGovClient.class),
+            mock(RosterSynchronizationService.class),
+            mock(PublicOfficialRepository.class),
+            mock(LegislativeBodyRepository.class),
+            votingRecordRepository,
+            attendanceRollupRepository,
+            mock(AttendanceTimelineRepository.class),
+            mock(AttendanceRankRepository.class),
+            mock(VoteMatrixRepository.class),
+            mock(PartyUnityRepository.class),
+            mock(MetricCheckpointRepository.class),
+            List.of(),
+            mock(LegislationSummaryService.class),
+            new SimpleMeterRegistry(),
+            AttendanceProperties.defaults());
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void upsertVoteRetractsTheStoredVersionBeforeApplyingTheNewOne() {
+        PersistedVotingRecord stored = vote(VOTED, VotePosition.YEA, VotePosition.YEA);
+        PersistedVotingRecord corrected = vote(VOTED.plusSeconds(3_600), VotePosition.NOT_VOTING, VotePosition.YEA);
+        when(attendanceRollupRepository.isBuilt("house")).thenReturn(true);
+        when(votingRecordRepository.findBySourceId("house-119-1-7")).thenReturn(Optional.of(stored));
+
+        service.upsertVote(HOUSE, corrected);
+
+        InOrder order = inOrder(votingRecordRepository, attendanceRollupRepository);
+        order.verify(votingRecordRepository).findBySourceId("house-119-1-7");
+        order.verify(votingRecordRepository).upsert(corrected);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MemberPeriodCounters>> deltas = ArgumentCaptor.forClass(List.class);
+        order.verify(attendanceRollupRepository)
+                .apply(eq("house"), eq(0), eq(corrected.updateDateUtc()), deltas.capture());
+        assertThat(deltas.getValue()).singleElement().satisfies(delta -> {
+            assertThat(delta.memberId()).isEqualTo("A000001");
+            assertThat(delta.year()).isEqualTo(2025);
+            assertThat(delta.month()).isEqualTo(3);
+            assertThat(delta.votesTotal()).isZero();
+            assertThat(delta.votesParticipated()).isEqualTo(-1);
+            assertThat(delta.votesPresent()).isEqualTo(-1);
+        });
+    }
+
+    @Test
+    void upsertVoteCountsANewVoteOnce() {
+        PersistedVotingRecord fresh = vote(VOTED, VotePosition.YEA, VotePosition.NAY);
+        when(attendanceRollupRepository.isBuilt("house")).thenReturn(true);
+        when(votingRecordRepository.findBySourceId("house-119-1-7")).thenReturn(Optional.empty());
+
+        service.upsertVote(HOUSE, fresh);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MemberPeriodCounters>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(attendanceRollupRepository).apply(eq("house"), eq(1), eq(fresh.updateDateUtc()), deltas.capture());
+        assertThat(deltas.getValue())
+                .extracting(MemberPeriodCounters::memberId, MemberPeriodCounters::votesTotal,
+                        MemberPeriodCounters::votesParticipated, MemberPeriodCounters::firstVote)
+                .containsExactlyInAnyOrder(
+                        tuple("A000001", 1, 1, VOTED),
+                        tuple("B000001", 1, 1, VOTED));
+    }
+
+    @Test
+    void upsertVoteInvalidatesRollupsWhenTheDeltaFails() {
+        when(attendanceRollupRepository.isBuilt("house")).thenReturn(true, false);
+        when(votingRecordRepository.findBySourceId("house-119-1-7")).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("write failed"))
+                .when(attendanceRollupRepository).apply(eq("house"), anyInt(), any(), anyList());
+
+        service.upsertVote(HOUSE, vote(VOTED, VotePosition.YEA, VotePosition.YEA));
+        service.upsertVote(HOUSE, vote(VOTED, VotePosition.NAY, VotePosition.YEA));
+
+        verify(attendanceRollupRepository).invalidate("house");
+        // Once invalidated, later votes are stored without deltas until the rollups are rebuilt.
+        verify(votingRecordRepository).findBySourceId("house-119-1-7");
+        verify(votingRecordRepository, times(2)).upsert(any(PersistedVotingRecord.class));
+        verify(attendanceRollupRepository).apply(eq("house"), anyInt(), any(), anyList());
+    }
+
+    private static PersistedVotingRecord vote(Instant updated, VotePosition first, VotePosition second) {
+        VotingRecord votingRecord = VotingRecord.newBuilder()
+                .setUuid("vote-7")
+                .setSourceId("house-119-1-7")
+                .setLegislativeBodyUuid("house")
+                .setVoteDateUtc(Timestamp.newBuilder().setSeconds(VOTED.getEpochSecond()))
+                .addMemberVotes(MemberVote.newBuilder().setSourceId("A000001").setVotePosition(first))
+                .addMemberVotes(MemberVote.newBuilder().setSourceId("B000001").setVotePosition(second))
+                .build();
+        return new PersistedVotingRecord(
+                votingRecord, updated, 119, 1, 7, null, "Passed", "Yea-and-Nay", null, null, null, null);
+    }
+}
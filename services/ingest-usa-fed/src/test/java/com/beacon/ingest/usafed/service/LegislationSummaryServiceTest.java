@@ -8,12 +8,24 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.beacon.congress.client.CongressGovClient;
+import com.beacon.congress.client.CongressGovClientException;
+import com.beacon.ingest.usafed.config.LegislationSummaryProperties;
+import com.beacon.ingest.usafed.llm.LlmBatchRequest;
+import com.beacon.ingest.usafed.llm.LlmBatchResult;
 import com.beacon.ingest.usafed.llm.LlmClient;
 import com.beacon.ingest.usafed.llm.OpenAiModel;
+import com.beacon.stateful.mongo.LegislationSummaryRepository;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,24 +35,32 @@ import org.mockito.Mockito;
 class LegislationSummaryServiceTest {
 
     private LlmClient llmClient;
+    private CongressGovClient congressGovClient;
     @SuppressWarnings("unchecked")
-    private HttpResponse<byte[]> httpResponse = (HttpResponse<byte[]>) Mockito.mock(HttpResponse.class);
+    private HttpResponse<InputStream> httpResponse = (HttpResponse<InputStream>) Mockito.mock(HttpResponse.class);
     private HttpClient httpClient;
+    private LegislationSummaryRepository summaryRepository;
+    private LegislationSummaryIndex summaryIndex;
 
     @BeforeEach
     void setUp() throws Exception {
         llmClient = Mockito.mock(LlmClient.class);
+        congressGovClient = Mockito.mock(CongressGovClient.class);
         httpClient = Mockito.mock(HttpClient.class);
+        summaryRepository = Mockito.mock(LegislationSummaryRepository.class);
+        summaryIndex = new LegislationSummaryIndex(summaryRepository);
         when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn("<html><body><p>Legislation text content</p></body></html>"
-                .getBytes(StandardCharsets.UTF_8));
+        when(httpResponse.headers()).thenReturn(HttpHeaders.of(
+                Map.of("Content-Type", List.of("text/html; charset=UTF-8")),
+                (name, value) -> true));
+        respondWith("<html><body><p>Legislation text content</p></body></html>");
         when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(httpResponse);
         when(llmClient.promptModel(any(), any())).thenReturn("Concise summary");
     }
 
     @Test
     void summarizeLegislationReturnsEmptyWhenUrlMissing() {
-        LegislationSummaryService service = new LegislationSummaryService(llmClient, httpClient, OpenAiModel.GPT_4O_MINI);
+        LegislationSummaryService service = newService();
 
         Optional<String> result = service.summarizeLegislation("");
 
@@ -51,7 +71,7 @@ class LegislationSummaryServiceTest {
 
     @Test
     void summarizeLegislationReturnsSummaryWhenFetchSucceeds() {
-        LegislationSummaryService service = new LegislationSummaryService(llmClient, httpClient, OpenAiModel.GPT_4O_MINI);
+        LegislationSummaryService service = newService();
 
         Optional<String> result = service.summarizeLegislation("https://example.com/bill");
 
@@ -63,4 +83,155 @@ class LegislationSummaryServiceTest {
         }
         verify(llmClient).promptModel(any(), Mockito.contains("Legislation text content"));
     }
+
+    @Test
+    void summarizeLegislationReusesSummaryForNearDuplicateText() throws Exception {
+        String billText = "The Secretary of Transportation shall establish a grant program for rural bridge repair "
+                + "projects, prioritizing structurally deficient bridges and requiring annual reports to Congress "
+                + "on the condition of funded bridges and the amounts obligated under the program.";
+        respondWith("<html><body><p>" + billText + "</p></body></html>");
+        LegislationSummaryService service = newService();
+
+        Optional<String> original = service.summarizeLegislation("https://example.com/bill/ih");
+        Optional<String> companion = service.summarizeLegislation("https://example.com/bill/eh");
+
+        assertEquals(Optional.of("Concise summary"), original);
+        assertEquals(original, companion);
+        verify(llmClient, Mockito.times(1)).promptModel(any(), any());
+        verify(summaryRepository, Mockito.times(2)).upsert(any());
+    }
+
+    @Test
+    void summarizeLegislationBatchSubmitsPendingPromptsTogether() {
+        when(llmClient.promptModelBatch(any(), any())).thenAnswer(invocation -> {
+            List<LlmBatchRequest> requests = invocation.getArgument(1);
+            return requests.stream()
+                    .map(request -> LlmBatchResult.success(request.customId(), "Batch summary"))
+                    .toList();
+        });
+        LegislationSummaryService service = newService();
+
+        Map<String, String> summaries = service.summarizeLegislationBatch(List.of(
+                LegislationReference.ofUrl("https://example.com/bill/1"),
+                LegislationReference.ofUrl("https://example.com/bill/1"),
+                LegislationReference.ofUrl(" ")));
+
+        assertEquals(Map.of("https://example.com/bill/1", "Batch summary"), summaries);
+        verify(llmClient).promptModelBatch(any(), Mockito.argThat(requests -> requests.size() == 1));
+        verify(llmClient, never()).promptModel(any(), any());
+        assertEquals(Optional.of("Batch summary"), service.summarizeLegislation("https://example.com/bill/1"));
+    }
+
+    @Test
+    void summarizeLegislationPrefersLatestCrsSummary() {
+        when(congressGovClient.fetchBillSummaries(118, "HR", "1234")).thenReturn(List.of(
+                new CongressGovClient.BillSummary("00", "Introduced in House", LocalDate.of(2023, 3, 1), null,
+                        "<p>Introduced version.</p>"),
+                new CongressGovClient.BillSummary("53", "Passed House amended", LocalDate.of(2023, 6, 14), null,
+                        "<p><strong>Rural Bridge Repair Act</strong></p><p>This bill funds rural bridges.</p>")));
+        LegislationSummaryService service = newService();
+
+        Optional<String> result = service.summarizeLegislation(
+                new LegislationReference("https://example.com/bill/hr1234", 118, "HR", "1234"));
+
+        assertEquals(Optional.of("Rural Bridge Repair Act This bill funds rural bridges."), result);
+        verifyNoInteractions(httpClient);
+        verify(llmClient, never()).promptModel(any(), any());
+    }
+
+    @Test
+    void summarizeLegislationReplacesStoredCrsSummaryWhenANewerVersionIsPublished() {
+        CongressGovClient.BillSummary introduced = new CongressGovClient.BillSummary(
+                "00", "Introduced in House", LocalDate.of(2023, 3, 1), null, "<p>Introduced version.</p>");
+        CongressGovClient.BillSummary passed = new CongressGovClient.BillSummary(
+                "53", "Passed House amended", LocalDate.of(2023, 6, 14), null, "<p>Passed version.</p>");
+        when(congressGovClient.fetchBillSummaries(118, "HR", "1234"))
+                .thenReturn(List.of(introduced))
+                .thenReturn(List.of(introduced))
+                .thenReturn(List.of(introduced, passed));
+        LegislationSummaryService service = newService();
+        LegislationReference reference = new LegislationReference("https://example.com/bill/hr1234", 118, "HR", "1234");
+
+        assertEquals(Optional.of("Introduced version."), service.summarizeLegislation(reference));
+        assertEquals(Optional.of("Introduced version."), service.summarizeLegislation(reference));
+        assertEquals(Optional.of("Passed version."), service.summarizeLegislation(reference));
+
+        verify(summaryRepository, Mockito.times(2)).upsert(any());
+        int[] signature = summaryIndex.signature("Passed version.");
+        assertTrue(summaryIndex.findNearDuplicate("https://example.com/bill/other", signature).isEmpty());
+    }
+
+    @Test
+    void summarizeLegislationKeepsStoredCrsSummaryWhenLookupFails() {
+        when(congressGovClient.fetchBillSummaries(118, "HR", "1234"))
+                .thenReturn(List.of(new CongressGovClient.BillSummary(
+                        "00", "Introduced in House", LocalDate.of(2023, 3, 1), null, "<p>Introduced version.</p>")))
+                .thenThrow(new CongressGovClientException("Congress.gov request failed with status 503"));
+        LegislationSummaryService service = newService();
+        LegislationReference reference = new LegislationReference("https://example.com/bill/hr1234", 118, "HR", "1234");
+
+        service.summarizeLegislation(reference);
+
+        assertEquals(Optional.of("Introduced version."), service.summarizeLegislation(reference));
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void summarizeLegislationFallsBackToScrapingWhenCrsSummaryMissing() {
+        when(congressGovClient.fetchBillSummaries(118, "HR", "99"))
+                .thenThrow(new CongressGovClientException("Congress.gov request failed with status 404"));
+        LegislationSummaryService service = newService();
+
+        Optional<String> result = service.summarizeLegislation(
+                new LegislationReference("https://example.com/bill/hr99", 118, "HR", "99"));
+
+        assertEquals(Optional.of("Concise summary"), result);
+        verify(llmClient).promptModel(any(), any());
+    }
+
+    @Test
+    void condenseCrsSummaryKeepsWholeSentencesWithinWordLimit() {
+        String html = "<p>First sentence has five words. Second sentence pushes past the limit.</p>";
+
+        assertEquals("First sentence has five words.", LegislationSummaryService.condenseCrsSummary(html, 8));
+        assertEquals("First sentence has five words. Second sentence pushes past the limit.",
+                LegislationSummaryService.condenseCrsSummary(html, 120));
+    }
+
+    @Test
+    void condenseCrsSummaryDoesNotEndSentencesAtCitations() {
+        String html = "<p>This bill amends the U.S. Code to require reports under Sec. 3 of H.R. 1234; it also "
+                + "applies to 42 U.S.C. 1983. The Department of Agriculture must act. "
+                + "Pub. L. No. 117-58 is amended.</p>";
+
+        assertEquals(
+                "This bill amends the U.S. Code to require reports under Sec. 3 of H.R. 1234; it also applies to "
+                        + "42 U.S.C. 1983.",
+                LegislationSummaryService.condenseCrsSummary(html, 25));
+        assertEquals(
+                "This bill amends the U.S. Code to require reports under Sec. 3 of H.R. 1234; it also applies to "
+                        + "42 U.S.C. 1983. The Department of Agriculture must act.",
+                LegislationSummaryService.condenseCrsSummary(html, 33));
+    }
+
+    @Test
+    void condenseCrsSummaryCutsAnOverlongFirstSentenceAtTheWordLimit() {
+        String html = "<p>This bill amends the U.S. Code to require reports.</p>";
+
+        assertEquals("This bill amends the U.S....", LegislationSummaryService.condenseCrsSummary(html, 5));
+    }
+
+    private void respondWith(String html) {
+        when(httpResponse.body()).thenAnswer(invocation -> new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private LegislationSummaryService newService() {
+        return new LegislationSummaryService(
+                llmClient,
+                congressGovClient,
+                httpClient,
+                OpenAiModel.GPT_4O_MINI,
+                summaryIndex,
+                LegislationSummaryProperties.defaults());
+    }
 }
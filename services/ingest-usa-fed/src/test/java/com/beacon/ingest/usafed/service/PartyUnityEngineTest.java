@@ -0,0 +1,195 @@
+package com.beacon.ingest.usafed.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.beacon.common.accountability.v1.AccountabilityMetric;
+import com.beacon.stateful.mongo.PartyUnityRepository.MemberUnity;
+import com.beacon.stateful.mongo.VoteCode;
+import com.beacon.stateful.mongo.VoteMatrix;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PartyUnityEngineTest {
+
+    private static final Map<String, String> PARTIES = Map.of(
+            "A000001", "D",
+            "B000002", "D",
+            "C000003", "d",
+            "R000001", "R",
+            "R000002", "R");
+
+    @Test
+    void countsEachMemberAgainstTheirOwnPartyMajority() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+
+        List<MemberUnity> changed = engine.apply(key(1), null, Map.of(
+                "A000001", VoteCode.YEA,
+                "B000002", VoteCode.YEA,
+                "C000003", VoteCode.NAY,
+                "R000001", VoteCode.NAY,
+                "R000002", VoteCode.NOT_VOTING));
+
+        assertThat(changed).hasSize(4);
+        assertThat(engine.find("A000001").orElseThrow()).isEqualTo(new MemberUnity("A000001", 1, 0, 0, 0, key(1), 0, 0));
+        assertThat(engine.find("C000003").orElseThrow()).isEqualTo(new MemberUnity("C000003", 0, 1, 1, 1, key(1), 0, 0));
+        assertThat(engine.find("R000001").orElseThrow().votesWithParty()).isEqualTo(1);
+        assertThat(engine.find("R000002")).isEmpty();
+    }
+
+    @Test
+    void tiedPartiesTakeNoPosition() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+
+        List<MemberUnity> changed = engine.apply(key(1), null, Map.of(
+                "R000001", VoteCode.YEA,
+                "R000002", VoteCode.NAY,
+                "A000001", VoteCode.PRESENT));
+
+        assertThat(changed).isEmpty();
+    }
+
+    @Test
+    void rollCallsWithoutOpposingPartiesAreNotCounted() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+
+        List<MemberUnity> changed = engine.apply(key(1), null, Map.of(
+                "A000001", VoteCode.YEA,
+                "C000003", VoteCode.NAY,
+                "B000002", VoteCode.YEA,
+                "R000001", VoteCode.YEA,
+                "R000002", VoteCode.YEA));
+
+        assertThat(changed).isEmpty();
+        assertThat(engine.all()).isEmpty();
+    }
+
+    @Test
+    void deviationStreaksFollowRollCallOrder() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+        for (int rollCall = 1; rollCall <= 3; rollCall++) {
+            engine.apply(key(rollCall), null, againstParty());
+        }
+        engine.apply(key(4), null, withParty());
+        engine.apply(key(5), null, againstParty());
+
+        MemberUnity unity = engine.find("C000003").orElseThrow();
+        assertThat(unity.votesAgainstParty()).isEqualTo(4);
+        assertThat(unity.votesWithParty()).isEqualTo(1);
+        assertThat(unity.deviationStreak()).isEqualTo(1);
+        assertThat(unity.longestDeviationStreak()).isEqualTo(3);
+        assertThat(unity.unityRate()).isEqualTo(20.0);
+    }
+
+    @Test
+    void reingestedRollCallReplacesItsPreviousCounts() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+        engine.apply(key(1), null, againstParty());
+        engine.apply(key(2), null, againstParty());
+
+        engine.apply(key(1), againstParty(), withParty());
+
+        MemberUnity unity = engine.find("C000003").orElseThrow();
+        assertThat(unity.votesAgainstParty()).isEqualTo(1);
+        assertThat(unity.votesWithParty()).isEqualTo(1);
+        // An older roll call changes the counts but not the streak that ended on roll call 2.
+        assertThat(unity.deviationStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void reingestedNewestRollCallRecomputesTheStreak() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+        engine.apply(key(1), null, againstParty());
+        engine.apply(key(2), null, againstParty());
+
+        engine.apply(key(2), againstParty(), withParty());
+
+        MemberUnity unity = engine.find("C000003").orElseThrow();
+        assertThat(unity.votesAgainstParty()).isEqualTo(1);
+        assertThat(unity.votesWithParty()).isEqualTo(1);
+        assertThat(unity.deviationStreak()).isZero();
+        assertThat(unity.longestDeviationStreak()).isEqualTo(1);
+
+        engine.apply(key(2), withParty(), againstParty());
+
+        assertThat(engine.find("C000003").orElseThrow().deviationStreak()).isEqualTo(2);
+        assertThat(engine.find("C000003").orElseThrow().longestDeviationStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void countsWithTheAffiliationsItWasBuiltWith() {
+        PartyUnityEngine engine = new PartyUnityEngine(PARTIES);
+
+        assertThat(engine.countsWith(Map.of(
+                "A000001", "d", "B000002", "D", "C000003", "D", "R000001", "R", "R000002", " r "))).isTrue();
+        assertThat(engine.countsWith(Map.of(
+                "A000001", "D", "B000002", "D", "C000003", "I", "R000001", "R", "R000002", "R"))).isFalse();
+    }
+
+    @Test
+    void matrixBuildMatchesIncrementalApplication() {
+        VoteMatrix matrix = new VoteMatrix("house", 119, 1);
+        PartyUnityEngine incremental = new PartyUnityEngine(PARTIES);
+        for (int rollCall = 1; rollCall <= 40; rollCall++) {
+            Map<String, VoteCode> positions = rollCall % 3 == 0 ? againstParty() : withParty();
+            int column = rollCall;
+            positions.forEach((member, code) -> matrix.set(member, column, code));
+            incremental.apply(key(rollCall), null, positions);
+        }
+
+        PartyUnityEngine built = new PartyUnityEngine(PARTIES);
+        built.applyMatrix(matrix);
+
+        assertThat(built.find("C000003")).isEqualTo(incremental.find("C000003"));
+        assertThat(built.find("A000001")).isEqualTo(incremental.find("A000001"));
+    }
+
+    @Test
+    void restoredEngineContinuesFromStoredCounters() {
+        PartyUnityEngine engine = PartyUnityEngine.restore(
+                PARTIES,
+                List.of(new MemberUnity("C000003", 10, 2, 2, 5, key(7), 1, 5)));
+
+        engine.apply(key(8), null, againstParty());
+
+        assertThat(engine.find("C000003").orElseThrow())
+                .isEqualTo(new MemberUnity("C000003", 10, 3, 3, 5, key(8), 2, 5));
+    }
+
+    @Test
+    void metricsCarryTheCounters() {
+        List<AccountabilityMetric> metrics = PartyUnityEngine.toMetrics(
+                "C000003",
+                new MemberUnity("C000003", 9, 3, 2, 4, key(12), 1, 4));
+
+        assertThat(metrics).hasSize(3);
+        assertThat(metrics.get(0).getName()).isEqualTo(PartyUnityEngine.UNITY_RATE);
+        assertThat(metrics.get(0).getScore()).isEqualTo(75.0);
+        assertThat(metrics.get(1).getScore()).isEqualTo(3.0);
+        assertThat(metrics.get(2).getScore()).isEqualTo(2.0);
+        assertThat(metrics.get(2).getDetails()).contains("4");
+        assertThat(metrics.get(0).getMethodologyVersion()).isEqualTo(PartyUnityEngine.METHODOLOGY_VERSION);
+    }
+
+    private static Map<String, VoteCode> againstParty() {
+        return Map.of(
+                "A000001", VoteCode.YEA,
+                "B000002", VoteCode.YEA,
+                "C000003", VoteCode.NAY,
+                "R000001", VoteCode.NAY,
+                "R000002", VoteCode.NAY);
+    }
+
+    private static Map<String, VoteCode> withParty() {
+        return Map.of(
+                "A000001", VoteCode.YEA,
+                "B000002", VoteCode.YEA,
+                "C000003", VoteCode.YEA,
+                "R000001", VoteCode.NAY,
+                "R000002", VoteCode.NAY);
+    }
+
+    private static long key(int rollCall) {
+        return PartyUnityEngine.voteKey(119, 1, rollCall);
+    }
+}
@@ -0,0 +1,87 @@
+package com.beacon.ingest.usafed.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class StreamingHtmlTextExtractorTest {
+
+    @Test
+    void extractsBodyTextAndSkipsNonContentElements() throws IOException {
+        String html = """
+                <!DOCTYPE html>
+                <html><head><title>Ignored</title><style>p > span { color: red; }</style></head>
+                <body>
+                  <header><nav><a href="/">Home</a></nav></header>
+                  <script>if (a < b) { document.write("</div>"); }</script>
+                  <!-- <p>commented out</p> -->
+                  <h1>H.R. 1234</h1>
+                  <p>To amend title 23 &amp; for other&nbsp;purposes.</p>
+                  <pre>SEC. 2.   FUNDING.</pre>
+                  <footer>Site footer</footer>
+                </body></html>
+                """;
+
+        String text = new StreamingHtmlTextExtractor(1_000, 10_000).extract(stream(html), StandardCharsets.UTF_8);
+
+        assertThat(text).isEqualTo("H.R. 1234 To amend title 23 & for other purposes. SEC. 2. FUNDING.");
+    }
+
+    @Test
+    void stopsReadingOnceCharacterLimitIsReached() throws IOException {
+        String html = "<html><body><p>" + "word ".repeat(100_000) + "</p></body></html>";
+        CountingInputStream input = new CountingInputStream(stream(html));
+
+        String text = new StreamingHtmlTextExtractor(100, Long.MAX_VALUE).extract(input, StandardCharsets.UTF_8);
+
+        assertThat(text).hasSizeLessThanOrEqualTo(100).startsWith("word word");
+        assertThat(input.bytesRead).isLessThan(html.length() / 10);
+    }
+
+    @Test
+    void stopsReadingOnceByteLimitIsReached() throws IOException {
+        String html = "<p>" + "x".repeat(50_000) + "</p>";
+        CountingInputStream input = new CountingInputStream(stream(html));
+
+        String text = new StreamingHtmlTextExtractor(100_000, 1_024).extract(input, StandardCharsets.UTF_8);
+
+        assertThat(input.bytesRead).isLessThanOrEqualTo(1_024);
+        assertThat(text).hasSize(1_021);
+    }
+
+    private static InputStream stream(String html) {
+        return new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class CountingInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private long bytesRead;
+
+        CountingInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            if (value != -1) {
+                bytesRead++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                bytesRead += read;
+            }
+            return read;
+        }
+    }
+}
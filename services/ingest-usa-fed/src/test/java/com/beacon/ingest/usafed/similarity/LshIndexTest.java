@@ -0,0 +1,49 @@
+package com.beacon.ingest.usafed.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class LshIndexTest {
+
+    private static final String INTRODUCED = """
+            To amend title 23, United States Code, to establish a program for the rehabilitation of rural bridges.
+            The Secretary shall award competitive grants to eligible States and counties for projects that repair
+            or replace structurally deficient bridges on rural collector roads. Each recipient shall report annually
+            on the condition of bridges funded under this section and the amounts obligated for each project.
+            """;
+    private static final String ENGROSSED = INTRODUCED.replace("annually", "each fiscal year");
+    private static final String UNRELATED = """
+            To require the Administrator of the Environmental Protection Agency to issue guidance on drinking water
+            testing in schools and child care facilities, and to authorize appropriations for lead remediation.
+            """;
+
+    private final MinHasher minHasher = new MinHasher();
+
+    @Test
+    void similarityReflectsTextOverlap() {
+        int[] introduced = minHasher.signature(INTRODUCED);
+
+        assertThat(introduced).hasSize(MinHasher.DEFAULT_SIGNATURE_LENGTH);
+        assertThat(MinHasher.similarity(introduced, minHasher.signature(INTRODUCED))).isEqualTo(1.0d);
+        assertThat(MinHasher.similarity(introduced, minHasher.signature(ENGROSSED))).isGreaterThan(0.7d);
+        assertThat(MinHasher.similarity(introduced, minHasher.signature(UNRELATED))).isLessThan(0.2d);
+        assertThat(minHasher.signature("   ")).isEmpty();
+    }
+
+    @Test
+    void findMostSimilarReturnsNearDuplicateAndSkipsExcludedKey() {
+        LshIndex index = new LshIndex(MinHasher.DEFAULT_SIGNATURE_LENGTH, 32);
+        index.put("introduced", minHasher.signature(INTRODUCED));
+        index.put("unrelated", minHasher.signature(UNRELATED));
+
+        Optional<LshIndex.Match> match = index.findMostSimilar(minHasher.signature(ENGROSSED), "engrossed");
+
+        assertThat(match).isPresent();
+        assertThat(match.get().key()).isEqualTo("introduced");
+        assertThat(index.findMostSimilar(minHasher.signature(INTRODUCED), "introduced"))
+                .allSatisfy(other -> assertThat(other.key()).isNotEqualTo("introduced"));
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
@@ -1,9 +1,12 @@
 package com.beacon.rest.officials.config;
 
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
 import com.beacon.stateful.mongo.LegislativeBodyRepository;
 import com.beacon.stateful.mongo.MongoStatefulClient;
 import com.beacon.stateful.mongo.MongoStatefulConfig;
 import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,4 +34,22 @@ public class MongoRepositoriesConfig {
     public LegislativeBodyRepository legislativeBodyRepository(MongoStatefulClient client) {
         return client.legislativeBodies();
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public AttendanceTimelineRepository attendanceTimelineRepository(MongoStatefulClient client) {
+        return client.attendanceTimelines();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public AttendanceRankRepository attendanceRankRepository(MongoStatefulClient client) {
+        return client.attendanceRanks();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stateful.mongo.enabled", matchIfMissing = true)
+    public VoteMatrixRepository voteMatrixRepository(MongoStatefulClient client) {
+        return client.voteMatrices();
+    }
 }
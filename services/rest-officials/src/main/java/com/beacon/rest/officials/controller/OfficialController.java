@@ -1,11 +1,19 @@
 package com.beacon.rest.officials.controller;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
 
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import com.beacon.rest.officials.model.AttendanceRangeResponse;
+import com.beacon.rest.officials.model.AttendanceRankResponse;
 import com.beacon.rest.officials.model.AttendanceSnapshotResponse;
 import com.beacon.rest.officials.model.OfficialDetail;
 import com.beacon.rest.officials.model.OfficialSummary;
+import com.beacon.rest.officials.model.VotingAgreementResponse;
 import com.beacon.rest.officials.service.OfficialService;
+import com.beacon.rest.officials.service.VotingAgreementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -31,9 +39,11 @@ import org.springframework.web.server.ResponseStatusException;
 public class OfficialController {
 
     private final OfficialService officialService;
+    private final VotingAgreementService votingAgreementService;
 
-    public OfficialController(OfficialService officialService) {
+    public OfficialController(OfficialService officialService, VotingAgreementService votingAgreementService) {
         this.officialService = officialService;
+        this.votingAgreementService = votingAgreementService;
     }
 
     @GetMapping
@@ -69,17 +79,137 @@ public class OfficialController {
 
     @GetMapping("/{sourceId}/attendance-history")
     @Operation(summary = "Retrieve an official's attendance history",
-            description = "Returns attendance snapshots for graphing and drill-down views.",
+            description = "Returns attendance snapshots of one granularity for graphing and drill-down views.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Attendance history located",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = AttendanceSnapshotResponse.class)))),
+                    @ApiResponse(responseCode = "400", description = "Unknown granularity", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Official not found", content = @Content)
             })
     public ResponseEntity<List<AttendanceSnapshotResponse>> getAttendanceHistory(
+            @Parameter(description = "Stable source identifier for the official", example = "A000360")
+            @PathVariable("sourceId") String sourceId,
+            @Parameter(description = "Period length: week, month, session, congress or all-time", example = "month")
+            @RequestParam(value = "granularity", required = false, defaultValue = "month") String granularity) {
+        return officialService.findAttendanceHistory(sourceId, parseGranularity(granularity))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Official not found"));
+    }
+
+    @GetMapping("/{sourceId}/attendance")
+    @Operation(summary = "Retrieve an official's attendance over a date range",
+            description = "Returns attendance and participation between two optional, inclusive dates.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Attendance computed",
+                            content = @Content(schema = @Schema(implementation = AttendanceRangeResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Malformed or inverted date range", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Official not found", content = @Content)
+            })
+    public ResponseEntity<AttendanceRangeResponse> getAttendanceRange(
+            @Parameter(description = "Stable source identifier for the official", example = "A000360")
+            @PathVariable("sourceId") String sourceId,
+            @Parameter(description = "First day to include (ISO-8601)", example = "2025-01-03")
+            @RequestParam(value = "from", required = false) String from,
+            @Parameter(description = "Last day to include (ISO-8601)", example = "2025-06-30")
+            @RequestParam(value = "to", required = false) String to) {
+        LocalDate fromDate = parseDate("from", from);
+        LocalDate toDate = parseDate("to", to);
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        return officialService.findAttendanceRange(sourceId, fromDate, toDate)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Official not found"));
+    }
+
+    @GetMapping("/{sourceId}/attendance-ranks")
+    @Operation(summary = "Rank an official's attendance against their peers",
+            description = "Returns percentiles and ranks of the official's attendance scores within the chamber, "
+                    + "their state delegation and their party, as of the last attendance run.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ranks located",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = AttendanceRankResponse.class)))),
+                    @ApiResponse(responseCode = "404", description = "Official not found", content = @Content)
+            })
+    public ResponseEntity<List<AttendanceRankResponse>> getAttendanceRanks(
             @Parameter(description = "Stable source identifier for the official", example = "A000360")
             @PathVariable("sourceId") String sourceId) {
-        return officialService.findAttendanceHistory(sourceId)
+        return officialService.findAttendanceRanks(sourceId)
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Official not found"));
     }
+
+    @GetMapping("/{sourceId}/agreement")
+    @Operation(summary = "Compare an official's votes with another official or a group",
+            description = "Returns how often the official voted the same way as another official (with), or as the "
+                    + "majority of a party or state delegation, and lists the roll calls where they differed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Agreement computed",
+                            content = @Content(schema = @Schema(implementation = VotingAgreementResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing, conflicting or invalid comparison",
+                            content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Official not found", content = @Content)
+            })
+    public ResponseEntity<VotingAgreementResponse> getVotingAgreement(
+            @Parameter(description = "Stable source identifier for the official", example = "A000360")
+            @PathVariable("sourceId") String sourceId,
+            @Parameter(description = "Source identifier of another official to compare with", example = "P000197")
+            @RequestParam(value = "with", required = false) String with,
+            @Parameter(description = "Party whose majority position to compare with", example = "D")
+            @RequestParam(value = "party", required = false) String party,
+            @Parameter(description = "State delegation whose majority position to compare with", example = "CA")
+            @RequestParam(value = "state", required = false) String state,
+            @Parameter(description = "Congress to compare; defaults to the latest with stored votes", example = "119")
+            @RequestParam(value = "congress", required = false) Integer congress,
+            @Parameter(description = "Session to compare; every session of the Congress when omitted", example = "1")
+            @RequestParam(value = "session", required = false) Integer session,
+            @Parameter(description = "First roll call to compare within each session", example = "1")
+            @RequestParam(value = "fromRollCall", required = false) Integer fromRollCall,
+            @Parameter(description = "Last roll call to compare within each session", example = "250")
+            @RequestParam(value = "toRollCall", required = false) Integer toRollCall) {
+        int comparisons = (hasText(with) ? 1 : 0) + (hasText(party) ? 1 : 0) + (hasText(state) ? 1 : 0);
+        if (comparisons != 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide exactly one of with, party or state");
+        }
+        if ((fromRollCall != null && fromRollCall < 1) || (toRollCall != null && toRollCall < 1)
+                || (fromRollCall != null && toRollCall != null && fromRollCall > toRollCall)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid roll call range");
+        }
+        VotingAgreementService.Comparison comparison = hasText(with)
+                ? VotingAgreementService.Comparison.OFFICIAL
+                : hasText(party) ? VotingAgreementService.Comparison.PARTY : VotingAgreementService.Comparison.STATE;
+        String key = hasText(with) ? with.trim() : hasText(party) ? party : state;
+        return votingAgreementService.compare(sourceId, comparison, key, congress, session, fromRollCall, toRollCall)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Official not found"));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed " + name + " date: " + value);
+        }
+    }
+
+    private static AttendanceGranularity parseGranularity(String granularity) {
+        String normalized = granularity.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        try {
+            AttendanceGranularity parsed = AttendanceGranularity.valueOf(normalized);
+            if (parsed != AttendanceGranularity.ATTENDANCE_GRANULARITY_UNSPECIFIED
+                    && parsed != AttendanceGranularity.UNRECOGNIZED) {
+                return parsed;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Fall through to the 400 below.
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown granularity: " + granularity);
+    }
 }
@@ -1,15 +1,24 @@
 package com.beacon.rest.officials.mapper;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 import com.beacon.common.accountability.v1.PublicOfficial;
 import com.beacon.common.accountability.v1.AttendanceSummary;
+import com.beacon.common.accountability.v1.AttendanceGranularity;
 import com.beacon.common.accountability.v1.AttendanceSnapshot;
+import com.beacon.rest.officials.model.AttendanceRangeResponse;
+import com.beacon.rest.officials.model.AttendanceRankResponse;
 import com.beacon.rest.officials.model.AttendanceSnapshotResponse;
 import com.beacon.rest.officials.model.AttendanceSummaryResponse;
 import com.beacon.rest.officials.model.OfficialDetail;
 import com.beacon.rest.officials.model.OfficialSummary;
+import com.beacon.stateful.mongo.AttendanceRanks;
+import com.beacon.stateful.mongo.AttendanceTimeline;
 import com.google.protobuf.Timestamp;
 
 /**
@@ -99,6 +108,7 @@ public final class OfficialMapper {
 
     public static AttendanceSnapshotResponse toSnapshotResponse(AttendanceSnapshot snapshot) {
         return new AttendanceSnapshotResponse(
+                granularityOf(snapshot).name().toLowerCase(Locale.ROOT).replace('_', '-'),
                 snapshot.getPeriodLabel(),
                 toInstant(snapshot.getPeriodStart()),
                 toInstant(snapshot.getPeriodEnd()),
@@ -110,6 +120,71 @@ public final class OfficialMapper {
                 snapshot.getParticipationScore());
     }
 
+    public static AttendanceRangeResponse toRangeResponse(
+            LocalDate from,
+            LocalDate to,
+            AttendanceTimeline.RangeCounters counters) {
+        return new AttendanceRangeResponse(
+                from == null ? null : from.toString(),
+                to == null ? null : to.toString(),
+                counters.voteDays(),
+                counters.presentDays(),
+                counters.votesParticipated(),
+                counters.votesTotal(),
+                counters.presenceScore(),
+                counters.participationScore());
+    }
+
+    /**
+     * Places the official's summary scores in their chamber, state and party groups. Groups that were not computed,
+     * for example a state with no sitting members at the last run, are omitted.
+     */
+    public static List<AttendanceRankResponse> toRankResponses(PublicOfficial official, AttendanceRanks ranks) {
+        List<AttendanceRankResponse> responses = new ArrayList<>();
+        if (!official.hasAttendanceSummary()) {
+            return responses;
+        }
+        AttendanceSummary summary = official.getAttendanceSummary();
+        int presence = summary.getPresenceScore();
+        int participation = summary.getParticipationScore();
+        int overall = calculateOverallScore(presence, participation);
+        ranks.group(AttendanceRanks.Scope.CHAMBER, "")
+                .ifPresent(group -> responses.add(toRankResponse(group, presence, participation, overall)));
+        ranks.group(AttendanceRanks.Scope.STATE, official.getJurisdictionRegionCode())
+                .ifPresent(group -> responses.add(toRankResponse(group, presence, participation, overall)));
+        ranks.group(AttendanceRanks.Scope.PARTY, official.getPartyAffiliation())
+                .ifPresent(group -> responses.add(toRankResponse(group, presence, participation, overall)));
+        return responses;
+    }
+
+    private static AttendanceRankResponse toRankResponse(
+            AttendanceRanks.ScoreGroup group,
+            int presence,
+            int participation,
+            int overall) {
+        return new AttendanceRankResponse(
+                group.scope().name().toLowerCase(Locale.ROOT),
+                group.key(),
+                group.size(),
+                group.presence().percentile(presence),
+                group.presence().rank(presence),
+                group.participation().percentile(participation),
+                group.participation().rank(participation),
+                group.overall().percentile(overall),
+                group.overall().rank(overall));
+    }
+
+    /**
+     * Returns the snapshot's granularity. Snapshots stored before granularities existed are monthly.
+     */
+    public static AttendanceGranularity granularityOf(AttendanceSnapshot snapshot) {
+        AttendanceGranularity granularity = snapshot.getGranularity();
+        return granularity == AttendanceGranularity.ATTENDANCE_GRANULARITY_UNSPECIFIED
+                || granularity == AttendanceGranularity.UNRECOGNIZED
+                ? AttendanceGranularity.MONTH
+                : granularity;
+    }
+
     private static int calculateOverallScore(int presenceScore, int participationScore) {
         return Math.round((presenceScore + participationScore) / 2.0f);
     }
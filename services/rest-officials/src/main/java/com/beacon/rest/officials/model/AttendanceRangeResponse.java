@@ -0,0 +1,26 @@
+package com.beacon.rest.officials.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Attendance and participation of a public official over an arbitrary date range.
+ */
+@Schema(name = "AttendanceRange", description = "Attendance and participation metrics over a date range.")
+public record AttendanceRangeResponse(
+        @Schema(description = "First day of the range (inclusive), absent when the range is open", example = "2025-01-03")
+        String from,
+        @Schema(description = "Last day of the range (inclusive), absent when the range is open", example = "2025-06-30")
+        String to,
+        @Schema(description = "Days within the range on which the chamber held at least one vote", example = "61")
+        int voteDays,
+        @Schema(description = "Vote days on which the official cast at least one ballot", example = "58")
+        int presentDays,
+        @Schema(description = "Ballots or roll calls the official voted on", example = "290")
+        int votesParticipated,
+        @Schema(description = "Total ballots or roll calls within the range", example = "301")
+        int votesTotal,
+        @Schema(description = "Presence score rounded to the nearest whole number", example = "95")
+        int presenceScore,
+        @Schema(description = "Activity (participation) score rounded to the nearest whole number", example = "96")
+        int participationScore) {
+}
@@ -0,0 +1,28 @@
+package com.beacon.rest.officials.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Where an official's attendance scores fall within one comparison group.
+ */
+@Schema(name = "AttendanceRank", description = "Percentiles and ranks of an official's scores within a peer group.")
+public record AttendanceRankResponse(
+        @Schema(description = "Comparison group: chamber, state or party", example = "state")
+        String scope,
+        @Schema(description = "State code or party for state and party groups, empty for the chamber", example = "CA")
+        String key,
+        @Schema(description = "Number of sitting officials in the group", example = "52")
+        int groupSize,
+        @Schema(description = "Share of the group with a lower presence score, in whole percent", example = "80")
+        int presencePercentile,
+        @Schema(description = "Presence rank within the group, 1 being the best", example = "9")
+        int presenceRank,
+        @Schema(description = "Share of the group with a lower participation score, in whole percent", example = "75")
+        int participationPercentile,
+        @Schema(description = "Participation rank within the group, 1 being the best", example = "12")
+        int participationRank,
+        @Schema(description = "Share of the group with a lower overall score, in whole percent", example = "78")
+        int overallPercentile,
+        @Schema(description = "Overall rank within the group, 1 being the best", example = "10")
+        int overallRank) {
+}
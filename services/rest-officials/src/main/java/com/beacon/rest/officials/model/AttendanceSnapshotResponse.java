@@ -9,6 +9,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
  */
 @Schema(name = "AttendanceSnapshot", description = "Attendance metrics for a specific period.")
 public record AttendanceSnapshotResponse(
+        @Schema(description = "Period length: week, month, session, congress or all-time", example = "month")
+        String granularity,
         @Schema(description = "Period label such as a calendar month or session identifier", example = "2025-01")
         String periodLabel,
         @Schema(description = "Start timestamp for the period", type = "string", format = "date-time")
@@ -0,0 +1,20 @@
+package com.beacon.rest.officials.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A roll call on which the compared sides cast opposite votes.
+ */
+@Schema(name = "DivergentVote", description = "A roll call on which the compared sides voted differently.")
+public record DivergentVoteResponse(
+        @Schema(description = "Congress the roll call belongs to", example = "119")
+        int congress,
+        @Schema(description = "Session of the Congress", example = "1")
+        int session,
+        @Schema(description = "Roll call number within the session", example = "42")
+        int rollCall,
+        @Schema(description = "Vote cast by the official", example = "yea")
+        String position,
+        @Schema(description = "Vote cast by the other official, or the group's majority position", example = "nay")
+        String otherPosition) {
+}
@@ -0,0 +1,29 @@
+package com.beacon.rest.officials.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * How often an official voted the same way as another official or as the majority of a group.
+ */
+@Schema(name = "VotingAgreement", description = "Agreement between an official and another official or a group.")
+public record VotingAgreementResponse(
+        @Schema(description = "Stable source identifier of the official", example = "A000360")
+        String sourceId,
+        @Schema(description = "What the official was compared with: official, party or state", example = "party")
+        String comparedWith,
+        @Schema(description = "Source identifier, party or state code compared with", example = "D")
+        String comparedKey,
+        @Schema(description = "Congress compared", example = "119")
+        int congress,
+        @Schema(description = "Session compared, absent when every session of the Congress was compared", example = "1")
+        Integer session,
+        @Schema(description = "Roll calls on which both sides cast a yea or nay", example = "612")
+        int votesCompared,
+        @Schema(description = "Compared roll calls on which both sides voted the same way", example = "571")
+        int votesAgreed,
+        @Schema(description = "Agreement in percent with one decimal", example = "93.3")
+        double agreementPercentage,
+        @Schema(description = "Compared roll calls on which the sides voted differently")
+        List<DivergentVoteResponse> divergentVotes) {
+}
@@ -1,14 +1,21 @@
 package com.beacon.rest.officials.service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import com.beacon.common.accountability.v1.AttendanceGranularity;
 import com.beacon.common.accountability.v1.PublicOfficial;
 import com.beacon.rest.officials.mapper.OfficialMapper;
+import com.beacon.rest.officials.model.AttendanceRangeResponse;
+import com.beacon.rest.officials.model.AttendanceRankResponse;
 import com.beacon.rest.officials.model.AttendanceSnapshotResponse;
 import com.beacon.rest.officials.model.OfficialDetail;
 import com.beacon.rest.officials.model.OfficialSummary;
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceTimeline;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
 import com.beacon.stateful.mongo.PublicOfficialRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
@@ -20,9 +27,16 @@ import org.springframework.util.Assert;
 public class OfficialService {
 
     private final PublicOfficialRepository publicOfficialRepository;
+    private final AttendanceTimelineRepository attendanceTimelineRepository;
+    private final AttendanceRankRepository attendanceRankRepository;
 
-    public OfficialService(PublicOfficialRepository publicOfficialRepository) {
+    public OfficialService(
+            PublicOfficialRepository publicOfficialRepository,
+            AttendanceTimelineRepository attendanceTimelineRepository,
+            AttendanceRankRepository attendanceRankRepository) {
         this.publicOfficialRepository = publicOfficialRepository;
+        this.attendanceTimelineRepository = attendanceTimelineRepository;
+        this.attendanceRankRepository = attendanceRankRepository;
     }
 
     /**
@@ -61,14 +75,50 @@ public class OfficialService {
     }
 
     /**
-     * Retrieves attendance history snapshots for the supplied official.
+     * Retrieves attendance history snapshots of one granularity for the supplied official.
+     *
+     * @param granularity period length to return; defaults to {@link AttendanceGranularity#MONTH} when {@code null}
      */
-    public Optional<List<AttendanceSnapshotResponse>> findAttendanceHistory(String sourceId) {
+    public Optional<List<AttendanceSnapshotResponse>> findAttendanceHistory(
+            String sourceId,
+            AttendanceGranularity granularity) {
         Assert.hasText(sourceId, "sourceId must be provided");
+        AttendanceGranularity resolved = granularity == null ? AttendanceGranularity.MONTH : granularity;
         return publicOfficialRepository.findOfficialBySourceId(sourceId)
                 .map(PublicOfficial::getAttendanceHistoryList)
                 .map(history -> history.stream()
+                        .filter(snapshot -> OfficialMapper.granularityOf(snapshot) == resolved)
                         .map(OfficialMapper::toSnapshotResponse)
                         .collect(Collectors.toList()));
     }
+
+    /**
+     * Computes attendance between two dates from the official's prefix-sum timeline, so any range costs two binary
+     * searches regardless of its length. Officials without a timeline yet report empty counters.
+     *
+     * @param from first day to include, or {@code null} for no lower bound
+     * @param to last day to include, or {@code null} for no upper bound
+     */
+    public Optional<AttendanceRangeResponse> findAttendanceRange(String sourceId, LocalDate from, LocalDate to) {
+        Assert.hasText(sourceId, "sourceId must be provided");
+        Assert.isTrue(from == null || to == null || !from.isAfter(to), "from must not be after to");
+        return publicOfficialRepository.findOfficialBySourceId(sourceId)
+                .map(official -> attendanceTimelineRepository
+                        .find(official.getLegislativeBodyUuid(), official.getSourceId())
+                        .map(timeline -> timeline.range(from, to))
+                        .orElse(AttendanceTimeline.RangeCounters.EMPTY))
+                .map(counters -> OfficialMapper.toRangeResponse(from, to, counters));
+    }
+
+    /**
+     * Ranks the official's attendance scores within their chamber, state and party using the distributions stored by
+     * the last attendance run, so the lookup reads one small document instead of every official.
+     */
+    public Optional<List<AttendanceRankResponse>> findAttendanceRanks(String sourceId) {
+        Assert.hasText(sourceId, "sourceId must be provided");
+        return publicOfficialRepository.findOfficialBySourceId(sourceId)
+                .map(official -> attendanceRankRepository.find(official.getLegislativeBodyUuid())
+                        .map(ranks -> OfficialMapper.toRankResponses(official, ranks))
+                        .orElseGet(List::of));
+    }
 }
@@ -0,0 +1,173 @@
+package com.beacon.rest.officials.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.beacon.common.accountability.v1.PublicOfficial;
+import com.beacon.rest.officials.model.DivergentVoteResponse;
+import com.beacon.rest.officials.model.VotingAgreementResponse;
+import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteAgreement;
+import com.beacon.stateful.mongo.VoteCode;
+import com.beacon.stateful.mongo.VoteMatrix;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+/**
+ * Compares how officials vote using an in-memory copy of each chamber's packed vote matrix. A chamber's roster and the
+ * matrices of each compared Congress are loaded once and reused for {@link #REFRESH_INTERVAL}, so a comparison is bit
+ * arithmetic over a few kilobytes instead of a scan of the stored votes.
+ */
+@Service
+public class VotingAgreementService {
+
+    static final Duration REFRESH_INTERVAL = Duration.ofMinutes(5);
+
+    private final PublicOfficialRepository publicOfficialRepository;
+    private final VoteMatrixRepository voteMatrixRepository;
+    private final Map<String, Cached<ChamberSnapshot>> chambers = new ConcurrentHashMap<>();
+    private final Map<String, Cached<List<VoteMatrix>>> congresses = new ConcurrentHashMap<>();
+
+    public VotingAgreementService(
+            PublicOfficialRepository publicOfficialRepository,
+            VoteMatrixRepository voteMatrixRepository) {
+        this.publicOfficialRepository = publicOfficialRepository;
+        this.voteMatrixRepository = voteMatrixRepository;
+    }
+
+    /**
+     * Compares an official with another official, or with the majority of a party or state delegation.
+     *
+     * @param key the other official's source identifier, the party, or the state code
+     * @param congress Congress to compare; defaults to the latest one with stored votes
+     * @param session session to compare; every session of the Congress when {@code null}
+     * @param fromRollCall first roll call to compare within each session; unbounded when {@code null}
+     * @param toRollCall last roll call to compare within each session; unbounded when {@code null}
+     * @return empty when either official is unknown
+     */
+    public Optional<VotingAgreementResponse> compare(
+            String sourceId,
+            Comparison comparison,
+            String key,
+            Integer congress,
+            Integer session,
+            Integer fromRollCall,
+            Integer toRollCall) {
+        Assert.hasText(sourceId, "sourceId must be provided");
+        Assert.notNull(comparison, "comparison must be provided");
+        Assert.hasText(key, "comparison key must be provided");
+        Optional<PublicOfficial> official = publicOfficialRepository.findOfficialBySourceId(sourceId);
+        if (official.isEmpty()) {
+            return Optional.empty();
+        }
+        String bodyUuid = official.get().getLegislativeBodyUuid();
+        ChamberSnapshot chamber = chamber(bodyUuid);
+        if (comparison == Comparison.OFFICIAL && !chamber.officials().containsKey(key)) {
+            return Optional.empty();
+        }
+
+        int resolvedCongress = congress != null ? congress : chamber.latestCongress();
+        int from = fromRollCall == null ? 1 : fromRollCall;
+        int to = toRollCall == null ? Integer.MAX_VALUE : toRollCall;
+        int compared = 0;
+        int agreed = 0;
+        List<DivergentVoteResponse> divergentVotes = new ArrayList<>();
+        for (VoteMatrix matrix : matrices(bodyUuid, resolvedCongress)) {
+            if (session != null && matrix.sessionNumber() != session) {
+                continue;
+            }
+            int member = matrix.memberIndex(sourceId);
+            if (member < 0) {
+                continue;
+            }
+            VoteAgreement.Result result = comparison == Comparison.OFFICIAL
+                    ? VoteAgreement.compare(matrix, member, matrix.memberIndex(key), from, to)
+                    : VoteAgreement.compareWithGroup(matrix, member, groupIndexes(chamber, matrix, comparison, key), from, to);
+            compared += result.compared();
+            agreed += result.agreed();
+            for (VoteAgreement.Divergence divergence : result.divergences()) {
+                divergentVotes.add(new DivergentVoteResponse(
+                        matrix.congressNumber(),
+                        matrix.sessionNumber(),
+                        divergence.rollCall(),
+                        label(divergence.position()),
+                        label(divergence.otherPosition())));
+            }
+        }
+        return Optional.of(new VotingAgreementResponse(
+                sourceId,
+                comparison.name().toLowerCase(Locale.ROOT),
+                comparison == Comparison.OFFICIAL ? key : key.trim().toUpperCase(Locale.ROOT),
+                resolvedCongress,
+                session,
+                compared,
+                agreed,
+                VoteAgreement.percentage(agreed, compared),
+                divergentVotes));
+    }
+
+    private static int[] groupIndexes(ChamberSnapshot chamber, VoteMatrix matrix, Comparison comparison, String key) {
+        String normalized = key.trim();
+        return chamber.officials().values().stream()
+                .filter(official -> normalized.equalsIgnoreCase(comparison == Comparison.PARTY
+                        ? official.getPartyAffiliation()
+                        : official.getJurisdictionRegionCode()))
+                .mapToInt(official -> matrix.memberIndex(official.getSourceId()))
+                .filter(index -> index >= 0)
+                .toArray();
+    }
+
+    private ChamberSnapshot chamber(String legislativeBodyUuid) {
+        return cached(chambers, legislativeBodyUuid, () -> {
+            Map<String, PublicOfficial> officials = publicOfficialRepository.findByLegislativeBody(legislativeBodyUuid)
+                    .stream()
+                    .collect(Collectors.toMap(PublicOfficial::getSourceId, Function.identity(), (first, second) -> first));
+            return new ChamberSnapshot(voteMatrixRepository.latestCongress(legislativeBodyUuid).orElse(0), officials);
+        });
+    }
+
+    private List<VoteMatrix> matrices(String legislativeBodyUuid, int congress) {
+        return cached(congresses, legislativeBodyUuid + "|" + congress,
+                () -> voteMatrixRepository.loadCongress(legislativeBodyUuid, congress));
+    }
+
+    /**
+     * Returns the cached value while it is fresh and loads it otherwise. Loading happens outside the map so a slow
+     * Mongo read never holds a map bin that other chambers hash to; two callers that miss together both load, and the
+     * later result replaces the earlier one.
+     */
+    private static <T> T cached(Map<String, Cached<T>> cache, String key, Supplier<T> loader) {
+        Instant now = Instant.now();
+        Cached<T> current = cache.get(key);
+        if (current != null && current.loadedAt().plus(REFRESH_INTERVAL).isAfter(now)) {
+            return current.value();
+        }
+        T loaded = loader.get();
+        cache.put(key, new Cached<>(now, loaded));
+        return loaded;
+    }
+
+    private static String label(VoteCode code) {
+        return code.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public enum Comparison {
+        OFFICIAL,
+        PARTY,
+        STATE
+    }
+
+    private record ChamberSnapshot(int latestCongress, Map<String, PublicOfficial> officials) {}
+
+    private record Cached<T>(Instant loadedAt, T value) {}
+}
@@ -71,6 +71,7 @@ class OfficialMapperTest {
 
         AttendanceSnapshotResponse snapshotResponse = OfficialMapper.toSnapshotResponse(snapshot);
         assertThat(snapshotResponse.periodLabel()).isEqualTo("2025-01");
+        assertThat(snapshotResponse.granularity()).isEqualTo("month");
         assertThat(snapshotResponse.presenceScore()).isEqualTo(83);
         assertThat(snapshotResponse.participationScore()).isEqualTo(83);
     }
@@ -1,24 +1,46 @@
 package com.beacon.rest.officials.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.beacon.common.accountability.v1.AttendanceGranularity;
+import com.beacon.common.accountability.v1.AttendanceSnapshot;
+import com.beacon.common.accountability.v1.AttendanceSummary;
+import com.beacon.common.accountability.v1.PublicOfficial;
+import com.beacon.rest.officials.model.AttendanceRangeResponse;
+import com.beacon.rest.officials.model.AttendanceRankResponse;
+import com.beacon.rest.officials.model.AttendanceSnapshotResponse;
+import com.beacon.stateful.mongo.AttendanceRankRepository;
+import com.beacon.stateful.mongo.AttendanceRanks;
+import com.beacon.stateful.mongo.AttendanceTimeline;
+import com.beacon.stateful.mongo.AttendanceTimelineRepository;
 import com.beacon.stateful.mongo.PublicOfficialRepository;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class OfficialServiceTest {
 
     private PublicOfficialRepository publicOfficialRepository;
+    private AttendanceTimelineRepository attendanceTimelineRepository;
+    private AttendanceRankRepository attendanceRankRepository;
     private OfficialService officialService;
 
     @BeforeEach
     void setUp() {
         publicOfficialRepository = mock(PublicOfficialRepository.class);
         when(publicOfficialRepository.findAllOrderedByName(anyInt(), anyInt())).thenReturn(List.of());
-        officialService = new OfficialService(publicOfficialRepository);
+        attendanceTimelineRepository = mock(AttendanceTimelineRepository.class);
+        attendanceRankRepository = mock(AttendanceRankRepository.class);
+        officialService = new OfficialService(
+                publicOfficialRepository,
+                attendanceTimelineRepository,
+                attendanceRankRepository);
     }
 
     @Test
@@ -35,6 +57,89 @@ class OfficialServiceTest {
         verify(publicOfficialRepository).findAllOrderedByName(eq(10), eq(20));
     }
 
+    @Test
+    void findAttendanceHistoryFiltersByGranularity() {
+        PublicOfficial official = PublicOfficial.newBuilder()
+                .setSourceId("A000001")
+                .addAttendanceHistory(AttendanceSnapshot.newBuilder().setPeriodLabel("2024-12"))
+                .addAttendanceHistory(AttendanceSnapshot.newBuilder()
+                        .setGranularity(AttendanceGranularity.MONTH)
+                        .setPeriodLabel("2025-01"))
+                .addAttendanceHistory(AttendanceSnapshot.newBuilder()
+                        .setGranularity(AttendanceGranularity.CONGRESS)
+                        .setPeriodLabel("119th Congress"))
+                .build();
+        when(publicOfficialRepository.findOfficialBySourceId("A000001")).thenReturn(Optional.of(official));
+
+        assertThat(officialService.findAttendanceHistory("A000001", null).orElseThrow())
+                .extracting(AttendanceSnapshotResponse::periodLabel)
+                .containsExactly("2024-12", "2025-01");
+        assertThat(officialService.findAttendanceHistory("A000001", AttendanceGranularity.CONGRESS).orElseThrow())
+                .extracting(AttendanceSnapshotResponse::granularity)
+                .containsExactly("congress");
+    }
+
+    @Test
+    void findAttendanceRangeReadsTheOfficialsTimeline() {
+        PublicOfficial official = PublicOfficial.newBuilder()
+                .setSourceId("A000001")
+                .setLegislativeBodyUuid("house")
+                .build();
+        AttendanceTimeline timeline = AttendanceTimeline.builder("A000001")
+                .add((int) LocalDate.parse("2025-01-06").toEpochDay(), 3, 3, true)
+                .add((int) LocalDate.parse("2025-01-07").toEpochDay(), 2, 0, false)
+                .add((int) LocalDate.parse("2025-02-03").toEpochDay(), 4, 3, true)
+                .build();
+        when(publicOfficialRepository.findOfficialBySourceId("A000001")).thenReturn(Optional.of(official));
+        when(attendanceTimelineRepository.find("house", "A000001")).thenReturn(Optional.of(timeline));
+
+        AttendanceRangeResponse january = officialService
+                .findAttendanceRange("A000001", LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-31"))
+                .orElseThrow();
+
+        assertThat(january.voteDays()).isEqualTo(2);
+        assertThat(january.presentDays()).isEqualTo(1);
+        assertThat(january.votesTotal()).isEqualTo(5);
+        assertThat(january.votesParticipated()).isEqualTo(3);
+        assertThat(january.presenceScore()).isEqualTo(50);
+        assertThat(officialService.findAttendanceRange("A000001", null, null).orElseThrow().votesTotal())
+                .isEqualTo(9);
+    }
+
+    @Test
+    void findAttendanceRanksPlacesTheOfficialInEachGroup() {
+        PublicOfficial official = PublicOfficial.newBuilder()
+                .setSourceId("A000001")
+                .setLegislativeBodyUuid("house")
+                .setJurisdictionRegionCode("CA")
+                .setPartyAffiliation("D")
+                .setAttendanceSummary(AttendanceSummary.newBuilder()
+                        .setPresenceScore(90)
+                        .setParticipationScore(80))
+                .build();
+        AttendanceRanks ranks = AttendanceRanks.builder("house")
+                .add("CA", "D", 90, 80, 85)
+                .add("CA", "R", 100, 100, 100)
+                .add("TX", "D", 70, 60, 65)
+                .add("TX", "R", 80, 90, 85)
+                .build(Instant.parse("2025-01-31T00:00:00Z"));
+        when(publicOfficialRepository.findOfficialBySourceId("A000001")).thenReturn(Optional.of(official));
+        when(attendanceRankRepository.find("house")).thenReturn(Optional.of(ranks));
+
+        List<AttendanceRankResponse> responses = officialService.findAttendanceRanks("A000001").orElseThrow();
+
+        assertThat(responses).extracting(AttendanceRankResponse::scope).containsExactly("chamber", "state", "party");
+        AttendanceRankResponse chamber = responses.get(0);
+        assertThat(chamber.groupSize()).isEqualTo(4);
+        assertThat(chamber.presencePercentile()).isEqualTo(50);
+        assertThat(chamber.presenceRank()).isEqualTo(2);
+        assertThat(chamber.overallRank()).isEqualTo(2);
+        assertThat(responses.get(1).key()).isEqualTo("CA");
+        assertThat(responses.get(1).presenceRank()).isEqualTo(2);
+        assertThat(responses.get(2).presenceRank()).isEqualTo(1);
+        assertThat(responses.get(2).presencePercentile()).isEqualTo(50);
+    }
+
     @Test
     void fetchOfficialsRejectsNegativeParameters() {
         assertThatThrownBy(() -> officialService.fetchOfficials(-1, 10))
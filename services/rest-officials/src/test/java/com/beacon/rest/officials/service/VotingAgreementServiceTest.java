@@ -0,0 +1,139 @@
+package com.beacon.rest.officials.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.beacon.common.accountability.v1.PublicOfficial;
+import com.beacon.rest.officials.model.DivergentVoteResponse;
+import com.beacon.rest.officials.model.VotingAgreementResponse;
+import com.beacon.stateful.mongo.PublicOfficialRepository;
+import com.beacon.stateful.mongo.VoteCode;
+import com.beacon.stateful.mongo.VoteMatrix;
+import com.beacon.stateful.mongo.VoteMatrixRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VotingAgreementServiceTest {
+
+    private PublicOfficialRepository publicOfficialRepository;
+    private VoteMatrixRepository voteMatrixRepository;
+    private VotingAgreementService votingAgreementService;
+
+    @BeforeEach
+    void setUp() {
+        publicOfficialRepository = mock(PublicOfficialRepository.class);
+        voteMatrixRepository = mock(VoteMatrixRepository.class);
+        votingAgreementService = new VotingAgreementService(publicOfficialRepository, voteMatrixRepository);
+
+        List<PublicOfficial> officials = List.of(
+                official("A000001", "D", "CA"),
+                official("B000002", "D", "CA"),
+                official("C000003", "D", "NY"),
+                official("D000004", "R", "CA"));
+        for (PublicOfficial official : officials) {
+            when(publicOfficialRepository.findOfficialBySourceId(official.getSourceId()))
+                    .thenReturn(Optional.of(official));
+        }
+        when(publicOfficialRepository.findByLegislativeBody("house")).thenReturn(officials);
+
+        VoteMatrix older = new VoteMatrix("house", 118, 2);
+        older.set("A000001", 1, VoteCode.YEA);
+        older.set("B000002", 1, VoteCode.NAY);
+        VoteMatrix latest = new VoteMatrix("house", 119, 1);
+        record(latest, "A000001", VoteCode.YEA, VoteCode.YEA, VoteCode.NAY);
+        record(latest, "B000002", VoteCode.YEA, VoteCode.NAY, VoteCode.NAY);
+        record(latest, "C000003", VoteCode.YEA, VoteCode.NAY, VoteCode.NOT_VOTING);
+        record(latest, "D000004", VoteCode.NAY, VoteCode.YEA, VoteCode.YEA);
+        when(voteMatrixRepository.latestCongress("house")).thenReturn(OptionalInt.of(119));
+        when(voteMatrixRepository.loadCongress("house", 118)).thenReturn(List.of(older));
+        when(voteMatrixRepository.loadCongress("house", 119)).thenReturn(List.of(latest));
+    }
+
+    @Test
+    void comparesTwoOfficialsInTheLatestCongressByDefault() {
+        VotingAgreementResponse response = votingAgreementService
+                .compare("A000001", VotingAgreementService.Comparison.OFFICIAL, "B000002", null, null, null, null)
+                .orElseThrow();
+
+        assertThat(response.congress()).isEqualTo(119);
+        assertThat(response.votesCompared()).isEqualTo(3);
+        assertThat(response.votesAgreed()).isEqualTo(2);
+        assertThat(response.agreementPercentage()).isEqualTo(66.7);
+        assertThat(response.divergentVotes()).containsExactly(new DivergentVoteResponse(119, 1, 2, "yea", "nay"));
+    }
+
+    @Test
+    void comparesWithThePartyMajorityExcludingTheOfficial() {
+        VotingAgreementResponse response = votingAgreementService
+                .compare("A000001", VotingAgreementService.Comparison.PARTY, "d", 119, 1, null, null)
+                .orElseThrow();
+
+        // The other Democrats vote yea, then nay, then only B000002 votes (nay) on roll call 3.
+        assertThat(response.comparedKey()).isEqualTo("D");
+        assertThat(response.votesCompared()).isEqualTo(3);
+        assertThat(response.votesAgreed()).isEqualTo(2);
+    }
+
+    @Test
+    void rollCallRangeAndStateDelegationNarrowTheComparison() {
+        VotingAgreementResponse response = votingAgreementService
+                .compare("A000001", VotingAgreementService.Comparison.STATE, "CA", 119, null, 2, 3)
+                .orElseThrow();
+
+        // California without A000001 is B000002 and D000004, who split on both roll calls.
+        assertThat(response.votesCompared()).isEqualTo(0);
+        assertThat(response.agreementPercentage()).isEqualTo(0.0);
+    }
+
+    @Test
+    void unknownOfficialsYieldEmpty() {
+        assertThat(votingAgreementService.compare(
+                "Z999999", VotingAgreementService.Comparison.OFFICIAL, "A000001", null, null, null, null))
+                .isEmpty();
+        assertThat(votingAgreementService.compare(
+                "A000001", VotingAgreementService.Comparison.OFFICIAL, "Z999999", null, null, null, null))
+                .isEmpty();
+    }
+
+    @Test
+    void chamberSnapshotIsReusedAcrossComparisons() {
+        votingAgreementService.compare("A000001", VotingAgreementService.Comparison.OFFICIAL, "B000002", null, null, null, null);
+        votingAgreementService.compare("A000001", VotingAgreementService.Comparison.PARTY, "D", null, null, null, null);
+
+        verify(voteMatrixRepository, times(1)).latestCongress("house");
+        verify(voteMatrixRepository, times(1)).loadCongress("house", 119);
+        verify(publicOfficialRepository, times(1)).findByLegislativeBody("house");
+    }
+
+    @Test
+    void onlyTheRequestedCongressIsLoaded() {
+        VotingAgreementResponse response = votingAgreementService
+                .compare("A000001", VotingAgreementService.Comparison.OFFICIAL, "B000002", 118, null, null, null)
+                .orElseThrow();
+
+        assertThat(response.congress()).isEqualTo(118);
+        assertThat(response.votesCompared()).isEqualTo(1);
+        assertThat(response.votesAgreed()).isZero();
+        verify(voteMatrixRepository).loadCongress("house", 118);
+        verify(voteMatrixRepository, never()).loadCongress("house", 119);
+        verify(voteMatrixRepository, never()).loadAll("house");
+    }
+
+    private static PublicOfficial official(String sourceId, String party, String state) {
+        return PublicOfficial.newBuilder()
+                .setSourceId(sourceId)
+                .setLegislativeBodyUuid("house")
+                .setPartyAffiliation(party)
+                .setJurisdictionRegionCode(state)
+                .build();
+    }
+
+    private static void record(VoteMatrix matrix, String sourceId, VoteCode... codes) {
+        for (int i = 0; i < codes.length; i++) {
+            matrix.set(sourceId, i + 1, codes[i]);
+        }
+    }
+}